@@ -0,0 +1,73 @@
+package com.eru.rlbot.benchmark;
+
+import com.eru.rlbot.common.CaptureReader;
+import com.eru.rlbot.common.GameStateProtos;
+import com.eru.rlbot.common.input.BallData;
+import com.eru.rlbot.common.input.CarData;
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+
+/**
+ * Turns a {@link com.eru.rlbot.common.StateLogger} capture into benchmark inputs.
+ *
+ * <p>Benchmarks take the capture as a JMH parameter, eg. {@code -Pjmh.args="-p capture=logs/captures/x.dat"}. When it
+ * is empty the sample capture bundled with the benchmarks is used.
+ */
+public final class CaptureFrames {
+
+  private static final String SAMPLE_CAPTURE = "/captures/sample_capture.dat";
+
+  /** A car paired with the ball now and the ball as it was recorded a little later. */
+  public static final class Frame {
+    public final CarData car;
+    public final BallData ball;
+    public final BallData futureBall;
+
+    private Frame(CarData car, BallData ball, BallData futureBall) {
+      this.car = car;
+      this.ball = ball;
+      this.futureBall = futureBall;
+    }
+  }
+
+  /**
+   * Returns a frame for every car in every state which has a state the given number of frames later, so the recorded
+   * ball can stand in for the ball prediction.
+   */
+  public static ImmutableList<Frame> load(String capture, int lookAheadFrames) throws IOException {
+    ImmutableList<GameStateProtos.GameState> states = read(capture);
+
+    ImmutableList.Builder<Frame> frames = ImmutableList.builder();
+    for (int i = 0; i + lookAheadFrames < states.size(); i++) {
+      BallData ball = CaptureReader.toBall(states.get(i));
+      BallData futureBall = CaptureReader.toBall(states.get(i + lookAheadFrames));
+      for (CarData car : CaptureReader.toCars(states.get(i))) {
+        frames.add(new Frame(car, ball, futureBall));
+      }
+    }
+
+    ImmutableList<Frame> result = frames.build();
+    if (result.isEmpty()) {
+      throw new IllegalArgumentException(
+          String.format("Capture %s has fewer than %d states", capture, lookAheadFrames + 1));
+    }
+    return result;
+  }
+
+  private static ImmutableList<GameStateProtos.GameState> read(String capture) throws IOException {
+    if (!capture.isEmpty()) {
+      return CaptureReader.read(Paths.get(capture));
+    }
+
+    try (Reader reader =
+             new InputStreamReader(CaptureFrames.class.getResourceAsStream(SAMPLE_CAPTURE), StandardCharsets.UTF_8)) {
+      return CaptureReader.read(reader);
+    }
+  }
+
+  private CaptureFrames() {}
+}
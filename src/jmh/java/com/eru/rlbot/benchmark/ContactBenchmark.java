@@ -0,0 +1,112 @@
+package com.eru.rlbot.benchmark;
+
+import com.eru.rlbot.bot.common.Angles3;
+import com.eru.rlbot.bot.common.Goal;
+import com.eru.rlbot.bot.optimizer.CarBallOptimizer;
+import com.eru.rlbot.bot.optimizer.OptimizationResult;
+import com.eru.rlbot.bot.prediction.CarBallCollision;
+import com.eru.rlbot.bot.prediction.ShotOutcome;
+import com.eru.rlbot.bot.prediction.ShotOutcomes;
+import com.eru.rlbot.common.input.BallData;
+import com.eru.rlbot.common.input.CarData;
+import com.eru.rlbot.common.output.Controls;
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Ball contact and aerial control, run over every car and ball in a capture. Each invocation uses the next frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContactBenchmark {
+
+  private static final int LOOK_AHEAD_FRAMES = 90;
+
+  @Param("")
+  public String capture;
+
+  private ImmutableList<CaptureFrames.Frame> frames;
+  private CarData[] contactCars;
+  private BallData[] contacts;
+  private final Controls controls = Controls.create();
+  private int index;
+
+  @Setup
+  public void setUp() throws IOException {
+    frames = CaptureFrames.load(capture, LOOK_AHEAD_FRAMES);
+
+    // The car touching the ball which sends it toward the opponent goal.
+    contactCars = new CarData[frames.size()];
+    contacts = new BallData[frames.size()];
+    for (int i = 0; i < frames.size(); i++) {
+      CaptureFrames.Frame frame = frames.get(i);
+      contactCars[i] = CarBallOptimizer.getOptimalApproach(frame.ball, Goal.opponentGoal(frame.car.team).center);
+      contacts[i] = CarBallCollision.calculateCollision(frame.ball, contactCars[i]);
+    }
+  }
+
+  private int next() {
+    if (index == frames.size()) {
+      index = 0;
+    }
+    return index++;
+  }
+
+  @Benchmark
+  public BallData calculateCollision() {
+    int i = next();
+    return CarBallCollision.calculateCollision(frames.get(i).ball, contactCars[i]);
+  }
+
+  @Benchmark
+  public CarData getOptimalApproach() {
+    CaptureFrames.Frame frame = frames.get(next());
+    return CarBallOptimizer.getOptimalApproach(frame.ball, Goal.opponentGoal(frame.car.team).center);
+  }
+
+  /** The x offset and speed optimizers, collided in batches. */
+  @Benchmark
+  public OptimizationResult xSpeed() {
+    int i = next();
+    CaptureFrames.Frame frame = frames.get(i);
+    return CarBallOptimizer.xSpeed(frame.ball, Goal.opponentGoal(frame.car.team).center, contactCars[i]);
+  }
+
+  /** Follows the touched ball without the outcome cache. */
+  @Benchmark
+  public ShotOutcome shotOutcome() {
+    return ShotOutcomes.of(contacts[next()]);
+  }
+
+  /** Mostly served by the outcome cache once every frame has been seen. */
+  @Benchmark
+  public Optional<OptimizationResult> bestOutcome() {
+    int i = next();
+    CaptureFrames.Frame frame = frames.get(i);
+    return CarBallOptimizer.bestOutcome(frame.ball, Goal.opponentGoal(frame.car.team).center, contactCars[i]);
+  }
+
+  @Benchmark
+  public Controls aerialControl() {
+    CaptureFrames.Frame frame = frames.get(next());
+    Angles3.pointAnyDirection(frame.car, frame.futureBall.position.minus(frame.car.position), controls);
+    return controls;
+  }
+}
@@ -0,0 +1,119 @@
+package com.eru.rlbot.bot.path;
+
+import com.eru.rlbot.benchmark.CaptureFrames;
+import com.eru.rlbot.bot.common.Accels;
+import com.eru.rlbot.common.Moment;
+import com.eru.rlbot.common.input.CarData;
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Ground path planning stages, run over every car in a capture against the ball as it was recorded 3/4 of a second
+ * later. Each invocation plans for the next frame in the capture.
+ *
+ * <p>{@link Paths#shortestBiArc} caches its answers, so once every frame has been seen it measures the cached path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathBenchmark {
+
+  private static final int LOOK_AHEAD_FRAMES = 90;
+
+  @Param("")
+  public String capture;
+
+  private ImmutableList<CaptureFrames.Frame> frames;
+  private List<Strike> strikes;
+  private int frameIndex;
+  private int strikeIndex;
+
+  private static final class Strike {
+    final CarData car;
+    final CarData target;
+    final Path path;
+    final double time;
+
+    Strike(CarData car, CarData target, Path path, double time) {
+      this.car = car;
+      this.target = target;
+      this.path = path;
+      this.time = time;
+    }
+  }
+
+  @Setup
+  public void setUp() throws IOException {
+    frames = CaptureFrames.load(capture, LOOK_AHEAD_FRAMES);
+
+    strikes = new ArrayList<>();
+    for (CaptureFrames.Frame frame : frames) {
+      Optional<CarData> target = PathPlanner.closestStrike(frame.car, Moment.from(frame.futureBall));
+      if (target.isPresent()) {
+        Path path = PathPlanner.planPath(frame.car, target.get());
+        strikes.add(new Strike(frame.car, target.get(), path, frame.futureBall.time - frame.car.elapsedSeconds));
+      }
+    }
+
+    if (strikes.isEmpty()) {
+      throw new IllegalStateException("No strikes found in the capture");
+    }
+  }
+
+  private CaptureFrames.Frame nextFrame() {
+    if (frameIndex == frames.size()) {
+      frameIndex = 0;
+    }
+    return frames.get(frameIndex++);
+  }
+
+  private Strike nextStrike() {
+    if (strikeIndex == strikes.size()) {
+      strikeIndex = 0;
+    }
+    return strikes.get(strikeIndex++);
+  }
+
+  @Benchmark
+  public Optional<Plan> getGroundPath() {
+    CaptureFrames.Frame frame = nextFrame();
+    return PathPlanner.getGroundPath(frame.car, frame.futureBall);
+  }
+
+  @Benchmark
+  public ImmutableList<Segment> shortestBiArc() {
+    Strike strike = nextStrike();
+    return Paths.shortestBiArc(strike.target, strike.car);
+  }
+
+  @Benchmark
+  public Plan makeSpeedPlan() {
+    Strike strike = nextStrike();
+    return strike.path.makeSpeedPlan(strike.car.boost, strike.time);
+  }
+
+  @Benchmark
+  public Accels.AccelResult boostedTimeToDistance() {
+    CaptureFrames.Frame frame = nextFrame();
+    return Accels.boostedTimeToDistance(
+        frame.car.boost, frame.car.groundSpeed, frame.car.position.distance(frame.futureBall.position));
+  }
+}
@@ -0,0 +1,135 @@
+package com.eru.rlbot.common;
+
+import com.eru.rlbot.bot.common.Angles3;
+import com.eru.rlbot.bot.common.Constants;
+import com.eru.rlbot.bot.prediction.CarBallCollision;
+import com.eru.rlbot.common.input.BallData;
+import com.eru.rlbot.common.input.CarData;
+import com.eru.rlbot.common.input.Orientation;
+import com.eru.rlbot.common.output.Controls;
+import com.eru.rlbot.common.vector.MutableVector3;
+import com.eru.rlbot.common.vector.Vector3;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the immutable {@link Vector3} / {@link Matrix3} API with {@link MutableVector3} / {@link MutableMatrix3} on
+ * the math used by the car-ball collision, plus the ported hot paths themselves.
+ *
+ * <p>Run with {@code gradlew jmh -Pjmh.include=VectorMathBenchmark -Pjmh.args="-prof gc"} to also see the allocation
+ * rate of each.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VectorMathBenchmark {
+
+  private CarData car;
+  private BallData ball;
+  private Orientation target;
+  private Controls controls;
+
+  private Vector3 touchPoint;
+  private MutableVector3 mutableTouchPoint;
+  private MutableMatrix3 carInverseMomentOfInertia;
+
+  private final MutableMatrix3 orientation = new MutableMatrix3();
+  private final MutableMatrix3 ballLever = new MutableMatrix3();
+  private final MutableMatrix3 carLever = new MutableMatrix3();
+  private final MutableMatrix3 inertia = new MutableMatrix3();
+  private final MutableMatrix3 reducedMass = new MutableMatrix3();
+  private final MutableMatrix3 scratch = new MutableMatrix3();
+  private final MutableVector3 lever = new MutableVector3();
+  private final MutableVector3 impulse = new MutableVector3();
+
+  @Setup
+  public void setUp() {
+    Vector3 carPosition = Vector3.of(50, 50, 60);
+    car = CarData.builder()
+        .setTime(0)
+        .setPosition(carPosition)
+        .setVelocity(Vector3.of(500, 200, 0))
+        .setAngularVelocity(Vector3.of(.3, .2, .1))
+        .setOrientation(Orientation.convert(.1, 1, .2))
+        .build();
+    ball = BallData.builder()
+        .setTime(0)
+        .setPosition(carPosition.plus(Vector3.of(120, 30, 20)))
+        .setVelocity(Vector3.of(-300, 100, 0))
+        .setSpin(Vector3.of(1, 0, 0))
+        .build();
+    target = Orientation.convert(-1, .5, 2);
+    controls = Controls.create();
+
+    touchPoint = Vector3.of(122.86, 88.09, 78.2);
+    mutableTouchPoint = new MutableVector3().set(touchPoint);
+    carInverseMomentOfInertia = new MutableMatrix3().set(Constants.CAR_INVERSE_MOMENT_OF_INERTIA);
+  }
+
+  /** The impulse calculation from the collision written against the immutable API. */
+  @Benchmark
+  public Vector3 immutableImpulse() {
+    Matrix3 ballLever = CarBallCollision.antisym(touchPoint.minus(ball.position));
+    Matrix3 carLever = CarBallCollision.antisym(touchPoint.minus(car.position));
+
+    Matrix3 inverseCarMomentOfInertia = car.orientation.getOrientationMatrix()
+        .dot(Constants.CAR_INVERSE_MOMENT_OF_INERTIA.dot(car.orientation.getOrientationMatrix().transpose()));
+
+    Matrix3 reducedMassMatrix = Matrix3.IDENTITY.multiply((1 / Constants.BALL_MASS) + (1 / Constants.CAR_MASS))
+        .minus(ballLever.dot(ballLever).divide(Constants.BALL_MOMENT_OF_INERTIA))
+        .minus(carLever.dot(inverseCarMomentOfInertia.dot(carLever)))
+        .inverse();
+
+    Vector3 deltaV = car.velocity
+        .minus(carLever.dot(car.angularVelocity))
+        .minus(ball.velocity.minus(ballLever.dot(ball.spin)));
+
+    return reducedMassMatrix.dot(deltaV);
+  }
+
+  /** The same impulse calculation written against the mutable API. */
+  @Benchmark
+  public MutableVector3 mutableImpulse() {
+    orientation.set(car.orientation.getOrientationMatrix());
+    ballLever.setAntisym(lever.set(mutableTouchPoint).subtract(ball.position));
+    carLever.setAntisym(lever.set(mutableTouchPoint).subtract(car.position));
+
+    inertia.setProductTranspose(carInverseMomentOfInertia, orientation);
+    inertia.setProduct(orientation, inertia);
+
+    reducedMass.setScaledIdentity((1 / Constants.BALL_MASS) + (1 / Constants.CAR_MASS))
+        .subtract(scratch.setProduct(ballLever, ballLever).scale(1 / Constants.BALL_MOMENT_OF_INERTIA))
+        .subtract(scratch.setProduct(carLever, scratch.setProduct(inertia, carLever)))
+        .invert();
+
+    MutableVector3 deltaV = impulse.set(car.velocity)
+        .subtract(carLever.transform(car.angularVelocity, lever))
+        .subtract(ball.velocity)
+        .add(ballLever.transform(ball.spin, lever));
+
+    return reducedMass.transform(deltaV, impulse);
+  }
+
+  @Benchmark
+  public BallData carBallCollision() {
+    return CarBallCollision.calculateCollision(ball, car);
+  }
+
+  @Benchmark
+  public Controls angles3() {
+    Angles3.setControlsFor(car, target, controls);
+    return controls;
+  }
+}
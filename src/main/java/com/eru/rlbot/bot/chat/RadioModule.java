@@ -1,10 +1,10 @@
 package com.eru.rlbot.bot.chat;
 
 import com.eru.rlbot.bot.common.Goal;
+import com.eru.rlbot.common.DllHelper;
 import com.eru.rlbot.common.input.DataPacket;
 import java.util.concurrent.ConcurrentHashMap;
 import rlbot.Bot;
-import rlbot.cppinterop.RLBotDll;
 import rlbot.flat.QuickChatSelection;
 
 /**
@@ -33,14 +33,14 @@ public class RadioModule {
     }
 
     if (input.allCars.stream().anyMatch(car -> car.isDemolished)) {
-      RLBotDll.sendQuickChat(chatNumber, false, QuickChatSelection.Reactions_Savage);
+      DllHelper.sendQuickChat(chatNumber, false, QuickChatSelection.Reactions_Savage);
       lastChat = input.car.elapsedSeconds;
     }
 
     float oppGoalY = Goal.opponentGoal(input.alliance).center.y;
     float ballY = input.ball.position.y;
     if (Math.signum(oppGoalY) == Math.signum(ballY) && Math.abs(ballY) > Math.abs(oppGoalY)) {
-      RLBotDll.sendQuickChat(chatNumber, false, QuickChatSelection.Compliments_NiceShot);
+      DllHelper.sendQuickChat(chatNumber, false, QuickChatSelection.Compliments_NiceShot);
       lastChat = input.car.elapsedSeconds;
     }
   }
@@ -0,0 +1,202 @@
+package com.eru.rlbot.bot.common;
+
+import static com.eru.rlbot.bot.common.Constants.STEP_SIZE;
+
+import java.util.Optional;
+
+/**
+ * Precomputed acceleration curves which answer the {@link Accels} time-to-distance queries without stepping through
+ * every frame.
+ *
+ * <p>Throttle and boost acceleration depend only on the current speed, so driving from any starting speed follows the
+ * same curve as driving from rest, just starting part way along. Each curve is sampled once per frame from rest and
+ * indexed by both speed and distance, which makes a query a handful of interpolated array reads instead of a loop.
+ * Queries outside of the sampled range return empty so the caller can use the exact simulation.
+ */
+final class AccelTable {
+
+  // Boost drained per frame by the Accels simulations.
+  static final double BOOST_PER_FRAME = STEP_SIZE * 33;
+
+  // Throttle acceleration is zero at and above this speed.
+  private static final double MAX_THROTTLE_SPEED = 1410;
+
+  private static final double SPEED_STEP = 1;
+  private static final double DISTANCE_STEP = 4;
+
+  private static final Curve THROTTLE = new Curve(false, 10 * Constants.STEP_SIZE_COUNT);
+  private static final Curve BOOSTING = new Curve(true, 6 * Constants.STEP_SIZE_COUNT);
+
+  /** Table version of {@link Accels#exactNonBoostedTimeToDistance(double, double)}. */
+  static Optional<Accels.AccelResult> nonBoostedTimeToDistance(double velocity, double distance) {
+    if (!(distance > 0) || velocity < 0) {
+      return Optional.empty();
+    }
+
+    Coast coast = coast(velocity, distance);
+    if (coast == null) {
+      return Optional.empty();
+    }
+
+    // The simulation reports one frame less than it took to cover the distance.
+    return Optional.of(Accels.AccelResult.builder()
+        .setEndSpeed(coast.endSpeed)
+        .setDuration((coast.frames - 1) * STEP_SIZE)
+        .setDistanceCovered(distance)
+        .setBoostUsed(0)
+        .build());
+  }
+
+  /** Table version of {@link Accels#exactBoostedTimeToDistance(double, double, double)}. */
+  static Optional<Accels.AccelResult> boostedTimeToDistance(double boost, double velocity, double distance) {
+    if (!(distance > 0) || velocity < 0 || velocity > BOOSTING.maxSpeed) {
+      return Optional.empty();
+    }
+
+    int boostFrames = boost > 0 ? (int) Math.ceil(boost / BOOST_PER_FRAME) : 0;
+    double start = BOOSTING.frameAtSpeed(velocity);
+    if (start + boostFrames > BOOSTING.frameCount) {
+      return Optional.empty();
+    }
+
+    double startDistance = BOOSTING.distanceAt(start);
+    double boostDistance = BOOSTING.distanceAt(start + boostFrames) - startDistance;
+    if (distance <= boostDistance) {
+      int frames = framesBetween(start, BOOSTING.frameAtDistance(startDistance + distance));
+      return Optional.of(Accels.AccelResult.builder()
+          .setDistanceCovered(distance)
+          .setEndSpeed(BOOSTING.speedAt(start + frames))
+          .setDuration(frames * STEP_SIZE)
+          .setBoostUsed(frames * BOOST_PER_FRAME)
+          .build());
+    }
+
+    Coast coast = coast(BOOSTING.speedAt(start + boostFrames), distance - boostDistance);
+    if (coast == null) {
+      return Optional.empty();
+    }
+
+    return Optional.of(Accels.AccelResult.builder()
+        .setDistanceCovered(distance)
+        .setEndSpeed(coast.endSpeed)
+        .setDuration((boostFrames + coast.frames) * STEP_SIZE)
+        .setBoostUsed(boostFrames * BOOST_PER_FRAME)
+        .build());
+  }
+
+  /** Follows the throttle curve from the given speed until the distance is covered. */
+  private static Coast coast(double velocity, double distance) {
+    if (velocity >= THROTTLE.maxSpeed) {
+      // Throttle no longer adds speed.
+      return new Coast(velocity, (int) Math.ceil(distance / (velocity * STEP_SIZE)));
+    }
+
+    double start = THROTTLE.frameAtSpeed(velocity);
+    double end = THROTTLE.frameAtDistance(THROTTLE.distanceAt(start) + distance);
+    if (end < 0) {
+      return null;
+    }
+
+    int frames = framesBetween(start, end);
+    return new Coast(THROTTLE.speedAt(start + frames), frames);
+  }
+
+  /** The simulations finish on the frame which crosses the distance. */
+  private static int framesBetween(double start, double end) {
+    return Math.max(1, (int) Math.ceil(end - start - 1e-6));
+  }
+
+  private static class Coast {
+    final double endSpeed;
+    final int frames;
+
+    Coast(double endSpeed, int frames) {
+      this.endSpeed = endSpeed;
+      this.frames = frames;
+    }
+  }
+
+  /**
+   * Speed and distance sampled each frame from rest, plus inverse tables from speed and distance back to a fractional
+   * frame.
+   */
+  private static class Curve {
+
+    final int frameCount;
+    final double maxSpeed;
+    final double maxDistance;
+
+    private final double[] speeds;
+    private final double[] distances;
+    private final double[] framesBySpeed;
+    private final double[] framesByDistance;
+
+    Curve(boolean boosting, int frameCount) {
+      this.frameCount = frameCount;
+      this.speeds = new double[frameCount + 1];
+      this.distances = new double[frameCount + 1];
+
+      for (int frame = 1; frame <= frameCount; frame++) {
+        double velocity = speeds[frame - 1];
+        double acceleration = Accels.acceleration(velocity) + (boosting ? Constants.BOOSTED_ACCELERATION : 0);
+        double newVelocity = velocity + acceleration * STEP_SIZE;
+
+        speeds[frame] = newVelocity;
+        distances[frame] = distances[frame - 1] + ((velocity + newVelocity) / 2) * STEP_SIZE;
+      }
+
+      // Without boost the speed only approaches the throttle limit.
+      this.maxSpeed = boosting ? speeds[frameCount] : Math.min(speeds[frameCount], MAX_THROTTLE_SPEED - .01);
+      this.maxDistance = distances[frameCount];
+      this.framesBySpeed = invert(speeds, maxSpeed, SPEED_STEP);
+      this.framesByDistance = invert(distances, maxDistance, DISTANCE_STEP);
+    }
+
+    double speedAt(double frame) {
+      return interpolate(speeds, frame);
+    }
+
+    double distanceAt(double frame) {
+      return interpolate(distances, frame);
+    }
+
+    double frameAtSpeed(double speed) {
+      return interpolate(framesBySpeed, speed / SPEED_STEP);
+    }
+
+    /** Returns the fractional frame at which the distance is reached or -1 if it is past the end of the curve. */
+    double frameAtDistance(double distance) {
+      return distance > maxDistance ? -1 : interpolate(framesByDistance, distance / DISTANCE_STEP);
+    }
+
+    /** Samples the fractional frame at which the increasing values cross each multiple of step. */
+    private static double[] invert(double[] values, double max, double step) {
+      double[] inverse = new double[(int) (max / step) + 1];
+      int frame = 0;
+      for (int i = 0; i < inverse.length; i++) {
+        double target = i * step;
+        while (frame < values.length - 2 && values[frame + 1] < target) {
+          frame++;
+        }
+
+        double span = values[frame + 1] - values[frame];
+        inverse[i] = frame + (span > 0 ? (target - values[frame]) / span : 0);
+      }
+      return inverse;
+    }
+
+    private static double interpolate(double[] values, double index) {
+      if (index <= 0) {
+        return values[0];
+      } else if (index >= values.length - 1) {
+        return values[values.length - 1];
+      }
+
+      int low = (int) index;
+      double fraction = index - low;
+      return values[low] + (values[low + 1] - values[low]) * fraction;
+    }
+  }
+
+  private AccelTable() {}
+}
@@ -47,6 +47,14 @@ public class Accels {
    * Returns the time to travel a distance without using boost.
    */
   public static AccelResult nonBoostedTimeToDistance(double velocity, double distance) {
+    return AccelTable.nonBoostedTimeToDistance(velocity, distance)
+        .orElseGet(() -> exactNonBoostedTimeToDistance(velocity, distance));
+  }
+
+  /**
+   * Returns the time to travel a distance without using boost, simulated frame by frame.
+   */
+  public static AccelResult exactNonBoostedTimeToDistance(double velocity, double distance) {
     double initialDistance = distance;
     float t = 0;
     while (distance > 0) {
@@ -93,8 +101,14 @@ public class Accels {
         .build();
   }
 
-  /** Returns the time to travel the given distance using unlimited boost. */
+  /** Returns the time to travel the given distance using the given amount of boost. */
   public static AccelResult boostedTimeToDistance(double boost, double velocity, double distance) {
+    return AccelTable.boostedTimeToDistance(boost, velocity, distance)
+        .orElseGet(() -> exactBoostedTimeToDistance(boost, velocity, distance));
+  }
+
+  /** Returns the time to travel the given distance using the given amount of boost, simulated frame by frame. */
+  public static AccelResult exactBoostedTimeToDistance(double boost, double velocity, double distance) {
     double initialDistance = distance;
     double initialBoost = boost;
 
@@ -299,28 +313,42 @@ public class Accels {
 
   /** Returns the impulse vector given a flip and the initial conditions. */
   public static Vector3 flipImpulse(Orientation orientation, Vector3 velocity, double pitch, double yaw, double roll) {
-    Vector3 frontImpulse = Vector3.zero();
-    Vector3 sideImpulse = Vector3.zero();
+    Vector3 nose = orientation.getNoseVector();
+    double frontImpulse = 0;
+    double sideImpulse = 0;
 
     if (pitch != 0) {
       if (pitch > 0) {
         // backflip
-        double vForward = orientation.getNoseVector().dot(velocity);
-        double backImpulse = -Constants.FORWARD_DODGE_IMPULSE * (1 + .5 * (vForward / Constants.BOOSTED_MAX_SPEED));
-        frontImpulse = orientation.getNoseVector().flat().toMagnitude(backImpulse);
+        double vForward = nose.dot(velocity);
+        frontImpulse = -Constants.FORWARD_DODGE_IMPULSE * (1 + .5 * (vForward / Constants.BOOSTED_MAX_SPEED));
       } else {
-        frontImpulse = orientation.getNoseVector().flat().toMagnitude(Constants.FORWARD_DODGE_IMPULSE);
+        frontImpulse = Constants.FORWARD_DODGE_IMPULSE;
       }
     }
 
     if (yaw != 0 || roll != 0) {
-      double vForward = orientation.getNoseVector().dot(velocity);
+      double vForward = nose.dot(velocity);
       double sideImpulseMagnitude = Constants.FORWARD_DODGE_IMPULSE * (1 + .9 * (vForward / Constants.BOOSTED_MAX_SPEED));
-      sideImpulse = orientation.getNoseVector().flat().counterClockwisePerpendicular()
-          .toMagnitude(sideImpulseMagnitude * Numbers.clamp(yaw + roll, -1, 1));
+      sideImpulse = sideImpulseMagnitude * Numbers.clamp(yaw + roll, -1, 1);
+    }
+
+    if (frontImpulse == 0 && sideImpulse == 0) {
+      return Vector3.zero();
+    }
+
+    double flatNoseLength = Math.sqrt(nose.x * nose.x + nose.y * nose.y);
+    if (flatNoseLength == 0) {
+      throw new IllegalStateException("Cannot scale up a vector with length zero!");
     }
 
-    return frontImpulse.plus(sideImpulse);
+    // The side impulse is along the counter-clockwise perpendicular of the flat nose.
+    double noseX = nose.x / flatNoseLength;
+    double noseY = nose.y / flatNoseLength;
+    return Vector3.of(
+        noseX * frontImpulse + noseY * sideImpulse,
+        noseY * frontImpulse - noseX * sideImpulse,
+        0);
   }
 
   /** Returns the angular acceleration vector for the given pitch, yaw, roll and orientation. */
@@ -330,10 +358,15 @@ public class Accels {
     double yawRoll = Numbers.clamp(yaw + roll, -1, 1);
     double total = Math.abs(pitch) + Math.abs(yawRoll);
 
-    Vector3 side = orientation.getNoseVector().toMagnitude(yawRoll / total);
-    Vector3 front = orientation.getRightVector().toMagnitude(-pitch / total);
+    Vector3 nose = orientation.getNoseVector();
+    Vector3 right = orientation.getRightVector();
+    double scale = Constants.STEP_SIZE_COUNT * Constants.MAX_ANGULAR_VELOCITY / JumpManager.FLIP_ACCELERATION_TICKS;
+    double sideScale = (yawRoll / total) / nose.magnitude() * scale;
+    double frontScale = (-pitch / total) / right.magnitude() * scale;
 
-    return side.plus(front)
-        .multiply(Constants.STEP_SIZE_COUNT * Constants.MAX_ANGULAR_VELOCITY / JumpManager.FLIP_ACCELERATION_TICKS);
+    return Vector3.of(
+        nose.x * sideScale + right.x * frontScale,
+        nose.y * sideScale + right.y * frontScale,
+        nose.z * sideScale + right.z * frontScale);
   }
 }
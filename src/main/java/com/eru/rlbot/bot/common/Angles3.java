@@ -1,13 +1,14 @@
 package com.eru.rlbot.bot.common;
 
+import com.eru.rlbot.bot.utils.Deadline;
 import com.eru.rlbot.common.Matrix3;
+import com.eru.rlbot.common.MutableMatrix3;
 import com.eru.rlbot.common.Numbers;
 import com.eru.rlbot.common.input.CarData;
 import com.eru.rlbot.common.input.Orientation;
 import com.eru.rlbot.common.output.Controls;
+import com.eru.rlbot.common.vector.MutableVector3;
 import com.eru.rlbot.common.vector.Vector3;
-import java.util.ArrayList;
-import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -66,13 +67,14 @@ public final class Angles3 {
   }
 
   /**
-   * Returns controls to optimally rotate toward the subject orientation.
+   * Returns controls to optimally rotate toward the subject orientation. If the solver fails, the target is nudged and
+   * tried again unless the deadline has passed.
    */
   private static boolean setControlsFor(CarData car, Matrix3 target, Controls controls, int tries) {
     try {
       return setControlsForInternal(car, target, controls);
     } catch (Exception e) {
-      if (tries == 1) {
+      if (tries == 1 || Deadline.current().isExpired()) {
         logger.warn(e);
       } else {
         logger.info("Try again");
@@ -85,14 +87,17 @@ public final class Angles3 {
   }
 
   private static boolean setControlsForInternal(CarData car, Matrix3 target, Controls controls) {
+    Workspace w = WORKSPACE.get();
+    MutableMatrix3 targetMatrix = w.target.set(target);
+
     // Omega = Velocity
-    Vector3 omega = target.transpose().dot(car.angularVelocity);
+    MutableVector3 omega = targetMatrix.transformTransposed(car.angularVelocity, w.omega);
 
     // Theta = orientation
-    Matrix3 theta = target.transpose().dot(car.orientation.getOrientationMatrix());
-    Vector3 omega_local = omega.dot(theta);
+    MutableMatrix3 theta = w.theta.setTransposeProduct(targetMatrix, w.matrix.set(car.orientation.getOrientationMatrix()));
+    MutableVector3 omega_local = theta.transformTransposed(omega, w.omegaLocal);
 
-    Vector3 phi = rotation_to_axis(theta);
+    MutableVector3 phi = rotation_to_axis(theta, w.phi);
 
     boolean finished = (phi.magnitude() < EPSILON_PHI) && (omega.magnitude() < EPSILON_OMEGA);
 
@@ -100,11 +105,11 @@ public final class Angles3 {
       return true;
     }
 
-    Matrix3 z0 = angularVelocityMatrix(phi);
+    MutableMatrix3 z0 = angularVelocityMatrix(phi, w.z0);
 
     float horizon_time = Math.max(0.03f, 4.0f * HORIZON_TIME);
 
-    Vector3 alpha = Vector3.zero();
+    MutableVector3 alpha = w.alpha.set(0, 0, 0);
 
     // Apply a few Newton iterations to find
     // local angular accelerations that try not to overshoot
@@ -116,34 +121,40 @@ public final class Angles3 {
     double eps = 0.001f;
     float offset = 0.00001f;
     for (int i = 0; i < n_iter; i++) {
-      Vector3 f0 = f(alpha, horizon_time, theta, omega, z0, phi);
+      MutableVector3 f0 = f(alpha, horizon_time, theta, omega, z0, phi, w, w.f0);
 
-      List<Vector3> vector3List = new ArrayList<>(3);
       for (int j = 0; j < 3; j++) {
-
-        Vector3 epsIdentity = Matrix3.IDENTITY.row(j).multiply(eps);
-
-        Vector3 diff = f(alpha.plus(epsIdentity), horizon_time, theta, omega, z0, phi);
-
-        Vector3 v = f0.minus(diff).multiply(1 / eps);
-        v = (i == 0) ? v.addX(offset) : (i == 1) ? v.addY(offset) : v.addZ(offset);
-        vector3List.add(v);
+        MutableVector3 alphaStep = w.alphaStep.set(alpha);
+        if (j == 0) {
+          alphaStep.x += eps;
+        } else if (j == 1) {
+          alphaStep.y += eps;
+        } else {
+          alphaStep.z += eps;
+        }
+
+        MutableVector3 diff = f(alphaStep, horizon_time, theta, omega, z0, phi, w, w.diff);
+
+        MutableVector3 v = w.jacobian[j].set(f0).subtract(diff).scale(1 / eps);
+        if (i == 0) {
+          v.x += offset;
+        } else if (i == 1) {
+          v.y += offset;
+        } else {
+          v.z += offset;
+        }
       }
 
-      Matrix3 J = Matrix3.of(vector3List.get(0), vector3List.get(1), vector3List.get(2)).transpose();
+      MutableMatrix3 J = w.matrix.setColumns(w.jacobian[0], w.jacobian[1], w.jacobian[2]);
 
-      Vector3 delta_alpha = J.inverse().dot(f0);
+      MutableVector3 delta_alpha = J.invert().transform(f0, w.deltaAlpha);
 
-      alpha = alpha.plus(delta_alpha);
+      alpha.add(delta_alpha);
 
       if (delta_alpha.magnitude() < 1.0f) break;
     }
 
-    Vector3 rpy = find_controls_for(alpha, omega_local);
-
-    controls.withRoll(rpy.x);
-    controls.withPitch(rpy.y);
-    controls.withYaw(rpy.z);
+    find_controls_for(alpha, omega_local, controls);
 
     return false;
   }
@@ -157,52 +168,46 @@ public final class Angles3 {
   //
   //    Vector3 dphi_dt = dot(Z(phi), omega)
   //
-  private static Matrix3 angularVelocityMatrix(Vector3 q) {
+  private static MutableMatrix3 angularVelocityMatrix(MutableVector3 q, MutableMatrix3 result) {
 
     double norm_q = q.magnitude();
 
     // for small enough values, use the taylor expansion
     if (norm_q < 0.2f) {
 
-      return Matrix3.of(
-          Vector3.of(
-              1.0f - (q.y*q.y + q.z*q.z) / 12.0f,
-              (q.x*q.y / 12.0f) + q.z / 2.0f,
-              (q.x*q.z / 12.0f) - q.y / 2.0f),
-          Vector3.of(
-              (q.y*q.x / 12.0f) - q.z / 2.0f,
-              1.0f - (q.x*q.x + q.z*q.z) / 12.0f,
-              (q.y*q.z / 12.0f) + q.x / 2.0f),
-          Vector3.of(
-              (q.z*q.x / 12.0f) + q.y / 2.0f,
-              (q.z*q.y / 12.0f) - q.x / 2.0f,
-              1.0f - (q.x*q.x + q.y*q.y) / 12.0f));
+      return result.set(
+          1.0f - (q.y*q.y + q.z*q.z) / 12.0f,
+          (q.x*q.y / 12.0f) + q.z / 2.0f,
+          (q.x*q.z / 12.0f) - q.y / 2.0f,
+          (q.y*q.x / 12.0f) - q.z / 2.0f,
+          1.0f - (q.x*q.x + q.z*q.z) / 12.0f,
+          (q.y*q.z / 12.0f) + q.x / 2.0f,
+          (q.z*q.x / 12.0f) + q.y / 2.0f,
+          (q.z*q.y / 12.0f) - q.x / 2.0f,
+          1.0f - (q.x*q.x + q.y*q.y) / 12.0f);
 
       // otherwise, use the real thing
     } else {
       double qq = norm_q * norm_q;
       double c = 0.5f * norm_q * Math.cos(0.5f * norm_q) / Math.sin(0.5f * norm_q);
 
-      return Matrix3.of(
-          Vector3.of(
-              (q.x*q.x + c * (q.y*q.y + q.z*q.z)) / qq,
-              ((1.0f - c) * q.x*q.y / qq) + q.z / 2.0f,
-              ((1.0f - c) * q.x*q.z / qq) - q.y / 2.0f),
-          Vector3.of(
-              ((1.0f - c) * q.y * q.x / qq) - q.z / 2.0f,
-              (q.y*q.y + c * (q.x*q.x + q.z*q.z)) / qq,
-              ((1.0f - c) * q.y * q.z / qq) + q.x / 2.0f),
-          Vector3.of(
-              ((1.0f - c) * q.z * q.x / qq) + q.y / 2.0f,
-              ((1.0f - c) * q.z * q.y / qq) - q.x / 2.0f,
-              (q.z*q.z + c * (q.x*q.x + q.y*q.y)) / qq));
+      return result.set(
+          (q.x*q.x + c * (q.y*q.y + q.z*q.z)) / qq,
+          ((1.0f - c) * q.x*q.y / qq) + q.z / 2.0f,
+          ((1.0f - c) * q.x*q.z / qq) - q.y / 2.0f,
+          ((1.0f - c) * q.y * q.x / qq) - q.z / 2.0f,
+          (q.y*q.y + c * (q.x*q.x + q.z*q.z)) / qq,
+          ((1.0f - c) * q.y * q.z / qq) + q.x / 2.0f,
+          ((1.0f - c) * q.z * q.x / qq) + q.y / 2.0f,
+          ((1.0f - c) * q.z * q.y / qq) - q.x / 2.0f,
+          (q.z*q.z + c * (q.x*q.x + q.y*q.y)) / qq);
     }
 
   }
 
   // This function provides a guideline for when
-  // control switching should take place.
-  private static Vector3 g(Vector3 dq_dt) {
+  // control switching should take place. Subtracts g(dq_dt) from the result.
+  private static MutableVector3 subtractG(MutableVector3 dq_dt, MutableVector3 result) {
     Vector3 T = ANGULAR_ACCELERATION;
     Vector3 D = ANGULAR_DAMPING;
 
@@ -213,19 +218,21 @@ public final class Angles3 {
     double gPitch = -Math.signum(dq_dt.y) * dq_dt.y * dq_dt.y / (2.0f * T.y);
     double gYaw = Math.signum(dq_dt.z) * dq_dt.z * dq_dt.z / (2.0f * T.z);
 
-    return Vector3.of(gRoll, gPitch, gYaw);
+    return result.set(result.x - gRoll, result.y - gPitch, result.z - gYaw);
   }
 
   // the error between the predicted state and the precomputed return trajectories
-  private static Vector3 f(Vector3 alpha_local, float dt, Matrix3 theta, Vector3 omega, Matrix3 z0, Vector3 phi) {
-    Vector3 alpha_world = theta.dot(alpha_local);
-    Vector3 omega_pred = omega.plus(alpha_world.multiply(dt));
-    Vector3 phi_pred = phi.plus(
-        z0.dot(
-            omega.plus(alpha_world.multiply(0.5f * dt)))
-            .multiply(dt));
-    Vector3 dphi_dt_pred = z0.dot(omega_pred);
-    return phi_pred.multiply(-1.0d).minus(g(dphi_dt_pred));
+  private static MutableVector3 f(
+      MutableVector3 alpha_local, float dt, MutableMatrix3 theta, MutableVector3 omega, MutableMatrix3 z0,
+      MutableVector3 phi, Workspace w, MutableVector3 result) {
+
+    MutableVector3 alpha_world = theta.transform(alpha_local, w.alphaWorld);
+    MutableVector3 omega_pred = w.omegaPred.set(omega).addScaled(alpha_world, dt);
+    MutableVector3 phi_pred = z0.transform(w.phiPred.set(omega).addScaled(alpha_world, 0.5f * dt), w.phiPred)
+        .scale(dt)
+        .add(phi);
+    MutableVector3 dphi_dt_pred = z0.transform(omega_pred, w.omegaPred);
+    return subtractG(dphi_dt_pred, result.set(phi_pred).scale(-1.0d));
   }
 
   // Let g(x) be the continuous piecewise linear function
@@ -234,52 +241,52 @@ public final class Angles3 {
   //
   // solve_pwl() determines a value of x in [-1, 1]
   // such that || g(x) - y || is minimized.
-  private static float solve_pwl(float y, Vector3 values) {
-    float min_value = Math.min(Math.min(values.x, values.y), values.z);
-    float max_value = Math.max(Math.max(values.x, values.y), values.z);
-    float clipped_y = Numbers.clamp(y, min_value, max_value);
+  private static double solve_pwl(double y, double valueX, double valueY, double valueZ) {
+    double min_value = Math.min(Math.min(valueX, valueY), valueZ);
+    double max_value = Math.max(Math.max(valueX, valueY), valueZ);
+    double clipped_y = Numbers.clamp(y, min_value, max_value);
 
     // if the clipped value can be found in the interval [-1, 0]
-    if ((Math.min(values.x, values.y) <= clipped_y) &&
-        (clipped_y <= Math.max(values.x, values.y))) {
-      if (Math.abs(values.y - values.x) > 0.0001f) {
-        return (clipped_y - values.y) / (values.y - values.x);
+    if ((Math.min(valueX, valueY) <= clipped_y) &&
+        (clipped_y <= Math.max(valueX, valueY))) {
+      if (Math.abs(valueY - valueX) > 0.0001f) {
+        return (clipped_y - valueY) / (valueY - valueX);
       } else {
         return -0.5f;
       }
 
       // if the clipped value can be found in the interval [0, 1]
     } else {
-      if (Math.abs(values.z - values.y) > 0.0001f) {
-        return (clipped_y - values.y) / (values.z - values.y);
+      if (Math.abs(valueZ - valueY) > 0.0001f) {
+        return (clipped_y - valueY) / (valueZ - valueY);
       } else {
         return 0.5f;
       }
     }
   }
 
-  private static Vector3 find_controls_for(Vector3 ideal_alpha, Vector3 omega_local) {
+  private static void find_controls_for(MutableVector3 ideal_alpha, MutableVector3 omega_local, Controls controls) {
     Vector3 T = ANGULAR_ACCELERATION;
     Vector3 D = ANGULAR_DAMPING;
 
     // Note: these controls are calculated differently,
     // since Rocket League never disables roll damping.
-    Vector3 alphaValuesX = Vector3.of(
+    double x = solve_pwl(
+        ideal_alpha.x,
         -T.x + (D.x * omega_local.x),
         (D.x * omega_local.x),
         T.x + (D.x * omega_local.x));
-    double x = solve_pwl(ideal_alpha.x, alphaValuesX);
 
-    Vector3 alphaValuesY = Vector3.of(-T.y, D.y * omega_local.y, T.y);
-    double y = solve_pwl(ideal_alpha.y, alphaValuesY);
+    double y = solve_pwl(ideal_alpha.y, -T.y, D.y * omega_local.y, T.y);
 
-    Vector3 alphaValuesZ = Vector3.of(-T.z, D.z * omega_local.z, T.z);
-    double z = solve_pwl(ideal_alpha.z, alphaValuesZ);
+    double z = solve_pwl(ideal_alpha.z, -T.z, D.z * omega_local.z, T.z);
 
-    return Vector3.of(x, y, z);
+    controls.withRoll((float) x);
+    controls.withPitch(y);
+    controls.withYaw(z);
   }
 
-  private static Vector3 rotation_to_axis(Matrix3 R) {
+  private static MutableVector3 rotation_to_axis(MutableMatrix3 R, MutableVector3 result) {
     double theta = Math.acos(Numbers.clamp(0.5f * (R.trace() - 1.0f), -1.0f, 1.0f));
 
     double scale;
@@ -291,11 +298,11 @@ public final class Angles3 {
       scale = 0.5f * theta / Math.sin(theta);
     }
 
-    return Vector3.of(
-        R.row(2).get(1) - R.row(1).get(2),
-        R.row(0).get(2) - R.row(2).get(0),
-        R.row(1).get(0) - R.row(0).get(1))
-        .multiply(scale);
+    return result.set(
+        R.get(2, 1) - R.get(1, 2),
+        R.get(0, 2) - R.get(2, 0),
+        R.get(1, 0) - R.get(0, 1))
+        .scale(scale);
   }
 
   public static Matrix3 rotationMatrix(double radians) {
@@ -305,5 +312,30 @@ public final class Angles3 {
         Vector3.of(0, 0, 1));
   }
 
+  // Scratch space for the rotation solver. Each bot thread gets its own.
+  private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
+
+  private static final class Workspace {
+    final MutableMatrix3 target = new MutableMatrix3();
+    final MutableMatrix3 theta = new MutableMatrix3();
+    final MutableMatrix3 z0 = new MutableMatrix3();
+    final MutableMatrix3 matrix = new MutableMatrix3();
+
+    final MutableVector3 omega = new MutableVector3();
+    final MutableVector3 omegaLocal = new MutableVector3();
+    final MutableVector3 phi = new MutableVector3();
+    final MutableVector3 alpha = new MutableVector3();
+    final MutableVector3 alphaStep = new MutableVector3();
+    final MutableVector3 deltaAlpha = new MutableVector3();
+    final MutableVector3 f0 = new MutableVector3();
+    final MutableVector3 diff = new MutableVector3();
+    final MutableVector3[] jacobian = {new MutableVector3(), new MutableVector3(), new MutableVector3()};
+
+    // Used by f.
+    final MutableVector3 alphaWorld = new MutableVector3();
+    final MutableVector3 omegaPred = new MutableVector3();
+    final MutableVector3 phiPred = new MutableVector3();
+  }
+
   private Angles3() {}
 }
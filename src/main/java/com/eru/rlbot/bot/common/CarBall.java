@@ -1,9 +1,11 @@
 package com.eru.rlbot.bot.common;
 
+import com.eru.rlbot.common.MutableMatrix3;
 import com.eru.rlbot.common.Numbers;
 import com.eru.rlbot.common.input.BoundingBox;
 import com.eru.rlbot.common.input.CarData;
 import com.eru.rlbot.common.input.DataPacket;
+import com.eru.rlbot.common.vector.MutableVector3;
 import com.eru.rlbot.common.vector.Vector3;
 
 /**
@@ -34,6 +36,26 @@ public final class CarBall {
     return car.orientation.getOrientationMatrix().dot(nearestPointLocal).plus(hitBox.center);
   }
 
+  /**
+   * Version of {@link #nearestPointOnHitBox(Vector3, CarData)} which writes into the given vector. The orientation is
+   * the car orientation matrix.
+   */
+  public static MutableVector3 nearestPointOnHitBox(
+      Vector3 ballPosition, CarData car, MutableMatrix3 orientation, MutableVector3 result) {
+
+    Vector3 center = car.boundingBox.center;
+    orientation.transformTransposed(
+        ballPosition.x - center.x, ballPosition.y - center.y, ballPosition.z - center.z, result);
+
+    orientation.transform(
+        Numbers.clamp(result.x, -BoundingBox.halfLength, BoundingBox.halfLength),
+        Numbers.clamp(result.y, -BoundingBox.halfWidth, BoundingBox.halfWidth),
+        Numbers.clamp(result.z, -BoundingBox.halfHeight, BoundingBox.halfHeight),
+        result);
+
+    return result.add(center);
+  }
+
   public static boolean ballIsUpfield(DataPacket input) {
     float teamSide = Math.signum(Goal.ownGoal(input.car.team).center.y);
     return teamSide > 0
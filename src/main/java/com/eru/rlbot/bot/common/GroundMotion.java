@@ -0,0 +1,261 @@
+package com.eru.rlbot.bot.common;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drives a car along the ground in closed form instead of frame by frame.
+ *
+ * <p>Below 1400 uu/s, and again between 1400 and 1410, the throttle acceleration falls linearly with speed. With a
+ * fixed throttle and boost the speed then approaches a limit exponentially, which has an exact solution for speed and
+ * distance over time. Above 1410 only boost accelerates the car, and braking is a constant deceleration. A drive takes
+ * one step per regime it passes through, plus one when the boost runs out, no matter how far it goes.
+ *
+ * <p>The motion records each phase it drove, so the frame by frame controls can be expanded later if they are needed.
+ */
+public final class GroundMotion {
+
+  /** The throttle recorded for braking phases. */
+  public static final double BRAKE = -1;
+
+  private static final double SLOW_SPEED = 1400;
+  private static final double MAX_THROTTLE_SPEED = 1410;
+
+  // Throttle acceleration is intercept - slope * speed in each regime. See Accels#acceleration.
+  private static final double SLOW_INTERCEPT = 1600;
+  private static final double SLOW_SLOPE = (1600.0 - 160) / 1400;
+  private static final double FAST_SLOPE = 160.0 / (MAX_THROTTLE_SPEED - SLOW_SPEED);
+  private static final double FAST_INTERCEPT = 160 + FAST_SLOPE * SLOW_SPEED;
+
+  // Regime changes, boost running out and the final limit.
+  private static final int MAX_STEPS = 8;
+  private static final int NEWTON_ITERATIONS = 20;
+  private static final double EPSILON = 1e-9;
+
+  private double speed;
+  private double time;
+  private double distance;
+  private double boost;
+  private final List<Phase> phases;
+
+  private GroundMotion(double speed, double time, double distance, double boost, List<Phase> phases) {
+    this.speed = speed;
+    this.time = time;
+    this.distance = distance;
+    this.boost = boost;
+    this.phases = phases;
+  }
+
+  /** Starts a motion at the given speed and boost. */
+  public static GroundMotion start(double speed, double boost) {
+    return new GroundMotion(Math.max(0, speed), 0, 0, Math.max(0, boost), new ArrayList<>());
+  }
+
+  /** Returns an independent copy of this motion, including the phases driven so far. */
+  public GroundMotion copy() {
+    return new GroundMotion(speed, time, distance, boost, new ArrayList<>(phases));
+  }
+
+  /**
+   * Drives with a fixed throttle, boosting while boost remains if asked to, until the duration passes, the speed
+   * reaches the max speed or the distance is covered. If the car can't go any faster it holds its speed. Either the
+   * duration or the distance must be finite.
+   */
+  public GroundMotion drive(
+      double throttle, boolean useBoost, double duration, double maxSpeed, double maxDistance) {
+    double endTime = time + duration;
+    double endDistance = distance + maxDistance;
+    double speedLimit = Math.min(maxSpeed, Constants.BOOSTED_MAX_SPEED);
+
+    for (int step = 0; step < MAX_STEPS; step++) {
+      double timeLeft = endTime - time;
+      double distanceLeft = endDistance - distance;
+      if (timeLeft <= EPSILON || distanceLeft <= EPSILON) {
+        return this;
+      }
+
+      boolean boosting = useBoost && boost > EPSILON;
+      double push = boosting ? Constants.BOOSTED_ACCELERATION : 0;
+      double intercept;
+      double slope;
+      double regimeEnd;
+      if (speed < SLOW_SPEED) {
+        intercept = throttle * SLOW_INTERCEPT + push;
+        slope = throttle * SLOW_SLOPE;
+        regimeEnd = SLOW_SPEED;
+      } else if (speed < MAX_THROTTLE_SPEED) {
+        intercept = throttle * FAST_INTERCEPT + push;
+        slope = throttle * FAST_SLOPE;
+        regimeEnd = MAX_THROTTLE_SPEED;
+      } else {
+        intercept = push;
+        slope = 0;
+        regimeEnd = Double.MAX_VALUE;
+      }
+
+      if (speed >= maxSpeed - EPSILON) {
+        return this;
+      } else if (speed >= speedLimit - EPSILON || intercept - slope * speed <= EPSILON) {
+        // Hold the current speed for the rest of the drive.
+        if (speed <= EPSILON) {
+          return this;
+        }
+        advance(0, 0, Math.min(timeLeft, distanceLeft / speed), false, throttle);
+        return this;
+      }
+
+      double speedTarget = Math.min(regimeEnd, speedLimit);
+      double toSpeed = timeToSpeed(intercept, slope, speed, speedTarget);
+      double toDistance = timeToDistance(intercept, slope, speed, distanceLeft);
+      double toEmpty = boosting ? boost / Constants.BOOST_RATE : Double.MAX_VALUE;
+
+      double dt = Math.min(Math.min(timeLeft, toSpeed), Math.min(toDistance, toEmpty));
+      advance(intercept, slope, dt, boosting, throttle);
+      if (dt == toSpeed) {
+        // Avoid rounding leaving the speed just short of the next regime.
+        speed = speedTarget;
+      }
+      if (dt == toEmpty) {
+        boost = 0;
+      }
+    }
+    return this;
+  }
+
+  /** Brakes down to the target speed, or until the distance is covered. */
+  public GroundMotion brake(double targetSpeed, double maxDistance) {
+    double target = Math.max(0, targetSpeed);
+    if (speed <= target || maxDistance <= EPSILON) {
+      return this;
+    }
+
+    double dt = brakingDistance(speed, target) <= maxDistance
+        ? (speed - target) / Constants.BREAKING_DECELERATION
+        : timeToDistance(-Constants.BREAKING_DECELERATION, 0, speed, maxDistance);
+    advance(-Constants.BREAKING_DECELERATION, 0, dt, false, BRAKE);
+    speed = Math.max(speed, target);
+    return this;
+  }
+
+  /** Returns the distance covered while braking from one speed to another. */
+  public static double brakingDistance(double fromSpeed, double toSpeed) {
+    if (fromSpeed <= toSpeed) {
+      return 0;
+    }
+    double to = Math.max(0, toSpeed);
+    return (fromSpeed * fromSpeed - to * to) / (2 * Constants.BREAKING_DECELERATION);
+  }
+
+  public double speed() {
+    return speed;
+  }
+
+  public double time() {
+    return time;
+  }
+
+  public double distance() {
+    return distance;
+  }
+
+  public double boost() {
+    return boost;
+  }
+
+  public ImmutableList<Phase> phases() {
+    return ImmutableList.copyOf(phases);
+  }
+
+  private void advance(double intercept, double slope, double dt, boolean boosting, double throttle) {
+    if (dt <= 0) {
+      return;
+    }
+
+    distance += distanceAfter(intercept, slope, speed, dt);
+    speed = Math.max(0, speedAfter(intercept, slope, speed, dt));
+    time += dt;
+    if (boosting) {
+      boost = Math.max(0, boost - dt * Constants.BOOST_RATE);
+    }
+
+    Phase last = phases.isEmpty() ? null : phases.get(phases.size() - 1);
+    if (last != null && last.boost == boosting && last.throttle == throttle) {
+      phases.set(phases.size() - 1, new Phase(boosting, throttle, last.duration + dt));
+    } else {
+      phases.add(new Phase(boosting, throttle, dt));
+    }
+  }
+
+  private static double speedAfter(double intercept, double slope, double speed, double t) {
+    if (slope == 0) {
+      return speed + intercept * t;
+    }
+    double limit = intercept / slope;
+    return limit + (speed - limit) * Math.exp(-slope * t);
+  }
+
+  private static double distanceAfter(double intercept, double slope, double speed, double t) {
+    if (slope == 0) {
+      return speed * t + intercept * t * t / 2;
+    }
+    double limit = intercept / slope;
+    return limit * t + (speed - limit) * -Math.expm1(-slope * t) / slope;
+  }
+
+  private static double timeToSpeed(double intercept, double slope, double speed, double targetSpeed) {
+    if (targetSpeed <= speed) {
+      return 0;
+    }
+    if (slope == 0) {
+      return intercept > 0 ? (targetSpeed - speed) / intercept : Double.MAX_VALUE;
+    }
+    double limit = intercept / slope;
+    if (targetSpeed >= limit) {
+      // Only approached, never reached.
+      return Double.MAX_VALUE;
+    }
+    return Math.log((limit - speed) / (limit - targetSpeed)) / slope;
+  }
+
+  private static double timeToDistance(double intercept, double slope, double speed, double targetDistance) {
+    if (slope == 0) {
+      double discriminant = speed * speed + 2 * intercept * targetDistance;
+      if (discriminant < 0) {
+        // Stops short of the distance.
+        return Double.MAX_VALUE;
+      }
+      double denominator = speed + Math.sqrt(discriminant);
+      return denominator > 0 ? 2 * targetDistance / denominator : Double.MAX_VALUE;
+    }
+
+    // Distance is convex in time while accelerating, so Newton's method converges from any time past the answer.
+    double limit = intercept / slope;
+    double t = (targetDistance + Math.max(0, limit - speed) / slope) / limit;
+    for (int i = 0; i < NEWTON_ITERATIONS; i++) {
+      double velocity = speedAfter(intercept, slope, speed, t);
+      if (velocity <= 0) {
+        break;
+      }
+      double delta = (distanceAfter(intercept, slope, speed, t) - targetDistance) / velocity;
+      t -= delta;
+      if (Math.abs(delta) < EPSILON) {
+        break;
+      }
+    }
+    return Math.max(0, t);
+  }
+
+  /** A stretch of constant controls. */
+  public static final class Phase {
+    public final boolean boost;
+    public final double throttle;
+    public final double duration;
+
+    private Phase(boolean boost, double throttle, double duration) {
+      this.boost = boost;
+      this.throttle = throttle;
+      this.duration = duration;
+    }
+  }
+}
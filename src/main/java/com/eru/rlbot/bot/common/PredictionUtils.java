@@ -3,6 +3,7 @@ package com.eru.rlbot.bot.common;
 import com.eru.rlbot.bot.prediction.BallPredictionUtil;
 import com.eru.rlbot.common.DllHelper;
 import com.eru.rlbot.common.Moment;
+import com.eru.rlbot.common.input.BallData;
 import com.eru.rlbot.common.input.DataPacket;
 import com.eru.rlbot.common.vector.Vector3;
 import java.util.Optional;
@@ -18,7 +19,7 @@ import rlbot.flat.PredictionSlice;
 public final class PredictionUtils {
 
   public static Moment getFirstHittableBall(DataPacket input) {
-    Optional<BallPrediction> ballPredictionOptional = DllHelper.getBallPrediction();
+    Optional<BallPrediction> ballPredictionOptional = DllHelper.getBallPrediction(input.ball);
 
     if (!ballPredictionOptional.isPresent()) {
       return Moment.from(input.ball);
@@ -47,8 +48,8 @@ public final class PredictionUtils {
     return Moment.from(input.ball);
   }
 
-  public static Optional<PredictionSlice> getBallInGoalSlice() {
-    Optional<BallPrediction> ballPredictionOptional = DllHelper.getBallPrediction();
+  public static Optional<PredictionSlice> getBallInGoalSlice(BallData ball) {
+    Optional<BallPrediction> ballPredictionOptional = DllHelper.getBallPrediction(ball);
     if (!ballPredictionOptional.isPresent()) {
       return Optional.empty();
     }
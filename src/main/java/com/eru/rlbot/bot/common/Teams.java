@@ -2,7 +2,6 @@ package com.eru.rlbot.bot.common;
 
 import com.eru.rlbot.common.Pair;
 import com.google.common.base.Preconditions;
-import java.util.stream.IntStream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import rlbot.flat.GameTickPacket;
@@ -15,39 +14,63 @@ public class Teams {
 
   private static final Logger logger = LogManager.getLogger("Teams");
 
-  private static ThreadLocal<GameTickPacket> packet = new ThreadLocal<>();
+  // The latest packet, shared by all of the bots.
+  private static volatile GameTickPacket packet;
+  private static volatile Roster roster = new Roster(new int[0]);
 
   public static void track(GameTickPacket packet) {
-    Teams.packet.set(packet);
+    int[] teams = new int[packet.playersLength()];
+    for (int i = 0; i < teams.length; i++) {
+      teams[i] = packet.players(i).team();
+    }
+    Teams.roster = new Roster(teams);
+    Teams.packet = packet;
   }
 
   public static Touch getBallTouchTime() {
-    return packet.get().ball().latestTouch();
+    return packet.ball().latestTouch();
   }
 
   public static int getTeamForBot(int index) {
-    Preconditions.checkState(packet.get().playersLength() > index, "No player for index " + index);
-    return packet.get().players(index).team();
+    Roster roster = Teams.roster;
+    Preconditions.checkState(roster.teams.length > index, "No player for index " + index);
+    return roster.teams[index];
+  }
+
+  /** Returns a mask with the bit of every player index on the given team set. */
+  public static long getTeamMask(int team) {
+    return roster.masks[team];
   }
 
   public static int getTeamSize(int team) {
-    return (int) IntStream.range(0, packet.get().playersLength())
-        .mapToObj(index -> packet.get().players(index))
-        .filter(playerInfo -> playerInfo.team() == team)
-        .count();
+    return Long.bitCount(getTeamMask(team));
   }
 
   public static Pair<Integer, Integer> getScore() {
-    if (packet.get().teams(0).teamIndex() != 0 || packet.get().teams(1).teamIndex() != 1) {
+    GameTickPacket packet = Teams.packet;
+    if (packet.teams(0).teamIndex() != 0 || packet.teams(1).teamIndex() != 1) {
       logger.warn("Warning: Expectation violated.");
     }
-    return Pair.of(packet.get().teams(0).score(), packet.get().teams(1).score());
+    return Pair.of(packet.teams(0).score(), packet.teams(1).score());
   }
 
   public static int otherTeam(int team) {
     return (team + 1) % 2;
   }
 
+  /** The team of each player in a packet, decoded once when the packet is tracked. */
+  private static final class Roster {
+    final int[] teams;
+    final long[] masks = new long[2];
+
+    Roster(int[] teams) {
+      this.teams = teams;
+      for (int i = 0; i < teams.length && i < Long.SIZE; i++) {
+        masks[teams[i]] |= 1L << i;
+      }
+    }
+  }
+
   private Teams() {
   }
 }
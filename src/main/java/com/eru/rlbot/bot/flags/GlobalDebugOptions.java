@@ -10,6 +10,7 @@ public final class GlobalDebugOptions {
   private static volatile boolean stateLoggerEnabled = false;
   private static volatile int slowedGameSpeed = 5; // in [0, 10]
   private static volatile boolean renderStats;
+  private static volatile boolean javaBallPredictionEnabled = false;
 
   public static boolean isSlowTimeNearBallEnabled() {
     return slowTimeNearBallEnabled;
@@ -51,5 +52,13 @@ public final class GlobalDebugOptions {
     GlobalDebugOptions.renderStats = renderStats;
   }
 
+  public static boolean isJavaBallPredictionEnabled() {
+    return javaBallPredictionEnabled;
+  }
+
+  public static void setJavaBallPredictionEnabled(boolean javaBallPredictionEnabled) {
+    GlobalDebugOptions.javaBallPredictionEnabled = javaBallPredictionEnabled;
+  }
+
   private GlobalDebugOptions() {}
 }
@@ -0,0 +1,186 @@
+package com.eru.rlbot.bot.lookup;
+
+import com.eru.rlbot.bot.common.Constants;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A dense grid of the fastest aerials, indexed by boost, takeoff speed, height and horizontal distance.
+ *
+ * <p>Each cell holds the first frame at which any boost angle reaches the cell and the angle which does it, packed
+ * into a short: the frame in the low {@link #FRAME_BITS} bits and the angle in the rest. The grid is made offline by
+ * {@link AerialTableGenerator} and shipped as the {@link #RESOURCE} resource. It is memory mapped when running from
+ * the class folders and read into a direct buffer when running from a jar.
+ *
+ * <p>Queries interpolate between the 16 surrounding cells, so they take the same time anywhere in the grid.
+ */
+final class AerialTable {
+
+  private static final Logger logger = LogManager.getLogger("AerialTable");
+
+  static final String RESOURCE = "aerial_table.bin";
+  static final int MAGIC = 0x41455231; // AER1
+
+  // The grid. Each dimension starts at zero.
+  static final double BOOST_STEP = 10;
+  static final int BOOST_COUNT = 11;
+  static final double SPEED_STEP = 200;
+  static final int SPEED_COUNT = 12;
+  static final double HEIGHT_STEP = 50;
+  static final int HEIGHT_COUNT = 41;
+  static final double DISTANCE_STEP = 125;
+  static final int DISTANCE_COUNT = 41;
+
+  static final int FRAME_BITS = 9;
+  static final int FRAME_MASK = (1 << FRAME_BITS) - 1;
+  static final int UNREACHABLE = FRAME_MASK;
+  static final int ANGLE_COUNT = 1 << (16 - FRAME_BITS);
+  // Boost angles go from flat forward to flat backward, through straight up.
+  static final double ANGLE_STEP = Math.PI / (ANGLE_COUNT - 1);
+
+  static final int CELL_COUNT = BOOST_COUNT * SPEED_COUNT * HEIGHT_COUNT * DISTANCE_COUNT;
+
+  private static final int HEADER_BYTES = 8;
+
+  private final ByteBuffer cells;
+
+  private AerialTable(ByteBuffer cells) {
+    this.cells = cells;
+  }
+
+  static AerialTable get() {
+    return Holder.INSTANCE;
+  }
+
+  static int index(int boost, int speed, int height, int distance) {
+    return ((boost * SPEED_COUNT + speed) * HEIGHT_COUNT + height) * DISTANCE_COUNT + distance;
+  }
+
+  static short pack(int frame, int angle) {
+    return (short) ((angle << FRAME_BITS) | frame);
+  }
+
+  /** The interpolated fastest aerial, or null if any of the surrounding cells can't be reached. */
+  Reach query(double boost, double speed, double height, double distance) {
+    if (cells == null) {
+      return null;
+    }
+
+    double b = clampToGrid(boost / BOOST_STEP, BOOST_COUNT);
+    double s = clampToGrid(speed / SPEED_STEP, SPEED_COUNT);
+    double h = height / HEIGHT_STEP;
+    double d = distance / DISTANCE_STEP;
+    if (h < 0 || h > HEIGHT_COUNT - 1 || d < 0 || d > DISTANCE_COUNT - 1) {
+      return null;
+    }
+
+    int b0 = lowerIndex(b, BOOST_COUNT);
+    int s0 = lowerIndex(s, SPEED_COUNT);
+    int h0 = lowerIndex(h, HEIGHT_COUNT);
+    int d0 = lowerIndex(d, DISTANCE_COUNT);
+
+    double frames = 0;
+    double angle = 0;
+    for (int corner = 0; corner < 16; corner++) {
+      int bi = b0 + (corner & 1);
+      int si = s0 + ((corner >> 1) & 1);
+      int hi = h0 + ((corner >> 2) & 1);
+      int di = d0 + ((corner >> 3) & 1);
+      double weight = weight(b - b0, corner & 1)
+          * weight(s - s0, (corner >> 1) & 1)
+          * weight(h - h0, (corner >> 2) & 1)
+          * weight(d - d0, (corner >> 3) & 1);
+
+      int cell = cells.getShort(HEADER_BYTES + 2 * index(bi, si, hi, di)) & 0xFFFF;
+      int frame = cell & FRAME_MASK;
+      if (frame == UNREACHABLE) {
+        if (weight > 0) {
+          return null;
+        }
+        continue;
+      }
+      frames += weight * frame;
+      angle += weight * (cell >>> FRAME_BITS) * ANGLE_STEP;
+    }
+    return new Reach(frames * Constants.STEP_SIZE, angle);
+  }
+
+  private static double clampToGrid(double value, int count) {
+    return Math.max(0, Math.min(count - 1, value));
+  }
+
+  // The last cell has no upper neighbour, so it interpolates from the one below.
+  private static int lowerIndex(double value, int count) {
+    return Math.min((int) value, count - 2);
+  }
+
+  private static double weight(double fraction, int upper) {
+    return upper == 1 ? fraction : 1 - fraction;
+  }
+
+  /** The time from takeoff and the boost angle above flat forward, in radians. */
+  static final class Reach {
+    final double time;
+    final double boostAngle;
+
+    Reach(double time, double boostAngle) {
+      this.time = time;
+      this.boostAngle = boostAngle;
+    }
+  }
+
+  // Loads the table on first use rather than when the generator touches the grid constants.
+  private static final class Holder {
+    static final AerialTable INSTANCE = load();
+  }
+
+  private static AerialTable load() {
+    try {
+      ByteBuffer cells = read();
+      if (cells == null) {
+        logger.warn("No aerial table. Run AerialTableGenerator to make one.");
+      } else if (cells.limit() != HEADER_BYTES + 2 * CELL_COUNT || cells.getInt(0) != MAGIC
+          || cells.getInt(4) != CELL_COUNT) {
+        logger.warn("The aerial table doesn't match the grid. Run AerialTableGenerator to make a new one.");
+        cells = null;
+      }
+      return new AerialTable(cells);
+    } catch (IOException | URISyntaxException e) {
+      logger.warn("Cannot read the aerial table", e);
+      return new AerialTable(null);
+    }
+  }
+
+  private static ByteBuffer read() throws IOException, URISyntaxException {
+    URL url = AerialTable.class.getClassLoader().getResource(RESOURCE);
+    if (url == null) {
+      return null;
+    }
+
+    if ("file".equals(url.getProtocol())) {
+      try (FileChannel channel = FileChannel.open(Paths.get(url.toURI()), StandardOpenOption.READ)) {
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      }
+    }
+
+    // Resources in a jar can't be mapped.
+    try (InputStream stream = url.openStream()) {
+      ByteBuffer buffer = ByteBuffer.allocateDirect(HEADER_BYTES + 2 * CELL_COUNT);
+      byte[] chunk = new byte[1 << 16];
+      int read;
+      while ((read = stream.read(chunk)) > 0 && buffer.remaining() >= read) {
+        buffer.put(chunk, 0, read);
+      }
+      buffer.flip();
+      return buffer;
+    }
+  }
+}
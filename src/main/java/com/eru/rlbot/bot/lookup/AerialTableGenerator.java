@@ -0,0 +1,125 @@
+package com.eru.rlbot.bot.lookup;
+
+import com.eru.rlbot.bot.common.Constants;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Makes the {@link AerialTable} resource. Usage:
+ *
+ * <pre>
+ *   AerialTableGenerator [src/main/resources/aerial_table.bin]
+ * </pre>
+ *
+ * <p>For every boost and takeoff speed in the grid, flies a fast aerial followed by a fixed boost angle, for many
+ * angles from flat forward to flat backward. The car boosts until it runs out and then coasts. Every frame of every
+ * flight marks the cell it passes through, keeping the earliest frame for each cell.
+ */
+public final class AerialTableGenerator {
+
+  private static final String DEFAULT_OUTPUT = "src/main/resources/" + AerialTable.RESOURCE;
+
+  // More angles than the table stores, so neighbouring flights pass through every cell between them.
+  private static final int SIMULATED_ANGLES = 1024;
+  private static final int MAX_FRAMES = AerialTable.UNREACHABLE - 1;
+
+  public static void main(String[] args) throws IOException {
+    String output = args.length > 0 ? args[0] : DEFAULT_OUTPUT;
+
+    short[] cells = generate();
+    File file = new File(output);
+    if (file.getParentFile() != null) {
+      file.getParentFile().mkdirs();
+    }
+    try (DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+      stream.writeInt(AerialTable.MAGIC);
+      stream.writeInt(AerialTable.CELL_COUNT);
+      for (short cell : cells) {
+        stream.writeShort(cell);
+      }
+    }
+
+    long reachable = 0;
+    for (short cell : cells) {
+      if ((cell & AerialTable.FRAME_MASK) != AerialTable.UNREACHABLE) {
+        reachable++;
+      }
+    }
+    System.out.println(String.format("Wrote %s: %d of %d cells reachable", output, reachable, cells.length));
+  }
+
+  static short[] generate() {
+    short[] cells = new short[AerialTable.CELL_COUNT];
+    Arrays.fill(cells, AerialTable.pack(AerialTable.UNREACHABLE, 0));
+
+    for (int boost = 0; boost < AerialTable.BOOST_COUNT; boost++) {
+      for (int speed = 0; speed < AerialTable.SPEED_COUNT; speed++) {
+        for (int angle = 0; angle < SIMULATED_ANGLES; angle++) {
+          fly(cells, boost, speed, Math.PI * angle / (SIMULATED_ANGLES - 1));
+        }
+      }
+    }
+    return cells;
+  }
+
+  private static void fly(short[] cells, int boostIndex, int speedIndex, double boostAngle) {
+    double boost = boostIndex * AerialTable.BOOST_STEP - AerialLookUp.FAST_AERIAL_BOOST;
+    if (boost < 0) {
+      return;
+    }
+
+    int storedAngle = (int) Math.round(boostAngle / AerialTable.ANGLE_STEP);
+    double boostY = Math.cos(boostAngle) * Constants.BOOSTED_ACCELERATION;
+    double boostZ = Math.sin(boostAngle) * Constants.BOOSTED_ACCELERATION;
+
+    // The fast aerial adds its velocity evenly over its duration.
+    int fastAerialFrames = (int) Math.round(AerialLookUp.FAST_AERIAL_TIME * Constants.STEP_SIZE_COUNT);
+    double fastAerialY = AerialLookUp.FAST_AERIAL_VELOCITY.y / (double) fastAerialFrames;
+    double fastAerialZ = AerialLookUp.FAST_AERIAL_VELOCITY.z / (double) fastAerialFrames;
+
+    double vy = speedIndex * AerialTable.SPEED_STEP;
+    double vz = 0;
+    double y = 0;
+    double z = Constants.CAR_AT_REST;
+    for (int frame = 1; frame <= MAX_FRAMES; frame++) {
+      if (frame <= fastAerialFrames) {
+        vy += fastAerialY;
+        vz += fastAerialZ;
+      } else if (boost > 0) {
+        vy += boostY * Constants.STEP_SIZE;
+        vz += boostZ * Constants.STEP_SIZE;
+        boost -= Constants.BOOST_RATE * Constants.STEP_SIZE;
+      }
+      vz += Constants.NEG_GRAVITY * Constants.STEP_SIZE;
+
+      double speed = Math.hypot(vy, vz);
+      if (speed > Constants.BOOSTED_MAX_SPEED) {
+        vy *= Constants.BOOSTED_MAX_SPEED / speed;
+        vz *= Constants.BOOSTED_MAX_SPEED / speed;
+      }
+
+      y += vy * Constants.STEP_SIZE;
+      z += vz * Constants.STEP_SIZE;
+      if (z < Constants.CAR_AT_REST && vz < 0) {
+        return;
+      }
+
+      long height = Math.round(z / AerialTable.HEIGHT_STEP);
+      long distance = Math.round(y / AerialTable.DISTANCE_STEP);
+      if (height >= AerialTable.HEIGHT_COUNT || distance < 0 || distance >= AerialTable.DISTANCE_COUNT) {
+        continue;
+      }
+
+      int index = AerialTable.index(boostIndex, speedIndex, (int) height, (int) distance);
+      if ((cells[index] & AerialTable.FRAME_MASK) > frame) {
+        cells[index] = AerialTable.pack(frame, storedAngle);
+      }
+    }
+  }
+
+  private AerialTableGenerator() {}
+}
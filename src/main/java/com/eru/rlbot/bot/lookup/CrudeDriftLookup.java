@@ -1,4 +1,100 @@
 package com.eru.rlbot.bot.lookup;
 
+import com.eru.rlbot.common.input.CarData;
+import com.eru.rlbot.common.vector.Vector2;
+import com.eru.rlbot.common.vector.Vector3;
+import java.util.Optional;
+
+/**
+ * Answers what a power slide does to a car on the ground, from the measured {@link DriftTable}.
+ *
+ * <p>Slides hold the throttle and steer with the handbrake down for some ticks, then let go and boost until the car
+ * stops rotating, which is how the {@link com.eru.rlbot.testing.PowerSlideTestRig} measures them. Headings use the
+ * sign of {@link Vector2#correctionAngle}, which is also the sign of the steer that turns toward them.
+ */
 public class CrudeDriftLookup {
+
+  /** Returns the slide with the given entry speed, handbrake hold ticks and steer. Empty if it was never measured. */
+  public static Optional<Drift> drift(double speed, int holdTicks, double steer) {
+    double[] values = DriftTable.get().query(speed, holdTicks, Math.abs(steer));
+    return values == null ? Optional.empty() : Optional.of(new Drift(holdTicks, steer, values));
+  }
+
+  /**
+   * Returns the shortest full lock slide which turns the car by the given heading change at the given speed. Empty if
+   * no measured slide turns that far.
+   */
+  public static Optional<Drift> turn(double speed, double headingChange) {
+    double steer = headingChange < 0 ? -1 : 1;
+    double target = Math.abs(headingChange);
+
+    double[] previous = null;
+    for (int hold = 0; hold <= DriftTable.MAX_HOLD_TICKS; hold += DriftTable.HOLD_STEP) {
+      double[] values = DriftTable.get().query(speed, hold, 1);
+      if (values == null) {
+        previous = null;
+        continue;
+      }
+
+      if (values[DriftTable.HEADING] >= target) {
+        if (previous == null) {
+          return Optional.of(new Drift(hold, steer, values));
+        }
+
+        // Heading grows smoothly with the hold time, so interpolate the ticks between the two grid points.
+        double fraction = (target - previous[DriftTable.HEADING])
+            / (values[DriftTable.HEADING] - previous[DriftTable.HEADING]);
+        int holdTicks = (int) Math.ceil(hold - DriftTable.HOLD_STEP * (1 - fraction));
+        return drift(speed, holdTicks, steer);
+      }
+      previous = values;
+    }
+    return Optional.empty();
+  }
+
+  /** Whether there is a drift table to look slides up in. */
+  public static boolean isAvailable() {
+    return !DriftTable.get().isEmpty();
+  }
+
+  /** The outcome of a power slide, from the start of the slide until the car stops rotating. */
+  public static class Drift {
+    public final int holdTicks;
+    public final double steer;
+    public final double headingChange; // radians, with the sign of the steer
+    public final double exitSpeed;
+    public final double forward; // along the entry heading
+    public final double lateral; // across the entry heading, toward the turn
+    public final double time;
+
+    Drift(int holdTicks, double steer, double[] values) {
+      double sign = steer < 0 ? -1 : 1;
+      this.holdTicks = holdTicks;
+      this.steer = steer;
+      this.headingChange = sign * values[DriftTable.HEADING];
+      this.exitSpeed = values[DriftTable.EXIT_SPEED];
+      this.forward = values[DriftTable.FORWARD];
+      this.lateral = values[DriftTable.LATERAL];
+      this.time = values[DriftTable.TIME];
+    }
+
+    /** Returns where the given car ends up when it makes this slide. */
+    public Vector3 exitPosition(CarData car) {
+      Vector2 nose = car.orientation.getNoseVector().flatten().normalized();
+      // Rotating the nose by a positive heading change turns it toward this side.
+      double side = steer < 0 ? -lateral : lateral;
+      return car.position.plus(Vector3.of(
+          nose.x * forward - nose.y * side,
+          nose.y * forward + nose.x * side,
+          0));
+    }
+
+    /** Returns the flat heading of the given car after it makes this slide. */
+    public Vector3 exitHeading(CarData car) {
+      Vector2 nose = car.orientation.getNoseVector().flatten().normalized();
+      double cos = Math.cos(headingChange);
+      double sin = Math.sin(headingChange);
+      return Vector3.of(nose.x * cos - nose.y * sin, nose.x * sin + nose.y * cos, 0);
+    }
+  }
 }
@@ -0,0 +1,156 @@
+package com.eru.rlbot.bot.lookup;
+
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A grid of measured power slides, indexed by entry speed, handbrake hold ticks and steer.
+ *
+ * <p>Each cell holds the averaged outcome of the slides which landed in it: the heading change, the exit speed, the
+ * displacement along and across the entry heading and the time until the car stops rotating. Headings and sideways
+ * displacements are mirrored so they are positive in the direction of the steer. Cells without any slides hold NaN.
+ *
+ * <p>The grid is built offline from {@link com.eru.rlbot.testing.PowerSlideTestRig} captures by
+ * {@link DriftTableBuilder} and shipped as the {@link #RESOURCE} resource.
+ */
+final class DriftTable {
+
+  private static final Logger logger = LogManager.getLogger("DriftTable");
+
+  static final String RESOURCE = "drift_table.bin";
+  static final int MAGIC = 0x44524631; // DRF1
+
+  // The grid.
+  static final double SPEED_MIN = 500;
+  static final double SPEED_STEP = 250;
+  static final int SPEED_COUNT = 8;
+  static final int HOLD_STEP = 5;
+  static final int HOLD_COUNT = 21;
+  static final double STEER_STEP = .25;
+  static final int STEER_COUNT = 4; // Steer starts at one step, since there is nothing to learn from a straight slide.
+
+  static final int MAX_HOLD_TICKS = HOLD_STEP * (HOLD_COUNT - 1);
+
+  // The values in each cell.
+  static final int HEADING = 0;
+  static final int EXIT_SPEED = 1;
+  static final int FORWARD = 2;
+  static final int LATERAL = 3;
+  static final int TIME = 4;
+  static final int VALUE_COUNT = 5;
+
+  static final int CELL_COUNT = SPEED_COUNT * HOLD_COUNT * STEER_COUNT;
+
+  private static final int HEADER_BYTES = 8;
+
+  private final float[] values;
+
+  private DriftTable(float[] values) {
+    this.values = values;
+  }
+
+  static DriftTable get() {
+    return Holder.INSTANCE;
+  }
+
+  static DriftTable of(float[] values) {
+    if (values.length != CELL_COUNT * VALUE_COUNT) {
+      throw new IllegalArgumentException(String.format("Expected %d values", CELL_COUNT * VALUE_COUNT));
+    }
+    return new DriftTable(values);
+  }
+
+  static int index(int speed, int hold, int steer) {
+    return (speed * HOLD_COUNT + hold) * STEER_COUNT + steer;
+  }
+
+  boolean isEmpty() {
+    return values == null;
+  }
+
+  /**
+   * The interpolated slide for the positive steer, or null if any of the surrounding cells has no slides. Speed and
+   * steer are clamped to the grid, hold ticks are not.
+   */
+  double[] query(double speed, double holdTicks, double steer) {
+    if (values == null) {
+      return null;
+    }
+
+    double s = clampToGrid((speed - SPEED_MIN) / SPEED_STEP, SPEED_COUNT);
+    double h = holdTicks / HOLD_STEP;
+    double t = clampToGrid(steer / STEER_STEP - 1, STEER_COUNT);
+    if (h < 0 || h > HOLD_COUNT - 1) {
+      return null;
+    }
+
+    int s0 = lowerIndex(s, SPEED_COUNT);
+    int h0 = lowerIndex(h, HOLD_COUNT);
+    int t0 = lowerIndex(t, STEER_COUNT);
+
+    double[] result = new double[VALUE_COUNT];
+    for (int corner = 0; corner < 8; corner++) {
+      double weight = weight(s - s0, corner & 1)
+          * weight(h - h0, (corner >> 1) & 1)
+          * weight(t - t0, (corner >> 2) & 1);
+      if (weight == 0) {
+        continue;
+      }
+
+      int offset = VALUE_COUNT * index(s0 + (corner & 1), h0 + ((corner >> 1) & 1), t0 + ((corner >> 2) & 1));
+      if (Float.isNaN(values[offset])) {
+        return null;
+      }
+      for (int value = 0; value < VALUE_COUNT; value++) {
+        result[value] += weight * values[offset + value];
+      }
+    }
+    return result;
+  }
+
+  private static double clampToGrid(double value, int count) {
+    return Math.max(0, Math.min(count - 1, value));
+  }
+
+  // The last cell has no upper neighbour, so it interpolates from the one below.
+  private static int lowerIndex(double value, int count) {
+    return Math.min((int) value, count - 2);
+  }
+
+  private static double weight(double fraction, int upper) {
+    return upper == 1 ? fraction : 1 - fraction;
+  }
+
+  // Loads the table on first use rather than when the builder touches the grid constants.
+  private static final class Holder {
+    static final DriftTable INSTANCE = load();
+  }
+
+  private static DriftTable load() {
+    try (InputStream stream = DriftTable.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+      if (stream == null) {
+        logger.warn("No drift table. Run DriftTableBuilder over PowerSlideTestRig captures to make one.");
+        return new DriftTable(null);
+      }
+
+      ByteBuffer buffer = ByteBuffer.wrap(ByteStreams.toByteArray(stream));
+      if (buffer.limit() != HEADER_BYTES + 4 * CELL_COUNT * VALUE_COUNT || buffer.getInt(0) != MAGIC
+          || buffer.getInt(4) != CELL_COUNT) {
+        logger.warn("The drift table doesn't match the grid. Run DriftTableBuilder to make a new one.");
+        return new DriftTable(null);
+      }
+
+      float[] values = new float[CELL_COUNT * VALUE_COUNT];
+      buffer.position(HEADER_BYTES);
+      buffer.asFloatBuffer().get(values);
+      return new DriftTable(values);
+    } catch (IOException e) {
+      logger.warn("Cannot read the drift table", e);
+      return new DriftTable(null);
+    }
+  }
+}
@@ -0,0 +1,222 @@
+package com.eru.rlbot.bot.lookup;
+
+import com.eru.rlbot.common.CaptureReader;
+import com.eru.rlbot.common.GameStateProtos;
+import com.eru.rlbot.common.input.CarData;
+import com.eru.rlbot.common.vector.Vector2;
+import com.google.common.collect.ImmutableList;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Makes the {@link DriftTable} resource from power slide captures. Usage:
+ *
+ * <pre>
+ *   DriftTableBuilder [src/main/resources/drift_table.bin] [logs/state_logger.log ...]
+ * </pre>
+ *
+ * <p>Reads the state logger output of {@link com.eru.rlbot.testing.PowerSlideTestRig} runs. Each run is one training
+ * id: it starts at the state labeled with the entry speed, steer and hold ticks, and ends at the first state labeled
+ * "rotation complete". Runs which never finish are skipped. Every slide is added to its nearest cell and each cell
+ * holds the average of its slides.
+ */
+public final class DriftTableBuilder {
+
+  private static final String DEFAULT_OUTPUT = "src/main/resources/" + DriftTable.RESOURCE;
+  private static final String DEFAULT_CAPTURE = "logs/state_logger.log";
+
+  private static final Pattern ENTRY_LABEL = Pattern.compile("Init Speed:(\\d+) Steer:(-?[\\d.]+) hold:(\\d+)");
+  private static final String EXIT_LABEL = "rotation complete";
+
+  public static void main(String[] args) throws IOException {
+    String output = args.length > 0 ? args[0] : DEFAULT_OUTPUT;
+
+    List<GameStateProtos.GameState> states = new ArrayList<>();
+    if (args.length > 1) {
+      for (int i = 1; i < args.length; i++) {
+        states.addAll(CaptureReader.read(Paths.get(args[i])));
+      }
+    } else {
+      states.addAll(CaptureReader.read(Paths.get(DEFAULT_CAPTURE)));
+    }
+
+    Accumulator accumulator = new Accumulator();
+    int slides = 0;
+    for (List<GameStateProtos.GameState> run : splitRuns(states)) {
+      Optional<Slide> slide = measure(run);
+      if (slide.isPresent()) {
+        accumulator.add(slide.get());
+        slides++;
+      }
+    }
+
+    float[] values = accumulator.build();
+    File file = new File(output);
+    if (file.getParentFile() != null) {
+      file.getParentFile().mkdirs();
+    }
+    try (DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+      stream.writeInt(DriftTable.MAGIC);
+      stream.writeInt(DriftTable.CELL_COUNT);
+      for (float value : values) {
+        stream.writeFloat(value);
+      }
+    }
+
+    System.out.println(String.format(
+        "Wrote %s: %d slides filled %d of %d cells", output, slides, accumulator.filledCells(), DriftTable.CELL_COUNT));
+  }
+
+  /** Splits the states into the runs of consecutive states with the same training id. */
+  static ImmutableList<List<GameStateProtos.GameState>> splitRuns(List<GameStateProtos.GameState> states) {
+    ImmutableList.Builder<List<GameStateProtos.GameState>> runs = ImmutableList.builder();
+    List<GameStateProtos.GameState> run = new ArrayList<>();
+    for (GameStateProtos.GameState state : states) {
+      if (!run.isEmpty() && run.get(0).getTrainingId() != state.getTrainingId()) {
+        runs.add(run);
+        run = new ArrayList<>();
+      }
+      run.add(state);
+    }
+    if (!run.isEmpty()) {
+      runs.add(run);
+    }
+    return runs.build();
+  }
+
+  /** Measures the slide in a single run, if it has both an entry and an exit. */
+  static Optional<Slide> measure(List<GameStateProtos.GameState> run) {
+    int entry = -1;
+    Matcher matcher = null;
+    for (int i = 0; i < run.size() && entry == -1; i++) {
+      Matcher candidate = ENTRY_LABEL.matcher(run.get(i).getLabel());
+      if (candidate.matches()) {
+        entry = i;
+        matcher = candidate;
+      }
+    }
+    if (entry == -1) {
+      return Optional.empty();
+    }
+
+    double labelSpeed = Double.parseDouble(matcher.group(1));
+    double steer = Double.parseDouble(matcher.group(2));
+    int holdTicks = Integer.parseInt(matcher.group(3));
+
+    // The state logger records every car, so follow the one going at the labeled speed.
+    CarData entryCar = null;
+    for (CarData car : CaptureReader.toCars(run.get(entry))) {
+      if (entryCar == null || Math.abs(car.groundSpeed - labelSpeed) < Math.abs(entryCar.groundSpeed - labelSpeed)) {
+        entryCar = car;
+      }
+    }
+    if (entryCar == null) {
+      return Optional.empty();
+    }
+
+    // Sum the heading frame by frame so turns past half a circle are kept.
+    double heading = 0;
+    Vector2 lastNose = entryCar.orientation.getNoseVector().flatten();
+    for (int i = entry + 1; i < run.size(); i++) {
+      Optional<CarData> car = findCar(run.get(i), entryCar.serialNumber);
+      if (!car.isPresent()) {
+        return Optional.empty();
+      }
+
+      Vector2 nose = car.get().orientation.getNoseVector().flatten();
+      heading += lastNose.correctionAngle(nose);
+      lastNose = nose;
+
+      if (EXIT_LABEL.equals(run.get(i).getLabel())) {
+        return Optional.of(new Slide(entryCar, car.get(), steer, holdTicks, heading));
+      }
+    }
+    return Optional.empty();
+  }
+
+  private static Optional<CarData> findCar(GameStateProtos.GameState state, int id) {
+    for (GameStateProtos.GameState.CarState car : state.getCarList()) {
+      if (car.getId() == id) {
+        return Optional.of(CaptureReader.toCar(state, car));
+      }
+    }
+    return Optional.empty();
+  }
+
+  /** A measured slide, mirrored so the heading and the sideways displacement go toward the steer. */
+  static final class Slide {
+    final double speed;
+    final double steer;
+    final int holdTicks;
+    final double[] values = new double[DriftTable.VALUE_COUNT];
+
+    Slide(CarData entry, CarData exit, double steer, int holdTicks, double heading) {
+      this.speed = entry.groundSpeed;
+      this.steer = Math.abs(steer);
+      this.holdTicks = holdTicks;
+
+      double sign = steer < 0 ? -1 : 1;
+      Vector2 nose = entry.orientation.getNoseVector().flatten().normalized();
+      Vector2 displacement = exit.position.minus(entry.position).flatten();
+      values[DriftTable.HEADING] = sign * heading;
+      values[DriftTable.EXIT_SPEED] = exit.groundSpeed;
+      values[DriftTable.FORWARD] = displacement.x * nose.x + displacement.y * nose.y;
+      values[DriftTable.LATERAL] = sign * (displacement.y * nose.x - displacement.x * nose.y);
+      values[DriftTable.TIME] = exit.elapsedSeconds - entry.elapsedSeconds;
+    }
+  }
+
+  /** Averages slides into their nearest cells. */
+  static final class Accumulator {
+    private final double[] sums = new double[DriftTable.CELL_COUNT * DriftTable.VALUE_COUNT];
+    private final int[] counts = new int[DriftTable.CELL_COUNT];
+
+    void add(Slide slide) {
+      int speed = nearest((slide.speed - DriftTable.SPEED_MIN) / DriftTable.SPEED_STEP, DriftTable.SPEED_COUNT);
+      int hold = nearest((double) slide.holdTicks / DriftTable.HOLD_STEP, DriftTable.HOLD_COUNT);
+      int steer = nearest(slide.steer / DriftTable.STEER_STEP - 1, DriftTable.STEER_COUNT);
+      if (speed < 0 || hold < 0 || steer < 0) {
+        return;
+      }
+
+      int cell = DriftTable.index(speed, hold, steer);
+      counts[cell]++;
+      for (int value = 0; value < DriftTable.VALUE_COUNT; value++) {
+        sums[cell * DriftTable.VALUE_COUNT + value] += slide.values[value];
+      }
+    }
+
+    int filledCells() {
+      return (int) Arrays.stream(counts).filter(count -> count > 0).count();
+    }
+
+    float[] build() {
+      float[] values = new float[sums.length];
+      for (int cell = 0; cell < DriftTable.CELL_COUNT; cell++) {
+        for (int value = 0; value < DriftTable.VALUE_COUNT; value++) {
+          int index = cell * DriftTable.VALUE_COUNT + value;
+          values[index] = counts[cell] == 0 ? Float.NaN : (float) (sums[index] / counts[cell]);
+        }
+      }
+      return values;
+    }
+
+    // Slides more than half a step outside of the grid don't belong to any cell.
+    private static int nearest(double value, int count) {
+      long index = Math.round(value);
+      return index < 0 || index >= count ? -1 : (int) index;
+    }
+  }
+
+  private DriftTableBuilder() {}
+}
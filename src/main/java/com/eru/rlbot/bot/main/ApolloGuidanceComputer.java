@@ -8,7 +8,6 @@ import com.eru.rlbot.bot.chat.RadioModule;
 import com.eru.rlbot.bot.common.Constants;
 import com.eru.rlbot.bot.common.Goal;
 import com.eru.rlbot.bot.common.StateSetChecker;
-import com.eru.rlbot.bot.common.Teams;
 import com.eru.rlbot.bot.flags.PerBotDebugOptions;
 import com.eru.rlbot.bot.prediction.BallPredictionUtil;
 import com.eru.rlbot.bot.prediction.CarLocationPredictor;
@@ -16,10 +15,9 @@ import com.eru.rlbot.bot.renderer.BallPredictionRenderer;
 import com.eru.rlbot.bot.renderer.BotRenderer;
 import com.eru.rlbot.bot.strats.Rotations;
 import com.eru.rlbot.bot.strats.StrategyManager;
-import com.eru.rlbot.bot.utils.ComputeTracker;
+import com.eru.rlbot.bot.utils.Deadline;
+import com.eru.rlbot.bot.utils.TickProfiler;
 import com.eru.rlbot.common.StateLogger;
-import com.eru.rlbot.common.boost.BoostManager;
-import com.eru.rlbot.common.dropshot.DropshotTileManager;
 import com.eru.rlbot.common.input.DataPacket;
 import com.eru.rlbot.common.jump.JumpManager;
 import com.eru.rlbot.common.output.Controls;
@@ -39,6 +37,9 @@ public final class ApolloGuidanceComputer implements Bot {
 
   private static final Logger logger = LogManager.getLogger("Agc");
 
+  // Time from the start of the tick the planners may use, leaving the rest of the frame for rendering.
+  private static final double PLANNING_BUDGET = Constants.STEP_SIZE * .8;
+
   public final Goal opponentsGoal;
   public final Goal ownGoal;
 
@@ -51,9 +52,16 @@ public final class ApolloGuidanceComputer implements Bot {
 
   private final StrategyManager strategyManager;
   private final BallPredictionRenderer ballPredictionRenderer;
+  private final TickProfiler tickProfiler;
+  private final Telemetry telemetry;
+
+  // The controls sent last tick, held if there is no time to plan this tick.
+  private Controls lastOutput;
+  private boolean heldLastOutput;
 
-  public ApolloGuidanceComputer(int serialNumber, String name, int team) {
+  ApolloGuidanceComputer(int serialNumber, String name, int team, Telemetry telemetry) {
     this.serialNumber = serialNumber;
+    this.telemetry = telemetry;
     this.name = name;
     this.team = team;
 
@@ -65,6 +73,15 @@ public final class ApolloGuidanceComputer implements Bot {
 
     strategyManager = new StrategyManager(this);
     ballPredictionRenderer = new BallPredictionRenderer(serialNumber);
+    tickProfiler = TickProfiler.get(serialNumber);
+  }
+
+  /**
+   * Creates a rocket which is flown by a simulation instead of the bot manager. Rockets in the same simulation should
+   * share the telemetry.
+   */
+  public static ApolloGuidanceComputer createHeadless(int serialNumber, String name, int team, Telemetry telemetry) {
+    return new ApolloGuidanceComputer(serialNumber, name, team, telemetry);
   }
 
   /**
@@ -73,21 +90,21 @@ public final class ApolloGuidanceComputer implements Bot {
    */
   @Override
   public ControllerState processInput(GameTickPacket packet) {
-    ComputeTracker.init(serialNumber);
+    long tickStart = System.nanoTime();
+
+    if (packet.gameInfo().isMatchEnded()) {
+      tickProfiler.dump();
+    }
 
     if (packet.playersLength() <= serialNumber || packet.ball() == null || !packet.gameInfo().isRoundActive()) {
       // Just return immediately if something looks wrong with the data. This helps us avoid stack traces.
       return Controls.create();
     }
 
-    // Update the boost manager and tile manager with the latest data
-    BoostManager.track(packet);
-    DropshotTileManager.loadGameTickPacket(packet);
-    Teams.track(packet);
-
-    // Translate the raw packet data (which is in an unpleasant format) into our custom DataPacket class.
+    // Decodes the packet and updates the boost, tile and team trackers once per frame for all of the bots.
     // The DataPacket might not include everything from GameTickPacket, so improve it if you need to!
-    DataPacket input = new DataPacket(packet, serialNumber);
+    DataPacket input = telemetry.receive(packet).forBot(serialNumber);
+    long stageStart = System.nanoTime();
 
     // Checks to see if the ball has been touched.
     BallPredictionUtil.refresh(input);
@@ -96,7 +113,7 @@ public final class ApolloGuidanceComputer implements Bot {
     CarBallContactManager.track(input);
     StateLogger.track(input);
     TrainingId.track(input);
-    CarLocationPredictor.track(input);
+    CarLocationPredictor.render(input);
 
     KickoffGame.track(input);
     SlowGameNearBall.track(input);
@@ -105,8 +122,23 @@ public final class ApolloGuidanceComputer implements Bot {
     rotations.track(input);
 
     radioModule.sendMessages(input);
-
-    Controls output = strategyManager.executeStrategy(input);
+    tickProfiler.record(TickProfiler.Stage.PREDICTION, stageStart);
+
+    Controls output;
+    Deadline deadline = Deadline.after(tickStart, PLANNING_BUDGET);
+    if (deadline.remaining() < 0 && canHoldLastOutput()) {
+      // Tracking used up the frame. Holding the controls for a tick beats missing the next frame as well.
+      logger.debug("AGC{} out of time, holding last controls", serialNumber);
+      output = lastOutput;
+      heldLastOutput = true;
+    } else {
+      // The planners check the deadline and settle for their best answer so far once it passes.
+      // Even past the deadline the answer is kept: the tacticians have already moved on as if it was sent.
+      try (Deadline.Scope scope = deadline.enter()) {
+        output = strategyManager.executeStrategy(input);
+      }
+      heldLastOutput = false;
+    }
 
     if (PerBotDebugOptions.get(input.car.serialNumber).isImmobilizeCar()) {
       output = Controls.create()
@@ -119,13 +151,18 @@ public final class ApolloGuidanceComputer implements Bot {
 //  NextFramePredictor.getPrediction(input, output);
 //  TrailRenderer.render(input, output);
     JumpManager.trackOutput(input, output);
+    lastOutput = output;
 
     // Do Rendering.
+    stageStart = System.nanoTime();
     Rotations.render(input);
     botRenderer.renderInfo(input, output);
     ballPredictionRenderer.renderBallPrediction();
 
-    double frameTime = ComputeTracker.stop(input.serialNumber);
+    tickProfiler.record(TickProfiler.Stage.RENDERING, stageStart);
+
+    long tickEnd = tickProfiler.record(TickProfiler.Stage.TICK, tickStart);
+    double frameTime = (tickEnd - tickStart) / Constants.NANOS;
     if (frameTime > Constants.STEP_SIZE) {
       logger.info("AGC" + serialNumber + " dropped frames: {}", Math.round(frameTime / Constants.STEP_SIZE));
     }
@@ -133,6 +170,11 @@ public final class ApolloGuidanceComputer implements Bot {
     return output;
   }
 
+  // The last controls are only held for one tick in a row, so the bot never drives blind.
+  private boolean canHoldLastOutput() {
+    return lastOutput != null && !heldLastOutput;
+  }
+
   @Override
   public int getIndex() {
     return this.serialNumber;
@@ -4,6 +4,7 @@ import static java.awt.Component.CENTER_ALIGNMENT;
 
 import com.eru.rlbot.bot.flags.GlobalDebugOptions;
 import com.eru.rlbot.bot.flags.PerBotDebugOptions;
+import com.eru.rlbot.bot.utils.TickProfiler;
 import com.eru.rlbot.common.Pair;
 import com.eru.rlbot.common.StateLogger;
 import com.eru.rlbot.common.util.BuildInfo;
@@ -43,6 +44,7 @@ import javax.swing.JScrollPane;
 import javax.swing.JSeparator;
 import javax.swing.JSlider;
 import javax.swing.JTable;
+import javax.swing.JTextArea;
 import javax.swing.KeyStroke;
 import javax.swing.ListSelectionModel;
 import javax.swing.SwingConstants;
@@ -219,6 +221,13 @@ public class DSKY {
     leftColumn.setOpaque(false);
     leftColumn.add(stateLoggerEnabled);
 
+    JCheckBox javaBallPredictionEnabled =
+        new JCheckBox("Java ball prediction", GlobalDebugOptions.isJavaBallPredictionEnabled());
+    javaBallPredictionEnabled.addActionListener((e) ->
+        GlobalDebugOptions.setJavaBallPredictionEnabled(javaBallPredictionEnabled.getModel().isSelected()));
+    javaBallPredictionEnabled.setOpaque(false);
+    leftColumn.add(javaBallPredictionEnabled);
+
     JButton stateCaptureButton = new JButton("Capture History");
     stateCaptureButton.addActionListener((e) -> StateLogger.capture());
     stateCaptureButton.setOpaque(false);
@@ -434,9 +443,46 @@ public class DSKY {
     trailRendererCheckbox.setToolTipText("No longer works");
     optionsPanel.add(trailRendererCheckbox);
 
+    optionsPanel.add(createTickProfilePanel(serialNumber));
+
     return optionsPanel;
   }
 
+  /**
+   * Creates a read-out of the stage timings for the given rocket which refreshes while the rocket is selected.
+   */
+  private JPanel createTickProfilePanel(int serialNumber) {
+    JPanel profilePanel = new JPanel();
+    profilePanel.setLayout(new BoxLayout(profilePanel, BoxLayout.Y_AXIS));
+    profilePanel.setBorder(BorderFactory.createTitledBorder("Tick profile (ms)"));
+    profilePanel.setOpaque(false);
+
+    TickProfiler profiler = TickProfiler.get(serialNumber);
+    JTextArea profileText = new JTextArea(profiler.summary());
+    profileText.setFont(Font.decode(Font.MONOSPACED));
+    profileText.setEditable(false);
+    profileText.setOpaque(false);
+    profilePanel.add(profileText);
+
+    JButton dumpButton = new JButton("Write to file");
+    dumpButton.addActionListener((e) -> profiler.dump());
+    dumpButton.setOpaque(false);
+    profilePanel.add(dumpButton);
+
+    Timer refreshTimer = new Timer(1000, null);
+    refreshTimer.addActionListener((e) -> {
+      if (selectedPlayer != serialNumber || !profileText.isShowing()) {
+        refreshTimer.stop();
+        return;
+      }
+      profileText.setText(profiler.summary());
+    });
+    refreshTimer.setInitialDelay(1000);
+    refreshTimer.start();
+
+    return profilePanel;
+  }
+
   // TODO: I don't think this works.
   private class Animator<T> implements ActionListener {
     private final T animationElement;
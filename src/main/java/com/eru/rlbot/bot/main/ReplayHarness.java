@@ -0,0 +1,221 @@
+package com.eru.rlbot.bot.main;
+
+import com.eru.rlbot.bot.common.Constants;
+import com.eru.rlbot.bot.flags.GlobalDebugOptions;
+import com.eru.rlbot.bot.flags.PerBotDebugOptions;
+import com.eru.rlbot.bot.path.PlanCache;
+import com.eru.rlbot.bot.utils.LatencyHistogram;
+import com.eru.rlbot.bot.utils.TickProfiler;
+import com.eru.rlbot.common.CapturePackets;
+import com.eru.rlbot.common.CaptureReader;
+import com.eru.rlbot.common.DllHelper;
+import com.eru.rlbot.common.GameStateProtos;
+import com.google.common.collect.ImmutableList;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import rlbot.ControllerState;
+import rlbot.flat.GameTickPacket;
+
+/**
+ * Flies the rockets through game states captured by the {@link com.eru.rlbot.common.StateLogger} without the game
+ * running, as fast as they can compute.
+ *
+ * <p>Each capture is turned into packets with {@link CapturePackets} and fed to
+ * {@link ApolloGuidanceComputer#processInput(GameTickPacket)} one frame at a time. The dll is not used: the ball
+ * prediction comes from the Java ball predictor and nothing is rendered or sent.
+ *
+ * <p>For each capture, writes the controls of every bot on every frame to {@code <capture>.controls.csv} so runs can be
+ * diffed, and the tick latencies to {@code <capture>.latency.csv}. The per-stage timings are printed and dumped by the
+ * {@link TickProfiler}. Usage:
+ *
+ * <pre>
+ *   ReplayHarness [--bots=0,1] [--out=logs/replays/] capture.dat...
+ * </pre>
+ *
+ * <p>All cars are driven by default. The marking workers may finish at different points in the tick from run to run,
+ * so the controls can differ slightly between runs of the same capture.
+ */
+public final class ReplayHarness {
+
+  private static final String DEFAULT_FOLDER = "logs/replays/";
+
+  /** The controls a bot returned for a frame and how long it took. */
+  static final class TickRecord {
+    final long frameId;
+    final int serialNumber;
+    final long latencyNanos;
+    final float throttle;
+    final float steer;
+    final float pitch;
+    final float yaw;
+    final float roll;
+    final boolean jump;
+    final boolean boost;
+    final boolean slide;
+
+    TickRecord(long frameId, int serialNumber, long latencyNanos, ControllerState controls) {
+      this.frameId = frameId;
+      this.serialNumber = serialNumber;
+      this.latencyNanos = latencyNanos;
+      this.throttle = controls.getThrottle();
+      this.steer = controls.getSteer();
+      this.pitch = controls.getPitch();
+      this.yaw = controls.getYaw();
+      this.roll = controls.getRoll();
+      this.jump = controls.holdJump();
+      this.boost = controls.holdBoost();
+      this.slide = controls.holdHandbrake();
+    }
+
+    String toControlsCsv() {
+      return String.format("%d,%d,%.4f,%.4f,%.4f,%.4f,%.4f,%b,%b,%b",
+          frameId, serialNumber, throttle, steer, pitch, yaw, roll, jump, boost, slide);
+    }
+
+    String toLatencyCsv() {
+      return String.format("%d,%d,%.3f", frameId, serialNumber, latencyNanos / 1_000_000d);
+    }
+  }
+
+  private final List<Integer> serialNumbers;
+  private final String folderName;
+  private final Telemetry telemetry = new Telemetry();
+  private final List<ApolloGuidanceComputer> rockets = new ArrayList<>();
+
+  ReplayHarness(List<Integer> serialNumbers, String folderName) {
+    this.serialNumbers = serialNumbers;
+    this.folderName = folderName;
+  }
+
+  public static void main(String[] args) throws IOException {
+    List<Integer> serialNumbers = ImmutableList.of();
+    String folderName = DEFAULT_FOLDER;
+    List<Path> captures = new ArrayList<>();
+    for (String arg : args) {
+      if (arg.startsWith("--bots=")) {
+        ImmutableList.Builder<Integer> bots = ImmutableList.builder();
+        for (String bot : arg.substring("--bots=".length()).split(",")) {
+          bots.add(Integer.parseInt(bot.trim()));
+        }
+        serialNumbers = bots.build();
+      } else if (arg.startsWith("--out=")) {
+        folderName = arg.substring("--out=".length());
+      } else {
+        captures.add(Paths.get(arg));
+      }
+    }
+
+    if (captures.isEmpty()) {
+      System.out.println("Usage: ReplayHarness [--bots=0,1] [--out=logs/replays/] capture.dat...");
+      return;
+    }
+
+    goHeadless();
+    ReplayHarness harness = new ReplayHarness(serialNumbers, folderName);
+    for (Path capture : captures) {
+      harness.replay(capture);
+    }
+  }
+
+  /** Keeps the rockets away from the dll and lets them drive. */
+  private static void goHeadless() {
+    DllHelper.setHeadless(true);
+    GlobalDebugOptions.setJavaBallPredictionEnabled(true);
+  }
+
+  /** Replays the capture and writes the results next to the other replays. */
+  void replay(Path capture) throws IOException {
+    ImmutableList<GameStateProtos.GameState> states = CaptureReader.read(capture);
+    ImmutableList<TickRecord> records = replay(states);
+
+    String name = capture.getFileName().toString().replaceFirst("\\.dat$", "");
+    ensureFolderExists(folderName);
+    try (PrintWriter printWriter = new PrintWriter(new FileWriter(new File(folderName, name + ".controls.csv")))) {
+      printWriter.println("frame,bot,throttle,steer,pitch,yaw,roll,jump,boost,slide");
+      records.stream()
+          .map(TickRecord::toControlsCsv)
+          .forEach(printWriter::println);
+    }
+    try (PrintWriter printWriter = new PrintWriter(new FileWriter(new File(folderName, name + ".latency.csv")))) {
+      printWriter.println("frame,bot,latency_ms");
+      records.stream()
+          .map(TickRecord::toLatencyCsv)
+          .forEach(printWriter::println);
+    }
+
+    System.out.println(summarize(capture, records));
+    System.out.println(PlanCache.summary());
+    for (ApolloGuidanceComputer rocket : rockets) {
+      TickProfiler tickProfiler = TickProfiler.get(rocket.serialNumber);
+      System.out.println(rocket.name + "\n" + tickProfiler.summary());
+      tickProfiler.dump();
+    }
+  }
+
+  /** Feeds each state to every bot in order, recording the controls and the time each tick took. */
+  ImmutableList<TickRecord> replay(List<GameStateProtos.GameState> states) {
+    ImmutableList.Builder<TickRecord> records = ImmutableList.builder();
+    for (GameStateProtos.GameState state : states) {
+      GameTickPacket packet = CapturePackets.toPacket(state);
+      ensureRockets(state);
+
+      for (ApolloGuidanceComputer rocket : rockets) {
+        if (rocket.serialNumber >= state.getCarCount()) {
+          continue;
+        }
+
+        long start = System.nanoTime();
+        ControllerState controls = rocket.processInput(packet);
+        long latency = System.nanoTime() - start;
+        records.add(new TickRecord(state.getFrameId(), rocket.serialNumber, latency, controls));
+      }
+    }
+    return records.build();
+  }
+
+  private void ensureRockets(GameStateProtos.GameState state) {
+    if (!rockets.isEmpty()) {
+      return;
+    }
+
+    for (GameStateProtos.GameState.CarState car : state.getCarList()) {
+      if (serialNumbers.isEmpty() || serialNumbers.contains(car.getId())) {
+        PerBotDebugOptions options = PerBotDebugOptions.get(car.getId());
+        options.setImmobilizeCar(false);
+        options.setRenderLines(false);
+        options.setRenderDebugText(false);
+        rockets.add(new ApolloGuidanceComputer(car.getId(), "Replay " + car.getId(), car.getTeam(), telemetry));
+      }
+    }
+  }
+
+  private static String summarize(Path capture, List<TickRecord> records) {
+    LatencyHistogram histogram = new LatencyHistogram();
+    long droppedFrames = 0;
+    for (TickRecord record : records) {
+      histogram.recordNanos(record.latencyNanos);
+      if (record.latencyNanos / Constants.NANOS > Constants.STEP_SIZE) {
+        droppedFrames++;
+      }
+    }
+
+    return String.format("%s: %d ticks, %d over budget, p50 %.3fms, p99 %.3fms, max %.3fms",
+        capture.getFileName(),
+        histogram.count(),
+        droppedFrames,
+        histogram.percentileMicros(.5) / 1000d,
+        histogram.percentileMicros(.99) / 1000d,
+        histogram.maxMicros() / 1000d);
+  }
+
+  @SuppressWarnings("ResultOfMethodCallIgnored")
+  private static void ensureFolderExists(String folderName) {
+    new File(folderName).mkdirs();
+  }
+}
@@ -0,0 +1,51 @@
+package com.eru.rlbot.bot.main;
+
+import com.eru.rlbot.bot.common.Teams;
+import com.eru.rlbot.bot.prediction.CarLocationPredictor;
+import com.eru.rlbot.common.boost.BoostManager;
+import com.eru.rlbot.common.dropshot.DropshotTileManager;
+import com.eru.rlbot.common.input.WorldSnapshot;
+import rlbot.flat.GameTickPacket;
+
+/**
+ * Receives the game ticks for all of the rockets. Each frame is decoded and the field trackers are updated once, no
+ * matter how many rockets are flying, so every rocket fed the same frames should share one.
+ */
+public final class Telemetry {
+
+  // A rocket this far behind the latest frame means the frame count has been reset.
+  private static final int MAX_FRAMES_BEHIND = 120;
+
+  private final Object lock = new Object();
+  private volatile WorldSnapshot latest;
+
+  /** Returns the snapshot for the given packet, decoding it if this is the first time the frame has been seen. */
+  WorldSnapshot receive(GameTickPacket packet) {
+    int frameNum = packet.gameInfo().frameNum();
+    WorldSnapshot snapshot = latest;
+    if (snapshot != null && snapshot.frameNum == frameNum) {
+      return snapshot;
+    }
+
+    synchronized (lock) {
+      snapshot = latest;
+      if (snapshot != null && snapshot.frameNum == frameNum) {
+        return snapshot;
+      }
+
+      if (snapshot != null && frameNum < snapshot.frameNum && snapshot.frameNum - frameNum < MAX_FRAMES_BEHIND) {
+        // A late packet. Don't roll the trackers back to it.
+        return WorldSnapshot.decode(packet);
+      }
+
+      BoostManager.track(packet);
+      DropshotTileManager.loadGameTickPacket(packet);
+      Teams.track(packet);
+
+      snapshot = WorldSnapshot.decode(packet);
+      CarLocationPredictor.track(snapshot);
+      latest = snapshot;
+      return snapshot;
+    }
+  }
+}
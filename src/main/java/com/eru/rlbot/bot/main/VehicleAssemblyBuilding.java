@@ -18,13 +18,15 @@ public final class VehicleAssemblyBuilding extends SocketServer {
 
   protected final BotManager botManager;
 
+  private final Telemetry telemetry = new Telemetry();
+
   VehicleAssemblyBuilding(int commChannel, BotManager botManager) {
     super(commChannel, botManager);
     this.botManager = botManager;
   }
 
   protected ApolloGuidanceComputer initBot(int playerIndex, String botName, int team) {
-    return rocketCatalog.computeIfAbsent(playerIndex, (index) -> new ApolloGuidanceComputer(playerIndex, botName, team));
+    return rocketCatalog.computeIfAbsent(playerIndex, (index) -> new ApolloGuidanceComputer(playerIndex, botName, team, telemetry));
   }
 
   /**
@@ -70,7 +70,7 @@ public class DiagonalFlipCancel extends Maneuver {
     boolean boost = input.car.velocity.magnitude() < Constants.BOOSTED_MAX_SPEED;
 
     BotRenderer botRenderer = BotRenderer.forCar(input.car);
-    JumpManager jumpManager = JumpManager.forCar(input.car);
+    JumpManager jumpManager = input.context.getJumpManager();
 
     botRenderer.renderTarget(Color.RED, target);
 
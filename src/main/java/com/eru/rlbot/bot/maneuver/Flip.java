@@ -45,7 +45,7 @@ public class Flip extends Maneuver {
   @Override
   public void execute(DataPacket input, Controls output, Tactic tactic) {
     BotRenderer botRenderer = BotRenderer.forCar(input.car);
-    JumpManager jumpManager = JumpManager.forCar(input.car);
+    JumpManager jumpManager = input.context.getJumpManager();
 
     output.withThrottle(1.0);
 
@@ -33,7 +33,7 @@ public class HalfFlip extends Maneuver {
 
   @Override
   public void execute(DataPacket input, Controls output, Tactic tactic) {
-    JumpManager jumpManager = JumpManager.forCar(input.car);
+    JumpManager jumpManager = input.context.getJumpManager();
     BotRenderer botRenderer = BotRenderer.forCar(input.car);
 
     Vector3 localAngular = input.car.orientation.localCoordinates(input.car.angularVelocity);
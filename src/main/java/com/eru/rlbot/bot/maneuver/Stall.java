@@ -21,7 +21,7 @@ public class Stall extends Maneuver {
 
   @Override
   public void execute(DataPacket input, Controls output, Tactic tactic) {
-    JumpManager jumpManager = JumpManager.forCar(input.car);
+    JumpManager jumpManager = input.context.getJumpManager();
     if (!jumpManager.hasReleasedJumpInAir()) {
       // Release jump for a tick.
     } else if (jumpManager.canFlip()) {
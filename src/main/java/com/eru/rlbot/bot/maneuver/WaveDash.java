@@ -43,7 +43,7 @@ public class WaveDash extends Maneuver {
   public void execute(DataPacket input, Controls output, Tactic tactic) {
     Vector3 relativeTargetDirection = target.minus(input.car.position);
     WaveDashProfile profile = WaveDashProfile.create(input.car, relativeTargetDirection);
-    JumpManager jumpManager = JumpManager.forCar(input.car);
+    JumpManager jumpManager = input.context.getJumpManager();
     BotRenderer botRenderer = BotRenderer.forCar(input.car);
 
     output.withThrottle(1.0); // Don't get stuck not moving.
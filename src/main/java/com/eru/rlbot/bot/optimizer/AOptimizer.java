@@ -1,6 +1,7 @@
 package com.eru.rlbot.bot.optimizer;
 
 import com.eru.rlbot.bot.common.Angles3;
+import com.eru.rlbot.bot.prediction.CollisionBatch;
 import com.eru.rlbot.common.Matrix3;
 import com.eru.rlbot.common.input.BallData;
 import com.eru.rlbot.common.input.CarData;
@@ -61,11 +62,7 @@ public class AOptimizer extends Optimizer {
   }
 
   @Override
-  double score(BallData ballData, Vector3 target) {
-    Vector3 ballTarget = target.minus(ballData.position);
-
-    double flatAngleOffset = ballTarget.flatten().correctionAngle(ballData.velocity.flatten());
-
-    return Math.abs(flatAngleOffset);
+  double score(BallData ball, CollisionBatch batch, int index, Vector3 target) {
+    return flatAngleOffset(ball, batch, index, target);
   }
 }
@@ -1,17 +1,21 @@
 package com.eru.rlbot.bot.optimizer;
 
-import com.eru.rlbot.bot.common.Angles;
 import com.eru.rlbot.bot.common.Angles3;
 import com.eru.rlbot.bot.common.Constants;
-import com.eru.rlbot.bot.prediction.CarBallCollision;
+import com.eru.rlbot.bot.prediction.CollisionBatch;
+import com.eru.rlbot.bot.prediction.ShotOutcome;
+import com.eru.rlbot.bot.prediction.ShotOutcomes;
+import com.eru.rlbot.bot.utils.Deadline;
 import com.eru.rlbot.common.Matrix3;
 import com.eru.rlbot.common.Moment;
 import com.eru.rlbot.common.input.BallData;
 import com.eru.rlbot.common.input.BoundingBox;
 import com.eru.rlbot.common.input.CarData;
 import com.eru.rlbot.common.input.Orientation;
+import com.eru.rlbot.common.vector.Vector2;
 import com.eru.rlbot.common.vector.Vector3;
 import com.google.common.collect.ImmutableList;
+import java.util.Optional;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -26,6 +30,14 @@ public final class CarBallOptimizer {
 
   private static final ImmutableList<Double> STEP_SIZES = ImmutableList.of(.25, .05, .01);
 
+  // How many rotations of the approach are collided in one batch.
+  private static final int FAN_SIZE = 8;
+
+  // Candidates around the heuristic approach which are followed through to where the ball ends up.
+  private static final ImmutableList<Double> OUTCOME_X_OFFSETS = ImmutableList.of(-60d, -30d, 0d, 30d, 60d);
+  private static final ImmutableList<Double> OUTCOME_SPEED_SCALES = ImmutableList.of(.85, 1d, 1.15);
+  private static final double OWN_GOAL_SCORE = Double.MAX_VALUE;
+
   public static CarData getOptimalApproach(BallData ball, Vector3 target) {
     // The ball and target are close enough, just hit it toward the target.
     if (ball.position.distance(target) < 1000) {
@@ -33,44 +45,72 @@ public final class CarBallOptimizer {
     }
 
     long startTime = System.nanoTime();
+    Deadline deadline = Deadline.current();
+    CollisionBatch batch = new CollisionBatch(FAN_SIZE);
     Vector3 workingAngle = target.minus(ball.position).normalize();
     for (double nextStepSize : STEP_SIZES) {
-      workingAngle = refineApproach(ball, target, workingAngle, nextStepSize);
+      if (deadline.isExpired()) {
+        break;
+      }
+      workingAngle = refineApproach(ball, target, workingAngle, nextStepSize, deadline, batch);
+    }
+    if (logger.isDebugEnabled()) {
+      logger.debug("Optimization time: {}", System.nanoTime() - startTime);
     }
-    logger.warn("Optimization time: " + (System.nanoTime() - startTime));
     return makeCar(ball, workingAngle);
   }
 
-  private static Vector3 refineApproach(BallData ball, Vector3 target, Vector3 previousAngle, double granularity) {
+  /**
+   * Rotates the approach one granularity step at a time until the ball goes to the other side of the target. The
+   * steps are evaluated a fan at a time, so the few steps past the crossing are wasted but each fan is a single pass.
+   * Returns the closest angle so far if the deadline passes first.
+   */
+  private static Vector3 refineApproach(
+      BallData ball,
+      Vector3 target,
+      Vector3 previousAngle,
+      double granularity,
+      Deadline deadline,
+      CollisionBatch batch) {
     // TODO: Find the best vertical angle as well...
     final Vector3 targetAngle = target.minus(ball.position).normalize();
 
-    Vector3 nextAngle = previousAngle;
-
-    BallData prevResult = CarBallCollision.calculateCollision(ball, makeCar(ball, previousAngle));
-    double previousOffset = Angles.flatCorrectionAngle(prevResult.velocity, previousAngle);
-    double nextOffset = previousOffset;
+    batch.clear();
+    batch.add(makeCar(ball, previousAngle));
+    batch.evaluate(ball);
+    double previousOffset = flatOffset(batch, 0, previousAngle);
 
+    // The search stops at the first change of sign, so it always rotates the same way.
     Matrix3 rotationMatrix = Angles3.rotationMatrix(granularity);
-    Matrix3 rotationMatrixInverse = rotationMatrix.inverse();
-
-    while (Math.signum(previousOffset) == Math.signum(nextOffset)) {
-      // Advance the previous values forward one step.
-      previousOffset = nextOffset;
-      previousAngle = nextAngle;
-
-      // Move the next values forward one step.
-      if (nextOffset < 0) {
-        nextAngle = rotationMatrix.dot(nextAngle);
-      } else {
-        nextAngle = rotationMatrixInverse.dot(nextAngle);
+    Matrix3 rotation = previousOffset < 0 ? rotationMatrix : rotationMatrix.inverse();
+
+    Vector3[] angles = new Vector3[FAN_SIZE];
+    while (!deadline.isExpired()) {
+      batch.clear();
+      Vector3 nextAngle = previousAngle;
+      for (int i = 0; i < FAN_SIZE; i++) {
+        nextAngle = rotation.dot(nextAngle);
+        angles[i] = nextAngle;
+        batch.add(makeCar(ball, nextAngle));
       }
+      batch.evaluate(ball);
 
-      BallData nextResult = CarBallCollision.calculateCollision(ball, makeCar(ball, nextAngle));
-      nextOffset = Angles.flatCorrectionAngle(nextResult.velocity, targetAngle);
+      for (int i = 0; i < FAN_SIZE; i++) {
+        double nextOffset = flatOffset(batch, i, targetAngle);
+        if (Math.signum(previousOffset) != Math.signum(nextOffset)) {
+          return Math.abs(previousOffset) < Math.abs(nextOffset) ? previousAngle : angles[i];
+        }
+
+        // Advance the previous values forward one step.
+        previousOffset = nextOffset;
+        previousAngle = angles[i];
+      }
     }
+    return previousAngle;
+  }
 
-    return Math.abs(previousOffset) < Math.abs(nextOffset) ? previousAngle : nextAngle;
+  private static double flatOffset(CollisionBatch batch, int index, Vector3 angle) {
+    return Vector2.of(batch.velocityX(index), batch.velocityY(index)).correctionAngle(angle.flatten());
   }
 
   private static CarData makeCar(BallData ball, Vector3 noseOrientation) {
@@ -96,12 +136,7 @@ public final class CarBallOptimizer {
     SpeedOptimizer speedOptimizer = new SpeedOptimizer(car);
 
     ImmutableList<Optimizer> optimizers = ImmutableList.of(xOptimizer, zOptimizer, aOptimizer, speedOptimizer);
-
-    while (optimizers.stream().anyMatch(optimizer -> !optimizer.isDone())) {
-      for (Optimizer optimizer : optimizers) {
-        optimizer.doStep(ball, car, target);
-      }
-    }
+    runTogether(optimizers, ball, car, target);
 
     CarData optimalCar = car;
     for (Optimizer optimizer : optimizers) {
@@ -122,12 +157,7 @@ public final class CarBallOptimizer {
     SpeedOptimizer speedOptimizer = new SpeedOptimizer(car);
 
     ImmutableList<Optimizer> optimizers = ImmutableList.of(xOptimizer, speedOptimizer);
-
-    while (optimizers.stream().anyMatch(optimizer -> !optimizer.isDone())) {
-      for (Optimizer optimizer : optimizers) {
-        optimizer.doStep(ball, car, target);
-      }
-    }
+    runTogether(optimizers, ball, car, target);
 
     CarData optimalCar = car;
     for (Optimizer optimizer : optimizers) {
@@ -137,6 +167,100 @@ public final class CarBallOptimizer {
     return OptimizationResult.create(optimalCar, xOptimizer.currentValue, 0, 0, car.groundSpeed);
   }
 
+  /**
+   * Steps the optimizers until they are all done, or until the deadline passes and they are left at their latest
+   * values. Each optimizer only moves its own value away from the given car, so the gradient candidates of every
+   * optimizer in a round are collided in one batch.
+   */
+  private static void runTogether(ImmutableList<Optimizer> optimizers, BallData ball, CarData car, Vector3 target) {
+    Deadline deadline = Deadline.current();
+    CollisionBatch batch = new CollisionBatch(2 * optimizers.size());
+    int[] indexes = new int[optimizers.size()];
+    while (optimizers.stream().anyMatch(optimizer -> !optimizer.isDone()) && !deadline.isExpired()) {
+      batch.clear();
+      for (int i = 0; i < optimizers.size(); i++) {
+        indexes[i] = optimizers.get(i).addGradientCandidates(batch, car);
+      }
+      batch.evaluate(ball);
+      for (int i = 0; i < optimizers.size(); i++) {
+        optimizers.get(i).step(ball, batch, indexes[i], target);
+      }
+    }
+  }
+
+  public static Optional<OptimizationResult> bestOutcome(Moment moment, Vector3 target, final CarData car) {
+    return bestOutcome(moment.toBall(), target, car);
+  }
+
+  /**
+   * Starts from the {@link #xSpeed} approach, which only looks at the ball as it leaves the car, and picks the nearby
+   * offset and speed whose ball ends up closest to the target. Stops at the best candidate so far if the deadline
+   * passes. Returns empty if every candidate scored before then puts the ball in the wrong goal.
+   */
+  public static Optional<OptimizationResult> bestOutcome(BallData ball, Vector3 target, final CarData car) {
+    OptimizationResult heuristic = xSpeed(ball, target, car);
+
+    XOptimizer xOptimizer = new XOptimizer();
+    SpeedOptimizer speedOptimizer = new SpeedOptimizer(car);
+
+    // Scored before the deadline is checked, so there is always an answer unless it is an own goal.
+    double bestScore = outcomeScore(ShotOutcomes.of(ball, heuristic.car), ball, target);
+    CarData bestCar = bestScore < OWN_GOAL_SCORE ? heuristic.car : null;
+    double bestXOffset = heuristic.xOffset;
+    Deadline deadline = Deadline.current();
+    search:
+    for (double xOffset : OUTCOME_X_OFFSETS) {
+      double x = heuristic.xOffset + xOffset;
+      if (!xOptimizer.getRange().contains((float) x)) {
+        continue;
+      }
+
+      CarData offsetCar = xOptimizer.adjust(heuristic.car, xOffset);
+      for (double speedScale : OUTCOME_SPEED_SCALES) {
+        double speed = heuristic.car.velocity.magnitude() * speedScale;
+        if (!speedOptimizer.getRange().contains((float) speed)) {
+          continue;
+        }
+
+        if (xOffset == 0 && speedScale == 1) {
+          // The heuristic, which is already scored.
+          continue;
+        }
+
+        if (deadline.isExpired()) {
+          break search;
+        }
+
+        CarData candidate = speedOptimizer.adjust(offsetCar, speed);
+        double score = outcomeScore(ShotOutcomes.of(ball, candidate), ball, target);
+        if (score < bestScore) {
+          bestScore = score;
+          bestCar = candidate;
+          bestXOffset = x;
+        }
+      }
+    }
+
+    if (bestCar == null) {
+      return Optional.empty();
+    }
+    return Optional.of(OptimizationResult.create(bestCar, bestXOffset, 0, 0, bestCar.groundSpeed));
+  }
+
+  // Lower is better.
+  private static double outcomeScore(ShotOutcome outcome, BallData ball, Vector3 target) {
+    if (outcome.goal.isPresent() && Math.signum(outcome.goal.get().position.y) != Math.signum(target.y)) {
+      // Scored on the wrong goal.
+      return OWN_GOAL_SCORE;
+    }
+
+    double missDistance = outcome.missDistance(target);
+    // Between shots which score, prefer the one which gets there first.
+    return outcome.goal
+        .map(goal -> missDistance + goal.time - ball.time)
+        .orElse(missDistance);
+  }
+
   private CarBallOptimizer() {
   }
 }
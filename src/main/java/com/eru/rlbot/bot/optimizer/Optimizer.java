@@ -1,7 +1,7 @@
 package com.eru.rlbot.bot.optimizer;
 
 import com.eru.rlbot.bot.common.Constants;
-import com.eru.rlbot.bot.prediction.CarBallCollision;
+import com.eru.rlbot.bot.prediction.CollisionBatch;
 import com.eru.rlbot.common.Moment;
 import com.eru.rlbot.common.Numbers;
 import com.eru.rlbot.common.input.BallData;
@@ -49,8 +49,27 @@ public abstract class Optimizer {
   }
 
   public void doStep(BallData ball, CarData car, Vector3 target) {
+    CollisionBatch batch = new CollisionBatch(2);
+    int index = addGradientCandidates(batch, car);
+    batch.evaluate(ball);
+    step(ball, batch, index, target);
+  }
+
+  public void doStep(Moment moment, CarData car, Vector3 target) {
+
+  }
+
+  /** Adds the two cars the gradient is measured between to the batch and returns the index of the first. */
+  int addGradientCandidates(CollisionBatch batch, CarData car) {
+    int index = batch.add(adjust(car, currentValue));
+    batch.add(adjust(car, currentValue + getGamma()));
+    return index;
+  }
+
+  /** Takes a step down the gradient measured by the candidates at the index, once the batch is evaluated. */
+  void step(BallData ball, CollisionBatch batch, int index, Vector3 target) {
     float prevValue = currentValue;
-    double gradient = getGradient(ball, target, car, currentValue);
+    double gradient = getGradient(ball, batch, index, target);
     currentValue -= getEpsilon() * gradient;
     double stepSize = Math.abs(currentValue - prevValue);
 
@@ -61,28 +80,16 @@ public abstract class Optimizer {
     currentValue = Numbers.clamp(currentValue, getRange().lowerEndpoint(), getRange().upperEndpoint());
   }
 
-  public void doStep(Moment moment, CarData car, Vector3 target) {
-
-  }
-
-  protected double getGradient(BallData ball, Vector3 target, CarData car, double currentValue) {
-    BallData resultA = CarBallCollision.calculateCollision(ball, adjust(car, currentValue));
-    double aScore = score(resultA, target);
-
-    BallData resultB = CarBallCollision.calculateCollision(ball, adjust(car, currentValue + getGamma()));
-    double bScore = score(resultB, target);
+  protected double getGradient(BallData ball, CollisionBatch batch, int index, Vector3 target) {
+    double aScore = score(ball, batch, index, target);
+    double bScore = score(ball, batch, index + 1, target);
 
     return (bScore - aScore) / getGamma();
   }
 
-  double score(BallData ballData, Vector3 target) {
-    Vector3 ballTarget = target.minus(ballData.position);
-
-    double flatAngleOffset = ballTarget.flatten().correctionAngle(ballData.velocity.flatten());
-
-    double flatDistance = ballTarget.magnitude();
-    double groundSpeed = ballData.velocity.flatten().magnitude();
-    double timeToTarget = flatDistance / groundSpeed;
+  /** Scores the ball leaving the car at the index. The collision doesn't move the ball, only its velocity. */
+  double score(BallData ball, CollisionBatch batch, int index, Vector3 target) {
+    double flatAngleOffset = flatAngleOffset(ball, batch, index, target);
 
     double verticalAngleOffset = 0;
 //    double verticalAngleOffset = 10_000; // Arbitrarily large number
@@ -91,7 +98,17 @@ public abstract class Optimizer {
 //      verticalAngleOffset = Math.atan((ballTarget.z - heightOffset) / ballTarget.magnitude());
 //    }
 
-    return Math.abs(flatAngleOffset) + Math.abs(verticalAngleOffset);
+    return flatAngleOffset + Math.abs(verticalAngleOffset);
+  }
+
+  /** The flat angle between the ball velocity and the direction to the target, between 0 and pi. */
+  static double flatAngleOffset(BallData ball, CollisionBatch batch, int index, Vector3 target) {
+    double targetX = target.x - ball.position.x;
+    double targetY = target.y - ball.position.y;
+    double velocityX = batch.velocityX(index);
+    double velocityY = batch.velocityY(index);
+
+    return Math.abs(Math.atan2(targetX * velocityY - targetY * velocityX, targetX * velocityX + targetY * velocityY));
   }
 
   private static double heightOffset(double zVelocity, double time) {
@@ -1,6 +1,7 @@
 package com.eru.rlbot.bot.optimizer;
 
 import com.eru.rlbot.bot.common.Constants;
+import com.eru.rlbot.bot.prediction.CollisionBatch;
 import com.eru.rlbot.common.input.BallData;
 import com.eru.rlbot.common.input.CarData;
 import com.eru.rlbot.common.vector.Vector3;
@@ -63,8 +64,8 @@ public class SpeedOptimizer extends Optimizer {
   }
 
   @Override
-  double score(BallData ballData, Vector3 target) {
+  double score(BallData ball, CollisionBatch batch, int index, Vector3 target) {
     // TODO: Update this. Faster is better. Closer to target height is best.
-    return super.score(ballData, target);
+    return super.score(ball, batch, index, target);
   }
 }
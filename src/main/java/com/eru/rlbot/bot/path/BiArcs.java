@@ -0,0 +1,210 @@
+package com.eru.rlbot.bot.path;
+
+import com.eru.rlbot.bot.common.Circle;
+import com.eru.rlbot.common.QuantizedKey;
+import com.eru.rlbot.common.input.CarData;
+import com.eru.rlbot.common.vector.Vector3;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Optional;
+
+/**
+ * Picks the shortest of the four bi-arc shapes between two cars without building the candidate segments.
+ *
+ * <p>The scoring follows {@link Paths#tangents(Circle, Circle)} and the segment rules of {@link Paths#shortestBiArc}
+ * using plain doubles so only the winning shape needs to be turned into {@link Segment}s. Recent answers are cached
+ * on a quantized copy of the two car states since the same strike is planned several times per tick.
+ */
+final class BiArcs {
+
+  private static final Paths.CircleTangents.Shape[] SHAPES = Paths.CircleTangents.Shape.values();
+
+  // Size of the quantization buckets for the cache key.
+  private static final double POSITION_BUCKET = 1;
+  private static final double SPEED_BUCKET = 1;
+  private static final double DIRECTION_BUCKET = .001;
+
+  private static final Cache<QuantizedKey, Optional<Paths.CircleTangents.Shape>> SHAPE_CACHE = CacheBuilder.newBuilder()
+      .maximumSize(4096)
+      .build();
+
+  /**
+   * Returns the shape with the shortest ground distance, or empty if none of the shapes has a tangent connecting the
+   * circles.
+   */
+  static Optional<Paths.CircleTangents.Shape> shortestShape(
+      CarData source, Paths.Circles sourceCircles, CarData target, Paths.Circles targetCircles) {
+
+    QuantizedKey key = key(source, target);
+    Optional<Paths.CircleTangents.Shape> cached = SHAPE_CACHE.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+
+    Optional<Paths.CircleTangents.Shape> shape =
+        Optional.ofNullable(shortestShape(source.position, sourceCircles, target.position, targetCircles));
+    SHAPE_CACHE.put(key, shape);
+    return shape;
+  }
+
+  private static Paths.CircleTangents.Shape shortestShape(
+      Vector3 start, Paths.Circles startCircles, Vector3 end, Paths.Circles endCircles) {
+
+    Paths.CircleTangents.Shape best = null;
+    double bestLength = Double.MAX_VALUE;
+    for (Paths.CircleTangents.Shape shape : SHAPES) {
+      Circle startCircle = shape.startsClockWise() ? startCircles.cw : startCircles.ccw;
+      Circle endCircle = shape.endsClockWise() ? endCircles.cw : endCircles.ccw;
+
+      double length = length(start, startCircle, end, endCircle, shape);
+      if (length < bestLength) {
+        bestLength = length;
+        best = shape;
+      }
+    }
+    return best;
+  }
+
+  /** Returns the flat length of the bi-arc for the given shape, or NaN if the circles have no such tangent. */
+  static double length(Vector3 start, Circle circle1, Vector3 end, Circle circle2, Paths.CircleTangents.Shape shape) {
+    double radiusA = circle1.radius;
+    double radiusB = circle2.radius;
+    if (Math.abs(radiusA - radiusB) < 1) {
+      radiusA += 2;
+    }
+
+    boolean aIsLarger = radiusA > radiusB;
+    Vector3 largerCenter = aIsLarger ? circle1.center : circle2.center;
+    Vector3 smallerCenter = aIsLarger ? circle2.center : circle1.center;
+    double largerRadius = aIsLarger ? radiusA : radiusB;
+    double smallerRadius = aIsLarger ? radiusB : radiusA;
+
+    // Which of the tangent lines connects the circles for this shape. See Paths#tangents(Circle, Circle).
+    boolean inside = shape == Paths.CircleTangents.Shape.CCWCW || shape == Paths.CircleTangents.Shape.CWCCW;
+    boolean rightPoint = inside
+        ? shape == Paths.CircleTangents.Shape.CWCCW
+        : aIsLarger == (shape == Paths.CircleTangents.Shape.CWCW);
+    double tangentRadius = inside ? largerRadius + smallerRadius : largerRadius - smallerRadius;
+
+    // Tangent point from the smaller center to the enlarged or shrunken larger circle.
+    double bisectorX = (largerCenter.x - smallerCenter.x) / 2;
+    double bisectorY = (largerCenter.y - smallerCenter.y) / 2;
+    double bisectorZ = (largerCenter.z - smallerCenter.z) / 2;
+    double d = Math.sqrt(bisectorX * bisectorX + bisectorY * bisectorY + bisectorZ * bisectorZ);
+    double flatD = Math.sqrt(bisectorX * bisectorX + bisectorY * bisectorY);
+    if (flatD == 0) {
+      return Double.NaN;
+    }
+
+    double overlap = 2 * d * d - tangentRadius * tangentRadius;
+    double x = overlap / (2 * d);
+    double a = (1 / (2 * d)) * Math.sqrt(4 * d * d * d * d - overlap * overlap);
+    if (Double.isNaN(a)) {
+      return Double.NaN;
+    }
+
+    double side = rightPoint ? a / flatD : -a / flatD;
+    double pointX = smallerCenter.x + bisectorX + bisectorX / d * x - bisectorY * side;
+    double pointY = smallerCenter.y + bisectorY + bisectorY / d * x + bisectorX * side;
+    double pointZ = smallerCenter.z + bisectorZ + bisectorZ / d * x;
+
+    // Shift the tangent point and smaller center onto the tangent line.
+    double offsetX = largerCenter.x - pointX;
+    double offsetY = largerCenter.y - pointY;
+    double offsetZ = largerCenter.z - pointZ;
+    double offsetScale = (inside ? smallerRadius : -smallerRadius)
+        / Math.sqrt(offsetX * offsetX + offsetY * offsetY + offsetZ * offsetZ);
+    offsetX *= offsetScale;
+    offsetY *= offsetScale;
+
+    double largerTangentX = pointX + offsetX;
+    double largerTangentY = pointY + offsetY;
+    double smallerTangentX = smallerCenter.x + offsetX;
+    double smallerTangentY = smallerCenter.y + offsetY;
+
+    double connectorStartX = aIsLarger ? largerTangentX : smallerTangentX;
+    double connectorStartY = aIsLarger ? largerTangentY : smallerTangentY;
+    double connectorEndX = aIsLarger ? smallerTangentX : largerTangentX;
+    double connectorEndY = aIsLarger ? smallerTangentY : largerTangentY;
+    if (Double.isNaN(connectorStartX) || Double.isInfinite(connectorStartX)) {
+      return Double.NaN;
+    }
+
+    double length = 0;
+
+    double arc1 = arcLength(circle1, start.x, start.y, connectorStartX, connectorStartY, shape.startsClockWise());
+    if (isIncluded(arc1, circle1)) {
+      length += arc1;
+    } else {
+      // The connector starts at the start instead.
+      connectorStartX = start.x;
+      connectorStartY = start.y;
+    }
+
+    double arc2 = arcLength(circle2, connectorEndX, connectorEndY, end.x, end.y, shape.endsClockWise());
+    if (isIncluded(arc2, circle2)) {
+      length += distance(connectorStartX, connectorStartY, connectorEndX, connectorEndY) + arc2;
+    } else {
+      length += distance(connectorStartX, connectorStartY, end.x, end.y);
+    }
+
+    return length;
+  }
+
+  /** Mirrors the arc inclusion rule in {@link Paths}. */
+  private static boolean isIncluded(double arcLength, Circle circle) {
+    return arcLength > Paths.MIN_SEGMENT_LENGTH && Math.abs(circle.circumference - arcLength) > Paths.MIN_SEGMENT_LENGTH;
+  }
+
+  /** Primitive version of {@link Segment#getRadians(Circle, Vector3, Vector3, boolean)} times the radius. */
+  private static double arcLength(
+      Circle circle, double startX, double startY, double endX, double endY, boolean clockWise) {
+
+    double currentRad = Math.atan2(circle.center.y - startY, circle.center.x - startX);
+    double idealRad = Math.atan2(circle.center.y - endY, circle.center.x - endX);
+
+    if (Math.abs(currentRad - idealRad) > Math.PI) {
+      if (currentRad < 0) {
+        currentRad += Math.PI * 2;
+      }
+      if (idealRad < 0) {
+        idealRad += Math.PI * 2;
+      }
+    }
+
+    double radians = idealRad - currentRad;
+    if (radians < 0 && clockWise) {
+      radians += Math.PI * 2;
+    } else if (radians > 0 && !clockWise) {
+      radians -= Math.PI * 2;
+    }
+    return Math.abs(radians) * circle.radius;
+  }
+
+  private static double distance(double x1, double y1, double x2, double y2) {
+    double dx = x2 - x1;
+    double dy = y2 - y1;
+    return Math.sqrt(dx * dx + dy * dy);
+  }
+
+  /**
+   * The parts of the two car states which determine the bi-arc circles, rounded into buckets. Both sets of circles
+   * sit beside the flattened nose, so only the x and y of each nose are part of the key.
+   */
+  private static QuantizedKey key(CarData source, CarData target) {
+    Vector3 sourceNose = source.orientation.getNoseVector();
+    Vector3 targetNose = target.orientation.getNoseVector();
+    return QuantizedKey.builder(12)
+        .add(source.position, POSITION_BUCKET)
+        .add(Math.max(800, source.groundSpeed), SPEED_BUCKET)
+        .add(sourceNose.x, DIRECTION_BUCKET)
+        .add(sourceNose.y, DIRECTION_BUCKET)
+        .add(target.position, POSITION_BUCKET)
+        .add(target.groundSpeed, SPEED_BUCKET)
+        .add(targetNose.x, DIRECTION_BUCKET)
+        .add(targetNose.y, DIRECTION_BUCKET)
+        .build();
+  }
+
+  private BiArcs() {}
+}
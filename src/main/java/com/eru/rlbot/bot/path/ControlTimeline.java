@@ -0,0 +1,116 @@
+package com.eru.rlbot.bot.path;
+
+import com.eru.rlbot.bot.common.Constants;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The controls of a {@link Plan} over time, stored as spans of constant controls instead of one entry per frame.
+ *
+ * <p>Consecutive frames or phases with the same controls are merged into a single span, so a plan costs a few spans
+ * no matter how long it is. Looking up the controls at a time is a binary search over the span start times.
+ */
+public final class ControlTimeline {
+
+  // Keeps a time which lands on a span boundary from being rounded into the previous span.
+  private static final double TIME_EPSILON = 1e-6;
+
+  private static final ControlTimeline EMPTY = new ControlTimeline(new double[] {0}, new Plan.ControlInput[0]);
+
+  // Span i runs from startTimes[i] to startTimes[i + 1]. The last entry is the end of the timeline.
+  private final double[] startTimes;
+  private final Plan.ControlInput[] inputs;
+
+  private ControlTimeline(double[] startTimes, Plan.ControlInput[] inputs) {
+    this.startTimes = startTimes;
+    this.inputs = inputs;
+  }
+
+  public static ControlTimeline empty() {
+    return EMPTY;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Returns the controls at the given time since the start of the plan, or no inputs outside of the timeline. */
+  public Plan.ControlInput controlsAt(double time) {
+    int span = Arrays.binarySearch(startTimes, time + TIME_EPSILON);
+    // Without an exact match, binarySearch returns -(insertion point) - 1, and the span starts before that.
+    span = span >= 0 ? span : -span - 2;
+    return span >= 0 && span < inputs.length ? inputs[span] : Plan.ControlInput.NO_INPUTS;
+  }
+
+  /** Returns the controls for the given frame since the start of the plan. */
+  public Plan.ControlInput controlsAtFrame(int frame) {
+    return controlsAt((double) frame / Constants.STEP_SIZE_COUNT);
+  }
+
+  public double duration() {
+    return startTimes[inputs.length];
+  }
+
+  /** Returns the number of frames the timeline covers, counting a partial frame at the end. */
+  public int frameCount() {
+    return (int) Math.ceil(duration() * Constants.STEP_SIZE_COUNT - TIME_EPSILON);
+  }
+
+  public int spanCount() {
+    return inputs.length;
+  }
+
+  public boolean isEmpty() {
+    return inputs.length == 0;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < inputs.length; i++) {
+      builder.append(String.format("%.3f: %s%n", startTimes[i], inputs[i]));
+    }
+    return builder.append(String.format("%.3f: end", duration())).toString();
+  }
+
+  /** Appends spans of controls, merging each one into the previous span when the controls match. */
+  public static final class Builder {
+
+    private final List<Plan.ControlInput> inputs = new ArrayList<>();
+    private final List<Double> startTimes = new ArrayList<>();
+    private double endTime;
+
+    private Builder() {}
+
+    public Builder append(Plan.ControlInput input, double duration) {
+      if (duration <= 0) {
+        return this;
+      }
+
+      if (inputs.isEmpty() || !inputs.get(inputs.size() - 1).equals(input)) {
+        inputs.add(input);
+        startTimes.add(endTime);
+      }
+      endTime += duration;
+      return this;
+    }
+
+    public Builder appendFrame(Plan.ControlInput input) {
+      return append(input, 1d / Constants.STEP_SIZE_COUNT);
+    }
+
+    public ControlTimeline build() {
+      if (inputs.isEmpty()) {
+        return EMPTY;
+      }
+
+      double[] times = new double[startTimes.size() + 1];
+      for (int i = 0; i < startTimes.size(); i++) {
+        times[i] = startTimes.get(i);
+      }
+      times[startTimes.size()] = endTime;
+      return new ControlTimeline(times, inputs.toArray(new Plan.ControlInput[0]));
+    }
+  }
+}
@@ -4,7 +4,9 @@ import static com.eru.rlbot.bot.common.Constants.STEP_SIZE;
 
 import com.eru.rlbot.bot.common.Accels;
 import com.eru.rlbot.bot.common.Constants;
+import com.eru.rlbot.bot.common.GroundMotion;
 import com.eru.rlbot.bot.tactics.Tactic;
+import com.eru.rlbot.bot.utils.Deadline;
 import com.eru.rlbot.common.Numbers;
 import com.eru.rlbot.common.Pair;
 import com.eru.rlbot.common.input.CarData;
@@ -12,11 +14,8 @@ import com.eru.rlbot.common.input.DataPacket;
 import com.eru.rlbot.common.vector.Vector3;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
-import java.util.HashMap;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.ListIterator;
-import java.util.Map;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -31,25 +30,26 @@ public class Path {
 
   private final CarData start;
   private final CarData target;
+  // The target of the full plan this path was repaired from, or the target itself.
+  private final CarData plannedTarget;
   private final float targetTime;
 
   private int currentIndex;
   private boolean isOffCourse;
 
-  private final Map<Pair<Double, Double>, Plan> planMap = new HashMap<>();
-
-  private Path(CarData car, CarData targetCar, ImmutableList<Segment> nodes) {
+  private Path(CarData car, CarData targetCar, CarData plannedTarget, ImmutableList<Segment> nodes) {
     this.terseNodes = nodes;
     this.nodes = nodes;
     this.start = car;
     this.target = targetCar;
+    this.plannedTarget = plannedTarget == null ? targetCar : plannedTarget;
     this.targetTime = target.elapsedSeconds;
   }
 
   private Double distance;
 
   public Path(Builder builder) {
-    this(builder.startingCar, builder.targetCar, ImmutableList.copyOf(builder.segments));
+    this(builder.startingCar, builder.targetCar, builder.plannedTarget, ImmutableList.copyOf(builder.segments));
   }
 
   public double length() {
@@ -143,6 +143,11 @@ public class Path {
     return target;
   }
 
+  /** Returns the target of the full plan, which stays the same as the path is repaired. */
+  public CarData getPlannedTarget() {
+    return plannedTarget;
+  }
+
   public ImmutableList<Segment> allTerseNodes() {
     if (extension != null) {
       return ImmutableList.<Segment>builder()
@@ -153,6 +158,15 @@ public class Path {
     return terseNodes;
   }
 
+  ImmutableList<Segment> terseNodes() {
+    return terseNodes;
+  }
+
+  /** Returns the planned segment the car is currently scheduled to be on. */
+  Segment currentTerseSegment() {
+    return nodes.get(currentIndex).getRoot();
+  }
+
   public Segment getExtension() {
     return extension;
   }
@@ -181,6 +195,7 @@ public class Path {
     private final LinkedList<Segment> segments = new LinkedList<>();
     private CarData startingCar;
     private CarData targetCar;
+    private CarData plannedTarget;
 
     public Builder setStartingCar(CarData startingCar) {
       this.startingCar = startingCar;
@@ -192,6 +207,12 @@ public class Path {
       return this;
     }
 
+    /** Sets the target of the full plan this path repairs. Defaults to the target car. */
+    public Builder setPlannedTarget(CarData plannedTarget) {
+      this.plannedTarget = plannedTarget;
+      return this;
+    }
+
     public Builder addEarlierSegment(Segment segment) {
       segments.addFirst(segment);
       return this;
@@ -213,6 +234,11 @@ public class Path {
 
   @VisibleForTesting
   Plan makeSpeedPlan(double boostAmount, double targetTime) {
+    return PlanCache.get(this, nodes, PlanCache.Kind.SPEED, boostAmount, targetTime,
+        () -> computeSpeedPlan(boostAmount, targetTime));
+  }
+
+  private Plan computeSpeedPlan(double boostAmount, double targetTime) {
     Plan workingPlan = minGroundTime(0, boostAmount);
 
     if (workingPlan.traverseTime < targetTime) {
@@ -226,23 +252,26 @@ public class Path {
   private static final double BREAKING_SPEED_GRANULARITY = 1;
 
   Plan nonBoostingPlan(double targetTime) {
+    Deadline deadline = Deadline.current();
+    double startSpeed = start.velocity.magnitude();
+
     // Figure out what speed to break at to coast to the ball.
     double minBreakingSpeed = 0;
-    double maxBreakingSpeed = start.velocity.magnitude();
+    double maxBreakingSpeed = startSpeed;
     double targetBreakingSpeed = (minBreakingSpeed + maxBreakingSpeed) / 2;
 
     // Need to break
-    Accels.AccelResult breaking = Accels.distanceToSlow(start.velocity.magnitude(), targetBreakingSpeed);
-    double remainingDistance = length() - breaking.getDistanceCovered();
-    Accels.AccelResult striking = Accels.nonBoostedTimeToDistance(targetBreakingSpeed, remainingDistance);
-    double coastingTime = targetTime - breaking.getDuration() - striking.getDuration();
+    GroundMotion breaking = GroundMotion.start(startSpeed, 0).brake(targetBreakingSpeed, Double.MAX_VALUE);
+    GroundMotion striking = strikeFrom(targetBreakingSpeed, length() - breaking.distance());
+    double coastingTime = targetTime - breaking.time() - striking.time();
 
     // TODO: Account for jump time.
 
     while (
         Math.abs(coastingTime) > COASTING_TIME_GRANULARITY &&
             (minBreakingSpeed < targetBreakingSpeed - BREAKING_SPEED_GRANULARITY
-                && targetBreakingSpeed + BREAKING_SPEED_GRANULARITY < maxBreakingSpeed)) {
+                && targetBreakingSpeed + BREAKING_SPEED_GRANULARITY < maxBreakingSpeed)
+            && !deadline.isExpired()) {
 
       if (coastingTime > 0) {
         // Breaking too much
@@ -253,42 +282,33 @@ public class Path {
 
       targetBreakingSpeed = (minBreakingSpeed + maxBreakingSpeed) / 2;
 
-      breaking = Accels.distanceToSlow(start.velocity.magnitude(), targetBreakingSpeed);
-      remainingDistance = length() - breaking.getDistanceCovered();
-      striking = Accels.nonBoostedTimeToDistance(targetBreakingSpeed, remainingDistance);
-      coastingTime = targetTime - breaking.getDuration() - striking.getDuration();
+      breaking = GroundMotion.start(startSpeed, 0).brake(targetBreakingSpeed, Double.MAX_VALUE);
+      striking = strikeFrom(targetBreakingSpeed, length() - breaking.distance());
+      coastingTime = targetTime - breaking.time() - striking.time();
     }
 
-    Plan.Builder planBuilder = Plan.builder().setPath(this);
-    double breakingTime = breaking.getDuration();
-    while (breakingTime > 0) {
-      planBuilder.addThrottleInput(false, Plan.ControlInput.REVERSE);
-      breakingTime -= STEP_SIZE;
-    }
-
-    while (coastingTime > 0) {
-      planBuilder.addThrottleInput(false, Plan.ControlInput.COASTING);
-      coastingTime -= STEP_SIZE;
-    }
-
-    double accelerationTime = striking.getDuration();
-    double boostUsed = striking.getBoostUsed();
-    while (accelerationTime > 0) {
-      planBuilder.addThrottleInput(boostUsed > 0, 1);
-      accelerationTime -= STEP_SIZE;
-    }
+    Plan.Builder planBuilder = Plan.builder()
+        .setPath(this)
+        .addThrottlePhase(false, Plan.ControlInput.REVERSE, breaking.time())
+        .addThrottlePhase(false, Plan.ControlInput.COASTING, coastingTime);
+    addPhases(planBuilder, striking);
 
     Plan plan = planBuilder
-        .setBoostUsed(striking.getBoostUsed())
+        .setBoostUsed(0)
         .setTacticType(Tactic.TacticType.STRIKE)
         .build(targetTime);
 
-    planMap.put(Pair.of(0d, targetTime), plan);
-
     return plan;
   }
 
+  /** Drives the rest of the distance at full throttle without boost. */
+  private static GroundMotion strikeFrom(double speed, double distance) {
+    return GroundMotion.start(speed, 0)
+        .drive(1, false, Double.MAX_VALUE, Double.MAX_VALUE, distance);
+  }
+
   private Plan boostingPlan(Plan nonBoostingPlan, double boostAmount, double targetTime) {
+    Deadline deadline = Deadline.current();
     Plan workingPlan = nonBoostingPlan;
     double maxBoost = boostAmount;
     double minBoost = 0;
@@ -298,7 +318,7 @@ public class Path {
 
     boolean searchConverged = (searchBoostAmount - BOOST_DELTA < minBoost)
         || (searchBoostAmount + BOOST_DELTA > maxBoost);
-    while (timeDiff > .0166 && !searchConverged) {
+    while (timeDiff > .0166 && !searchConverged && !deadline.isExpired()) {
 
       Plan tempPlan = minGroundTime(0, searchBoostAmount);
       if (tempPlan.traverseTime > targetTime) {
@@ -316,25 +336,21 @@ public class Path {
 
     }
 
-    planMap.put(Pair.of(boostAmount, targetTime), workingPlan);
-
     return workingPlan;
   }
 
   @VisibleForTesting
   Plan minGroundTime(double boost) {
-    return minGroundTime(0, boost);
+    return PlanCache.get(this, nodes, PlanCache.Kind.MIN_TIME, boost, 0, () -> minGroundTime(0, boost));
   }
 
-  // TODO: See if we can optimize this for one turn paths.
+  /**
+   * Finds the fastest way along the path using the given boost. Each segment is driven in closed form as up to four
+   * phases: accelerate to the segment's max speed, coast, brake for the next segment, and coast the rest of the way.
+   */
   @VisibleForTesting
   Plan minGroundTime(int startIndex, double boost) {
-    Plan.Builder planBuilder = Plan.builder()
-        .setPath(this);
-
-    double boostRemaining = boost;
-    double currentVelocity = start.groundSpeed;
-    double time = 0;
+    GroundMotion motion = GroundMotion.start(start.groundSpeed, boost);
 
     ListIterator<Segment> segmentIterator = nodes.listIterator(startIndex);
     while (segmentIterator.hasNext()) {
@@ -345,48 +361,68 @@ public class Path {
         speedTarget = nodes.get(segmentIterator.nextIndex()).maxSpeed();
       }
 
-      double segmentDistance = segment.flatDistance();
+      double segmentEnd = motion.distance() + segment.flatDistance();
+      if (segment.isOnGround() && motion.speed() < segment.maxSpeed()) {
+        motion = driveUntilBraking(motion, 1, true, segment.maxSpeed(), segmentEnd, speedTarget);
+      }
+      motion = driveUntilBraking(
+          motion, Plan.ControlInput.COASTING, false, Double.MAX_VALUE, segmentEnd, speedTarget);
+      motion.brake(speedTarget, segmentEnd - motion.distance());
+      motion.drive(Plan.ControlInput.COASTING, false, Double.MAX_VALUE, Double.MAX_VALUE,
+          segmentEnd - motion.distance());
+    }
 
-      while (segmentDistance > 0) {
-        double nextAcceleration;
-        boolean canGoFaster = canGoFaster(currentVelocity, segment.maxSpeed(), speedTarget, segmentDistance, segment.type);
-        boolean isBoosting = false;
-        double throttle;
+    Plan.Builder planBuilder = Plan.builder()
+        .setPath(this);
+    addPhases(planBuilder, motion);
 
-        if (canGoFaster && segment.isOnGround()) {
-          isBoosting = boostRemaining > 0;
-          throttle = 1.0;
-          nextAcceleration = Accels.acceleration(currentVelocity) * ACCELERATION_BUFFER
-              + (isBoosting ? Constants.BOOSTED_ACCELERATION : 0);
+    Plan plan = planBuilder
+        .setBoostUsed(boost - motion.boost())
+        .setTacticType(Tactic.TacticType.STRIKE)
+        .build(motion.time());
 
-          if (isBoosting) {
-            boostRemaining -= STEP_SIZE * 33;
-          }
-        } else if (breakNow(currentVelocity, segmentDistance, speedTarget)) {
-          throttle = -1;
-          nextAcceleration = -Constants.BREAKING_DECELERATION;
-        } else {
-          throttle = .02f;
-          nextAcceleration = Accels.acceleration(currentVelocity) * .02;
-        }
+    return plan;
+  }
 
-        double newVelocity = currentVelocity + (nextAcceleration * STEP_SIZE);
-        newVelocity = Numbers.clamp(newVelocity, 0, Constants.BOOSTED_MAX_SPEED);
-        segmentDistance -= ((currentVelocity + newVelocity) / 2) * STEP_SIZE;
-        currentVelocity = newVelocity;
-        time += STEP_SIZE;
-        planBuilder.addThrottleInput(isBoosting, throttle);
-      }
+  private static final int BREAKING_POINT_ITERATIONS = 30;
+
+  /** Drives until the end of the segment, or until the car needs to start breaking for the next one. */
+  private static GroundMotion driveUntilBraking(
+      GroundMotion motion, double throttle, boolean boost, double maxSpeed, double segmentEnd, double speedTarget) {
+    if (mustBreak(motion, segmentEnd, speedTarget)) {
+      return motion;
     }
 
-    Plan plan = planBuilder
-        .setBoostUsed(boost - boostRemaining)
-        .setTacticType(Tactic.TacticType.STRIKE)
-        .build(time);
+    double distance = segmentEnd - motion.distance();
+    GroundMotion whole = motion.copy().drive(throttle, boost, Double.MAX_VALUE, maxSpeed, distance);
+    if (!mustBreak(whole, segmentEnd, speedTarget)) {
+      return whole;
+    }
 
-    planMap.put(Pair.of(boost, Double.MAX_VALUE), plan);
+    // The breaking distance only grows as the car goes, so search for the last moment it still fits.
+    double minTime = 0;
+    double maxTime = whole.time() - motion.time();
+    for (int i = 0; i < BREAKING_POINT_ITERATIONS; i++) {
+      double time = (minTime + maxTime) / 2;
+      if (mustBreak(motion.copy().drive(throttle, boost, time, maxSpeed, distance), segmentEnd, speedTarget)) {
+        maxTime = time;
+      } else {
+        minTime = time;
+      }
+    }
+    return motion.drive(throttle, boost, minTime, maxSpeed, distance);
+  }
 
-    return plan;
+  private static boolean mustBreak(GroundMotion motion, double segmentEnd, double speedTarget) {
+    return motion.speed() - speedTarget >= 50
+        && GroundMotion.brakingDistance(motion.speed(), speedTarget) + SLOWING_BUFFER
+        >= segmentEnd - motion.distance();
+  }
+
+  private static void addPhases(Plan.Builder planBuilder, GroundMotion motion) {
+    for (GroundMotion.Phase phase : motion.phases()) {
+      planBuilder.addThrottlePhase(phase.boost, phase.throttle, phase.duration);
+    }
   }
 
   private static final double FLIP_TIME = .8d;
@@ -479,13 +515,12 @@ public class Path {
         .setBoostUsed(boost - boostRemaining)
         .build(time);
 
-    planMap.put(Pair.of(boost, Double.MAX_VALUE), plan);
-
     return plan;
   }
 
   private void segmentByPlan(Plan traversePlan) {
-    Iterator<Plan.ControlInput> inputs = traversePlan.throttleInputList.iterator();
+    ControlTimeline controls = traversePlan.controls;
+    int frame = 0;
     ImmutableList.Builder<Segment> timedSegments = ImmutableList.builder();
 
     double currentVelocity = start.groundSpeed;
@@ -504,10 +539,11 @@ public class Path {
         double nextAcceleration = 0;
 
         Plan.ControlInput input = Plan.ControlInput.NO_INPUTS;
-        if (inputs.hasNext()) {
-          input = inputs.next();
+        if (frame < controls.frameCount()) {
+          input = controls.controlsAtFrame(frame);
           nextAcceleration = getAcceleration(currentVelocity, input);
         }
+        frame++;
 
         double newVelocity = currentVelocity + (nextAcceleration * STEP_SIZE);
         segmentDistance -= ((currentVelocity + newVelocity) / 2) * STEP_SIZE;
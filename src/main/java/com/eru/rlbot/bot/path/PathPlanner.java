@@ -13,7 +13,9 @@ import com.eru.rlbot.common.input.Orientation;
 import com.eru.rlbot.common.vector.Vector3;
 import com.eru.rlbot.common.vector.Vector3s;
 import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -120,6 +122,7 @@ public class PathPlanner {
         .min(Comparator.comparing(point -> Segment.calculateArcLength(car.position, point, closeTracedCircle, car)));
 
     // Cannot hit without slowing or powersliding.
+    // TODO: Strike from a CrudeDriftLookup slide once paths can hold a slide and the executor can drive one.
     if (!intersectionPoint.isPresent()) {
       return Optional.empty();
     }
@@ -223,6 +226,68 @@ public class PathPlanner {
         .build();
   }
 
+  // How far the car may be from its path, the target may move, and either may turn before the path is planned again.
+  private static final double MAX_REPAIR_OFFSET = 150;
+  private static final double MAX_REPAIR_TARGET_SHIFT = 60;
+  private static final double MAX_REPAIR_ANGLE = .3;
+
+  /**
+   * Fixes up the path for where the car and the target are now, instead of planning a new one. The segments already
+   * driven are dropped, the one the car is on is cut at the car and the last one is moved with the target. Returns
+   * empty when the car or the target are too far off for the rest of the path to hold, in which case a new path
+   * should be planned. The target may only drift so far from the full plan in total, however many times the path is
+   * repaired. The repaired path still needs to be locked.
+   */
+  public static Optional<Path> repairPath(Path path, CarData car, CarData target) {
+    if (!car.hasWheelContact
+        || target.position.distance(path.getPlannedTarget().position) > MAX_REPAIR_TARGET_SHIFT) {
+      return Optional.empty();
+    }
+    Vector3 targetShift = target.position.minus(path.getTarget().position);
+
+    // The car may be a little behind or ahead of schedule.
+    ImmutableList<Segment> segments = path.terseNodes();
+    for (int i = Math.max(segments.indexOf(path.currentTerseSegment()) - 1, 0); i < segments.size(); i++) {
+      Optional<Segment> remaining = segments.get(i).remainingFrom(car, MAX_REPAIR_OFFSET, MAX_REPAIR_ANGLE);
+      if (remaining.isPresent()) {
+        return repairFrom(
+            remaining.get(), segments.subList(i + 1, segments.size()), car, path.getPlannedTarget(), target,
+            targetShift);
+      }
+    }
+    return Optional.empty();
+  }
+
+  private static Optional<Path> repairFrom(
+      Segment first, List<Segment> rest, CarData car, CarData plannedTarget, CarData target, Vector3 targetShift) {
+    // Fresh segments, since locking a path writes its times into them.
+    List<Segment> segments = new ArrayList<>();
+    segments.add(first);
+    rest.forEach(segment -> segments.add(segment.withStart(segment.start)));
+
+    if (targetShift.magnitude() > 1) {
+      Segment last = segments.get(segments.size() - 1);
+      if (last.type == Segment.Type.ARC) {
+        return Optional.empty();
+      }
+
+      Segment moved = last.withEnd(last.end.plus(targetShift));
+      if (moved.type == Segment.Type.STRAIGHT
+          && Math.abs(moved.end.minus(moved.start).flatten()
+          .correctionAngle(target.orientation.getNoseVector().flatten())) > MAX_REPAIR_ANGLE) {
+        return Optional.empty();
+      }
+      segments.set(segments.size() - 1, moved);
+    }
+
+    return Optional.of(Path.builder()
+        .setStartingCar(car)
+        .setTargetCar(target)
+        .setPlannedTarget(plannedTarget)
+        .addEarlierSegments(ImmutableList.copyOf(segments))
+        .build());
+  }
+
   private static boolean addPathSegment(CarData car, Segment segment, Path.Builder pathBuilder) {
     if (isOnSegment(car, segment)) {
       return false;
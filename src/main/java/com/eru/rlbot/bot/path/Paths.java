@@ -7,10 +7,9 @@ import com.eru.rlbot.common.input.BoundingBox;
 import com.eru.rlbot.common.input.CarData;
 import com.eru.rlbot.common.vector.Vector2;
 import com.eru.rlbot.common.vector.Vector3;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
-import java.util.Comparator;
 import java.util.Optional;
-import java.util.stream.Stream;
 
 public class Paths {
 
@@ -63,25 +62,22 @@ public class Paths {
     Circles carTurningCircles =
         turningRadiusCircles(source.position, Math.max(800, source.groundSpeed), source.orientation.getNoseVector());
 
-    Optional<ImmutableList<Segment>> cwcw = biArcSegments(
-        source.position, carTurningCircles.cw, target.position, ballStrikingCircles.cw, CircleTangents.Shape.CWCW);
-    Optional<ImmutableList<Segment>> ccwcw = biArcSegments(
-        source.position, carTurningCircles.ccw, target.position, ballStrikingCircles.cw, CircleTangents.Shape.CCWCW);
-    Optional<ImmutableList<Segment>> cwccw = biArcSegments(
-        source.position, carTurningCircles.cw, target.position, ballStrikingCircles.ccw, CircleTangents.Shape.CWCCW);
-    Optional<ImmutableList<Segment>> ccwccw = biArcSegments(
-        source.position, carTurningCircles.ccw, target.position, ballStrikingCircles.ccw, CircleTangents.Shape.CCWCCW);
-
-    return Stream.of(cwcw, ccwcw, cwccw, ccwccw)
-        .filter(Optional::isPresent)
-        .map(Optional::get)
-        .min(Comparator.comparingDouble(segments -> segments.stream().mapToDouble(Segment::flatDistance).sum()))
+    Optional<CircleTangents.Shape> shape =
+        BiArcs.shortestShape(source, carTurningCircles, target, ballStrikingCircles);
+    if (!shape.isPresent()) {
+      return ImmutableList.of();
+    }
+
+    Circle startCircle = shape.get().startsClockWise() ? carTurningCircles.cw : carTurningCircles.ccw;
+    Circle endCircle = shape.get().endsClockWise() ? ballStrikingCircles.cw : ballStrikingCircles.ccw;
+    return biArcSegments(source.position, startCircle, target.position, endCircle, shape.get())
         .orElse(ImmutableList.of());
   }
 
-  private static double MIN_SEGMENT_LENGTH = 50;
+  static final double MIN_SEGMENT_LENGTH = 50;
 
-  private static Optional<ImmutableList<Segment>> biArcSegments(
+  @VisibleForTesting
+  static Optional<ImmutableList<Segment>> biArcSegments(
       Vector3 start, Circle circle1, Vector3 end, Circle circle2, CircleTangents.Shape shape) {
     Segment connector = tangents(circle1, circle2).getSegment(shape);
     Segment arc1 = Segment.arc(start, connector.start, circle1, shape.startsClockWise());
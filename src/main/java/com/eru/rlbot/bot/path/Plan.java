@@ -4,16 +4,14 @@ import com.eru.rlbot.bot.tactics.AerialTactician;
 import com.eru.rlbot.bot.tactics.Tactic;
 import com.eru.rlbot.common.Pair;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.ImmutableList;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Objects;
 
 public class Plan {
 
   public final Path path;
   public final double traverseTime;
   public final double boostUsed;
-  public final ImmutableList<ControlInput> throttleInputList;
+  public final ControlTimeline controls;
   public final Tactic.TacticType type;
   public final Pair<AerialTactician.FlightPlan, AerialTactician.FlightLog> aerialPlan;
 
@@ -23,14 +21,28 @@ public class Plan {
     path = builder.path;
     aerialPlan = builder.aerialPlan;
     boostUsed = builder.boostUsed;
-    throttleInputList = ImmutableList.copyOf(builder.inputList);
+    controls = builder.controls.build();
     type = builder.type;
   }
 
+  private Plan(Plan plan, Path path) {
+    this.path = path;
+    traverseTime = plan.traverseTime;
+    aerialPlan = plan.aerialPlan;
+    boostUsed = plan.boostUsed;
+    controls = plan.controls;
+    type = plan.type;
+  }
+
   public static Builder builder() {
     return new Builder();
   }
 
+  /** Returns the same plan for another path with the same shape. */
+  Plan forPath(Path path) {
+    return path == this.path ? this : new Plan(this, path);
+  }
+
   public static class ControlInput {
 
     public static final double COASTING = .02d;
@@ -74,6 +86,22 @@ public class Plan {
       }
     }
 
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      } else if (!(o instanceof ControlInput)) {
+        return false;
+      }
+      ControlInput other = (ControlInput) o;
+      return boost == other.boost && throttle == other.throttle && jump == other.jump;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(boost, throttle, jump);
+    }
+
     @Override
     public String toString() {
       return "b:" + boost + " t:" + throttle + " j:" + jump;
@@ -81,7 +109,7 @@ public class Plan {
   }
 
   public static class Builder {
-    private List<ControlInput> inputList = new LinkedList<>();
+    private final ControlTimeline.Builder controls = ControlTimeline.builder();
     private Path path;
     private double time;
     private double boostUsed;
@@ -94,12 +122,18 @@ public class Plan {
     }
 
     public Builder addThrottleInput(boolean boost, double throttle) {
-      inputList.add(ControlInput.create(boost, throttle, false));
+      controls.appendFrame(ControlInput.create(boost, throttle, false));
       return this;
     }
 
     public Builder addJumpInput(boolean jump) {
-      inputList.add(ControlInput.create(false, 0, jump));
+      controls.appendFrame(ControlInput.create(false, 0, jump));
+      return this;
+    }
+
+    /** Adds a stretch of constant throttle. */
+    public Builder addThrottlePhase(boolean boost, double throttle, double duration) {
+      controls.append(ControlInput.create(boost, throttle, false), duration);
       return this;
     }
 
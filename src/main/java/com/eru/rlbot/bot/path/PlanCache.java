@@ -0,0 +1,92 @@
+package com.eru.rlbot.bot.path;
+
+import com.eru.rlbot.bot.utils.Deadline;
+import com.eru.rlbot.common.QuantizedKey;
+import com.eru.rlbot.common.input.CarData;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Speed plans shared by every {@link Path} in the process.
+ *
+ * <p>The marking service, the planner and the tacticians each build their own paths, and consecutive ticks build
+ * almost the same ones again. A plan only depends on the shape of the path, the start and end speeds, the boost and
+ * the time allowed, so plans are cached on a rounded copy of those and handed to any path which matches. The plan is
+ * rebound to the asking path on the way out.
+ */
+public final class PlanCache {
+
+  private static final int MAX_PLANS = 4096;
+
+  // Size of the quantization buckets for the cache key.
+  private static final double DISTANCE_BUCKET = 1;
+  private static final double SPEED_BUCKET = 1;
+  private static final double BOOST_BUCKET = .5;
+  private static final double TIME_BUCKET = .001;
+
+  private static final Cache<QuantizedKey, Plan> PLANS = CacheBuilder.newBuilder()
+      .maximumSize(MAX_PLANS)
+      .recordStats()
+      .build();
+
+  /** The kinds of plan a path can make. */
+  enum Kind {
+    MIN_TIME,
+    SPEED
+  }
+
+  /**
+   * Returns the cached plan for the path, or makes and caches it. Plans which were cut short by the deadline are not
+   * cached.
+   */
+  static Plan get(
+      Path path, List<Segment> nodes, Kind kind, double boost, double targetTime, Supplier<Plan> planner) {
+    QuantizedKey key = key(kind, nodes, path.getSource(), path.getTarget(), boost, targetTime);
+    Plan cached = PLANS.getIfPresent(key);
+    if (cached != null) {
+      return cached.forPath(path);
+    }
+
+    Deadline deadline = Deadline.current();
+    int cutShortCount = deadline.cutShortCount();
+    Plan plan = planner.get();
+    if (deadline.cutShortCount() == cutShortCount) {
+      PLANS.put(key, plan);
+    }
+    return plan;
+  }
+
+  public static CacheStats stats() {
+    return PLANS.stats();
+  }
+
+  public static String summary() {
+    CacheStats stats = stats();
+    return String.format("Plan cache: %d hits %d misses (%.1f%%) %d evictions %d plans",
+        stats.hitCount(), stats.missCount(), stats.hitRate() * 100, stats.evictionCount(), PLANS.size());
+  }
+
+  /** The path geometry and the plan inputs, rounded into buckets. */
+  private static QuantizedKey key(
+      Kind kind, List<Segment> nodes, CarData start, CarData target, double boost, double targetTime) {
+    QuantizedKey.Builder key = QuantizedKey.builder(7 + nodes.size() * 3)
+        .add(kind.ordinal())
+        .add(start.groundSpeed, SPEED_BUCKET)
+        .add(start.velocity.magnitude(), SPEED_BUCKET)
+        .add(target.groundSpeed, SPEED_BUCKET)
+        .add(boost, BOOST_BUCKET)
+        .add(targetTime, TIME_BUCKET)
+        .add(nodes.size());
+    for (Segment segment : nodes) {
+      key.add(segment.type.ordinal())
+          .add(segment.flatDistance(), DISTANCE_BUCKET)
+          .add(segment.maxSpeed(), SPEED_BUCKET);
+    }
+    return key.build();
+  }
+
+  private PlanCache() {}
+}
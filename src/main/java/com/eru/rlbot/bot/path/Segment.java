@@ -7,6 +7,7 @@ import com.eru.rlbot.common.input.CarData;
 import com.eru.rlbot.common.vector.Vector2;
 import com.eru.rlbot.common.vector.Vector3;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * A section of a path.
@@ -100,6 +101,69 @@ public class Segment {
     }
   }
 
+  /** Returns a segment of the same kind which starts at the given position. */
+  Segment withStart(Vector3 start) {
+    return type == Type.ARC ? Segment.arc(start, end, circle, clockWise) : new Segment(start, end, type);
+  }
+
+  /** Returns a segment of the same kind which ends at the given position. Arcs can only end on their circle. */
+  Segment withEnd(Vector3 end) {
+    if (type == Type.ARC) {
+      throw new IllegalStateException("Cannot move the end of an arc");
+    }
+    return new Segment(start, end, type);
+  }
+
+  /**
+   * Returns the part of this ground segment which is still ahead of the car, if the car is driving along it within
+   * the given distance and angle.
+   */
+  Optional<Segment> remainingFrom(CarData car, double maxOffset, double maxAngle) {
+    Vector3 position = car.position;
+    Vector3 projected;
+    Vector3 tangent;
+    switch (type) {
+      case STRAIGHT:
+        Vector3 direction = end.minus(start).flat();
+        double lengthSquared = direction.dot(direction);
+        if (lengthSquared == 0) {
+          return Optional.empty();
+        }
+
+        double along = position.minus(start).flat().dot(direction) / lengthSquared;
+        if (along < 0 || along >= 1) {
+          return Optional.empty();
+        }
+        projected = start.plus(end.minus(start).multiply(along));
+        tangent = direction;
+        break;
+      case ARC:
+        Vector3 radial = position.minus(circle.center).flat();
+        if (radial.isZero()) {
+          return Optional.empty();
+        }
+
+        projected = circle.center.flat().plus(radial.toMagnitude(circle.radius)).setZ(start.z);
+        if (Math.abs(getRadians(circle, projected, end, clockWise)) > Math.abs(getRadians())) {
+          // The car is not between the start and the end.
+          return Optional.empty();
+        }
+
+        // Matches Circle#isClockwise.
+        Vector3 toCenter = circle.center.minus(projected).flat();
+        tangent = clockWise ? Vector3.of(toCenter.y, -toCenter.x, 0) : Vector3.of(-toCenter.y, toCenter.x, 0);
+        break;
+      default:
+        return Optional.empty();
+    }
+
+    if (projected.flat().distance(position.flat()) > maxOffset
+        || Math.abs(car.orientation.getNoseVector().flatten().correctionAngle(tangent.flatten())) > maxAngle) {
+      return Optional.empty();
+    }
+    return Optional.of(withStart(projected));
+  }
+
   public Segment extend(double time, double speed) {
     if (type == Type.ARC) {
       throw new IllegalStateException("Doh!");
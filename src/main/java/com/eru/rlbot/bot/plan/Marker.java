@@ -1,23 +1,25 @@
 package com.eru.rlbot.bot.plan;
 
-import com.eru.rlbot.bot.common.Accels;
-import com.eru.rlbot.bot.path.PathPlanner;
-import com.eru.rlbot.bot.path.Plan;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
 import com.eru.rlbot.bot.prediction.BallPrediction;
 import com.eru.rlbot.bot.prediction.BallPredictionUtil;
-import com.eru.rlbot.bot.tactics.AerialTactician;
 import com.eru.rlbot.bot.utils.StopWatch;
 import com.eru.rlbot.common.input.BallData;
-import com.eru.rlbot.common.input.CarData;
 import com.eru.rlbot.common.input.DataPacket;
+import com.google.common.collect.ImmutableList;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
  * Marks which balls can be hit.
+ *
+ * <p>Marking runs on the {@link MarkingService} worker pool. Each tick the bot thread publishes the latest completed
+ * snapshot into the {@link BallPrediction.Potential}s and starts the next one, so the tick never waits on marking.
  */
 public class Marker {
 
@@ -25,10 +27,8 @@ public class Marker {
 
   private static final ConcurrentHashMap<Integer, Marker> MARKERS = new ConcurrentHashMap<>();
 
-  private static final long MARKER_DEADLINE_NANOS = 5 * 1_000_000;
-
   private final int ownerBot;
-  private volatile int index;
+  private CompletableFuture<MarkingService.Snapshot> inFlight;
 
   private Marker(int ownerBot) {
     this.ownerBot = ownerBot;
@@ -42,61 +42,67 @@ public class Marker {
     return MARKERS.computeIfAbsent(ownerBot, Marker::new);
   }
 
-  public void mark(DataPacket input, int botIndex) {
-    long startNanos = System.nanoTime();
-    StopWatch watch = StopWatch.start("Marker");
+  /**
+   * Publishes the last completed marking, if there is one, and starts marking the current predictions.
+   */
+  public void mark(DataPacket input) {
+    if (inFlight != null) {
+      if (!inFlight.isDone()) {
+        return;
+      }
 
-    CarData car = input.allCars.stream()
-        .filter(carData -> carData.serialNumber == botIndex)
-        .findFirst()
-        .orElseThrow(() -> new RuntimeException("Cannot find car."));
+      publish();
+    }
 
-    int predictionSlicesMarked = 0;
     List<BallPrediction> predictions = BallPredictionUtil.get(ownerBot).getPredictions();
-    for (BallPrediction prediction : predictions) {
-      mark(prediction, car);
-      predictionSlicesMarked++;
+    ImmutableList<BallData> balls = predictions.stream()
+        .map(BallPrediction::getBall)
+        .collect(toImmutableList());
 
-      long elapsedTime = System.nanoTime() - startNanos;
-      if (elapsedTime > MARKER_DEADLINE_NANOS) {
-        break;
-      }
-    }
-
-    double timeMs = watch.stop() * 1000;
+    inFlight = MarkingService.markAll(ImmutableList.copyOf(input.allCars), balls);
+  }
 
-    if (timeMs > 5) {
-      logger.debug("Marked {} frames in {}", predictionSlicesMarked, String.format("%.2fms", timeMs));
+  private void publish() {
+    MarkingService.Snapshot snapshot;
+    try {
+      snapshot = inFlight.get();
+    } catch (InterruptedException | ExecutionException e) {
+      logger.warn("Marking failed", e);
+      return;
+    } finally {
+      inFlight = null;
     }
-  }
 
-  private void mark(BallPrediction ballPrediction, CarData car) {
-    BallData ball = ballPrediction.ball;
-    BallPrediction.Potential potential = ballPrediction.forCar(car.serialNumber);
+    StopWatch watch = StopWatch.start("Marker");
 
-    double ballDistance = ball.position.distance(car.position);
-    double minTime = Accels.minTimeToDistance(car, ballDistance).getDuration();
-    double ballEta = ballPrediction.ball.time - car.elapsedSeconds;
+    // Both lists are ordered by time. Slices which were recycled or refreshed since the snapshot was taken hold a
+    // different ball and are skipped until the next snapshot.
+    List<BallPrediction> predictions = BallPredictionUtil.get(ownerBot).getPredictions();
+    int sliceIndex = 0;
+    int predictionSlicesMarked = 0;
+    for (BallPrediction prediction : predictions) {
+      while (sliceIndex < snapshot.balls.size() && snapshot.balls.get(sliceIndex).time < prediction.getBall().time) {
+        sliceIndex++;
+      }
 
-    if (minTime > ballEta) {
-      // The ball is too far away to hit.
-      return;
-    }
+      if (sliceIndex == snapshot.balls.size()) {
+        break;
+      }
 
-    Optional<Plan> result = PathPlanner.getGroundPath(car, ball);
-    if (result.isPresent()) {
-      potential.addPlan(result.get());
-    } else {
-      Optional<Plan> airResult = AerialTactician.doAerialPlanning(car, ball);
-      airResult.ifPresent(potential::addPlan);
+      if (snapshot.balls.get(sliceIndex) != prediction.getBall()) {
+        continue;
+      }
+
+      for (int carIndex = 0; carIndex < snapshot.cars.size(); carIndex++) {
+        prediction.forCar(snapshot.cars.get(carIndex).serialNumber).setPlan(snapshot.getPlan(carIndex, sliceIndex));
+      }
+      predictionSlicesMarked++;
     }
-  }
 
-  private int getPredictionIndex(int size) {
-    return index++ % size;
-  }
+    double timeMs = watch.stop() * 1000;
 
-  public void markNext(DataPacket input) {
-    mark(input, getPredictionIndex(input.allCars.size()));
+    if (timeMs > 1) {
+      logger.debug("Published {} frames in {}", predictionSlicesMarked, String.format("%.2fms", timeMs));
+    }
   }
 }
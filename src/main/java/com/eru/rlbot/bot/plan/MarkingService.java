@@ -0,0 +1,106 @@
+package com.eru.rlbot.bot.plan;
+
+import com.eru.rlbot.bot.common.Accels;
+import com.eru.rlbot.bot.path.PathPlanner;
+import com.eru.rlbot.bot.path.Plan;
+import com.eru.rlbot.bot.tactics.AerialTactician;
+import com.eru.rlbot.common.input.BallData;
+import com.eru.rlbot.common.input.CarData;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A worker pool shared by all bots in the JVM that computes which cars can reach which ball prediction slices.
+ */
+final class MarkingService {
+
+  // Leave a core free for the bot threads.
+  private static final int WORKER_COUNT = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+  // Number of prediction slices handed to a worker at once.
+  private static final int SLICES_PER_TASK = 60;
+
+  private static final AtomicInteger threadCount = new AtomicInteger();
+
+  private static final ExecutorService WORKERS = Executors.newFixedThreadPool(WORKER_COUNT, runnable -> {
+    Thread thread = new Thread(runnable, "Marker-" + threadCount.incrementAndGet());
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * Marks every slice for every car on the worker pool. The returned snapshot is complete once the future is done.
+   */
+  static CompletableFuture<Snapshot> markAll(ImmutableList<CarData> cars, ImmutableList<BallData> balls) {
+    Snapshot snapshot = new Snapshot(cars, balls);
+
+    List<CompletableFuture<Void>> tasks = new ArrayList<>();
+    for (int carIndex = 0; carIndex < cars.size(); carIndex++) {
+      for (int start = 0; start < balls.size(); start += SLICES_PER_TASK) {
+        int taskCar = carIndex;
+        int taskStart = start;
+        int taskEnd = Math.min(start + SLICES_PER_TASK, balls.size());
+        tasks.add(CompletableFuture.runAsync(() -> snapshot.mark(taskCar, taskStart, taskEnd), WORKERS));
+      }
+    }
+
+    return CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0]))
+        .thenApply(ignored -> snapshot);
+  }
+
+  /** Computes the plan for the given car to hit the given ball, if one exists. */
+  private static Plan mark(CarData car, BallData ball) {
+    double ballDistance = ball.position.distance(car.position);
+    double minTime = Accels.minTimeToDistance(car, ballDistance).getDuration();
+    double ballEta = ball.time - car.elapsedSeconds;
+
+    if (minTime > ballEta) {
+      // The ball is too far away to hit.
+      return null;
+    }
+
+    Optional<Plan> result = PathPlanner.getGroundPath(car, ball);
+    if (result.isPresent()) {
+      return result.get();
+    }
+
+    return AerialTactician.doAerialPlanning(car, ball).orElse(null);
+  }
+
+  /**
+   * The result of marking a fixed set of cars and ball slices. Each worker writes a disjoint range of the plan array
+   * and the completed future publishes the writes to the reading thread.
+   */
+  static final class Snapshot {
+
+    final ImmutableList<CarData> cars;
+    final ImmutableList<BallData> balls;
+    private final Plan[][] plans;
+
+    private Snapshot(ImmutableList<CarData> cars, ImmutableList<BallData> balls) {
+      this.cars = cars;
+      this.balls = balls;
+      this.plans = new Plan[cars.size()][balls.size()];
+    }
+
+    private void mark(int carIndex, int start, int end) {
+      CarData car = cars.get(carIndex);
+      for (int i = start; i < end; i++) {
+        plans[carIndex][i] = MarkingService.mark(car, balls.get(i));
+      }
+    }
+
+    /** Returns the plan for the given car and slice, or null if the slice cannot be reached. */
+    Plan getPlan(int carIndex, int sliceIndex) {
+      return plans[carIndex][sliceIndex];
+    }
+  }
+
+  private MarkingService() {}
+}
@@ -0,0 +1,69 @@
+package com.eru.rlbot.bot.prediction;
+
+import com.eru.rlbot.bot.common.Constants;
+import com.eru.rlbot.common.vector.MutableVector3;
+
+/**
+ * The standard soccar arena as a signed distance field.
+ *
+ * <p>The arena is the box of the floor, ceiling, side and back walls with the corners cut at 45 degrees. The floor and
+ * ceiling meet the walls with a rounded ramp. The goals are boxes cut into the back walls. Distances are positive
+ * inside of the arena.
+ */
+final class Arena {
+
+  private static final double CORNER_DIAGONAL = 8064;
+  private static final double RAMP_RADIUS = 256;
+
+  private static final double GOAL_HALF_WIDTH = 892.755;
+  private static final double GOAL_HEIGHT = 642.775;
+  private static final double GOAL_BACK = Constants.HALF_LENGTH + 880;
+
+  private static final double INVERSE_SQRT_2 = 1 / Math.sqrt(2);
+
+  // Step for the finite difference normal.
+  private static final double NORMAL_STEP = 1;
+
+  /** Returns the distance from the given point to the nearest surface, negative if the point is outside the arena. */
+  static double distance(double x, double y, double z) {
+    double absX = Math.abs(x);
+    double absY = Math.abs(y);
+
+    double sideWall = Constants.HALF_WIDTH - absX;
+    double backWall = Constants.HALF_LENGTH - absY;
+    double corner = (CORNER_DIAGONAL - absX - absY) * INVERSE_SQRT_2;
+    double walls = Math.min(sideWall, Math.min(backWall, corner));
+
+    double floor = rounded(z, walls);
+    double ceiling = rounded(Constants.FIELD_HEIGHT - z, walls);
+    double field = Math.min(floor, ceiling);
+
+    double goal = Math.min(
+        Math.min(GOAL_HALF_WIDTH - absX, GOAL_BACK - absY),
+        Math.min(z, GOAL_HEIGHT - z));
+
+    return Math.max(field, goal);
+  }
+
+  /** Intersects two perpendicular surfaces with a rounded ramp between them. */
+  private static double rounded(double a, double b) {
+    if (a >= RAMP_RADIUS || b >= RAMP_RADIUS) {
+      return Math.min(a, b);
+    }
+
+    double offsetA = RAMP_RADIUS - a;
+    double offsetB = RAMP_RADIUS - b;
+    return RAMP_RADIUS - Math.sqrt(offsetA * offsetA + offsetB * offsetB);
+  }
+
+  /** Sets the result to the direction away from the nearest surface. */
+  static MutableVector3 normal(double x, double y, double z, MutableVector3 result) {
+    return result.set(
+        distance(x + NORMAL_STEP, y, z) - distance(x - NORMAL_STEP, y, z),
+        distance(x, y + NORMAL_STEP, z) - distance(x, y - NORMAL_STEP, z),
+        distance(x, y, z + NORMAL_STEP) - distance(x, y, z - NORMAL_STEP))
+        .normalizeOrZero();
+  }
+
+  private Arena() {}
+}
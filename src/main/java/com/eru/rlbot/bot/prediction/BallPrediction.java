@@ -1,7 +1,5 @@
 package com.eru.rlbot.bot.prediction;
 
-import static com.google.common.collect.ImmutableList.toImmutableList;
-
 import com.eru.rlbot.bot.common.Teams;
 import com.eru.rlbot.bot.path.Path;
 import com.eru.rlbot.bot.path.Plan;
@@ -9,21 +7,38 @@ import com.eru.rlbot.bot.tactics.Tactic;
 import com.eru.rlbot.common.input.BallData;
 import com.eru.rlbot.common.input.CarData;
 import com.google.common.collect.ImmutableList;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * For each prediction slice, this keeps track of what analysis has been done.
  */
 public class BallPrediction {
 
-  private final HashMap<Integer, Potential> botPotential = new HashMap<>();
+  // Potentials by car index, made on first use.
+  private final Potential[] potentials = new Potential[ReachabilityIndex.MAX_CARS];
+  private final ReachabilityIndex index;
+
+  // A bit for each car index with a plan to hit this ball.
+  private long reachable;
+
+  /** Identifies this slice in the {@link ReachabilityIndex}. Replaced when the slot is recycled. */
+  long sequence;
 
-  public final BallData ball;
+  // Replaced when the slot is recycled by the BallPredictionBuffer.
+  private BallData ball;
 
-  BallPrediction(BallData ball) {
+  BallPrediction(BallData ball, long sequence, ReachabilityIndex index) {
     this.ball = ball;
+    this.sequence = sequence;
+    this.index = index;
+  }
+
+  /** Reuses this prediction for a new ball, dropping any analysis done for the previous one. */
+  void reset(BallData ball, long sequence) {
+    this.ball = ball;
+    this.sequence = sequence;
+    Arrays.fill(potentials, null);
+    reachable = 0;
   }
 
   /**
@@ -35,46 +50,52 @@ public class BallPrediction {
 
   /** Returns true if anyone can hit the ball. */
   public boolean isHittableBySomeone() {
-    return botPotential.values().stream().anyMatch(Potential::isHittable);
+    return reachable != 0;
   }
 
   /** Returns true if the given car can hit this prediction slice. */
   public boolean isHittable(CarData car) {
-    return getPotential(car.serialNumber).isHittable();
-  }
-
-  private Potential getPotential(int serialNumber) {
-    return botPotential.computeIfAbsent(serialNumber, Potential::new);
+    return (reachable & ReachabilityIndex.carMask(car.serialNumber)) != 0;
   }
 
   /** Returns the potential hits for the given car number. */
   public Potential forCar(int serialNumber) {
-    return getPotential(serialNumber);
+    Potential potential = potentials[serialNumber];
+    if (potential == null) {
+      potential = new Potential(this, serialNumber);
+      potentials[serialNumber] = potential;
+    }
+    return potential;
   }
 
-  /** Returns a list of the player indexes that are able to reach the ball. */
+  /** Returns a mask with the bit of every car index which can reach the ball set. */
+  public long reachableMask() {
+    return reachable;
+  }
+
+  /** Returns a list of the player indexes that are able to reach the ball, in index order. */
   public ImmutableList<Integer> ableToReach() {
-    return botPotential.values().stream()
-        .filter(Potential::isHittable)
-        .map(potential -> potential.index)
-        .collect(toImmutableList());
+    ImmutableList.Builder<Integer> indexes = ImmutableList.builder();
+    for (long remaining = reachable; remaining != 0; remaining &= remaining - 1) {
+      indexes.add(Long.numberOfTrailingZeros(remaining));
+    }
+    return indexes.build();
   }
 
-  /** Returns a list of the teams which can reach this ball. */
+  /** Returns the team of each player able to reach this ball, in player index order. */
   public ImmutableList<Integer> ableToReachTeams() {
-    return botPotential.values().stream()
-        .filter(Potential::isHittable)
-        .map(potential -> Teams.getTeamForBot(potential.index))
-        .collect(toImmutableList());
+    ImmutableList.Builder<Integer> teams = ImmutableList.builder();
+    for (long remaining = reachable; remaining != 0; remaining &= remaining - 1) {
+      teams.add(Teams.getTeamForBot(Long.numberOfTrailingZeros(remaining)));
+    }
+    return teams.build();
   }
 
   /**
    * Returns true if hittable by the given team. False otherwise.
    */
   public boolean isHittableByTeam(int team) {
-    return botPotential.values().stream()
-        .filter(Potential::isHittable)
-        .anyMatch(potential -> Teams.getTeamForBot(potential.index) == team);
+    return (reachable & Teams.getTeamMask(team)) != 0;
   }
 
   /**
@@ -84,36 +105,50 @@ public class BallPrediction {
     return ball;
   }
 
+  private void setReachable(int carIndex, boolean isReachable) {
+    long bit = ReachabilityIndex.carMask(carIndex);
+    if (((reachable & bit) != 0) == isReachable) {
+      return;
+    }
+
+    reachable ^= bit;
+    index.update(sequence, carIndex, isReachable);
+  }
+
   /**
    * A container for the potential of a given car to hit a specified ball.
    */
   public static class Potential {
 
     public final int index;
-    private final List<Plan> plans = new ArrayList<>();
+    private final BallPrediction prediction;
+    private Plan plan;
 
-    public Potential(int index) {
+    Potential(BallPrediction prediction, int index) {
+      this.prediction = prediction;
       this.index = index;
     }
 
     public boolean isHittable() {
-      return !plans.isEmpty();
+      return plan != null;
     }
 
     public boolean hasPlan() {
-      return plans.size() > 1;
+      return plan != null;
     }
 
-    public void addPlan(Plan plan) {
-      plans.add(plan);
+    /** Replaces the plan with the latest marking result. A null plan marks the ball as not hittable. */
+    public void setPlan(Plan plan) {
+      this.plan = plan;
+      prediction.setReachable(index, plan != null);
     }
 
     public Plan getPlan() {
-      return plans.isEmpty() ? null : plans.get(0);
+      return plan;
     }
 
     public Path getPath() {
-      return plans.isEmpty() ? null : plans.get(0).path;
+      return plan == null ? null : plan.path;
     }
   }
 }
@@ -0,0 +1,215 @@
+package com.eru.rlbot.bot.prediction;
+
+import com.eru.rlbot.bot.common.Constants;
+import com.eru.rlbot.common.input.BallData;
+import com.google.common.base.Preconditions;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import rlbot.flat.Physics;
+import rlbot.flat.PredictionSlice;
+import rlbot.flat.Vector3;
+
+/**
+ * A fixed capacity ring buffer of ball prediction slices.
+ *
+ * <p>The raw slice data is kept in parallel primitive arrays so time lookups and comparisons against a fresh
+ * prediction never touch the {@link BallPrediction} objects. Slots are recycled as the head advances.
+ *
+ * <p>Each slice is numbered one more than the slice before it. The numbers of dropped tail slices are reused, so the
+ * {@link ReachabilityIndex} can turn a number back into an index by subtracting the number of the head.
+ */
+final class BallPredictionBuffer extends AbstractList<BallPrediction> implements RandomAccess {
+
+  private final int capacity;
+  private final BallPrediction[] slots;
+  private final ReachabilityIndex reachability = new ReachabilityIndex(this);
+
+  private final float[] time;
+  private final float[] positionX;
+  private final float[] positionY;
+  private final float[] positionZ;
+  private final float[] velocityX;
+  private final float[] velocityY;
+  private final float[] velocityZ;
+  private final float[] spinX;
+  private final float[] spinY;
+  private final float[] spinZ;
+
+  private int head;
+  private int size;
+  private long headSequence;
+
+  BallPredictionBuffer(int capacity) {
+    this.capacity = capacity;
+    this.slots = new BallPrediction[capacity];
+    this.time = new float[capacity];
+    this.positionX = new float[capacity];
+    this.positionY = new float[capacity];
+    this.positionZ = new float[capacity];
+    this.velocityX = new float[capacity];
+    this.velocityY = new float[capacity];
+    this.velocityZ = new float[capacity];
+    this.spinX = new float[capacity];
+    this.spinY = new float[capacity];
+    this.spinZ = new float[capacity];
+  }
+
+  @Override
+  public BallPrediction get(int index) {
+    return slots[slot(index)];
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /** Returns true if no more slices can be added. */
+  boolean isFull() {
+    return size == capacity;
+  }
+
+  /** Drops all slices. The slot objects are kept for reuse. */
+  @Override
+  public void clear() {
+    headSequence += size;
+    head = 0;
+    size = 0;
+    modCount++;
+  }
+
+  /** Drops slices from the tail of the buffer so only the given number remain. */
+  void truncate(int newSize) {
+    Preconditions.checkPositionIndex(newSize, size);
+    if (newSize != size) {
+      size = newSize;
+      reachability.dropFrom(headSequence + newSize);
+      modCount++;
+    }
+  }
+
+  /** Appends the given slice to the tail of the buffer. */
+  void add(PredictionSlice predictionSlice) {
+    Preconditions.checkState(!isFull(), "Prediction buffer is full");
+
+    int slot = (head + size) % capacity;
+    Physics physics = predictionSlice.physics();
+    Vector3 location = physics.location();
+    Vector3 velocity = physics.velocity();
+    Vector3 spin = physics.angularVelocity();
+
+    time[slot] = predictionSlice.gameSeconds();
+    positionX[slot] = location.x();
+    positionY[slot] = location.y();
+    positionZ[slot] = location.z();
+    velocityX[slot] = velocity.x();
+    velocityY[slot] = velocity.y();
+    velocityZ[slot] = velocity.z();
+    spinX[slot] = spin.x();
+    spinY[slot] = spin.y();
+    spinZ[slot] = spin.z();
+
+    BallData ball = BallData.fromPredictionSlice(predictionSlice);
+    long sequence = headSequence + size;
+    if (slots[slot] == null) {
+      slots[slot] = new BallPrediction(ball, sequence, reachability);
+    } else {
+      slots[slot].reset(ball, sequence);
+    }
+
+    size++;
+    modCount++;
+  }
+
+  /** Drops slices from the head of the buffer which are before the given game time. */
+  void advanceTo(float gameTime) {
+    int dropped = 0;
+    while (size > 0 && time[head] < gameTime) {
+      head = (head + 1) % capacity;
+      headSequence++;
+      size--;
+      dropped++;
+    }
+
+    if (dropped > 0) {
+      modCount++;
+    }
+  }
+
+  /** Returns the first slice reachable by each car. */
+  ReachabilityIndex reachability() {
+    return reachability;
+  }
+
+  /** Returns the sequence number of the slice at the head of the buffer. */
+  long headSequence() {
+    return headSequence;
+  }
+
+  /** Returns the game time of the slice at the given index. */
+  float timeAt(int index) {
+    return time[slot(index)];
+  }
+
+  /** Returns the game time of the last slice in the buffer. */
+  float lastTime() {
+    return timeAt(size - 1);
+  }
+
+  /**
+   * Returns the index of the first slice strictly after the given game time, or -1 if there is none.
+   *
+   * <p>The slices are spaced at {@link BallPredictionUtil#PREDICTION_FPS} so the first guess is almost always
+   * right. Slices which were filtered out of bounds are handled by walking from the guess.
+   */
+  int firstIndexAfter(double gameTime) {
+    if (size == 0) {
+      return -1;
+    }
+
+    int index = (int) ((gameTime - time[head]) * BallPredictionUtil.PREDICTION_FPS);
+    index = Math.max(0, Math.min(index, size - 1));
+
+    while (index > 0 && timeAt(index - 1) > gameTime) {
+      index--;
+    }
+    while (index < size && timeAt(index) <= gameTime) {
+      index++;
+    }
+
+    return index < size ? index : -1;
+  }
+
+  /**
+   * Returns true if the slice at the given index is close enough to the given prediction slice to be considered the
+   * same. Mirrors {@link BallData#fuzzyEquals(BallData)} without needing to allocate.
+   */
+  boolean matches(int index, PredictionSlice predictionSlice) {
+    int slot = slot(index);
+    double timeDiff = Math.abs(predictionSlice.gameSeconds() - time[slot]);
+    if (timeDiff >= Constants.STEP_SIZE * 3) {
+      return false;
+    }
+
+    double stepDrift = Math.max(timeDiff / Constants.STEP_SIZE, 1);
+    Physics physics = predictionSlice.physics();
+    Vector3 spin = physics.angularVelocity();
+    Vector3 location = physics.location();
+    Vector3 velocity = physics.velocity();
+
+    return isWithin(.5 * stepDrift, spin, spinX[slot], spinY[slot], spinZ[slot])
+        && isWithin(20 * stepDrift, location, positionX[slot], positionY[slot], positionZ[slot])
+        && isWithin(30 * stepDrift, velocity, velocityX[slot], velocityY[slot], velocityZ[slot]);
+  }
+
+  private static boolean isWithin(double tolerance, Vector3 vector, float x, float y, float z) {
+    return Math.abs(vector.x() - x) < tolerance
+        && Math.abs(vector.y() - y) < tolerance
+        && Math.abs(vector.z() - z) < tolerance;
+  }
+
+  private int slot(int index) {
+    Preconditions.checkElementIndex(index, size);
+    return (head + index) % capacity;
+  }
+}
@@ -8,14 +8,9 @@ import com.eru.rlbot.common.input.BallData;
 import com.eru.rlbot.common.input.CarData;
 import com.eru.rlbot.common.input.DataPacket;
 import com.google.common.collect.Iterables;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import rlbot.flat.PredictionSlice;
@@ -34,7 +29,9 @@ public class BallPredictionUtil {
   public static final long PREDICTION_LIMIT = PREDICTION_TIME_LIMIT * PREDICTION_FPS;
 
   private static final ConcurrentHashMap<Integer, BallPredictionUtil> MAP = new ConcurrentHashMap<>();
-  private static boolean wasTouched;
+
+  // Number of slices between samples when diffing a new prediction.
+  private static final int DIFF_STRIDE = 10;
 
   private final int serialNumber;
 
@@ -42,33 +39,42 @@ public class BallPredictionUtil {
     this.serialNumber = serialNumber;
   }
 
-  private volatile List<BallPrediction> balls = new LinkedList<>();
+  private final BallPredictionBuffer balls = new BallPredictionBuffer((int) PREDICTION_LIMIT);
+  private float changedAfterTime = Float.MAX_VALUE;
+  private boolean wasTouched;
 
   public List<BallPrediction> getPredictions() {
     return balls;
   }
 
+  /**
+   * Returns the first prediction strictly after the given game time.
+   */
+  public Optional<BallPrediction> getPredictionAfter(double gameTime) {
+    int index = balls.firstIndexAfter(gameTime);
+    return index == -1 ? Optional.empty() : Optional.of(balls.get(index));
+  }
+
   public Optional<ChallengeData> getChallengeData() {
     if (balls.isEmpty()) {
       logger.debug("Cannot find prediction slices");
       return Optional.empty();
     }
 
-    Optional<BallPrediction> hittableByAnyone = balls.stream()
-        .filter(BallPrediction::isHittableBySomeone)
-        .findFirst();
-
-    if (!hittableByAnyone.isPresent()) {
+    ReachabilityIndex reachability = balls.reachability();
+    int firstTouchIndex = reachability.firstIndex(ReachabilityIndex.ALL_CARS);
+    if (firstTouchIndex == -1) {
       logger.debug("Not hittable");
       return Optional.empty();
     }
 
-    BallPrediction firstTouch = hittableByAnyone.get();
-    int touchedByTeam = firstTouch.ableToReachTeams().get(0);
+    BallPrediction firstTouch = balls.get(firstTouchIndex);
+    int touchedByTeam = Teams.getTeamForBot(Long.numberOfTrailingZeros(firstTouch.reachableMask()));
+    int otherTeam = Teams.otherTeam(touchedByTeam);
 
-    BallPrediction hittableByOtherTeam = balls.stream()
-        .filter(ballPrediction -> ballPrediction.isHittableByTeam(Teams.otherTeam(touchedByTeam)))
-        .findFirst().orElseGet(() -> Iterables.getLast(balls));
+    int otherTeamIndex = reachability.firstIndex(Teams.getTeamMask(otherTeam));
+    BallPrediction hittableByOtherTeam =
+        otherTeamIndex == -1 ? Iterables.getLast(balls) : balls.get(otherTeamIndex);
 
     return Optional.of(new ChallengeData(firstTouch, hittableByOtherTeam, touchedByTeam));
   }
@@ -78,56 +84,61 @@ public class BallPredictionUtil {
       return null;
     }
 
-    Optional<BallPrediction> firstHittable = balls.stream()
-        .filter(ball -> ball.forCar(serialNumber).isHittable())
-        .findFirst();
-
-    return firstHittable.orElseGet(() -> Iterables.getLast(balls));
+    int index = balls.reachability().firstIndex(ReachabilityIndex.carMask(serialNumber));
+    return index == -1 ? Iterables.getLast(balls) : balls.get(index);
   }
 
   private boolean refreshInternal(BallData ball) {
-    Optional<rlbot.flat.BallPrediction> predictionOptional = DllHelper.getBallPrediction();
+    Optional<rlbot.flat.BallPrediction> predictionOptional = DllHelper.getBallPrediction(ball);
     if (!predictionOptional.isPresent()) {
       return false;
     }
 
     rlbot.flat.BallPrediction prediction = predictionOptional.get();
+    changedAfterTime = Float.MAX_VALUE;
     if (prediction.slicesLength() > 0) {
-      PredictionSlice nextSlice = prediction.slices(0);
-      if (hasBeenTouched(nextSlice)) {
-        balls = stream(prediction)
-            .limit(PREDICTION_LIMIT)
-            .filter(BallPredictionUtil::isInBounds)
-            .map(BallData::fromPredictionSlice)
-            .map(BallPrediction::new)
-            .collect(Collectors.toList());
+      int divergentIndex = findDivergence(prediction);
+      if (balls.isEmpty() || divergentIndex < balls.size()) {
+        // Keep the matching prefix along with its plans. Only the suffix needs to be marked again.
+        changedAfterTime = balls.isEmpty() ? 0 : balls.timeAt(divergentIndex);
+        balls.truncate(divergentIndex);
+        append(prediction, balls.isEmpty() ? 0 : firstSliceAfter(prediction, balls.lastTime()));
         return true;
       }
     }
 
-    Iterator<BallPrediction> ballIterator = balls.iterator();
-    while (ballIterator.hasNext()) {
-      BallPrediction next = ballIterator.next();
-      if (next.ball.time >= ball.time) {
-        break;
-      }
+    balls.advanceTo(ball.time);
 
-      ballIterator.remove();
+    if (!balls.isEmpty() && !balls.isFull()) {
+      append(prediction, firstSliceAfter(prediction, balls.lastTime()));
     }
 
-    if (!balls.isEmpty() && PREDICTION_LIMIT > balls.size()) {
-      float lastTime = Iterables.getLast(balls).ball.time;
+    return false;
+  }
 
-      stream(prediction)
-          .filter(predictionSlice -> predictionSlice.gameSeconds() > lastTime)
-          .filter(BallPredictionUtil::isInBounds)
-          .limit(PREDICTION_LIMIT - balls.size())
-          .map(BallData::fromPredictionSlice)
-          .map(BallPrediction::new)
-          .forEach(balls::add);
+  /** Adds the in-bounds slices starting at the given index until the buffer is full. */
+  private void append(rlbot.flat.BallPrediction prediction, int startIndex) {
+    for (int i = startIndex; i < prediction.slicesLength() && !balls.isFull(); i++) {
+      PredictionSlice predictionSlice = prediction.slices(i);
+      if (isInBounds(predictionSlice)) {
+        balls.add(predictionSlice);
+      }
     }
+  }
 
-    return false;
+  /** Binary searches for the first slice strictly after the given time. */
+  private static int firstSliceAfter(rlbot.flat.BallPrediction prediction, float gameTime) {
+    int low = 0;
+    int high = prediction.slicesLength();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (prediction.slices(mid).gameSeconds() > gameTime) {
+        high = mid;
+      } else {
+        low = mid + 1;
+      }
+    }
+    return low;
   }
 
   private static boolean isInBounds(PredictionSlice predictionSlice) {
@@ -136,34 +147,74 @@ public class BallPredictionUtil {
         location.z() >= (Constants.BALL_RADIUS - 10) && location.z() < Constants.FIELD_HEIGHT;
   }
 
-  private boolean hasBeenTouched(PredictionSlice nextSlice) {
-    BallData prediction = BallData.fromPredictionSlice(nextSlice);
-    Iterator<BallPrediction> ballIterator = balls.iterator();
-    while (ballIterator.hasNext()) {
-      BallPrediction nextBall = ballIterator.next();
-      if (nextBall.ball.time >= prediction.time) {
-        if (prediction.time + Constants.STEP_SIZE * 1 < nextBall.ball.time) {
-          // This prediction is off-cycle of the ones we have. Don't worry about it.
-          return false;
-        }
-
-        boolean isTheSame = prediction.fuzzyEquals(nextBall.ball);
-        Touch touch = Teams.getBallTouchTime();
-        float lastTouchTime = touch != null ? touch.gameSeconds() : 0;
-        if (!isTheSame && nextBall.ball.time - lastTouchTime > .5) {
-          // Logging to check the diffs when the ball prediction is refreshed.
-          logger.debug(
-              " time: {} last touch: {} data {}",
-              nextBall.ball.time,
-              lastTouchTime,
-              StateLogger.format(nextBall.ball));
-        }
-        return !isTheSame;
+  /**
+   * Diffs the new prediction against the cached slices. Returns the index of the first cached slice which no longer
+   * matches, or the number of cached slices if they all still match.
+   *
+   * <p>Once a prediction diverges it stays diverged, so the slices are sampled every {@link #DIFF_STRIDE} and the
+   * window before the first mismatched sample is searched for the exact divergence.
+   */
+  private int findDivergence(rlbot.flat.BallPrediction prediction) {
+    PredictionSlice nextSlice = prediction.slices(0);
+    float sliceTime = nextSlice.gameSeconds();
+    balls.advanceTo(sliceTime);
+    if (balls.isEmpty()) {
+      return 0;
+    }
+
+    float cachedTime = balls.timeAt(0);
+    if (sliceTime + Constants.STEP_SIZE * 1 < cachedTime) {
+      // This prediction is off-cycle of the ones we have. Don't worry about it.
+      return balls.size();
+    }
+
+    if (!matches(0, prediction, sliceTime)) {
+      logTouch(0);
+      return 0;
+    }
+
+    int lastMatch = 0;
+    int sample = DIFF_STRIDE;
+    while (sample < balls.size()) {
+      if (!matches(sample, prediction, sliceTime)) {
+        break;
       }
-      ballIterator.remove();
+      lastMatch = sample;
+      sample += DIFF_STRIDE;
     }
 
-    return true;
+    for (int i = lastMatch + 1; i < Math.min(sample, balls.size()); i++) {
+      if (!matches(i, prediction, sliceTime)) {
+        logTouch(i);
+        return i;
+      }
+    }
+
+    return balls.size();
+  }
+
+  /** Compares the cached slice with the new slice at the same time. Slices past the new prediction still match. */
+  private boolean matches(int index, rlbot.flat.BallPrediction prediction, float firstSliceTime) {
+    int sliceIndex = Math.round((balls.timeAt(index) - firstSliceTime) * PREDICTION_FPS);
+    if (sliceIndex >= prediction.slicesLength()) {
+      return true;
+    }
+
+    return balls.matches(index, prediction.slices(sliceIndex));
+  }
+
+  private void logTouch(int index) {
+    float cachedTime = balls.timeAt(index);
+    Touch touch = Teams.getBallTouchTime();
+    float lastTouchTime = touch != null ? touch.gameSeconds() : 0;
+    if (cachedTime - lastTouchTime > .5) {
+      // Logging to check the diffs when the ball prediction is refreshed.
+      logger.debug(
+          " time: {} last touch: {} data {}",
+          cachedTime,
+          lastTouchTime,
+          StateLogger.format(balls.get(index).getBall()));
+    }
   }
 
   public static BallPredictionUtil get(int serialNumber) {
@@ -178,14 +229,17 @@ public class BallPredictionUtil {
     return wasTouched;
   }
 
-  public static boolean refresh(DataPacket input) {
-    wasTouched = get(input.car).refreshInternal(input.ball);
-    return wasTouched;
+  /**
+   * Returns true if the prediction changed this tick at or before the given game time.
+   */
+  public boolean wasChangedBefore(double gameTime) {
+    return changedAfterTime <= gameTime;
   }
 
-  private static Stream<rlbot.flat.PredictionSlice> stream(rlbot.flat.BallPrediction prediction) {
-    return IntStream.range(0, prediction.slicesLength())
-        .mapToObj(prediction::slices);
+  public static boolean refresh(DataPacket input) {
+    BallPredictionUtil ballPredictionUtil = get(input.car);
+    ballPredictionUtil.wasTouched = ballPredictionUtil.refreshInternal(input.ball);
+    return ballPredictionUtil.wasTouched;
   }
 
   public static class ChallengeData {
@@ -2,58 +2,239 @@ package com.eru.rlbot.bot.prediction;
 
 import com.eru.rlbot.bot.common.Constants;
 import com.eru.rlbot.common.input.BallData;
-import com.eru.rlbot.common.vector.Vector3;
+import com.eru.rlbot.common.vector.MutableVector3;
 import com.google.common.collect.ImmutableList;
+import com.google.flatbuffers.FlatBufferBuilder;
+import java.util.Optional;
+import rlbot.flat.Physics;
+import rlbot.flat.PredictionSlice;
 
-/** Predicts where the ball will be over some time interval. */
+/**
+ * Predicts where the ball will be over some time interval.
+ *
+ * <p>Simulates the ball in the {@link Arena} at {@link Constants#STEP_SIZE} with drag, speed limits and the bounce
+ * model from https://samuelpmish.github.io/notes/RocketLeague/ball_bouncing/. Touches by cars are not predicted.
+ */
 public class BallPredictor {
 
   private static final float PREDICTION_TIME = 2f;
 
+  /** The horizon and slice rate of the prediction provided by the dll. */
+  public static final float DLL_PREDICTION_TIME = BallPredictionUtil.PREDICTION_TIME_LIMIT;
+  public static final float DLL_SLICE_INTERVAL = 1f / BallPredictionUtil.PREDICTION_FPS;
+
+  private static final double DRAG = -0.0305;
+  private static final double MAX_SPEED = 6000;
+  private static final double MAX_ANGULAR_SPEED = 6;
+
+  // Bounce model.
+  private static final double RESTITUTION = Constants.COEFFICIENT_OF_RESITUTION;
+  private static final double FRICTION = 0.285;
+  private static final double FRICTION_SCALE = 2;
+  private static final double SPIN_TRANSFER = 0.0003;
+
+  private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
+
   /**
-   * Gets a list of ball-slice-like {@link BallData} objects.
+   * Gets a list of ball-slice-like {@link BallData} objects for every step over the next 2 seconds, starting with the
+   * given ball.
    */
   public static ImmutableList<BallData> makePrediction(BallData ball) {
-    BallData currentBall = ball;
+    ImmutableList.Builder<BallData> predictionBuilder = ImmutableList.builder();
+    predictionBuilder.add(ball);
+    predictionBuilder.addAll(makePrediction(ball, PREDICTION_TIME, Constants.STEP_SIZE));
+    return predictionBuilder.build();
+  }
 
-    float currentTime = ball.time;
-    float endTime = currentTime + PREDICTION_TIME;
+  /**
+   * Predicts the ball over the given number of seconds, returning a slice at each interval after the given ball.
+   * Intervals which are not a multiple of {@link Constants#STEP_SIZE} are rounded to the nearest step.
+   */
+  public static ImmutableList<BallData> makePrediction(BallData ball, float duration, float sliceInterval) {
+    int stepsPerSlice = Math.max(1, Math.round(sliceInterval * Constants.STEP_SIZE_COUNT));
+    int sliceCount = (int) (duration * Constants.STEP_SIZE_COUNT) / stepsPerSlice;
+
+    Workspace workspace = WORKSPACE.get();
+    workspace.position.set(ball.position);
+    workspace.velocity.set(ball.velocity);
+    workspace.spin.set(ball.spin);
 
     ImmutableList.Builder<BallData> predictionBuilder = ImmutableList.builder();
-    predictionBuilder.add(currentBall);
+    for (int slice = 1; slice <= sliceCount; slice++) {
+      for (int i = 0; i < stepsPerSlice; i++) {
+        step(workspace, Constants.STEP_SIZE);
+      }
 
-    while (currentTime < endTime) {
-      currentTime += Constants.STEP_SIZE;
-      currentBall = generateNextStep(currentBall);
-      predictionBuilder.add(currentBall);
+      predictionBuilder.add(toBall(workspace, ball.time + slice * stepsPerSlice * Constants.STEP_SIZE));
     }
-
     return predictionBuilder.build();
   }
 
-  // TODO: Update with https://samuelpmish.github.io/notes/RocketLeague/ball_bouncing/
-  private static BallData generateNextStep(BallData currentBall) {
-    double vX = currentBall.velocity.x;
-    if (Math.abs(currentBall.position.x) + Constants.BALL_COLLISION_RADIUS > Constants.HALF_WIDTH) {
-      vX *= -Constants.COEFFICIENT_OF_RESITUTION;
-    }
+  /**
+   * Predicts the ball after a touch until it enters a goal or the duration runs out. The trajectory has a slice at
+   * each interval after the given ball, while the first bounce and the goal are taken at the step they happen.
+   */
+  public static ShotOutcome predictOutcome(BallData ball, float duration, float sliceInterval) {
+    int stepsPerSlice = Math.max(1, Math.round(sliceInterval * Constants.STEP_SIZE_COUNT));
+    int stepCount = (int) (duration * Constants.STEP_SIZE_COUNT);
 
-    double vY = currentBall.velocity.y;
-    if (Math.abs(currentBall.position.y) + Constants.BALL_COLLISION_RADIUS > Constants.HALF_LENGTH) {
-      vY *= -Constants.COEFFICIENT_OF_RESITUTION;
+    Workspace workspace = WORKSPACE.get();
+    workspace.position.set(ball.position);
+    workspace.velocity.set(ball.velocity);
+    workspace.spin.set(ball.spin);
+
+    ImmutableList.Builder<BallData> trajectoryBuilder = ImmutableList.builder();
+    BallData firstBounce = null;
+    BallData goal = null;
+    for (int i = 1; i <= stepCount; i++) {
+      boolean bounced = step(workspace, Constants.STEP_SIZE);
+      float time = ball.time + i * Constants.STEP_SIZE;
+
+      if (Math.abs(workspace.position.y) > Constants.HALF_LENGTH + Constants.BALL_RADIUS) {
+        // Only the goals reach past the goal line.
+        goal = toBall(workspace, time);
+        trajectoryBuilder.add(goal);
+        break;
+      } else if (bounced && firstBounce == null) {
+        firstBounce = toBall(workspace, time);
+      }
+
+      if (i % stepsPerSlice == 0) {
+        trajectoryBuilder.add(toBall(workspace, time));
+      }
     }
-    double vZ = currentBall.velocity.z - (Constants.GRAVITY / Constants.STEP_SIZE_COUNT);
-    if (currentBall.position.z < Constants.BALL_COLLISION_RADIUS && currentBall.velocity.z < 0) {
-      vZ *= -Constants.COEFFICIENT_OF_RESITUTION;
+
+    return new ShotOutcome(ball, trajectoryBuilder.build(), Optional.ofNullable(firstBounce), Optional.ofNullable(goal));
+  }
+
+  /** Returns the ball one {@link Constants#STEP_SIZE} after the given ball. */
+  public static BallData step(BallData ball) {
+    Workspace workspace = WORKSPACE.get();
+    workspace.position.set(ball.position);
+    workspace.velocity.set(ball.velocity);
+    workspace.spin.set(ball.spin);
+
+    step(workspace, Constants.STEP_SIZE);
+    return toBall(workspace, ball.time + Constants.STEP_SIZE);
+  }
+
+  /** Predicts the ball in the same shape as the dll prediction, for use in place of it. */
+  public static rlbot.flat.BallPrediction makeFlatbufferPrediction(BallData ball) {
+    return toFlatbuffer(makePrediction(ball, DLL_PREDICTION_TIME, DLL_SLICE_INTERVAL));
+  }
+
+  /** Packs the given balls into a flatbuffer prediction. */
+  public static rlbot.flat.BallPrediction toFlatbuffer(ImmutableList<BallData> balls) {
+    FlatBufferBuilder builder = new FlatBufferBuilder(balls.size() * 80 + 16);
+
+    int[] slices = new int[balls.size()];
+    for (int i = 0; i < balls.size(); i++) {
+      BallData ball = balls.get(i);
+
+      Physics.startPhysics(builder);
+      Physics.addLocation(builder, ball.position.toFlatbuffer(builder));
+      Physics.addVelocity(builder, ball.velocity.toFlatbuffer(builder));
+      Physics.addAngularVelocity(builder, ball.spin.toFlatbuffer(builder));
+      int physics = Physics.endPhysics(builder);
+
+      slices[i] = PredictionSlice.createPredictionSlice(builder, ball.time, physics);
     }
 
-    Vector3 newVelocity = Vector3.of(vX, vY, vZ);
+    int slicesVector = rlbot.flat.BallPrediction.createSlicesVector(builder, slices);
+    builder.finish(rlbot.flat.BallPrediction.createBallPrediction(builder, slicesVector));
+    return rlbot.flat.BallPrediction.getRootAsBallPrediction(builder.dataBuffer());
+  }
 
+  private static BallData toBall(Workspace workspace, float time) {
     return BallData.builder()
-        .setPosition(currentBall.position.plus(currentBall.velocity.multiply(Constants.STEP_SIZE)))
-        .setVelocity(newVelocity)
-        .setSpin(currentBall.spin)
-        .setTime(currentBall.time + Constants.STEP_SIZE)
+        .setPosition(workspace.position.toVector3())
+        .setVelocity(workspace.velocity.toVector3())
+        .setSpin(workspace.spin.toVector3())
+        .setTime(time)
         .build();
   }
+
+  /** Advances the ball in the workspace by the given time, returning true if it bounced off of a surface. */
+  private static boolean step(Workspace workspace, double dt) {
+    MutableVector3 position = workspace.position;
+    MutableVector3 velocity = workspace.velocity;
+
+    velocity.x += DRAG * velocity.x * dt;
+    velocity.y += DRAG * velocity.y * dt;
+    velocity.z += (DRAG * velocity.z - Constants.GRAVITY) * dt;
+    clamp(velocity, MAX_SPEED);
+    position.addScaled(velocity, dt);
+
+    boolean bounced = false;
+    double distance = Arena.distance(position.x, position.y, position.z);
+    if (distance < Constants.BALL_RADIUS) {
+      bounced = bounce(workspace, distance, dt);
+    }
+
+    clamp(workspace.spin, MAX_ANGULAR_SPEED);
+    return bounced;
+  }
+
+  /**
+   * Pushes the ball out of the surface it overlaps and bounces it if it is moving into the surface. A ball which only
+   * reaches the surface by falling during the step is resting on it instead, which does not count as a bounce.
+   */
+  private static boolean bounce(Workspace workspace, double distance, double dt) {
+    MutableVector3 position = workspace.position;
+    MutableVector3 velocity = workspace.velocity;
+    MutableVector3 spin = workspace.spin;
+    MutableVector3 normal = Arena.normal(position.x, position.y, position.z, workspace.normal);
+    if (normal.isZero()) {
+      return false;
+    }
+
+    position.addScaled(normal, Constants.BALL_RADIUS - distance);
+
+    double normalSpeed = velocity.dot(normal);
+    if (normalSpeed >= 0) {
+      return false;
+    }
+
+    // Velocity of the contact point along the surface.
+    MutableVector3 slip = workspace.slip
+        .setCross(normal, spin)
+        .scale(Constants.BALL_RADIUS)
+        .add(velocity)
+        .addScaled(normal, -normalSpeed);
+
+    MutableVector3 frictionImpulse = workspace.frictionImpulse.set(0, 0, 0);
+    double slipSpeed = slip.magnitude();
+    if (slipSpeed > 0) {
+      double ratio = Math.abs(normalSpeed) / slipSpeed;
+      frictionImpulse.set(slip).scale(-Math.min(1, FRICTION_SCALE * ratio) * FRICTION);
+    }
+
+    MutableVector3 spinChange = workspace.spinChange.setCross(frictionImpulse, normal);
+    spin.addScaled(spinChange, SPIN_TRANSFER * Constants.BALL_RADIUS);
+
+    boolean resting = -normalSpeed < Constants.GRAVITY * dt * 2;
+    velocity
+        .addScaled(normal, -(resting ? 1 : 1 + RESTITUTION) * normalSpeed)
+        .add(frictionImpulse);
+    return !resting;
+  }
+
+  private static void clamp(MutableVector3 vector, double maxMagnitude) {
+    double magnitude = vector.magnitude();
+    if (magnitude > maxMagnitude) {
+      vector.scale(maxMagnitude / magnitude);
+    }
+  }
+
+  /** Scratch values for a single thread. */
+  private static final class Workspace {
+    final MutableVector3 position = new MutableVector3();
+    final MutableVector3 velocity = new MutableVector3();
+    final MutableVector3 spin = new MutableVector3();
+
+    final MutableVector3 normal = new MutableVector3();
+    final MutableVector3 slip = new MutableVector3();
+    final MutableVector3 frictionImpulse = new MutableVector3();
+    final MutableVector3 spinChange = new MutableVector3();
+  }
 }
@@ -4,12 +4,13 @@ import com.eru.rlbot.bot.common.CarBall;
 import com.eru.rlbot.bot.common.Constants;
 import com.eru.rlbot.bot.renderer.BotRenderer;
 import com.eru.rlbot.common.Matrix3;
+import com.eru.rlbot.common.MutableMatrix3;
 import com.eru.rlbot.common.Numbers;
 import com.eru.rlbot.common.input.BallData;
 import com.eru.rlbot.common.input.CarData;
+import com.eru.rlbot.common.vector.MutableVector3;
 import com.eru.rlbot.common.vector.Vector3;
 import java.awt.Color;
-import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -22,7 +23,14 @@ public class CarBallCollision {
 
   private static final Logger logger = LogManager.getLogger("CollisionTimer");
 
-  private static final double MU = 2.0f;
+  static final double MU = 2.0f;
+
+  // Only read after class initialization.
+  private static final MutableMatrix3 CAR_INVERSE_MOMENT_OF_INERTIA =
+      new MutableMatrix3().set(Constants.CAR_INVERSE_MOMENT_OF_INERTIA);
+
+  // Scratch space so a collision does not allocate its intermediate values. Collisions run on several threads.
+  private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
 
   /** Calculates the expected next BallData based on the given ball and car. */
   public static BallData calculateCollision(BallData ball, CarData car) {
@@ -32,92 +40,118 @@ public class CarBallCollision {
   public static BallData calculateCollision(BallData ball, CarData car, boolean renderComponents) {
     long nanoStartTime = System.nanoTime();
 
-    Vector3 touchPoint = CarBall.nearestPointOnHitBox(ball.position, car);
+    Workspace w = WORKSPACE.get();
+    MutableMatrix3 orientation = w.orientation.set(car.orientation.getOrientationMatrix());
+    MutableVector3 touchPoint = CarBall.nearestPointOnHitBox(ball.position, car, orientation, w.touchPoint);
 
-    double distanceToHitbox = touchPoint.minus(ball.position).magnitude();
-    if (distanceToHitbox > Constants.BALL_COLLISION_RADIUS) {
+    MutableVector3 ballTouch = w.ballTouch.set(touchPoint).subtract(ball.position);
+    if (ballTouch.magnitude() > Constants.BALL_COLLISION_RADIUS) {
       return ball;
     }
 
-    Vector3 normalizedBallCarTouch = touchPoint.minus(ball.position).normalizeOrZero();
+    MutableVector3 normalizedBallCarTouch = w.normal.set(ballTouch).normalizeOrZero();
 
     // Levers of rotation for ball and car.
-    Matrix3 ballLever = antisym(touchPoint.minus(ball.position));
-    Matrix3 carLever = antisym(touchPoint.minus(car.position));
+    MutableMatrix3 ballLever = w.ballLever.setAntisym(ballTouch);
+    MutableMatrix3 carLever = w.carLever.setAntisym(w.carTouch.set(touchPoint).subtract(car.position));
 
     // Transpose the inverse car moment of inertia to world coordinates. (???)
-    Matrix3 inverseCarMomentOfInertia = car.orientation.getOrientationMatrix()
-        .dot(Constants.CAR_INVERSE_MOMENT_OF_INERTIA.dot(car.orientation.getOrientationMatrix().transpose())); // Perhaps this is wrong?
+    MutableMatrix3 inverseCarMomentOfInertia = w.inverseCarMomentOfInertia
+        .setProductTranspose(CAR_INVERSE_MOMENT_OF_INERTIA, orientation);
+    inverseCarMomentOfInertia.setProduct(orientation, inverseCarMomentOfInertia); // Perhaps this is wrong?
 
     // A simplification of car-ball mass moments of inertia.
-    Matrix3 reducedMassMatrix = Matrix3.IDENTITY.multiply((1 / Constants.BALL_MASS) + (1 / Constants.CAR_MASS))
-        .minus(ballLever.dot(ballLever).divide(Constants.BALL_MOMENT_OF_INERTIA))
-        .minus(carLever.dot(inverseCarMomentOfInertia.dot(carLever)))
-        .inverse();
+    MutableMatrix3 reducedMassMatrix = w.reducedMassMatrix
+        .setScaledIdentity((1 / Constants.BALL_MASS) + (1 / Constants.CAR_MASS))
+        .subtract(w.matrix.setProduct(ballLever, ballLever).scale(1 / Constants.BALL_MOMENT_OF_INERTIA))
+        .subtract(w.matrix.setProduct(carLever, w.matrix.setProduct(inverseCarMomentOfInertia, carLever)))
+        .invert();
 
-    Vector3 deltaV = car.velocity
-        .minus(carLever.dot(car.angularVelocity))
-        .minus(ball.velocity.minus(ballLever.dot(ball.spin)));
+    MutableVector3 deltaV = w.deltaV.set(car.velocity)
+        .subtract(carLever.transform(car.angularVelocity, w.vector))
+        .subtract(ball.velocity)
+        .add(ballLever.transform(ball.spin, w.vector));
 
     // Compute the impulse that is consistent with an inelastic collision
-    Vector3 physicsImpulse = reducedMassMatrix.dot(deltaV);
+    MutableVector3 physicsImpulse = reducedMassMatrix.transform(deltaV, w.impulse);
 
     // Scale the physics impulse to satisfy Coulomb friction model
-    Vector3 physicsImpulsePerpendicular = normalizedBallCarTouch
-        .multiply(Math.min(physicsImpulse.dot(normalizedBallCarTouch), -1));
-    Vector3 physicsImpulseParallel = physicsImpulse.minus(physicsImpulsePerpendicular);
+    MutableVector3 physicsImpulsePerpendicular = w.impulsePerpendicular.set(normalizedBallCarTouch)
+        .scale(Math.min(physicsImpulse.dot(normalizedBallCarTouch), -1));
+    MutableVector3 physicsImpulseParallel = physicsImpulse.subtract(physicsImpulsePerpendicular);
 
     double ratio = physicsImpulsePerpendicular.magnitude() / Math.max(physicsImpulseParallel.magnitude(), 0.001f);
-    Vector3 scaledPhysicsImpulse =
-        physicsImpulsePerpendicular.plus(physicsImpulseParallel.multiply(Math.min(1.0f, MU * ratio)));
+    MutableVector3 scaledPhysicsImpulse = physicsImpulsePerpendicular
+        .addScaled(physicsImpulseParallel, Math.min(1.0f, MU * ratio));
 
-    Vector3 physicsVelocity = scaledPhysicsImpulse.divide(Constants.BALL_MASS);
-    Vector3 psyonixVelocity = getPsyonixVelocity(car, ball);
+    MutableVector3 physicsVelocity = w.physicsVelocity.set(scaledPhysicsImpulse).scale(1 / Constants.BALL_MASS);
+    MutableVector3 psyonixVelocity = getPsyonixVelocity(car, ball, w.psyonixVelocity);
 
     if (renderComponents) {
-      BotRenderer.forIndex(car.serialNumber).renderProjection(ball.position, ball.position.plus(physicsVelocity), Color.RED, 0, "Physics");
-      BotRenderer.forIndex(car.serialNumber).renderProjection(ball.position, ball.position.plus(psyonixVelocity), Color.MAGENTA, 0, "Psyonix");
+      BotRenderer.forIndex(car.serialNumber).renderProjection(
+          ball.position, ball.position.plus(physicsVelocity.toVector3()), Color.RED, 0, "Physics");
+      BotRenderer.forIndex(car.serialNumber).renderProjection(
+          ball.position, ball.position.plus(psyonixVelocity.toVector3()), Color.MAGENTA, 0, "Psyonix");
     }
 
-    Vector3 deltaSpin = ballLever.dot(scaledPhysicsImpulse).divide(Constants.BALL_MOMENT_OF_INERTIA);
-    Vector3 deltaVelocity = physicsVelocity.plus(psyonixVelocity);
+    MutableVector3 deltaSpin = ballLever.transform(scaledPhysicsImpulse, w.vector)
+        .scale(1 / Constants.BALL_MOMENT_OF_INERTIA);
+    MutableVector3 deltaVelocity = physicsVelocity.add(psyonixVelocity);
 
-    logger.log(Level.DEBUG, "Time nanos: " + (System.nanoTime() - nanoStartTime));
+    if (logger.isDebugEnabled()) {
+      logger.debug("Time nanos: {}", System.nanoTime() - nanoStartTime);
+    }
 
     return BallData.builder()
         .setPosition(ball.position) // TODO: Determine where the ball will be.
-        .setSpin(ball.spin.plus(deltaSpin))
-        .setVelocity(ball.velocity.plus(deltaVelocity))
+        .setSpin(Vector3.of(ball.spin.x + deltaSpin.x, ball.spin.y + deltaSpin.y, ball.spin.z + deltaSpin.z))
+        .setVelocity(Vector3.of(
+            ball.velocity.x + deltaVelocity.x,
+            ball.velocity.y + deltaVelocity.y,
+            ball.velocity.z + deltaVelocity.z))
         .setTime(ball.time + Constants.STEP_SIZE)
         .build();
   }
 
   // This seems to be contributing too much x-velocity
   public static Vector3 getPsyonixVelocity(CarData car, BallData ball) {
+    return getPsyonixVelocity(car, ball, new MutableVector3()).toVector3();
+  }
+
+  private static MutableVector3 getPsyonixVelocity(CarData car, BallData ball, MutableVector3 result) {
     // Calculate Psyonix Impulse
     Vector3 carNose = car.orientation.getNoseVector();
-    Vector3 carBall = ball.position.minus(car.position);
-    carBall = Vector3.of(carBall.x, carBall.y, carBall.z * .35f); // Damp the z for easier dribbling
+    MutableVector3 carBall = result.set(
+        ball.position.x - car.position.x,
+        ball.position.y - car.position.y,
+        (ball.position.z - car.position.z) * .35f); // Damp the z for easier dribbling
 
     double carBallNose = carBall.dot(carNose);
 
     if (carBallNose == 0) {
-      return Vector3.zero();
+      return result.set(0, 0, 0);
     }
 
-    Vector3 impulseDirection = carBall
-        .minus(carNose
-            .multiply(carBallNose)
-            .multiply(.35f))
-        .normalize();
+    MutableVector3 impulseDirection = carBall.set(
+        carBall.x - carNose.x * carBallNose * .35f,
+        carBall.y - carNose.y * carBallNose * .35f,
+        carBall.z - carNose.z * carBallNose * .35f);
+    if (impulseDirection.isZero()) {
+      throw new IllegalStateException("Cannot normalize a vector with length zero!");
+    }
+    impulseDirection.normalizeOrZero();
 
-    double velocityDiff = Math.min(ball.velocity.minus(car.velocity).magnitude(), 4600);
+    double velocityDiffX = ball.velocity.x - car.velocity.x;
+    double velocityDiffY = ball.velocity.y - car.velocity.y;
+    double velocityDiffZ = ball.velocity.z - car.velocity.z;
+    double velocityDiff = Math.min(
+        Math.sqrt(velocityDiffX * velocityDiffX + velocityDiffY * velocityDiffY + velocityDiffZ * velocityDiffZ), 4600);
     double psyonixScalingFactor = getPsyonixImplusScalingFactor(velocityDiff);
 
-    return impulseDirection.multiply(velocityDiff * psyonixScalingFactor);
+    return impulseDirection.scale(velocityDiff * psyonixScalingFactor);
   }
 
-  private static double getPsyonixImplusScalingFactor(double value) {
+  static double getPsyonixImplusScalingFactor(double value) {
     if (false)
       return psyonixImpulseScale(value);
 
@@ -161,5 +195,25 @@ public class CarBallCollision {
         Vector3.of(-vector.y, vector.x, 0));
   }
 
+  private static final class Workspace {
+    final MutableMatrix3 orientation = new MutableMatrix3();
+    final MutableMatrix3 ballLever = new MutableMatrix3();
+    final MutableMatrix3 carLever = new MutableMatrix3();
+    final MutableMatrix3 inverseCarMomentOfInertia = new MutableMatrix3();
+    final MutableMatrix3 reducedMassMatrix = new MutableMatrix3();
+    final MutableMatrix3 matrix = new MutableMatrix3();
+
+    final MutableVector3 touchPoint = new MutableVector3();
+    final MutableVector3 ballTouch = new MutableVector3();
+    final MutableVector3 carTouch = new MutableVector3();
+    final MutableVector3 normal = new MutableVector3();
+    final MutableVector3 deltaV = new MutableVector3();
+    final MutableVector3 impulse = new MutableVector3();
+    final MutableVector3 impulsePerpendicular = new MutableVector3();
+    final MutableVector3 physicsVelocity = new MutableVector3();
+    final MutableVector3 psyonixVelocity = new MutableVector3();
+    final MutableVector3 vector = new MutableVector3();
+  }
+
   private CarBallCollision() {}
 }
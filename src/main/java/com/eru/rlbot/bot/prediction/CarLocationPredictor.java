@@ -1,165 +1,221 @@
 package com.eru.rlbot.bot.prediction;
 
-import static com.google.common.collect.ImmutableList.toImmutableList;
-
 import com.eru.rlbot.bot.common.Constants;
 import com.eru.rlbot.bot.flags.PerBotDebugOptions;
 import com.eru.rlbot.bot.renderer.BotRenderer;
-import com.eru.rlbot.common.Lists;
 import com.eru.rlbot.common.Pair;
 import com.eru.rlbot.common.input.CarData;
 import com.eru.rlbot.common.input.DataPacket;
+import com.eru.rlbot.common.input.WorldSnapshot;
 import com.eru.rlbot.common.vector.Vector3;
-import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Iterables;
-import com.google.common.collect.MoreCollectors;
 import java.awt.Color;
-import java.util.LinkedHashMap;
-import java.util.concurrent.ConcurrentHashMap;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 
-public class CarLocationPredictor {
+/**
+ * Predicts where every car will be if it gives no more inputs, coasting on the ground and falling in the air.
+ *
+ * <p>The prediction is made once per frame for all of the cars and shared by all of the bots. Positions are kept in
+ * flat arrays, with the cars of each step next to each other, so every car advances together in a single pass and
+ * lookups by car index and step don't allocate.
+ *
+ * @see CarPrediction#noInputs(CarData, float)
+ */
+public final class CarLocationPredictor {
+
+  /** How far ahead the cars are predicted, in seconds. */
+  public static final float PREDICTION_LENGTH = 2.0f;
+
+  /** The number of steps in a prediction, including the current position of the car. */
+  public static final int STEPS = Math.round(PREDICTION_LENGTH * Constants.STEP_SIZE_COUNT) + 1;
+
+  public static final int HALF_SECOND = stepAt(.5);
+  public static final int ONE_SECOND = stepAt(1);
+  public static final int TWO_SECONDS = stepAt(2);
+
+  // Cars without any velocity are assumed to drive forward at this speed.
+  private static final float RESTING_SPEED = 500;
+  private static final float GRAVITY_STEP = (float) (Constants.NEG_GRAVITY * Constants.STEP_SIZE);
+
+  private static volatile CarLocationPredictor latest = predict(ImmutableList.of());
+
+  private final int carCount;
+  private final float startTime;
+
+  // Indexed by step * carCount + car.
+  private final float[] x;
+  private final float[] y;
+  private final float[] z;
+
+  private CarLocationPredictor(int carCount, float startTime) {
+    this.carCount = carCount;
+    this.startTime = startTime;
+    this.x = new float[carCount * STEPS];
+    this.y = new float[carCount * STEPS];
+    this.z = new float[carCount * STEPS];
+  }
 
-  private static final Logger logger = LogManager.getLogger("CarLocationPredictor");
+  /** Predicts all of the cars in the snapshot. Called once per frame. */
+  public static void track(WorldSnapshot snapshot) {
+    latest = predict(snapshot.allCars);
+  }
 
-  private static final ConcurrentHashMap<Integer, CarLocationPredictor> MAP = new ConcurrentHashMap<>();
+  /** Returns the prediction of the latest frame. */
+  public static CarLocationPredictor get() {
+    return latest;
+  }
 
-  private final LinkedHashMap<Integer, CarLocationPrediction> predictions = new LinkedHashMap<>();
+  /** Returns the step closest to the given number of seconds in the future. */
+  public static int stepAt(double seconds) {
+    return (int) Math.max(0, Math.min(STEPS - 1, Math.round(seconds * Constants.STEP_SIZE_COUNT)));
+  }
+
+  /** Predicts the given cars, which must be in player index order. */
+  static CarLocationPredictor predict(ImmutableList<CarData> cars) {
+    CarLocationPredictor prediction =
+        new CarLocationPredictor(cars.size(), cars.isEmpty() ? 0 : cars.get(0).elapsedSeconds);
+
+    int carCount = cars.size();
+    float[] vx = new float[carCount];
+    float[] vy = new float[carCount];
+    float[] vz = new float[carCount];
+    for (int car = 0; car < carCount; car++) {
+      CarData carData = cars.get(car);
+      Vector3 velocity = carData.velocity.isZero()
+          ? carData.orientation.getNoseVector().toMagnitude(RESTING_SPEED)
+          : carData.velocity;
+
+      prediction.x[car] = carData.position.x;
+      prediction.y[car] = carData.position.y;
+      prediction.z[car] = carData.position.z;
+      vx[car] = velocity.x;
+      vy[car] = velocity.y;
+      vz[car] = velocity.z;
+    }
+
+    float[] x = prediction.x;
+    float[] y = prediction.y;
+    float[] z = prediction.z;
+    for (int step = 1; step < STEPS; step++) {
+      int previous = (step - 1) * carCount;
+      int next = step * carCount;
+      for (int car = 0; car < carCount; car++) {
+        x[next + car] = x[previous + car] + vx[car] * Constants.STEP_SIZE;
+        y[next + car] = y[previous + car] + vy[car] * Constants.STEP_SIZE;
+
+        float nextZ = z[previous + car] + vz[car] * Constants.STEP_SIZE;
+        if (nextZ > Constants.CAR_AT_REST) {
+          vz[car] += GRAVITY_STEP;
+        } else {
+          // Landed, or still on the ground.
+          nextZ = Constants.CAR_AT_REST;
+          vz[car] = 0;
+        }
+        z[next + car] = nextZ;
+      }
+    }
 
-  private final int playerIndex;
-  private final int team;
+    return prediction;
+  }
 
-  public CarLocationPredictor(int playerIndex, int team) {
-    this.playerIndex = playerIndex;
-    this.team = team;
+  public int carCount() {
+    return carCount;
   }
 
-  public static void track(DataPacket input) {
-    forCar(input.car).trackInternal(input);
+  public boolean hasCar(int car) {
+    return car >= 0 && car < carCount;
   }
 
-  public static CarLocationPredictor forCar(CarData car) {
-    return MAP.computeIfAbsent(car.serialNumber, i -> new CarLocationPredictor(car.serialNumber, car.team));
+  /** Returns the game time of the given step. */
+  public float time(int step) {
+    return startTime + step * Constants.STEP_SIZE;
   }
 
-  public ImmutableList<CarLocationPrediction> ownTeam() {
-    return predictions.values().stream()
-        .filter(prediction -> prediction.getTeamIndex() == team)
-        .collect(toImmutableList());
+  public float x(int car, int step) {
+    return x[index(car, step)];
   }
 
-  public ImmutableList<CarLocationPrediction> teammates() {
-    return ownTeam().stream()
-        .filter(prediction -> prediction.getPlayerIndex() != playerIndex)
-        .collect(toImmutableList());
+  public float y(int car, int step) {
+    return y[index(car, step)];
   }
 
-  public ImmutableList<CarLocationPrediction> opponents() {
-    return predictions.values().stream()
-        .filter(prediction -> prediction.getTeamIndex() != team)
-        .collect(toImmutableList());
+  public float z(int car, int step) {
+    return z[index(car, step)];
   }
 
-  public CarLocationPrediction predictionForCar(CarData car) {
-    return predictions.values().stream()
-        .filter(predictions -> predictions.getPlayerIndex() == car.serialNumber)
-        .collect(MoreCollectors.onlyElement());
+  public Vector3 position(int car, int step) {
+    int index = index(car, step);
+    return Vector3.of(x[index], y[index], z[index]);
   }
 
-  private void trackInternal(DataPacket input) {
-    if (input.gameInfo.isRoundActive()) {
-      for (CarData car : input.allCars) {
-        CarLocationPrediction prediction =
-            predictions.computeIfAbsent(car.serialNumber, index -> new CarLocationPrediction(input.serialNumber));
+  /** Returns the distance from the car to the given point at the given step. */
+  public double distance(int car, int step, Vector3 point) {
+    int index = index(car, step);
+    double dx = x[index] - point.x;
+    double dy = y[index] - point.y;
+    double dz = z[index] - point.z;
+    return Math.sqrt(dx * dx + dy * dy + dz * dz);
+  }
 
-        prediction.updatePrediction(car);
+  /**
+   * Returns the index of the car in the mask closest to the given point at the given step, or -1 if none of them are
+   * predicted.
+   */
+  public int closest(long cars, int step, Vector3 point) {
+    int closest = -1;
+    double closestDistance = Double.MAX_VALUE;
+    for (long remaining = cars; remaining != 0; remaining &= remaining - 1) {
+      int car = Long.numberOfTrailingZeros(remaining);
+      if (!hasCar(car)) {
+        continue;
       }
-    }
 
-    if (PerBotDebugOptions.get(input.serialNumber).isRenderCarPredictionsEnabled()) {
-      predictions.values().forEach(CarLocationPrediction::renderPrediction);
+      double distance = distance(car, step, point);
+      if (distance < closestDistance) {
+        closest = car;
+        closestDistance = distance;
+      }
     }
+    return closest;
   }
 
-  private static final float PREDICTION_LENGTH = 1.0f;
-
-  public static class CarLocationPrediction {
-
-    private final int owningPlayerIndex;
-
-    private volatile CarData previousCar;
-    private volatile ImmutableList<CarPrediction.PredictionNode> predictions;
-
-    /**
-     * Constructed with the index of the player that owns this prediction. This is different from the player index of
-     * the car being predicted.
-     */
-    public CarLocationPrediction(int owningPlayerIndex) {
-      this.owningPlayerIndex = owningPlayerIndex;
-    }
+  public CarPrediction.PredictionNode node(int car, int step) {
+    return new CarPrediction.PredictionNode(position(car, step), time(step));
+  }
 
-    public int getPlayerIndex() {
-      return previousCar.serialNumber;
-    }
+  private int index(int car, int step) {
+    return step * carCount + car;
+  }
 
-    public int getTeamIndex() {
-      return previousCar.team;
+  private static final int PRUNE_DENSITY = 10;
+  private static final ImmutableList<Color> PREDICTION_COLORS = ImmutableList.of(
+      Color.GREEN,
+      Color.GREEN.darker(),
+      Color.GREEN.darker().darker(),
+      Color.GREEN.darker().darker().darker(),
+      Color.GREEN.darker().darker().darker().darker());
+
+  /** Renders the prediction of every car for the given bot, if it has car predictions turned on. */
+  public static void render(DataPacket input) {
+    if (!PerBotDebugOptions.get(input.serialNumber).isRenderCarPredictionsEnabled()) {
+      return;
     }
 
-    private static final int PRUNE_DENSITY = 10;
-    private static final ImmutableList<Color> PREDICTION_COLORS = ImmutableList.of(
-        Color.GREEN,
-        Color.GREEN.darker(),
-        Color.GREEN.darker().darker(),
-        Color.GREEN.darker().darker().darker(),
-        Color.GREEN.darker().darker().darker().darker());
-
-    public void renderPrediction() {
-      if (predictions == null || predictions.isEmpty()) {
-        return;
-      }
-
-      ImmutableList<CarPrediction.PredictionNode> prunedPath = Lists.everyNth(predictions, PRUNE_DENSITY);
+    CarLocationPredictor prediction = latest;
+    BotRenderer botRenderer = BotRenderer.forIndex(input.serialNumber);
+    int stepsPerColor = (STEPS - 1) / PREDICTION_COLORS.size() + 1;
+    for (int car = 0; car < prediction.carCount; car++) {
       ImmutableList.Builder<Pair<Color, ImmutableList<Vector3>>> splitPathBuilder = ImmutableList.builder();
-
-      int colorIndex = 0;
-      float timeIncrement = PREDICTION_LENGTH / (PREDICTION_COLORS.size() - 1);
-      float timeBoundary = timeIncrement;
       ImmutableList.Builder<Vector3> nextNodes = ImmutableList.builder();
-      for (CarPrediction.PredictionNode node : prunedPath) {
-        float predictionLength = node.absoluteTime - previousCar.elapsedSeconds;
+      for (int step = 0; step < STEPS; step += PRUNE_DENSITY) {
+        nextNodes.add(prediction.position(car, step));
 
-        if (predictionLength > timeBoundary) {
-          splitPathBuilder.add(Pair.of(PREDICTION_COLORS.get(colorIndex++), nextNodes.build()));
+        int nextStep = step + PRUNE_DENSITY;
+        if (nextStep >= STEPS || nextStep / stepsPerColor != step / stepsPerColor) {
+          splitPathBuilder.add(Pair.of(PREDICTION_COLORS.get(step / stepsPerColor), nextNodes.build()));
           nextNodes = ImmutableList.builder();
-          timeBoundary += timeIncrement;
         }
-
-        nextNodes.add(node.position);
       }
-
-      BotRenderer.forIndex(owningPlayerIndex).renderPaths(splitPathBuilder.build());
-    }
-
-    public void updatePrediction(CarData car) {
-      predictions = CarPrediction.noInputs(car, PREDICTION_LENGTH);
-      previousCar = car;
-    }
-
-    public ImmutableList<CarPrediction.PredictionNode> getPredictions() {
-      return predictions;
-    }
-
-    public Vector3 oneSec() {
-      return Iterables.getLast(predictions).position;
-    }
-
-    public Vector3 in(double futureTime) {
-      Preconditions.checkArgument(futureTime <= 1);
-      int sliceIndex = (int) futureTime * Constants.STEP_SIZE_COUNT;
-      return predictions.get(sliceIndex).getPosition();
+      botRenderer.renderPaths(splitPathBuilder.build());
     }
   }
 }
@@ -0,0 +1,368 @@
+package com.eru.rlbot.bot.prediction;
+
+import com.eru.rlbot.bot.common.Constants;
+import com.eru.rlbot.common.Matrix3;
+import com.eru.rlbot.common.Numbers;
+import com.eru.rlbot.common.input.BallData;
+import com.eru.rlbot.common.input.BoundingBox;
+import com.eru.rlbot.common.input.CarData;
+import com.eru.rlbot.common.vector.Vector3;
+
+/**
+ * Evaluates the {@link CarBallCollision} of many candidate cars against one ball.
+ *
+ * <p>Candidates are stored in primitive arrays, one slot per car, and {@link #evaluate} runs the collision over all of
+ * them in one pass. The terms which only depend on the ball are worked out once per pass instead of once per car, and
+ * nothing is allocated inside the loop. Results are read back by index. Instances are not thread safe, but can be
+ * cleared and reused.
+ */
+public final class CollisionBatch {
+
+  private static final double INVERSE_MASS_SUM = (1 / Constants.BALL_MASS) + (1 / Constants.CAR_MASS);
+  private static final double INVERSE_BALL_MASS = 1 / Constants.BALL_MASS;
+  private static final double INVERSE_BALL_MOMENT_OF_INERTIA = 1 / Constants.BALL_MOMENT_OF_INERTIA;
+  private static final double[] CAR_INVERSE_MOMENT_OF_INERTIA = toArray(Constants.CAR_INVERSE_MOMENT_OF_INERTIA);
+
+  // Candidate cars. Vectors take 3 slots per car and the row major orientation matrix takes 9.
+  private double[] position;
+  private double[] velocity;
+  private double[] angularVelocity;
+  private double[] hitBoxCenter;
+  private double[] orientation;
+
+  // Results of the last pass.
+  private double[] ballVelocity;
+  private double[] ballSpin;
+  private boolean[] touched;
+
+  // Scratch matrices, row major.
+  private final double[] worldInverseInertia = new double[9];
+  private final double[] matrix = new double[9];
+  private final double[] reducedMass = new double[9];
+
+  private int size;
+
+  public CollisionBatch(int capacity) {
+    allocate(Math.max(capacity, 1));
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public void clear() {
+    size = 0;
+  }
+
+  /** Adds the car to the batch and returns its index. */
+  public int add(CarData car) {
+    if (size == touched.length) {
+      grow();
+    }
+
+    int i = size++;
+    set(position, i, car.position);
+    set(velocity, i, car.velocity);
+    set(angularVelocity, i, car.angularVelocity);
+    set(hitBoxCenter, i, car.boundingBox.center);
+
+    Matrix3 rotation = car.orientation.getOrientationMatrix();
+    for (int row = 0; row < 3; row++) {
+      set(orientation, 3 * i + row, rotation.row(row));
+    }
+    return i;
+  }
+
+  /** Collides every car in the batch with the given ball. */
+  public void evaluate(BallData ball) {
+    // Ball terms shared by every car.
+    final double bx = ball.position.x;
+    final double by = ball.position.y;
+    final double bz = ball.position.z;
+    final double bvx = ball.velocity.x;
+    final double bvy = ball.velocity.y;
+    final double bvz = ball.velocity.z;
+    final double bwx = ball.spin.x;
+    final double bwy = ball.spin.y;
+    final double bwz = ball.spin.z;
+
+    for (int i = 0; i < size; i++) {
+      int v = 3 * i;
+      int m = 9 * i;
+      double[] r = orientation;
+
+      // Nearest point on the hit box, in car coordinates and then back in world coordinates.
+      double dx = bx - hitBoxCenter[v];
+      double dy = by - hitBoxCenter[v + 1];
+      double dz = bz - hitBoxCenter[v + 2];
+      double lx = Numbers.clamp(r[m] * dx + r[m + 3] * dy + r[m + 6] * dz, -BoundingBox.halfLength, BoundingBox.halfLength);
+      double ly = Numbers.clamp(r[m + 1] * dx + r[m + 4] * dy + r[m + 7] * dz, -BoundingBox.halfWidth, BoundingBox.halfWidth);
+      double lz = Numbers.clamp(r[m + 2] * dx + r[m + 5] * dy + r[m + 8] * dz, -BoundingBox.halfHeight, BoundingBox.halfHeight);
+      double tx = r[m] * lx + r[m + 1] * ly + r[m + 2] * lz + hitBoxCenter[v];
+      double ty = r[m + 3] * lx + r[m + 4] * ly + r[m + 5] * lz + hitBoxCenter[v + 1];
+      double tz = r[m + 6] * lx + r[m + 7] * ly + r[m + 8] * lz + hitBoxCenter[v + 2];
+
+      // Lever from the ball center to the touch.
+      double ax = tx - bx;
+      double ay = ty - by;
+      double az = tz - bz;
+      double touchDistance = Math.sqrt(ax * ax + ay * ay + az * az);
+      if (touchDistance > Constants.BALL_COLLISION_RADIUS) {
+        touched[i] = false;
+        ballVelocity[v] = bvx;
+        ballVelocity[v + 1] = bvy;
+        ballVelocity[v + 2] = bvz;
+        ballSpin[v] = bwx;
+        ballSpin[v + 1] = bwy;
+        ballSpin[v + 2] = bwz;
+        continue;
+      }
+      touched[i] = true;
+
+      double nx = 0;
+      double ny = 0;
+      double nz = 0;
+      if (touchDistance != 0) {
+        nx = ax / touchDistance;
+        ny = ay / touchDistance;
+        nz = az / touchDistance;
+      }
+
+      // Lever from the car center of rotation to the touch.
+      double cx = tx - position[v];
+      double cy = ty - position[v + 1];
+      double cz = tz - position[v + 2];
+
+      // R · I⁻¹ · Rᵀ puts the inverse moment of inertia in world coordinates.
+      multiplyTransposed(CAR_INVERSE_MOMENT_OF_INERTIA, 0, r, m, matrix);
+      multiply(r, m, matrix, worldInverseInertia);
+
+      // The reduced mass matrix: k·I - (a×)(a×) / Ib - (c×) · Iw · (c×), where (a×)(a×) = a·aᵀ - |a|²·I.
+      double aa = ax * ax + ay * ay + az * az;
+      double ballScale = INVERSE_BALL_MOMENT_OF_INERTIA;
+      reducedMass[0] = INVERSE_MASS_SUM - (ax * ax - aa) * ballScale;
+      reducedMass[1] = -(ax * ay) * ballScale;
+      reducedMass[2] = -(ax * az) * ballScale;
+      reducedMass[3] = -(ay * ax) * ballScale;
+      reducedMass[4] = INVERSE_MASS_SUM - (ay * ay - aa) * ballScale;
+      reducedMass[5] = -(ay * az) * ballScale;
+      reducedMass[6] = -(az * ax) * ballScale;
+      reducedMass[7] = -(az * ay) * ballScale;
+      reducedMass[8] = INVERSE_MASS_SUM - (az * az - aa) * ballScale;
+      subtractLeverProduct(cx, cy, cz, worldInverseInertia, matrix, reducedMass);
+      if (!invert(reducedMass)) {
+        throw new IllegalArgumentException("There is no inverse for the reduced mass matrix");
+      }
+
+      // Relative velocity at the touch: car velocity - c × ω_car - ball velocity + a × ω_ball.
+      double wx = angularVelocity[v];
+      double wy = angularVelocity[v + 1];
+      double wz = angularVelocity[v + 2];
+      double dvx = velocity[v] - (cy * wz - cz * wy) - bvx + (ay * bwz - az * bwy);
+      double dvy = velocity[v + 1] - (cz * wx - cx * wz) - bvy + (az * bwx - ax * bwz);
+      double dvz = velocity[v + 2] - (cx * wy - cy * wx) - bvz + (ax * bwy - ay * bwx);
+
+      // The impulse of an inelastic collision, scaled to satisfy the Coulomb friction model.
+      double jx = reducedMass[0] * dvx + reducedMass[1] * dvy + reducedMass[2] * dvz;
+      double jy = reducedMass[3] * dvx + reducedMass[4] * dvy + reducedMass[5] * dvz;
+      double jz = reducedMass[6] * dvx + reducedMass[7] * dvy + reducedMass[8] * dvz;
+
+      double perpendicularScale = Math.min(jx * nx + jy * ny + jz * nz, -1);
+      double px = nx * perpendicularScale;
+      double py = ny * perpendicularScale;
+      double pz = nz * perpendicularScale;
+      double qx = jx - px;
+      double qy = jy - py;
+      double qz = jz - pz;
+
+      double ratio = Math.sqrt(px * px + py * py + pz * pz)
+          / Math.max(Math.sqrt(qx * qx + qy * qy + qz * qz), 0.001f);
+      double parallelScale = Math.min(1.0f, CarBallCollision.MU * ratio);
+      double sx = px + qx * parallelScale;
+      double sy = py + qy * parallelScale;
+      double sz = pz + qz * parallelScale;
+
+      // Psyonix impulse, as in CarBallCollision#getPsyonixVelocity.
+      double noseX = r[m];
+      double noseY = r[m + 3];
+      double noseZ = r[m + 6];
+      double kx = bx - position[v];
+      double ky = by - position[v + 1];
+      double kz = (bz - position[v + 2]) * .35f;
+      double carBallNose = kx * noseX + ky * noseY + kz * noseZ;
+
+      double psyonixX = 0;
+      double psyonixY = 0;
+      double psyonixZ = 0;
+      if (carBallNose != 0) {
+        double ix = kx - noseX * carBallNose * .35f;
+        double iy = ky - noseY * carBallNose * .35f;
+        double iz = kz - noseZ * carBallNose * .35f;
+        double impulseLength = Math.sqrt(ix * ix + iy * iy + iz * iz);
+        if (impulseLength == 0) {
+          throw new IllegalStateException("Cannot normalize a vector with length zero!");
+        }
+
+        double rvx = bvx - velocity[v];
+        double rvy = bvy - velocity[v + 1];
+        double rvz = bvz - velocity[v + 2];
+        double velocityDiff = Math.min(Math.sqrt(rvx * rvx + rvy * rvy + rvz * rvz), 4600);
+        double scale = velocityDiff * CarBallCollision.getPsyonixImplusScalingFactor(velocityDiff) / impulseLength;
+        psyonixX = ix * scale;
+        psyonixY = iy * scale;
+        psyonixZ = iz * scale;
+      }
+
+      ballVelocity[v] = bvx + sx * INVERSE_BALL_MASS + psyonixX;
+      ballVelocity[v + 1] = bvy + sy * INVERSE_BALL_MASS + psyonixY;
+      ballVelocity[v + 2] = bvz + sz * INVERSE_BALL_MASS + psyonixZ;
+
+      // Spin from a × impulse.
+      ballSpin[v] = bwx + (ay * sz - az * sy) * INVERSE_BALL_MOMENT_OF_INERTIA;
+      ballSpin[v + 1] = bwy + (az * sx - ax * sz) * INVERSE_BALL_MOMENT_OF_INERTIA;
+      ballSpin[v + 2] = bwz + (ax * sy - ay * sx) * INVERSE_BALL_MOMENT_OF_INERTIA;
+    }
+  }
+
+  /** Whether the car at the index touched the ball in the last pass. */
+  public boolean touched(int index) {
+    return touched[index];
+  }
+
+  public double velocityX(int index) {
+    return ballVelocity[3 * index];
+  }
+
+  public double velocityY(int index) {
+    return ballVelocity[3 * index + 1];
+  }
+
+  public double velocityZ(int index) {
+    return ballVelocity[3 * index + 2];
+  }
+
+  /** Returns the ball after the collision with the car at the index, like {@link CarBallCollision#calculateCollision}. */
+  public BallData result(BallData ball, int index) {
+    if (!touched[index]) {
+      return ball;
+    }
+
+    int v = 3 * index;
+    return BallData.builder()
+        .setPosition(ball.position)
+        .setVelocity(Vector3.of(ballVelocity[v], ballVelocity[v + 1], ballVelocity[v + 2]))
+        .setSpin(Vector3.of(ballSpin[v], ballSpin[v + 1], ballSpin[v + 2]))
+        .setTime(ball.time + Constants.STEP_SIZE)
+        .build();
+  }
+
+  private void allocate(int capacity) {
+    position = copy(position, 3 * capacity);
+    velocity = copy(velocity, 3 * capacity);
+    angularVelocity = copy(angularVelocity, 3 * capacity);
+    hitBoxCenter = copy(hitBoxCenter, 3 * capacity);
+    orientation = copy(orientation, 9 * capacity);
+    ballVelocity = new double[3 * capacity];
+    ballSpin = new double[3 * capacity];
+    touched = new boolean[capacity];
+  }
+
+  private void grow() {
+    allocate(2 * touched.length);
+  }
+
+  private static double[] copy(double[] values, int length) {
+    double[] copy = new double[length];
+    if (values != null) {
+      System.arraycopy(values, 0, copy, 0, Math.min(values.length, length));
+    }
+    return copy;
+  }
+
+  private static void set(double[] values, int index, Vector3 vector) {
+    values[3 * index] = vector.x;
+    values[3 * index + 1] = vector.y;
+    values[3 * index + 2] = vector.z;
+  }
+
+  private static double[] toArray(Matrix3 matrix) {
+    double[] values = new double[9];
+    for (int row = 0; row < 3; row++) {
+      values[3 * row] = matrix.row(row).x;
+      values[3 * row + 1] = matrix.row(row).y;
+      values[3 * row + 2] = matrix.row(row).z;
+    }
+    return values;
+  }
+
+  // result = a · bᵀ, where b starts at offset bStart.
+  private static void multiplyTransposed(double[] a, int aStart, double[] b, int bStart, double[] result) {
+    for (int row = 0; row < 3; row++) {
+      for (int column = 0; column < 3; column++) {
+        result[3 * row + column] = a[aStart + 3 * row] * b[bStart + 3 * column]
+            + a[aStart + 3 * row + 1] * b[bStart + 3 * column + 1]
+            + a[aStart + 3 * row + 2] * b[bStart + 3 * column + 2];
+      }
+    }
+  }
+
+  // result = a · b, where a starts at offset aStart. The result may not be b.
+  private static void multiply(double[] a, int aStart, double[] b, double[] result) {
+    for (int row = 0; row < 3; row++) {
+      for (int column = 0; column < 3; column++) {
+        result[3 * row + column] = a[aStart + 3 * row] * b[column]
+            + a[aStart + 3 * row + 1] * b[3 + column]
+            + a[aStart + 3 * row + 2] * b[6 + column];
+      }
+    }
+  }
+
+  // result -= (c×) · inertia · (c×), using scratch for the intermediate product.
+  private static void subtractLeverProduct(
+      double cx, double cy, double cz, double[] inertia, double[] scratch, double[] result) {
+    // scratch = inertia · (c×). Column j of (c×) is (e_j × ...)ᵀ, written out for each column.
+    for (int row = 0; row < 3; row++) {
+      double i0 = inertia[3 * row];
+      double i1 = inertia[3 * row + 1];
+      double i2 = inertia[3 * row + 2];
+      scratch[3 * row] = i1 * cz - i2 * cy;
+      scratch[3 * row + 1] = -i0 * cz + i2 * cx;
+      scratch[3 * row + 2] = i0 * cy - i1 * cx;
+    }
+
+    // result -= (c×) · scratch. Row i of (c×) is (0, -cz, cy), (cz, 0, -cx), (-cy, cx, 0).
+    for (int column = 0; column < 3; column++) {
+      double s0 = scratch[column];
+      double s1 = scratch[3 + column];
+      double s2 = scratch[6 + column];
+      result[column] -= -cz * s1 + cy * s2;
+      result[3 + column] -= cz * s0 - cx * s2;
+      result[6 + column] -= -cy * s0 + cx * s1;
+    }
+  }
+
+  // Replaces the matrix with its inverse, like MutableMatrix3#invert. Returns false if there is no inverse.
+  private static boolean invert(double[] m) {
+    double determinant = m[0] * (m[4] * m[8] - m[5] * m[7])
+        - m[1] * (m[3] * m[8] - m[5] * m[6])
+        + m[2] * (m[3] * m[7] - m[4] * m[6]);
+    if (determinant == 0) {
+      return false;
+    }
+
+    double inverse = 1 / determinant;
+    double m00 = m[0], m01 = m[1], m02 = m[2];
+    double m10 = m[3], m11 = m[4], m12 = m[5];
+    double m20 = m[6], m21 = m[7], m22 = m[8];
+    m[0] = (m11 * m22 - m12 * m21) * inverse;
+    m[1] = (m02 * m21 - m01 * m22) * inverse;
+    m[2] = (m01 * m12 - m02 * m11) * inverse;
+    m[3] = (m12 * m20 - m10 * m22) * inverse;
+    m[4] = (m00 * m22 - m02 * m20) * inverse;
+    m[5] = (m02 * m10 - m00 * m12) * inverse;
+    m[6] = (m10 * m21 - m11 * m20) * inverse;
+    m[7] = (m01 * m20 - m00 * m21) * inverse;
+    m[8] = (m00 * m11 - m01 * m10) * inverse;
+    return true;
+  }
+}
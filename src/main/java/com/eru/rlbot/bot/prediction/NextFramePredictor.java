@@ -22,26 +22,18 @@ public class NextFramePredictor {
 
   private static final Logger logger = LogManager.getLogger("FramePrediction");
 
-  private static CarData lastFramePrediction;
-  private static Controls lastFrameControls;
-
   public static void getPrediction(DataPacket input, Controls output) {
     if (!PerBotDebugOptions.get(input.car.serialNumber).isPrerenderNextFrame()) {
       return;
     }
 
-    // TODO: Update to support multiple cars
-    if (lastFramePrediction != null && lastFramePrediction.serialNumber != input.car.serialNumber) {
-      return;
-    }
-
+    CarData lastFramePrediction = input.context.getNextFramePrediction();
     if (lastFramePrediction != null) {
       compareResult(lastFramePrediction, input.car);
     }
 
-    lastFramePrediction =
-        makePrediction(input.car, output, BoostTracker.forCar(input.car), JumpManager.forCar(input.car));
-    lastFrameControls = output;
+    input.context.setNextFramePrediction(
+        makePrediction(input.car, output, BoostTracker.forCar(input.car), input.context.getJumpManager()));
   }
 
   public static CarData makePrediction(CarData car, ImmutableList<Controls> outputs) {
@@ -0,0 +1,99 @@
+package com.eru.rlbot.bot.prediction;
+
+import com.google.common.base.Preconditions;
+import java.util.Arrays;
+
+/**
+ * The first prediction slice each car can reach, kept up to date as the {@link com.eru.rlbot.bot.plan.Marker}
+ * publishes plans.
+ *
+ * <p>Every slice in the {@link BallPredictionBuffer} has a sequence number, one more than the slice before it, which
+ * it keeps while the head of the buffer advances. When a car gains a slice, the index keeps the earlier of that slice
+ * and the one it had. When a car loses its first slice, or that slice leaves the buffer, the car is marked stale. The
+ * next query finds every stale car again in a single pass over the slice bitmasks, stopping as soon as they are all
+ * found.
+ */
+final class ReachabilityIndex {
+
+  /** Car indexes are bits in a long. */
+  static final int MAX_CARS = Long.SIZE;
+  static final long ALL_CARS = -1L;
+
+  private static final long NONE = Long.MAX_VALUE;
+
+  private final BallPredictionBuffer balls;
+  private final long[] firstSequence = new long[MAX_CARS];
+
+  // Cars whose first slice has to be searched for again.
+  private long stale;
+  private long checkedHead;
+
+  ReachabilityIndex(BallPredictionBuffer balls) {
+    this.balls = balls;
+    Arrays.fill(firstSequence, NONE);
+  }
+
+  static long carMask(int carIndex) {
+    Preconditions.checkElementIndex(carIndex, MAX_CARS);
+    return 1L << carIndex;
+  }
+
+  /** Records that the car gained or lost the slice with the given sequence number. */
+  void update(long sequence, int carIndex, boolean reachable) {
+    if (reachable) {
+      firstSequence[carIndex] = Math.min(firstSequence[carIndex], sequence);
+    } else if (firstSequence[carIndex] == sequence) {
+      stale |= carMask(carIndex);
+    }
+  }
+
+  /** Records that the slices from the given sequence number on were dropped, so their numbers will be reused. */
+  void dropFrom(long sequence) {
+    for (int car = 0; car < MAX_CARS; car++) {
+      if (firstSequence[car] != NONE && firstSequence[car] >= sequence) {
+        stale |= carMask(car);
+      }
+    }
+  }
+
+  /** Returns the index of the first slice which any of the cars in the mask can reach, or -1 if there is none. */
+  int firstIndex(long cars) {
+    refresh();
+
+    long first = NONE;
+    for (long remaining = cars; remaining != 0; remaining &= remaining - 1) {
+      first = Math.min(first, firstSequence[Long.numberOfTrailingZeros(remaining)]);
+    }
+    return first == NONE ? -1 : (int) (first - balls.headSequence());
+  }
+
+  private void refresh() {
+    long head = balls.headSequence();
+    if (head != checkedHead) {
+      // The head moved past some slices, which may have been the first for some cars.
+      for (int car = 0; car < MAX_CARS; car++) {
+        if (firstSequence[car] < head) {
+          stale |= carMask(car);
+        }
+      }
+      checkedHead = head;
+    }
+
+    if (stale == 0) {
+      return;
+    }
+
+    for (long remaining = stale; remaining != 0; remaining &= remaining - 1) {
+      firstSequence[Long.numberOfTrailingZeros(remaining)] = NONE;
+    }
+
+    for (int i = 0; i < balls.size() && stale != 0; i++) {
+      long found = balls.get(i).reachableMask() & stale;
+      for (long remaining = found; remaining != 0; remaining &= remaining - 1) {
+        firstSequence[Long.numberOfTrailingZeros(remaining)] = head + i;
+      }
+      stale &= ~found;
+    }
+    stale = 0;
+  }
+}
@@ -0,0 +1,62 @@
+package com.eru.rlbot.bot.prediction;
+
+import com.eru.rlbot.bot.common.Constants;
+import com.eru.rlbot.bot.common.Goal;
+import com.eru.rlbot.common.input.BallData;
+import com.eru.rlbot.common.vector.Vector3;
+import com.google.common.collect.ImmutableList;
+import java.util.Optional;
+
+/**
+ * Where the ball goes after a touch, as predicted by {@link BallPredictor#predictOutcome}.
+ */
+public final class ShotOutcome {
+
+  /** The ball just after the touch. */
+  public final BallData contact;
+
+  /** The ball at each slice after the touch, ending with the goal if one is scored. */
+  public final ImmutableList<BallData> trajectory;
+
+  /** The ball as it first bounces off of any surface. */
+  public final Optional<BallData> firstBounce;
+
+  /** The ball as it crosses a goal line. */
+  public final Optional<BallData> goal;
+
+  ShotOutcome(
+      BallData contact, ImmutableList<BallData> trajectory, Optional<BallData> firstBounce, Optional<BallData> goal) {
+    this.contact = contact;
+    this.trajectory = trajectory;
+    this.firstBounce = firstBounce;
+    this.goal = goal;
+  }
+
+  /** Returns true if the ball ends up in the given goal. */
+  public boolean scoresOn(Goal target) {
+    return goal.isPresent() && Math.signum(goal.get().position.y) == Math.signum(target.center.y);
+  }
+
+  /** Returns the time the ball crosses the given goal line, if it does. */
+  public Optional<Float> goalTime(Goal target) {
+    return scoresOn(target) ? goal.map(ball -> ball.time) : Optional.empty();
+  }
+
+  /**
+   * Returns how close the ball comes to the target. A ball which goes into the goal at or behind the target gets
+   * there, no matter where in the goal it crosses.
+   */
+  public double missDistance(Vector3 target) {
+    if (goal.isPresent()
+        && Math.abs(target.y) >= Constants.HALF_LENGTH
+        && Math.signum(goal.get().position.y) == Math.signum(target.y)) {
+      return 0;
+    }
+
+    double closest = contact.position.distance(target);
+    for (BallData ball : trajectory) {
+      closest = Math.min(closest, ball.position.distance(target));
+    }
+    return closest;
+  }
+}
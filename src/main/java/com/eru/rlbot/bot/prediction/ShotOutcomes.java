@@ -0,0 +1,66 @@
+package com.eru.rlbot.bot.prediction;
+
+import com.eru.rlbot.common.QuantizedKey;
+import com.eru.rlbot.common.input.BallData;
+import com.eru.rlbot.common.input.CarData;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Predicts where the ball goes if the given car touches it, combining {@link CarBallCollision} with
+ * {@link BallPredictor#predictOutcome}.
+ *
+ * <p>Optimizers evaluate many nearby approaches against the same prediction slice, and re-plan against the same slices
+ * tick after tick, so outcomes are memoized by the ball and a rounded car approach.
+ */
+public final class ShotOutcomes {
+
+  /** How far past the touch to follow the ball. */
+  public static final float HORIZON = 4f;
+  static final float SLICE_INTERVAL = 1f / 20;
+
+  private static final double POSITION_BUCKET = 1;
+  private static final double SPEED_BUCKET = 5;
+  private static final double DIRECTION_BUCKET = .002;
+  private static final double SPIN_BUCKET = .01;
+
+  private static final Cache<QuantizedKey, ShotOutcome> OUTCOME_CACHE = CacheBuilder.newBuilder()
+      .maximumSize(2048)
+      .build();
+
+  /** Returns the outcome of the car touching the ball. */
+  public static ShotOutcome of(BallData ball, CarData car) {
+    QuantizedKey key = key(ball, car);
+    ShotOutcome cached = OUTCOME_CACHE.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+
+    ShotOutcome outcome = BallPredictor.predictOutcome(
+        CarBallCollision.calculateCollision(ball, car), HORIZON, SLICE_INTERVAL);
+    OUTCOME_CACHE.put(key, outcome);
+    return outcome;
+  }
+
+  /** Returns the outcome of a ball which has already been touched. These are not memoized. */
+  public static ShotOutcome of(BallData contact) {
+    return BallPredictor.predictOutcome(contact, HORIZON, SLICE_INTERVAL);
+  }
+
+  /** The prediction slice and the parts of the car which determine the touch, rounded into buckets. */
+  private static QuantizedKey key(BallData ball, CarData car) {
+    return QuantizedKey.builder(25)
+        .add(Float.floatToIntBits(ball.time))
+        .add(ball.position, POSITION_BUCKET)
+        .add(ball.velocity, SPEED_BUCKET)
+        .add(ball.spin, SPIN_BUCKET)
+        .add(car.position, POSITION_BUCKET)
+        .add(car.velocity, SPEED_BUCKET)
+        .add(car.angularVelocity, SPIN_BUCKET)
+        .add(car.orientation.getNoseVector(), DIRECTION_BUCKET)
+        .add(car.orientation.getRoofVector(), DIRECTION_BUCKET)
+        .build();
+  }
+
+  private ShotOutcomes() {}
+}
@@ -1,14 +1,10 @@
 package com.eru.rlbot.bot.renderer;
 
-import com.eru.rlbot.bot.common.Teams;
 import com.eru.rlbot.bot.flags.PerBotDebugOptions;
 import com.eru.rlbot.bot.prediction.BallPrediction;
 import com.eru.rlbot.bot.prediction.BallPredictionUtil;
 import com.google.flatbuffers.FlatBufferBuilder;
 import java.awt.Color;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 import rlbot.cppinterop.RLBotDll;
 import rlbot.render.RenderPacket;
 import rlbot.render.Renderer;
@@ -44,21 +40,21 @@ public class BallPredictionRenderer extends Renderer {
     for (BallPrediction next : BallPredictionUtil.get(playerIndex).getPredictions()) {
       if (prev == null) {
         prev = next;
-      } else if (next.ball.time - prev.ball.time > .1) {
-        Map<Integer, List<Integer>> reachableByTeam = next.ableToReach().stream()
-            .collect(Collectors.groupingBy(Teams::getTeamForBot));
+      } else if (next.getBall().time - prev.getBall().time > .1) {
+        boolean blue = next.isHittableByTeam(0);
+        boolean orange = next.isHittableByTeam(1);
 
-        Color color = reachableByTeam.isEmpty()
+        Color color = !blue && !orange
             ? Color.BLACK // Not reachable
-            : reachableByTeam.size() == 2 // Reachable by both teams
+            : blue && orange // Reachable by both teams
             ? Color.RED
-            : reachableByTeam.containsKey(0)
+            : blue
             ? Color.BLUE
             : Color.ORANGE;
 
         drawLine3d(color,
-            next.ball.position,
-            prev.ball.position);
+            next.getBall().position,
+            prev.getBall().position);
         prev = next;
       }
     }
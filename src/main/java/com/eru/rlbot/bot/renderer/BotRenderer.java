@@ -17,7 +17,7 @@ import com.eru.rlbot.bot.prediction.BallPredictor;
 import com.eru.rlbot.bot.strats.Strategist;
 import com.eru.rlbot.bot.tactics.Tactic;
 import com.eru.rlbot.bot.tactics.Tactician;
-import com.eru.rlbot.bot.utils.ComputeTracker;
+import com.eru.rlbot.bot.utils.TickProfiler;
 import com.eru.rlbot.common.Pair;
 import com.eru.rlbot.common.dropshot.DropshotTile;
 import com.eru.rlbot.common.dropshot.DropshotTileManager;
@@ -61,7 +61,6 @@ public class BotRenderer {
   private static final double FULL_CIRCLE = Math.PI * 2;
 
   private static final ConcurrentHashMap<Integer, BotRenderer> INSTANCES = new ConcurrentHashMap<>();
-  private static final ThreadLocal<BotRenderer> INSTANCE = new ThreadLocal<>();
 
   private float initialIngameTime = 0;
   private long ingameTicks = 0;
@@ -87,13 +86,8 @@ public class BotRenderer {
   }
 
   public static BotRenderer forIndex(int botIndex) {
-    BotRenderer botRenderer = INSTANCE.get();
-    if (botRenderer == null) {
-      botRenderer = INSTANCES.get(botIndex);
-      INSTANCE.set(botRenderer);
-    }
-    Preconditions.checkState(botRenderer.bot.getIndex() == botIndex,
-        "Illegal renderer access: Trying to access " + botRenderer.bot.getIndex() + " by bot " + botIndex);
+    BotRenderer botRenderer = INSTANCES.get(botIndex);
+    Preconditions.checkState(botRenderer != null, "No renderer for bot " + botIndex);
     return botRenderer;
   }
 
@@ -273,14 +267,14 @@ public class BotRenderer {
     int controllingTeam = challengeData.controllingTeam;
     Color color = controllingTeam == 0 ? Color.BLUE : Color.ORANGE;
 
-    renderTarget(color, challengeData.firstTouch.ball.position);
+    renderTarget(color, challengeData.firstTouch.getBall().position);
 
-    float timeToTouch = challengeData.firstTouch.ball.time - input.car.elapsedSeconds;
+    float timeToTouch = challengeData.firstTouch.getBall().time - input.car.elapsedSeconds;
     float timeToSecond = BallPredictionUtil.PREDICTION_TIME_LIMIT;
     if (challengeData.firstTouchByOtherTeam.isPresent()) {
-      timeToSecond = challengeData.firstTouchByOtherTeam.get().ball.time - input.car.elapsedSeconds;
+      timeToSecond = challengeData.firstTouchByOtherTeam.get().getBall().time - input.car.elapsedSeconds;
       Color otherTouchColor = Teams.otherTeam(challengeData.controllingTeam) == 0 ? Color.BLUE : Color.ORANGE;
-      renderTarget(otherTouchColor, challengeData.firstTouchByOtherTeam.get().ball.position);
+      renderTarget(otherTouchColor, challengeData.firstTouchByOtherTeam.get().getBall().position);
     }
 
     renderText(color, 500, 100, "Impact: %.2fs - Pressure: %.2fs", timeToTouch, timeToSecond - timeToTouch);
@@ -547,8 +541,8 @@ public class BotRenderer {
     renderText(400, 20, 1, "%s In-game FPS", ingameFps == 0 ? "-" : String.format("%.2f", ingameFps));
     renderText(400, 40, 1, "%s Wall-clock FPS", wallclockFps == 0 ? "-" : String.format("%.2f", wallclockFps));
 
-    double averageComputeTime = ComputeTracker.averageSeconds(input.serialNumber) * 1000;
-    renderText(400, 60, 1, "%sms Avg compute time", averageComputeTime == 0 ? "-" : String.format("%.4f", averageComputeTime));
+    double medianComputeTime = TickProfiler.get(input.serialNumber).medianTickSeconds() * 1000;
+    renderText(400, 60, 1, "%sms Median compute time", medianComputeTime == 0 ? "-" : String.format("%.4f", medianComputeTime));
   }
 
   private void renderDebugText() {
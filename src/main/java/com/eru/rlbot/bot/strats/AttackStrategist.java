@@ -18,7 +18,6 @@ import com.eru.rlbot.common.input.CarData;
 import com.eru.rlbot.common.input.DataPacket;
 import com.eru.rlbot.common.vector.Vector3;
 import java.awt.Color;
-import java.util.Comparator;
 import java.util.Optional;
 
 /**
@@ -88,10 +87,12 @@ public class AttackStrategist extends Strategist {
   private Moment getSupportLocation(DataPacket input, BallData firstTouchBall) {
     Goal ownGoal = Goal.ownGoal(input.car.team);
 
-    Vector3 mostDefendingAlly = CarLocationPredictor.forCar(input.car).teammates().stream()
-        .map(CarLocationPredictor.CarLocationPrediction::oneSec)
-        .min(Comparator.comparing(predictedLocation -> predictedLocation.distance(ownGoal.center)))
-        .orElse(input.ball.position);
+    CarLocationPredictor predictions = CarLocationPredictor.get();
+    long teammates = Teams.getTeamMask(input.car.team) & ~(1L << input.car.serialNumber);
+    int mostDefendingIndex = predictions.closest(teammates, CarLocationPredictor.ONE_SECOND, ownGoal.center);
+    Vector3 mostDefendingAlly = mostDefendingIndex == -1
+        ? input.ball.position
+        : predictions.position(mostDefendingIndex, CarLocationPredictor.ONE_SECOND);
 
     bot.botRenderer.renderTarget(Color.PINK, mostDefendingAlly);
     return Moment.from(SupportRegions.getSupportRegions(mostDefendingAlly, input.car.team));
@@ -99,7 +100,7 @@ public class AttackStrategist extends Strategist {
 
   private Tactic getStrikingTactic(DataPacket input) {
     BallPrediction target = BallPredictionUtil.get(input.car).getTarget();
-    BallData subject = target.ball;
+    BallData subject = target.getBall();
     Vector3 object = Goal.opponentGoal(input.car.team).center;
     Tactic.TacticType type = target.getTacticType();
 
@@ -119,7 +120,7 @@ public class AttackStrategist extends Strategist {
         return getStrikingTactic(input);
       }
 
-      BallData subject = firstTouch.ball;
+      BallData subject = firstTouch.getBall();
       Vector3 object = getObject(potential);
       Tactic.TacticType type = potential.getPlan().type;
 
@@ -29,7 +29,7 @@ public class DefendStrategist extends Strategist {
   }
 
   private static boolean shotOnGoal(DataPacket input) {
-    Optional<BallPrediction> ballPredictionOptional = DllHelper.getBallPrediction();
+    Optional<BallPrediction> ballPredictionOptional = DllHelper.getBallPrediction(input.ball);
     if (!ballPredictionOptional.isPresent()) {
       return false;
     }
@@ -74,12 +74,12 @@ public class DefendStrategist extends Strategist {
     Optional<BallPredictionUtil.ChallengeData> challengeDataOptional = ballPredictionUtil.getChallengeData();
 
     com.eru.rlbot.bot.prediction.BallPrediction firstHittableTarget = BallPredictionUtil.get(input.car).getTarget();
-    BallData subject = firstHittableTarget != null ? firstHittableTarget.ball : input.ball;
+    BallData subject = firstHittableTarget != null ? firstHittableTarget.getBall() : input.ball;
     if (challengeDataOptional.isPresent()) {
       BallPredictionUtil.ChallengeData challengeData = challengeDataOptional.get();
       if (challengeData.controllingTeam != input.car.team) {
         // Simulate the possiblity of a hit.
-        BallData firstTouchBall = challengeData.firstTouch.ball;
+        BallData firstTouchBall = challengeData.firstTouch.getBall();
         CarData strikingCar = challengeData.firstTouch.forCar(challengeData.firstTouch.ableToReach().get(0))
             .getPath().getTarget();
         BallData resultingBall = CarBallCollision.calculateCollision(firstTouchBall, strikingCar);
@@ -88,11 +88,11 @@ public class DefendStrategist extends Strategist {
 
         double correctionTime;
         if (firstHittableTarget != null) {
-          double timeOffset = firstHittableTarget.ball.time - challengeData.firstTouch.ball.time;
-          correctionTime = challengeData.firstTouch.ball.time + (timeOffset * .08);
+          double timeOffset = firstHittableTarget.getBall().time - challengeData.firstTouch.getBall().time;
+          correctionTime = challengeData.firstTouch.getBall().time + (timeOffset * .08);
         } else {
-          double timeToContact = challengeData.firstTouch.ball.time - input.car.elapsedSeconds;
-          correctionTime = challengeData.firstTouch.ball.time + (timeToContact * .08);
+          double timeToContact = challengeData.firstTouch.getBall().time - input.car.elapsedSeconds;
+          correctionTime = challengeData.firstTouch.getBall().time + (timeToContact * .08);
         }
 
         Optional<BallData> projectedBallPositionAtCollisionTime = predictions.stream()
@@ -137,7 +137,7 @@ public class DefendStrategist extends Strategist {
       return input.ball.position;
     }
 
-    BallData firstHittableBall = firstHittableTarget.ball;
+    BallData firstHittableBall = firstHittableTarget.getBall();
     return firstHittableBall.position.plus(firstHittableBall.position.minus(input.car.position).toMagnitude(2000));
   }
 
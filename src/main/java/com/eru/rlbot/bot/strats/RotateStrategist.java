@@ -33,9 +33,7 @@ public class RotateStrategist extends Strategist {
     Accels.AccelResult estimatedTimeToGoal =
         Accels.boostedTimeToDistance(input.car.boost, input.car.groundSpeed, distanceToGoal);
     double timeAtArrival = input.car.elapsedSeconds + estimatedTimeToGoal.getDuration();
-    BallData ballAtArrival = BallPredictionUtil.get(input.car).getPredictions().stream()
-        .filter(ballPrediction -> ballPrediction.ball.time > timeAtArrival)
-        .findFirst()
+    BallData ballAtArrival = BallPredictionUtil.get(input.car).getPredictionAfter(timeAtArrival)
         .map(BallPrediction::getBall)
         .orElse(input.ball);
 
@@ -1,7 +1,5 @@
 package com.eru.rlbot.bot.strats;
 
-import static com.google.common.collect.ImmutableList.toImmutableList;
-
 import com.eru.rlbot.bot.common.Goal;
 import com.eru.rlbot.bot.common.Teams;
 import com.eru.rlbot.bot.flags.PerBotDebugOptions;
@@ -11,7 +9,6 @@ import com.eru.rlbot.common.input.CarData;
 import com.eru.rlbot.common.input.DataPacket;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.MoreCollectors;
-import java.util.Comparator;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class Rotations {
@@ -29,6 +26,10 @@ public class Rotations {
   private CarData priority;
   private boolean teammateCommitted;
 
+  // Reused each tick to sort the allies.
+  private final int[] allyOrder = new int[Long.SIZE];
+  private final double[] allyDistances = new double[Long.SIZE];
+
   private Rotations(int playerIndex, int team) {
     this.playerIndex = playerIndex;
     this.team = team;
@@ -57,31 +58,47 @@ public class Rotations {
 
   public void track(DataPacket input) {
     Goal ownGoal = Goal.ownGoal(input.car.team);
+    CarLocationPredictor predictions = CarLocationPredictor.get();
+
+    // Orders the allies by how far they will be from the goal in a second, farthest first.
+    int allyCount = 0;
+    for (long allies = Teams.getTeamMask(team); allies != 0; allies &= allies - 1) {
+      int ally = Long.numberOfTrailingZeros(allies);
+      if (!predictions.hasCar(ally)) {
+        continue;
+      }
+
+      double distance = predictions.distance(ally, CarLocationPredictor.ONE_SECOND, ownGoal.center);
+      int i = allyCount++;
+      for (; i > 0 && allyDistances[i - 1] < distance; i--) {
+        allyOrder[i] = allyOrder[i - 1];
+        allyDistances[i] = allyDistances[i - 1];
+      }
+      allyOrder[i] = ally;
+      allyDistances[i] = distance;
+    }
 
-    ImmutableList<CarLocationPredictor.CarLocationPrediction> allies =
-        CarLocationPredictor.forCar(input.car).ownTeam().stream()
-            .sorted(Comparator.comparing(prediction -> -prediction.oneSec().distance(ownGoal.center)))
-            .collect(toImmutableList());
-
-    one = extract(input, allies.get(0).getPlayerIndex());
+    one = extract(input, allyOrder[0]);
     if (teamSize > 1) {
-      two = extract(input, allies.get(1).getPlayerIndex());
+      two = extract(input, allyOrder[1]);
     }
     if (teamSize > 2) {
-      three = extract(input, allies.get(2).getPlayerIndex());
+      three = extract(input, allyOrder[2]);
     }
     if (teamSize > 3) {
-      four = extract(input, allies.get(3).getPlayerIndex());
+      four = extract(input, allyOrder[3]);
     }
 
     // TODO: Priority is defined as the next person to hit the ball. This is different from the rotation order which is
     // closer to a defense order.
     priority = input.car;
 
-    teammateCommitted = allies.stream()
-        .filter(car -> car.getPlayerIndex() != playerIndex)
-        .map(CarLocationPredictor.CarLocationPrediction::oneSec)
-        .anyMatch(prediction -> prediction.z > 200);
+    teammateCommitted = false;
+    for (int i = 0; i < allyCount; i++) {
+      if (allyOrder[i] != playerIndex && predictions.z(allyOrder[i], CarLocationPredictor.ONE_SECOND) > 200) {
+        teammateCommitted = true;
+      }
+    }
   }
 
   private CarData extract(DataPacket input, int index) {
@@ -4,6 +4,7 @@ import com.eru.rlbot.bot.common.StateSetChecker;
 import com.eru.rlbot.bot.main.ApolloGuidanceComputer;
 import com.eru.rlbot.bot.plan.Marker;
 import com.eru.rlbot.bot.tactics.KickoffTactician;
+import com.eru.rlbot.bot.utils.TickProfiler;
 import com.eru.rlbot.common.input.DataPacket;
 import com.eru.rlbot.common.output.Controls;
 import java.util.HashMap;
@@ -48,7 +49,10 @@ public class StrategyManager {
     boolean timedUpdate = lastStrategyUpdateTime == 0
         || input.car.elapsedSeconds - lastStrategyUpdateTime > STRATEGY_UPDATE_INTERVAL;
 
-    Marker.get(input.serialNumber).markNext(input);
+    TickProfiler profiler = TickProfiler.get(input.serialNumber);
+    long stageStart = System.nanoTime();
+    Marker.get(input.serialNumber).mark(input);
+    stageStart = profiler.record(TickProfiler.Stage.MARKING, stageStart);
 
     if (KickoffTactician.isKickoffStart(input)) {
       if (active == null || active.getType() != Strategy.Type.ATTACK) {
@@ -75,8 +79,10 @@ public class StrategyManager {
     } else if (timedUpdate && !active.tacticManager.isTacticLocked()) {
       active.assign(input);
     }
+    stageStart = profiler.record(TickProfiler.Stage.STRATEGY, stageStart);
 
     Controls output = active.execute(input);
+    profiler.record(TickProfiler.Stage.TACTICS, stageStart);
     bot.botRenderer.setStrategy(active);
 
     return output;
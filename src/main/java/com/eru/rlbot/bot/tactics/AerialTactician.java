@@ -28,8 +28,6 @@ import com.eru.rlbot.common.vector.Vector3;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import java.awt.Color;
-import java.util.Comparator;
-import java.util.List;
 import java.util.Optional;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -120,15 +118,8 @@ public class AerialTactician extends Tactician {
         // If the boost angle is behind us but the ball is still in-front of us, can we slow down first?
       }
 
-      // TODO: Update this to check to see if jumping right now has a 'firing solution'.
-      List<AerialInfo> aerialProfiles = getInfos(input.car.boost, target.position.z);
-
-      // Get the one that boosts straight up full throttle
-      Optional<AerialInfo> aerialProfileOptional = aerialProfiles.stream()
-          .filter(aerialInfo -> aerialInfo.boostUsed < input.car.boost + 5)
-          .sorted(Comparator.comparing(aerialInfo -> aerialInfo.time))
-          .skip(2)
-          .findFirst();
+      Optional<AerialInfo> aerialProfileOptional =
+          findTakeoff(input.car, oneTurn.length(), target.position.z, timeToImpact);
 
       if (!aerialProfileOptional.isPresent()) {
         bot.botRenderer.addAlertText("Cannot find profile");
@@ -140,16 +131,13 @@ public class AerialTactician extends Tactician {
       double airTime = aerialProfile.time;
       double timeToJump = timeToImpact - airTime;
 
-      // The distance traveled if we jump at our current speed.
       double forwardSpeed = input.car.orientation.localCoordinates(input.car.velocity).x;
 
-      double carriedGroundDistance = airTime * forwardSpeed;
-
       // The boost beyond what we need.
       double boostReserves = input.car.boost - aerialProfile.boostUsed;
 
-      // The distance to travel on the ground.
-      double groundDistance = oneTurn.length() - carriedGroundDistance - aerialProfile.horizontalTravel;
+      // The distance to travel on the ground. The aerial already carries the takeoff speed.
+      double groundDistance = oneTurn.length() - aerialProfile.horizontalTravel;
 
       // The average speed needed to travel on the ground.
       double requiredGroundSpeed = groundDistance / timeToJump;
@@ -199,16 +187,6 @@ public class AerialTactician extends Tactician {
       return inAirPlanning(car, ball);
     }
 
-    List<AerialLookUp.AerialInfo> aerialInfos = AerialLookUp.getInfos(car.boost, ball.position.z);
-
-    // TODO: Given a list of time to height based on boost angle / boost used.
-    // Filter those that take too long / travel too far.
-    // See either if:
-    // 1) Do we have time / boost to turn and then jump immediately
-    // 2) Check the first and last plans
-    //   a) Can we travel to height but not far enough (break first then boost up)
-    //   b) Can we travel to height and too far (not entirely sure how to do this one)
-
     // Path is turn + straight
     BallData groundBall = BallData.builder()
         .setVelocity(ball.velocity)
@@ -220,54 +198,43 @@ public class AerialTactician extends Tactician {
       return Optional.empty();
     }
 
-    Optional<AerialLookUp.AerialInfo> successfulAerial = aerialInfos.stream()
-        .filter(aerialInfo -> works(aerialInfo, oneTurn, car, ball))
-        .findFirst();
-
-    if (successfulAerial.isPresent()) {
-      return Optional.of(
-          Plan.builder()
-              .setTacticType(Tactic.TacticType.AERIAL)
-              .setPath(oneTurn)
-              .build(ball.time - car.elapsedSeconds));
-    } else {
-      return Optional.empty();
-    }
-  }
-
-  private static boolean works(AerialLookUp.AerialInfo aerialInfo, Path oneTurn, CarData car, BallData ball) {
-    // Estimate boost angle and back to flat with 2 radians per second
-    double rotationTime = aerialInfo.boostAngle * .3;
-
-    // TODO: This is an over estimate since the time to apex + rotation time is duplicate.
-    // Estimate time needed in the air based on aerial + jump + rotation time
-    double jumpTime = aerialInfo.time + rotationTime;
-
-    // Calculates duration of maneuver
     double timeToImpact = ball.time - car.elapsedSeconds;
+    return findTakeoff(car, oneTurn.length(), ball.position.z, timeToImpact)
+        .map(aerialInfo -> Plan.builder()
+            .setTacticType(Tactic.TacticType.AERIAL)
+            .setPath(oneTurn)
+            .setBoostUsed(aerialInfo.boostUsed)
+            .build(timeToImpact));
+  }
 
-    // Calculate time until we must jump
-    double timeToJump = timeToImpact - jumpTime;
-
-    // Determines how much boost we can use on the ground.
-    double boostReserve = car.boost - aerialInfo.boostUsed;
-
-    double forwardSpeed = car.orientation.localCoordinates(car.velocity).x;
-
-    // Given the time we have before we have to jump, determine how fast we can accelerate
-    Accels.AccelResult maxAccelResult =
-        Accels.accelerateForTime(forwardSpeed, timeToJump, boostReserve);
+  // Matches the distance step of the aerial table.
+  private static final double TAKEOFF_STEP = 125;
 
-    // Max distance on the (ground + distance in the air) / time
-    double maxHorizontalDistance
-        = (maxAccelResult.getDistanceCovered() + (maxAccelResult.getEndSpeed() * jumpTime) + aerialInfo.horizontalTravel);
+  /**
+   * Finds the quickest way along the path which drives part of the way without boost and flies the rest, or empty if
+   * none of them get to the height in time.
+   */
+  private static Optional<AerialInfo> findTakeoff(CarData car, double pathLength, double height, double timeToImpact) {
+    double forwardSpeed = Math.max(0, car.orientation.localCoordinates(car.velocity).x);
+
+    AerialInfo fastest = null;
+    double fastestTime = timeToImpact;
+    for (double airDistance = Math.min(pathLength, MAX_DISTANCE); airDistance >= 0; airDistance -= TAKEOFF_STEP) {
+      Accels.AccelResult ground = Accels.nonBoostedTimeToDistance(forwardSpeed, pathLength - airDistance);
+      Optional<AerialInfo> aerial = fastestAerial(car.boost, height, airDistance, ground.getEndSpeed());
+      if (!aerial.isPresent()) {
+        continue;
+      }
 
-    // If we have time before we have to jump
-    // And the distance we would have to travel on the ground is travelable
-    // and we have enough boost to get there.
-    return timeToJump > 0
-        && maxHorizontalDistance > oneTurn.length()
-        && car.boost >= aerialInfo.boostUsed + maxAccelResult.getBoostUsed();
+      // Estimate boost angle and back to flat with 2 radians per second
+      double rotationTime = aerial.get().boostAngle * .3;
+      double time = ground.getDuration() + aerial.get().time + rotationTime;
+      if (time <= fastestTime) {
+        fastest = aerial.get();
+        fastestTime = time;
+      }
+    }
+    return Optional.ofNullable(fastest);
   }
 
   private static Optional<Plan> inAirPlanning(CarData car, BallData ball) {
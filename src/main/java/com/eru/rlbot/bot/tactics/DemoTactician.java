@@ -17,8 +17,6 @@ import com.eru.rlbot.common.input.CarData;
 import com.eru.rlbot.common.input.DataPacket;
 import com.eru.rlbot.common.output.Controls;
 import com.eru.rlbot.common.vector.Vector3;
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Iterables;
 import java.util.Optional;
 import java.util.function.Function;
 import org.apache.logging.log4j.LogManager;
@@ -125,11 +123,11 @@ public class DemoTactician extends Tactician {
     Vector3 target;
     if (demoTarget != null && ball != null) {
       // TODO: Check if the ball is a break-away.
-      target = ball.ball.time < demoTarget.getAbsoluteTime() ? ball.ball.position : demoTarget.position;
+      target = ball.getBall().time < demoTarget.getAbsoluteTime() ? ball.getBall().position : demoTarget.position;
     } else if (demoTarget != null) {
       target = demoTarget.position;
     } else if (ball != null) {
-      target = ball.ball.position;
+      target = ball.getBall().position;
     } else {
       target = Goal.ownGoal(input.car.team).getNearPost(input.car);
     }
@@ -178,24 +176,23 @@ public class DemoTactician extends Tactician {
   }
 
   private Function<CarData, CarPrediction.PredictionNode> earliestTarget(CarData self) {
-    CarLocationPredictor locationPredictor = CarLocationPredictor.forCar(self);
+    CarLocationPredictor predictions = CarLocationPredictor.get();
     double increasedSpeed = Constants.SUPER_SONIC - self.groundSpeed;
     double timeToSuperSonic = increasedSpeed < 0 ? 0 : increasedSpeed / Constants.BOOSTED_MAX_SPEED;
     double distanceToSuperSonic = timeToSuperSonic * ((self.groundSpeed + Constants.SUPER_SONIC) / 2);
     return car -> {
-      ImmutableList<CarPrediction.PredictionNode> predictions = locationPredictor.predictionForCar(car).getPredictions();
-      return predictions.stream()
-          .filter(slice -> {
-            // Subtract the length of the front of the car so we don't accidentally t-bone ourself on an opponent going
-            // super sonic.
-            double distance = slice.position.distance(self.position) - BoundingBox.frontToRj;
-            double superSonicDistance = distance - distanceToSuperSonic;
-            double superSonicTime = superSonicDistance / Constants.SUPER_SONIC;
-            double timeToSlice = slice.absoluteTime - self.elapsedSeconds;
-            return superSonicTime > 0 && superSonicTime + timeToSuperSonic < timeToSlice;
-          })
-          .findFirst()
-          .orElse(Iterables.getLast(predictions));
+      for (int step = 0; step <= CarLocationPredictor.ONE_SECOND; step++) {
+        // Subtract the length of the front of the car so we don't accidentally t-bone ourself on an opponent going
+        // super sonic.
+        double distance = predictions.distance(car.serialNumber, step, self.position) - BoundingBox.frontToRj;
+        double superSonicDistance = distance - distanceToSuperSonic;
+        double superSonicTime = superSonicDistance / Constants.SUPER_SONIC;
+        double timeToSlice = predictions.time(step) - self.elapsedSeconds;
+        if (superSonicTime > 0 && superSonicTime + timeToSuperSonic < timeToSlice) {
+          return predictions.node(car.serialNumber, step);
+        }
+      }
+      return predictions.node(car.serialNumber, CarLocationPredictor.ONE_SECOND);
     };
   }
 }
@@ -41,11 +41,11 @@ public class FastAerial extends Maneuver {
     double pitchAngle = calculatePitchAngle(input);
     boolean boost = input.car.orientation.getNoseVector().z > pitchAngle;
 
-    JumpManager jumpManager = JumpManager.forCar(input.car);
+    JumpManager jumpManager = input.context.getJumpManager();
     if (input.car.hasWheelContact) {
       botRenderer.setBranchInfo("Do jump");
       output
-          .withJump(hasJumpedTicks > 1 || !JumpManager.forCar(input.car).jumpHeld())
+          .withJump(hasJumpedTicks > 1 || !input.context.getJumpManager().jumpHeld())
           .withPitch(1.0)
           .withBoost(boost);
 
@@ -60,7 +60,7 @@ public class JumpFlipTactician extends Tactician {
     renderPredictionForFrame(input.car.elapsedSeconds);
 
     // TODO: Use make ball to check a ball several frames out.
-    planFrame(input.car, input.ball, output, JumpManager.forCar(input.car));
+    planFrame(input.car, input.ball, output, input.context.getJumpManager());
   }
 
   private static float TIME_WINDOW = 1 / 240f;
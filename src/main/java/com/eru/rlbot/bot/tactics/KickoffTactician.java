@@ -307,7 +307,7 @@ public class KickoffTactician extends Tactician {
   }
 
   private void cornerSpeedFlip(Controls output, DataPacket input) {
-    JumpManager jumpManager = JumpManager.forCar(input.car);
+    JumpManager jumpManager = input.context.getJumpManager();
     // Fast flip.
     float carX = Math.abs(input.car.position.x);
 
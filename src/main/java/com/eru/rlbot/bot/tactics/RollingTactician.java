@@ -67,11 +67,11 @@ public class RollingTactician extends Tactician {
           .build());
     }
 
-    checkComplete(tactic);
+    checkComplete(input, tactic);
   }
 
-  private void checkComplete(Tactic tactic) {
-    Optional<BallPrediction> predictionOptional = DllHelper.getBallPrediction();
+  private void checkComplete(DataPacket input, Tactic tactic) {
+    Optional<BallPrediction> predictionOptional = DllHelper.getBallPrediction(input.ball);
     if (predictionOptional.isPresent()) {
       BallPrediction prediction = predictionOptional.get();
       for (int i = 0 ; i < prediction.slicesLength() ; i++) {
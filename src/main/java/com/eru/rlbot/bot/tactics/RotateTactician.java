@@ -27,6 +27,7 @@ import com.eru.rlbot.common.vector.Vector3;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import java.util.Comparator;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -135,7 +136,8 @@ public class RotateTactician extends Tactician {
   private ImmutableList<Segment> chooseBoostLane(DataPacket input) {
     Goal opponentGoal = Goal.opponentGoal(input.car.team);
 
-    Vector3 predictedLocation = CarLocationPredictor.forCar(input.car).predictionForCar(input.car).in(.1);
+    Vector3 predictedLocation = CarLocationPredictor.get()
+        .position(input.car.serialNumber, CarLocationPredictor.stepAt(.1));
 
     boolean carFacingLeft = input.car.orientation.getNoseVector().x > 0;
     boolean carForwardField = Math.signum(predictedLocation.y + (Math.signum(opponentGoal.center.y) * 2000))
@@ -224,7 +226,9 @@ public class RotateTactician extends Tactician {
         .build();
 
     if (shouldRecomputePath(path)) {
-      Path newPath = PathPlanner.planPath(input.car, targetRotation);
+      Path newPath = Optional.ofNullable(path)
+          .flatMap(oldPath -> PathPlanner.repairPath(oldPath, input.car, targetRotation))
+          .orElseGet(() -> PathPlanner.planPath(input.car, targetRotation));
 
       newPath.lockAndSegment(false);
       path = newPath;
@@ -62,7 +62,7 @@ public class ShadowTactician extends Tactician {
   }
 
   private double getCarToGoalTime(DataPacket input) {
-    Optional<PredictionSlice> slice = PredictionUtils.getBallInGoalSlice();
+    Optional<PredictionSlice> slice = PredictionUtils.getBallInGoalSlice(input.ball);
     if (!slice.isPresent()) {
       return 0;
     }
@@ -74,7 +74,7 @@ public class ShadowTactician extends Tactician {
   }
 
   private float getBallToGoalTime(DataPacket input) {
-    Optional<PredictionSlice> slice = PredictionUtils.getBallInGoalSlice();
+    Optional<PredictionSlice> slice = PredictionUtils.getBallInGoalSlice(input.ball);
     if (!slice.isPresent()) {
       return 0;
     }
@@ -16,6 +16,7 @@ import com.eru.rlbot.common.input.DataPacket;
 import com.eru.rlbot.common.output.Controls;
 import com.eru.rlbot.common.vector.Vector3;
 import com.google.common.collect.Iterables;
+import java.util.Objects;
 import java.util.Optional;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -28,6 +29,9 @@ public class TakeTheShotTactician extends Tactician {
 
   private static final Logger logger = LogManager.getLogger("TakeTheShot");
 
+  // How far the ball may move in time before the path is planned again instead of repaired.
+  private static final float MAX_REPAIR_TIME_SHIFT = .05f;
+
   TakeTheShotTactician(ApolloGuidanceComputer bot, TacticManager tacticManager) {
     super(bot, tacticManager);
   }
@@ -39,6 +43,10 @@ public class TakeTheShotTactician extends Tactician {
 
   private Path path;
 
+  // What the last full plan was made to hit. Repairs are measured against it, so they can't drift in small steps.
+  private Moment plannedSubject;
+  private Vector3 plannedObject;
+
   @Override
   public void internalExecute(DataPacket input, Controls output, Tactic tactic) {
     // If the tactic location is above 300 uu, move it down since this tactician cannot aerial.
@@ -62,37 +70,19 @@ public class TakeTheShotTactician extends Tactician {
       return;
     } else if ((path == null
         || path.isOffCourse()
-        || BallPredictionUtil.get(input.car).wasTouched()
+        || BallPredictionUtil.get(input.car).wasChangedBefore(path.getEndTime())
         || pathEndWithoutBall(path))
         && input.car.hasWheelContact)
     // Do not re-plan once we have jumped.
     {
-      Optional<CarData> targetOptional = PathPlanner.closestStrike(input.car, tactic.subject);
-
-      if (!targetOptional.isPresent()) {
+      if (repairPath(input, tactic)) {
+        bot.botRenderer.setBranchInfo("Path repaired");
+      } else if (!planPath(input, tactic)) {
         bot.botRenderer.setBranchInfo("Target not found");
         return;
       } else {
         bot.botRenderer.setBranchInfo("Target acquired");
       }
-
-      CarData target = targetOptional.get();
-
-      Path newPath;
-      if (tactic.object != null) {
-        OptimizationResult optimalHit = CarBallOptimizer.xSpeed(tactic.subject, tactic.object, target);
-        newPath = PathPlanner.oneTurn(input.car, Moment.from(optimalHit.car));
-      } else {
-        newPath = PathPlanner.oneTurn(input.car, Moment.from(target));
-      }
-
-      if (newPath == null) {
-        // Stay on the old path.
-      } else if (newPath.lockAndSegment(true)) {
-        // Accept the new path.
-        path = newPath;
-        path.extendThroughBall();
-      }
     }
 
     if (path == null) {
@@ -111,13 +101,74 @@ public class TakeTheShotTactician extends Tactician {
     }
   }
 
+  /**
+   * Re-times the rest of the current path from where the car is, moving its end with the ball. Only works while the
+   * car is still on the path and the ball has barely moved. Returns true if the path was repaired.
+   */
+  private boolean repairPath(DataPacket input, Tactic tactic) {
+    if (path == null
+        || !Objects.equals(plannedObject, tactic.object)
+        || Math.abs(tactic.subject.time - plannedSubject.time) > MAX_REPAIR_TIME_SHIFT
+        || pathEndWithoutBall(path)) {
+      return false;
+    }
+
+    CarData plannedTarget = path.getPlannedTarget();
+    CarData target = plannedTarget.toBuilder()
+        .setPosition(plannedTarget.position.plus(tactic.subject.position.minus(plannedSubject.position)))
+        .setTime(tactic.subject.time)
+        .build();
+
+    Optional<Path> repairedPath = PathPlanner.repairPath(path, input.car, target);
+    if (!repairedPath.isPresent() || !repairedPath.get().lockAndSegment(true)) {
+      return false;
+    }
+
+    acceptPath(repairedPath.get());
+    return true;
+  }
+
+  /** Plans a new path to strike the ball. Returns false if there is no way to hit it without an own goal. */
+  private boolean planPath(DataPacket input, Tactic tactic) {
+    Optional<CarData> targetOptional = PathPlanner.closestStrike(input.car, tactic.subject);
+    if (!targetOptional.isPresent()) {
+      return false;
+    }
+
+    CarData target = targetOptional.get();
+
+    Path newPath;
+    if (tactic.object != null) {
+      Optional<OptimizationResult> optimalHit = CarBallOptimizer.bestOutcome(tactic.subject, tactic.object, target);
+      if (!optimalHit.isPresent()) {
+        // Every touch puts the ball in our own goal.
+        return false;
+      }
+      newPath = PathPlanner.oneTurn(input.car, Moment.from(optimalHit.get().car));
+    } else {
+      newPath = PathPlanner.oneTurn(input.car, Moment.from(target));
+    }
+
+    if (newPath == null) {
+      // Stay on the old path.
+    } else if (newPath.lockAndSegment(true)) {
+      acceptPath(newPath);
+      plannedSubject = tactic.subject;
+      plannedObject = tactic.object;
+    }
+    return true;
+  }
+
+  private void acceptPath(Path newPath) {
+    path = newPath;
+    path.extendThroughBall();
+  }
+
   private boolean pathEndWithoutBall(Path path) {
     double time = path.getEndTime();
     Vector3 endLocation = Iterables.getLast(path.allTerseNodes()).end;
-    return BallPredictionUtil.get(path.getSource().serialNumber).getPredictions().stream()
-        .filter(ballPrediction -> ballPrediction.ball.time > time)
-        .findFirst()
-        .map(ballPrediction -> ballPrediction.ball.position.distance(endLocation) > 200) // Ball is more than 200 units from end point.
+    return BallPredictionUtil.get(path.getSource().serialNumber).getPredictionAfter(time)
+        .map(ballPrediction -> ballPrediction.getBall().position.distance(endLocation) > 200) // Ball is more than 200 units from end point.
         .orElse(false);
   }
 
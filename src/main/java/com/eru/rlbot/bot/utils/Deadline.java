@@ -0,0 +1,83 @@
+package com.eru.rlbot.bot.utils;
+
+import static com.eru.rlbot.bot.common.Constants.NANOS;
+
+/**
+ * A point in wall clock time by which a piece of work should be finished.
+ *
+ * <p>Planners check the {@link #current()} deadline between iterations and return the best answer they have so far
+ * once it has passed. Every check which finds the deadline passed is counted, so callers can tell whether a piece of
+ * work was cut short by comparing {@link #cutShortCount()} before and after it. The deadline is only current inside
+ * of the {@link #enter()} scope on the thread which entered it, so work on other threads, like the marking pool, is
+ * never cut short by a tick it is not part of.
+ *
+ * <pre>
+ *   try (Deadline.Scope scope = Deadline.after(tickStart, budget).enter()) {
+ *     ...
+ *   }
+ * </pre>
+ */
+public final class Deadline {
+
+  private static final Deadline NONE = new Deadline(0, false);
+
+  private static final ThreadLocal<Deadline> CURRENT = ThreadLocal.withInitial(() -> NONE);
+
+  private final long endNanos;
+  private final boolean bounded;
+
+  // Only touched by the thread which entered the deadline.
+  private int cutShortCount;
+
+  private Deadline(long endNanos, boolean bounded) {
+    this.endNanos = endNanos;
+    this.bounded = bounded;
+  }
+
+  /** Creates a deadline the given number of seconds after the given {@link System#nanoTime()}. */
+  public static Deadline after(long startNanos, double seconds) {
+    return new Deadline(startNanos + (long) (seconds * NANOS), true);
+  }
+
+  /** A deadline which never passes. */
+  public static Deadline none() {
+    return NONE;
+  }
+
+  /** Returns the deadline of the work running on this thread, or {@link #none()} if there isn't one. */
+  public static Deadline current() {
+    return CURRENT.get();
+  }
+
+  /** Makes this the current deadline until the returned scope is closed. */
+  public Scope enter() {
+    Deadline previous = CURRENT.get();
+    CURRENT.set(this);
+    return () -> CURRENT.set(previous);
+  }
+
+  /** Returns true if the deadline has passed. The caller is expected to stop and settle for what it has. */
+  public boolean isExpired() {
+    if (bounded && System.nanoTime() - endNanos >= 0) {
+      cutShortCount++;
+      return true;
+    }
+    return false;
+  }
+
+  /** Returns how many times work has stopped early for this deadline. */
+  public int cutShortCount() {
+    return cutShortCount;
+  }
+
+  /** Returns the seconds left before the deadline, which are negative once it has passed. */
+  public double remaining() {
+    return bounded ? (endNanos - System.nanoTime()) / NANOS : Double.MAX_VALUE;
+  }
+
+  /** Restores the previous deadline when closed. */
+  public interface Scope extends AutoCloseable {
+    @Override
+    void close();
+  }
+}
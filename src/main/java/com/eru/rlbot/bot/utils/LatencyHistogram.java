@@ -0,0 +1,106 @@
+package com.eru.rlbot.bot.utils;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * A lock-free histogram of durations in microseconds with log-linear buckets, in the style of HdrHistogram.
+ *
+ * <p>Every power of two range is split into 32 buckets, so a reported percentile is within ~3% of the recorded value.
+ * Recording does not allocate. Reads may run concurrently with recording and see a slightly stale view.
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 6;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+
+  // Values are clamped to ~17 minutes.
+  static final long MAX_VALUE = (1L << 30) - 1;
+  private static final int BUCKET_COUNT = bucketIndex(MAX_VALUE) + 1;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+  private final AtomicLong totalCount = new AtomicLong();
+  private final AtomicLong totalMicros = new AtomicLong();
+  private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+  /** Records a duration given in nanoseconds. */
+  public void recordNanos(long nanos) {
+    long micros = Math.min(Math.max(nanos / 1000, 0), MAX_VALUE);
+    counts.incrementAndGet(bucketIndex(micros));
+    totalCount.incrementAndGet();
+    totalMicros.addAndGet(micros);
+    maxMicros.accumulate(micros);
+  }
+
+  /** Returns the number of recorded values. */
+  public long count() {
+    return totalCount.get();
+  }
+
+  /** Returns the largest recorded value in microseconds. */
+  public long maxMicros() {
+    return maxMicros.get();
+  }
+
+  /** Returns the mean of the recorded values in microseconds. */
+  public double meanMicros() {
+    long count = totalCount.get();
+    return count == 0 ? 0 : (double) totalMicros.get() / count;
+  }
+
+  /**
+   * Returns the value in microseconds at or below which the given fraction of the recorded values fall, rounded up to
+   * the top of its bucket.
+   */
+  public long percentileMicros(double fraction) {
+    long count = totalCount.get();
+    if (count == 0) {
+      return 0;
+    }
+
+    long target = Math.max(1, (long) Math.ceil(fraction * count));
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += counts.get(i);
+      if (seen >= target) {
+        return Math.min(highestEquivalentValue(i), maxMicros());
+      }
+    }
+    return maxMicros();
+  }
+
+  /** Clears all recorded values. */
+  public void reset() {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      counts.set(i, 0);
+    }
+    totalCount.set(0);
+    totalMicros.set(0);
+    maxMicros.reset();
+  }
+
+  @VisibleForTesting
+  static int bucketIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+
+    // Shift the value down until it fits in the top half of the sub-buckets.
+    int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+    return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT + (int) (value >>> shift) - SUB_BUCKET_HALF_COUNT;
+  }
+
+  @VisibleForTesting
+  static long highestEquivalentValue(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+
+    int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1;
+    long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+    return ((subBucket + 1) << shift) - 1;
+  }
+}
@@ -0,0 +1,122 @@
+package com.eru.rlbot.bot.utils;
+
+import static com.eru.rlbot.bot.common.Constants.NANOS;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Tracks how long each stage of a bot's tick takes to compute.
+ *
+ * <p>Stages are timed by passing along the {@link System#nanoTime()} at which the stage started:
+ *
+ * <pre>
+ *   long start = System.nanoTime();
+ *   ...
+ *   start = profiler.record(Stage.PREDICTION, start);
+ *   ...
+ *   start = profiler.record(Stage.MARKING, start);
+ * </pre>
+ *
+ * <p>Recording does not allocate and may be called from any thread.
+ */
+public final class TickProfiler {
+
+  private static final Logger logger = LogManager.getLogger("TickProfiler");
+
+  private static final ConcurrentHashMap<Integer, TickProfiler> PROFILERS = new ConcurrentHashMap<>();
+
+  private static final String FOLDER_NAME = "logs/profiles/";
+
+  /** The parts of a tick which are timed. */
+  public enum Stage {
+    PREDICTION,
+    MARKING,
+    STRATEGY,
+    TACTICS,
+    RENDERING,
+    /** The whole tick. */
+    TICK
+  }
+
+  private static final Stage[] STAGES = Stage.values();
+
+  private final int serialNumber;
+  private final LatencyHistogram[] histograms = new LatencyHistogram[STAGES.length];
+
+  private TickProfiler(int serialNumber) {
+    this.serialNumber = serialNumber;
+    for (int i = 0; i < histograms.length; i++) {
+      histograms[i] = new LatencyHistogram();
+    }
+  }
+
+  /** Returns the profiler for the given bot. */
+  public static TickProfiler get(int serialNumber) {
+    return PROFILERS.computeIfAbsent(serialNumber, TickProfiler::new);
+  }
+
+  /** Records the time since the start of the given stage. Returns the current time to use as the next start. */
+  public long record(Stage stage, long startNanos) {
+    long now = System.nanoTime();
+    histograms[stage.ordinal()].recordNanos(now - startNanos);
+    return now;
+  }
+
+  /** Returns the timings for the given stage. */
+  public LatencyHistogram histogram(Stage stage) {
+    return histograms[stage.ordinal()];
+  }
+
+  /** Returns the seconds taken by the median tick. */
+  public double medianTickSeconds() {
+    return histogram(Stage.TICK).percentileMicros(.5) * 1000 / NANOS;
+  }
+
+  /** Returns a table of the stage timings in milliseconds. */
+  public String summary() {
+    StringBuilder builder = new StringBuilder(
+        String.format("%-10s %8s %8s %8s %8s %8s %8s%n", "Stage", "Count", "Mean", "p50", "p99", "p99.9", "Max"));
+    for (Stage stage : STAGES) {
+      LatencyHistogram histogram = histogram(stage);
+      builder.append(String.format("%-10s %8d %8.3f %8.3f %8.3f %8.3f %8.3f%n",
+          stage,
+          histogram.count(),
+          histogram.meanMicros() / 1000,
+          histogram.percentileMicros(.5) / 1000d,
+          histogram.percentileMicros(.99) / 1000d,
+          histogram.percentileMicros(.999) / 1000d,
+          histogram.maxMicros() / 1000d));
+    }
+    return builder.toString();
+  }
+
+  /** Writes the timings to a file and starts over. Does nothing if no ticks have been recorded. */
+  public void dump() {
+    if (histogram(Stage.TICK).count() == 0) {
+      return;
+    }
+
+    ensureFolderExists();
+    String fileName = String.format("%stick_profile_%d_%d.txt", FOLDER_NAME, serialNumber, System.currentTimeMillis());
+    try (PrintWriter printWriter = new PrintWriter(new FileWriter(fileName))) {
+      printWriter.print(summary());
+    } catch (IOException e) {
+      logger.error("Cannot write tick profile", e);
+    }
+
+    for (LatencyHistogram histogram : histograms) {
+      histogram.reset();
+    }
+  }
+
+  @SuppressWarnings("ResultOfMethodCallIgnored")
+  private static void ensureFolderExists() {
+    new File(FOLDER_NAME).mkdirs();
+  }
+}
@@ -0,0 +1,166 @@
+package com.eru.rlbot.common;
+
+import com.eru.rlbot.bot.flags.GlobalDebugOptions;
+import com.eru.rlbot.bot.prediction.BallPredictor;
+import com.eru.rlbot.common.input.BallData;
+import com.eru.rlbot.common.vector.Vector3;
+import java.util.Optional;
+import rlbot.flat.BallPrediction;
+import rlbot.flat.Physics;
+import rlbot.flat.PredictionSlice;
+
+/**
+ * The ball prediction for a single tick, decoded once and shared by every bot.
+ *
+ * <p>The first request in a tick fetches the prediction from the dll, or from the {@link BallPredictor} if
+ * {@link GlobalDebugOptions#isJavaBallPredictionEnabled()}. Requests for the same or an earlier tick reuse it. Lookups
+ * by time binary search the slice times and interpolate between the neighboring slices.
+ */
+public final class BallPredictionIndex {
+
+  // Going back further than this means the game was reset rather than a bot running a tick behind.
+  private static final float RESET_TIME = 1;
+
+  // Position, velocity and spin.
+  private static final int FLOATS_PER_SLICE = 9;
+
+  private static final Object LOCK = new Object();
+  private static volatile BallPredictionIndex latest;
+
+  private final float tickTime;
+  private final BallPrediction prediction;
+  private final float[] times;
+  private final float[] physics;
+
+  private BallPredictionIndex(float tickTime, BallPrediction prediction) {
+    this.tickTime = tickTime;
+    this.prediction = prediction;
+
+    int size = prediction.slicesLength();
+    this.times = new float[size];
+    this.physics = new float[size * FLOATS_PER_SLICE];
+    for (int i = 0; i < size; i++) {
+      PredictionSlice slice = prediction.slices(i);
+      times[i] = slice.gameSeconds();
+
+      Physics slicePhysics = slice.physics();
+      int offset = i * FLOATS_PER_SLICE;
+      put(slicePhysics.location(), offset);
+      put(slicePhysics.velocity(), offset + 3);
+      put(slicePhysics.angularVelocity(), offset + 6);
+    }
+  }
+
+  private void put(rlbot.flat.Vector3 vector, int offset) {
+    physics[offset] = vector.x();
+    physics[offset + 1] = vector.y();
+    physics[offset + 2] = vector.z();
+  }
+
+  /**
+   * Returns the prediction for the tick of the given live ball, making it if this is the first request for the tick.
+   */
+  public static Optional<BallPredictionIndex> forTick(BallData ball) {
+    float gameTime = ball.time;
+    BallPredictionIndex index = latest;
+    if (isCurrent(index, gameTime)) {
+      return Optional.of(index);
+    }
+
+    synchronized (LOCK) {
+      index = latest;
+      if (isCurrent(index, gameTime)) {
+        return Optional.of(index);
+      }
+
+      Optional<BallPrediction> prediction = GlobalDebugOptions.isJavaBallPredictionEnabled()
+          ? Optional.of(BallPredictor.makeFlatbufferPrediction(ball))
+          : DllHelper.getBallPrediction();
+      if (!prediction.isPresent()) {
+        return Optional.empty();
+      }
+
+      index = new BallPredictionIndex(gameTime, prediction.get());
+      latest = index;
+      return Optional.of(index);
+    }
+  }
+
+  /** Returns the most recently made prediction, if any. */
+  public static Optional<BallPredictionIndex> latest() {
+    return Optional.ofNullable(latest);
+  }
+
+  private static boolean isCurrent(BallPredictionIndex index, float gameTime) {
+    return index != null && gameTime <= index.tickTime && index.tickTime - gameTime < RESET_TIME;
+  }
+
+  /** Returns the raw prediction. */
+  public BallPrediction prediction() {
+    return prediction;
+  }
+
+  /** Returns the number of slices. */
+  public int size() {
+    return times.length;
+  }
+
+  /** Returns the game time of the given slice. */
+  public float timeAt(int index) {
+    return times[index];
+  }
+
+  /** Returns the index of the first slice strictly after the given time, or {@link #size()} if there is none. */
+  public int firstIndexAfter(float gameTime) {
+    int low = 0;
+    int high = times.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (times[mid] > gameTime) {
+        high = mid;
+      } else {
+        low = mid + 1;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Returns the ball at the given time, interpolated between the surrounding slices. Times outside of the prediction
+   * return the first or last slice. Returns empty if there are no slices.
+   */
+  public Optional<BallData> ballAt(float gameTime) {
+    if (times.length == 0) {
+      return Optional.empty();
+    }
+
+    int after = firstIndexAfter(gameTime);
+    if (after == 0) {
+      return Optional.of(slice(0, 0, 0));
+    } else if (after == times.length) {
+      return Optional.of(slice(times.length - 1, times.length - 1, 0));
+    }
+
+    int before = after - 1;
+    float fraction = (gameTime - times[before]) / (times[after] - times[before]);
+    return Optional.of(slice(before, after, fraction));
+  }
+
+  private BallData slice(int before, int after, float fraction) {
+    return BallData.builder()
+        .setPosition(lerp(before, after, 0, fraction))
+        .setVelocity(lerp(before, after, 3, fraction))
+        .setSpin(lerp(before, after, 6, fraction))
+        .setTime(times[before] + (times[after] - times[before]) * fraction)
+        .build();
+  }
+
+  private Vector3 lerp(int before, int after, int offset, float fraction) {
+    int a = before * FLOATS_PER_SLICE + offset;
+    int b = after * FLOATS_PER_SLICE + offset;
+    return Vector3.of(
+        physics[a] + (physics[b] - physics[a]) * fraction,
+        physics[a + 1] + (physics[b + 1] - physics[a + 1]) * fraction,
+        physics[a + 2] + (physics[b + 2] - physics[a + 2]) * fraction);
+  }
+}
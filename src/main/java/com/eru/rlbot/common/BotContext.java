@@ -0,0 +1,51 @@
+package com.eru.rlbot.common;
+
+import com.eru.rlbot.common.input.CarData;
+import com.eru.rlbot.common.jump.JumpManager;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The state a single bot carries from one tick to the next.
+ *
+ * <p>Every bot has its own context and the one for the current tick rides along on the
+ * {@link com.eru.rlbot.common.input.DataPacket}, so a tick may run on any thread, at the same time as the ticks of
+ * the other bots, without touching their state.
+ */
+public final class BotContext {
+
+  private static final ConcurrentHashMap<Integer, BotContext> CONTEXTS = new ConcurrentHashMap<>();
+
+  public final int serialNumber;
+
+  private final JumpManager jumpManager = new JumpManager();
+
+  // Compared against the next frame when it arrives.
+  private CarData nextFramePrediction;
+
+  private BotContext(int serialNumber) {
+    this.serialNumber = serialNumber;
+  }
+
+  /** Returns the context for the given bot, creating it the first time the bot is seen. */
+  public static BotContext forBot(int serialNumber) {
+    return CONTEXTS.computeIfAbsent(serialNumber, BotContext::new);
+  }
+
+  /** Returns the context for the given bot, or empty if no bot with that index runs here. */
+  public static Optional<BotContext> find(int serialNumber) {
+    return Optional.ofNullable(CONTEXTS.get(serialNumber));
+  }
+
+  public JumpManager getJumpManager() {
+    return jumpManager;
+  }
+
+  public CarData getNextFramePrediction() {
+    return nextFramePrediction;
+  }
+
+  public void setNextFramePrediction(CarData nextFramePrediction) {
+    this.nextFramePrediction = nextFramePrediction;
+  }
+}
@@ -0,0 +1,116 @@
+package com.eru.rlbot.common;
+
+import com.eru.rlbot.bot.common.Constants;
+import com.google.flatbuffers.FlatBufferBuilder;
+import java.util.List;
+import rlbot.flat.BallInfo;
+import rlbot.flat.GameInfo;
+import rlbot.flat.GameTickPacket;
+import rlbot.flat.Physics;
+import rlbot.flat.PlayerInfo;
+import rlbot.flat.Rotator;
+import rlbot.flat.TeamInfo;
+import rlbot.flat.Vector3;
+
+/**
+ * Builds stand-in {@link GameTickPacket}s from game states captured by the {@link StateLogger}.
+ *
+ * <p>Captures only record the physics of the cars and the ball, so the packets have no boost pads, dropshot tiles or
+ * touches, the score is 0-0 and the round is always active. Cars have jumped if they have no wheel contact.
+ */
+public final class CapturePackets {
+
+  // Older captures do not record boost.
+  private static final float DEFAULT_BOOST = 100;
+
+  private static final float WORLD_GRAVITY_Z = (float) -Constants.GRAVITY;
+
+  /** Returns the game state as a packet. */
+  public static GameTickPacket toPacket(GameStateProtos.GameState state) {
+    FlatBufferBuilder builder = new FlatBufferBuilder(1024);
+
+    int[] players = new int[state.getCarCount()];
+    for (int i = 0; i < players.length; i++) {
+      players[i] = player(builder, state.getCar(i));
+    }
+    int playersVector = GameTickPacket.createPlayersVector(builder, players);
+    int ball = ball(builder, state.getBall());
+    int gameInfo = gameInfo(builder, state);
+    int teamsVector = GameTickPacket.createTeamsVector(builder, new int[] {
+        TeamInfo.createTeamInfo(builder, 0, 0),
+        TeamInfo.createTeamInfo(builder, 1, 0)
+    });
+
+    GameTickPacket.startGameTickPacket(builder);
+    GameTickPacket.addPlayers(builder, playersVector);
+    GameTickPacket.addBall(builder, ball);
+    GameTickPacket.addGameInfo(builder, gameInfo);
+    GameTickPacket.addTeams(builder, teamsVector);
+    builder.finish(GameTickPacket.endGameTickPacket(builder));
+    return GameTickPacket.getRootAsGameTickPacket(builder.dataBuffer());
+  }
+
+  private static int player(FlatBufferBuilder builder, GameStateProtos.GameState.CarState car) {
+    int name = builder.createString("Capture " + car.getId());
+    int physics = physics(builder, car.getPosList(), car.getOrientationList(), car.getVelList(), car.getSpinList());
+
+    boolean hasWheelContact = car.hasHasWheelContact()
+        ? car.getHasWheelContact()
+        : car.getPos(2) < Constants.CAR_AT_REST + 5;
+    double groundSpeed = Math.hypot(car.getVel(0), car.getVel(1));
+
+    PlayerInfo.startPlayerInfo(builder);
+    PlayerInfo.addPhysics(builder, physics);
+    PlayerInfo.addHasWheelContact(builder, hasWheelContact);
+    PlayerInfo.addIsSupersonic(builder, groundSpeed > Constants.SUPER_SONIC);
+    PlayerInfo.addIsBot(builder, true);
+    PlayerInfo.addJumped(builder, !hasWheelContact);
+    PlayerInfo.addName(builder, name);
+    PlayerInfo.addTeam(builder, car.getTeam());
+    PlayerInfo.addBoost(builder, Math.round(car.hasBoost() ? car.getBoost() : DEFAULT_BOOST));
+    return PlayerInfo.endPlayerInfo(builder);
+  }
+
+  private static int ball(FlatBufferBuilder builder, GameStateProtos.GameState.BallState ball) {
+    int physics = physics(builder, ball.getPosList(), null, ball.getVelList(), ball.getSpinList());
+
+    BallInfo.startBallInfo(builder);
+    BallInfo.addPhysics(builder, physics);
+    return BallInfo.endBallInfo(builder);
+  }
+
+  private static int gameInfo(FlatBufferBuilder builder, GameStateProtos.GameState state) {
+    GameStateProtos.GameState.BallState ball = state.getBall();
+    boolean isKickoffPause = ball.getPos(0) == 0 && ball.getPos(1) == 0
+        && ball.getVel(0) == 0 && ball.getVel(1) == 0 && ball.getVel(2) == 0;
+
+    GameInfo.startGameInfo(builder);
+    GameInfo.addSecondsElapsed(builder, CaptureReader.toTime(state.getFrameId()));
+    GameInfo.addIsUnlimitedTime(builder, true);
+    GameInfo.addIsRoundActive(builder, true);
+    GameInfo.addIsKickoffPause(builder, isKickoffPause);
+    GameInfo.addWorldGravityZ(builder, WORLD_GRAVITY_Z);
+    GameInfo.addGameSpeed(builder, 1);
+    GameInfo.addFrameNum(builder, (int) state.getFrameId());
+    return GameInfo.endGameInfo(builder);
+  }
+
+  /** Structs are written inline, so they are created between the start and end of the table. */
+  private static int physics(
+      FlatBufferBuilder builder, List<Float> location, List<Float> rotation, List<Float> velocity, List<Float> spin) {
+    Physics.startPhysics(builder);
+    Physics.addLocation(builder, vector(builder, location));
+    if (rotation != null) {
+      Physics.addRotation(builder, Rotator.createRotator(builder, rotation.get(0), rotation.get(1), rotation.get(2)));
+    }
+    Physics.addVelocity(builder, vector(builder, velocity));
+    Physics.addAngularVelocity(builder, vector(builder, spin));
+    return Physics.endPhysics(builder);
+  }
+
+  private static int vector(FlatBufferBuilder builder, List<Float> values) {
+    return Vector3.createVector3(builder, values.get(0), values.get(1), values.get(2));
+  }
+
+  private CapturePackets() {}
+}
@@ -0,0 +1,101 @@
+package com.eru.rlbot.common;
+
+import com.eru.rlbot.bot.common.Constants;
+import com.eru.rlbot.common.input.BallData;
+import com.eru.rlbot.common.input.CarData;
+import com.eru.rlbot.common.input.Orientation;
+import com.eru.rlbot.common.vector.Vector3;
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.util.JsonFormat;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Reads game states written by the {@link StateLogger}, either from a capture file or the state logger log, back into
+ * bot data.
+ */
+public final class CaptureReader {
+
+  // Older captures do not record boost.
+  private static final float DEFAULT_BOOST = 100;
+
+  /** Reads every game state in the given file. */
+  public static ImmutableList<GameStateProtos.GameState> read(Path file) throws IOException {
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      return read(reader);
+    }
+  }
+
+  /** Reads the game states, one json proto per line, skipping blank lines. */
+  public static ImmutableList<GameStateProtos.GameState> read(Reader input) throws IOException {
+    BufferedReader reader = input instanceof BufferedReader ? (BufferedReader) input : new BufferedReader(input);
+    JsonFormat.Parser parser = JsonFormat.parser().ignoringUnknownFields();
+
+    ImmutableList.Builder<GameStateProtos.GameState> states = ImmutableList.builder();
+    String line;
+    while ((line = reader.readLine()) != null) {
+      if (line.trim().isEmpty()) {
+        continue;
+      }
+
+      GameStateProtos.GameState.Builder state = GameStateProtos.GameState.newBuilder();
+      parser.merge(line, state);
+      states.add(state.build());
+    }
+    return states.build();
+  }
+
+  /** Converts a frame id back to the game time. */
+  public static float toTime(long frameId) {
+    return (float) frameId / Constants.STEP_SIZE_COUNT;
+  }
+
+  /** Returns the ball in the given state. */
+  public static BallData toBall(GameStateProtos.GameState state) {
+    GameStateProtos.GameState.BallState ball = state.getBall();
+    return BallData.builder()
+        .setPosition(toVector(ball.getPosList()))
+        .setVelocity(toVector(ball.getVelList()))
+        .setSpin(toVector(ball.getSpinList()))
+        .setTime(toTime(state.getFrameId()))
+        .build();
+  }
+
+  /** Returns all of the cars in the given state. */
+  public static ImmutableList<CarData> toCars(GameStateProtos.GameState state) {
+    ImmutableList.Builder<CarData> cars = ImmutableList.builder();
+    for (GameStateProtos.GameState.CarState car : state.getCarList()) {
+      cars.add(toCar(state, car));
+    }
+    return cars.build();
+  }
+
+  /** Returns the given car from the state. */
+  public static CarData toCar(GameStateProtos.GameState state, GameStateProtos.GameState.CarState car) {
+    return CarData.builder()
+        .setPlayerIndex(car.getId())
+        .setTeam(car.getTeam())
+        .setPosition(toVector(car.getPosList()))
+        .setVelocity(toVector(car.getVelList()))
+        .setAngularVelocity(toVector(car.getSpinList()))
+        .setOrientation(
+            Orientation.convert(car.getOrientation(0), car.getOrientation(1), car.getOrientation(2)))
+        .setBoost(car.hasBoost() ? car.getBoost() : DEFAULT_BOOST)
+        .setHasWheelContact(car.hasHasWheelContact()
+            ? car.getHasWheelContact()
+            : car.getPos(2) < Constants.CAR_AT_REST + 5)
+        .setTime(toTime(state.getFrameId()))
+        .build();
+  }
+
+  private static Vector3 toVector(List<Float> values) {
+    return Vector3.of(values.get(0), values.get(1), values.get(2));
+  }
+
+  private CaptureReader() {}
+}
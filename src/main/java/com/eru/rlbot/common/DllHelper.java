@@ -6,14 +6,30 @@ import rlbot.cppinterop.RLBotDll;
 import rlbot.cppinterop.RLBotInterfaceException;
 import rlbot.flat.BallPrediction;
 import rlbot.flat.FieldInfo;
-import rlbot.flat.PredictionSlice;
 
 /**
  * Wrapper for the Dll to suppress any exceptions.
+ *
+ * <p>When headless, nothing is sent to or read from the dll. The ball prediction comes from the latest
+ * {@link BallPredictionIndex} instead.
  */
 public class DllHelper {
 
+  private static volatile boolean headless;
+
+  /** Sets whether the bot is running without the game, e.g. replaying captures. */
+  public static void setHeadless(boolean headless) {
+    DllHelper.headless = headless;
+  }
+
+  /**
+   * Returns the latest prediction from the dll. Prefer {@link #getBallPrediction(BallData)} during a tick.
+   */
   public static Optional<BallPrediction> getBallPrediction() {
+    if (headless) {
+      return BallPredictionIndex.latest().map(BallPredictionIndex::prediction);
+    }
+
     try {
       return Optional.of(RLBotDll.getBallPrediction());
     } catch (RLBotInterfaceException e) {
@@ -21,7 +37,19 @@ public class DllHelper {
     }
   }
 
+  /**
+   * Returns the prediction for the tick of the given live ball, shared with every other caller in the tick. Comes from
+   * the Java ball predictor instead of the dll if it is enabled.
+   */
+  public static Optional<BallPrediction> getBallPrediction(BallData ball) {
+    return BallPredictionIndex.forTick(ball).map(BallPredictionIndex::prediction);
+  }
+
   public static Optional<FieldInfo> getFieldInfo() {
+    if (headless) {
+      return Optional.empty();
+    }
+
     try {
       return Optional.of(RLBotDll.getFieldInfo());
     } catch (RLBotInterfaceException e) {
@@ -29,21 +57,23 @@ public class DllHelper {
     }
   }
 
+  /**
+   * Returns the predicted ball at the given game time, interpolated between prediction slices. The given live ball
+   * picks the tick. Returns the given ball if there is no prediction.
+   */
   public static BallData getPredictedBallAtTime(BallData ball, float gameTime) {
-    Optional<BallPrediction> predictionOptional = getBallPrediction();
-    if (!predictionOptional.isPresent()) {
-      return ball;
-    }
+    return BallPredictionIndex.forTick(ball)
+        .flatMap(index -> index.ballAt(gameTime))
+        .orElse(ball);
+  }
 
-    // TODO: Update this to binary search.
-    BallPrediction ballPrediction = predictionOptional.get();
-    for (int i = 0; i < ballPrediction.slicesLength(); i++) {
-      PredictionSlice predictionSlice = ballPrediction.slices(i);
-      if (predictionSlice.gameSeconds() > gameTime) {
-        return BallData.fromPredictionSlice(predictionSlice);
-      }
+  /** Sends the quick chat unless headless. */
+  public static void sendQuickChat(int playerIndex, boolean teamOnly, byte quickChatSelection) {
+    if (headless) {
+      return;
     }
-    return BallData.fromPredictionSlice(ballPrediction.slices(ballPrediction.slicesLength() - 1));
+
+    RLBotDll.sendQuickChat(playerIndex, teamOnly, quickChatSelection);
   }
 
   private DllHelper() {}
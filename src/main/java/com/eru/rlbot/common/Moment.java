@@ -86,7 +86,7 @@ public class Moment {
   }
 
   public static Moment from(BallPrediction ballToHit) {
-    return from(ballToHit.ball);
+    return from(ballToHit.getBall());
   }
 
   public static Moment from(CarData car) {
@@ -0,0 +1,257 @@
+package com.eru.rlbot.common;
+
+import com.eru.rlbot.common.vector.MutableVector3;
+import com.eru.rlbot.common.vector.Vector3;
+
+/**
+ * A double precision 3x3 matrix which is updated in place. The mutable counterpart of {@link Matrix3}.
+ *
+ * <p>Operations write into this matrix and return it so they can be chained. Products read all of their inputs before
+ * writing, so this matrix may also be one of the operands. Instances are not thread safe.
+ */
+public final class MutableMatrix3 {
+
+  // Row major.
+  private double m00, m01, m02;
+  private double m10, m11, m12;
+  private double m20, m21, m22;
+
+  /** Sets the values of this matrix row by row. */
+  public MutableMatrix3 set(
+      double m00, double m01, double m02,
+      double m10, double m11, double m12,
+      double m20, double m21, double m22) {
+
+    this.m00 = m00;
+    this.m01 = m01;
+    this.m02 = m02;
+    this.m10 = m10;
+    this.m11 = m11;
+    this.m12 = m12;
+    this.m20 = m20;
+    this.m21 = m21;
+    this.m22 = m22;
+    return this;
+  }
+
+  /** Sets this matrix to the given matrix. */
+  public MutableMatrix3 set(Matrix3 m) {
+    Vector3 a = m.row(0);
+    Vector3 b = m.row(1);
+    Vector3 c = m.row(2);
+    return set(
+        a.x, a.y, a.z,
+        b.x, b.y, b.z,
+        c.x, c.y, c.z);
+  }
+
+  /** Sets this matrix to the given matrix. */
+  public MutableMatrix3 set(MutableMatrix3 m) {
+    return set(
+        m.m00, m.m01, m.m02,
+        m.m10, m.m11, m.m12,
+        m.m20, m.m21, m.m22);
+  }
+
+  /** Sets this matrix to the identity matrix multiplied by the given value. */
+  public MutableMatrix3 setScaledIdentity(double scale) {
+    return set(
+        scale, 0, 0,
+        0, scale, 0,
+        0, 0, scale);
+  }
+
+  /** Sets the columns of this matrix to the given vectors. */
+  public MutableMatrix3 setColumns(MutableVector3 a, MutableVector3 b, MutableVector3 c) {
+    return set(
+        a.x, b.x, c.x,
+        a.y, b.y, c.y,
+        a.z, b.z, c.z);
+  }
+
+  /** Sets this to the matrix which computes the cross product with the given vector. */
+  // https://github.com/samuelpmish/RLUtilities/blob/879b5e335db2313c46db4a0cb2e89c244153492b/inc/linear_algebra/math.h#L163
+  public MutableMatrix3 setAntisym(MutableVector3 v) {
+    return set(
+        0, -v.z, v.y,
+        v.z, 0, -v.x,
+        -v.y, v.x, 0);
+  }
+
+  /** Sets this matrix to the transpose of the given matrix. */
+  public MutableMatrix3 setTranspose(MutableMatrix3 m) {
+    return set(
+        m.m00, m.m10, m.m20,
+        m.m01, m.m11, m.m21,
+        m.m02, m.m12, m.m22);
+  }
+
+  /** Sets this matrix to the product a · b. */
+  public MutableMatrix3 setProduct(MutableMatrix3 a, MutableMatrix3 b) {
+    return set(
+        a.m00 * b.m00 + a.m01 * b.m10 + a.m02 * b.m20,
+        a.m00 * b.m01 + a.m01 * b.m11 + a.m02 * b.m21,
+        a.m00 * b.m02 + a.m01 * b.m12 + a.m02 * b.m22,
+        a.m10 * b.m00 + a.m11 * b.m10 + a.m12 * b.m20,
+        a.m10 * b.m01 + a.m11 * b.m11 + a.m12 * b.m21,
+        a.m10 * b.m02 + a.m11 * b.m12 + a.m12 * b.m22,
+        a.m20 * b.m00 + a.m21 * b.m10 + a.m22 * b.m20,
+        a.m20 * b.m01 + a.m21 * b.m11 + a.m22 * b.m21,
+        a.m20 * b.m02 + a.m21 * b.m12 + a.m22 * b.m22);
+  }
+
+  /** Sets this matrix to the product aᵀ · b. */
+  public MutableMatrix3 setTransposeProduct(MutableMatrix3 a, MutableMatrix3 b) {
+    return set(
+        a.m00 * b.m00 + a.m10 * b.m10 + a.m20 * b.m20,
+        a.m00 * b.m01 + a.m10 * b.m11 + a.m20 * b.m21,
+        a.m00 * b.m02 + a.m10 * b.m12 + a.m20 * b.m22,
+        a.m01 * b.m00 + a.m11 * b.m10 + a.m21 * b.m20,
+        a.m01 * b.m01 + a.m11 * b.m11 + a.m21 * b.m21,
+        a.m01 * b.m02 + a.m11 * b.m12 + a.m21 * b.m22,
+        a.m02 * b.m00 + a.m12 * b.m10 + a.m22 * b.m20,
+        a.m02 * b.m01 + a.m12 * b.m11 + a.m22 * b.m21,
+        a.m02 * b.m02 + a.m12 * b.m12 + a.m22 * b.m22);
+  }
+
+  /** Sets this matrix to the product a · bᵀ. */
+  public MutableMatrix3 setProductTranspose(MutableMatrix3 a, MutableMatrix3 b) {
+    return set(
+        a.m00 * b.m00 + a.m01 * b.m01 + a.m02 * b.m02,
+        a.m00 * b.m10 + a.m01 * b.m11 + a.m02 * b.m12,
+        a.m00 * b.m20 + a.m01 * b.m21 + a.m02 * b.m22,
+        a.m10 * b.m00 + a.m11 * b.m01 + a.m12 * b.m02,
+        a.m10 * b.m10 + a.m11 * b.m11 + a.m12 * b.m12,
+        a.m10 * b.m20 + a.m11 * b.m21 + a.m12 * b.m22,
+        a.m20 * b.m00 + a.m21 * b.m01 + a.m22 * b.m02,
+        a.m20 * b.m10 + a.m21 * b.m11 + a.m22 * b.m12,
+        a.m20 * b.m20 + a.m21 * b.m21 + a.m22 * b.m22);
+  }
+
+  /** Scales this matrix by the given value. */
+  public MutableMatrix3 scale(double scale) {
+    return set(
+        m00 * scale, m01 * scale, m02 * scale,
+        m10 * scale, m11 * scale, m12 * scale,
+        m20 * scale, m21 * scale, m22 * scale);
+  }
+
+  /** Subtracts the given matrix from this one. */
+  public MutableMatrix3 subtract(MutableMatrix3 m) {
+    return set(
+        m00 - m.m00, m01 - m.m01, m02 - m.m02,
+        m10 - m.m10, m11 - m.m11, m12 - m.m12,
+        m20 - m.m20, m21 - m.m21, m22 - m.m22);
+  }
+
+  /** Returns the determinant of this matrix. */
+  public double determinant() {
+    return m00 * (m11 * m22 - m12 * m21)
+        - m01 * (m10 * m22 - m12 * m20)
+        + m02 * (m10 * m21 - m11 * m20);
+  }
+
+  /** Returns the sum of the main diagonal. */
+  public double trace() {
+    return m00 + m11 + m22;
+  }
+
+  /**
+   * Replaces this matrix with its inverse.
+   *
+   * @throws IllegalArgumentException if the matrix has no inverse, like {@link Matrix3#inverse()}
+   */
+  public MutableMatrix3 invert() {
+    double determinant = determinant();
+    if (determinant == 0) {
+      throw new IllegalArgumentException("There is no inverse for this matrix " + toString());
+    }
+
+    double inverseDeterminant = 1 / determinant;
+    return set(
+        (m11 * m22 - m12 * m21) * inverseDeterminant,
+        (m02 * m21 - m01 * m22) * inverseDeterminant,
+        (m01 * m12 - m02 * m11) * inverseDeterminant,
+        (m12 * m20 - m10 * m22) * inverseDeterminant,
+        (m00 * m22 - m02 * m20) * inverseDeterminant,
+        (m02 * m10 - m00 * m12) * inverseDeterminant,
+        (m10 * m21 - m11 * m20) * inverseDeterminant,
+        (m01 * m20 - m00 * m21) * inverseDeterminant,
+        (m00 * m11 - m01 * m10) * inverseDeterminant);
+  }
+
+  /** Sets result to this · (x, y, z). */
+  public MutableVector3 transform(double x, double y, double z, MutableVector3 result) {
+    return result.set(
+        m00 * x + m01 * y + m02 * z,
+        m10 * x + m11 * y + m12 * z,
+        m20 * x + m21 * y + m22 * z);
+  }
+
+  /** Sets result to this · v. The result may be v. */
+  public MutableVector3 transform(MutableVector3 v, MutableVector3 result) {
+    return transform(v.x, v.y, v.z, result);
+  }
+
+  /** Sets result to this · v. */
+  public MutableVector3 transform(Vector3 v, MutableVector3 result) {
+    return transform(v.x, v.y, v.z, result);
+  }
+
+  /** Sets result to thisᵀ · (x, y, z), which is the same as {@link Vector3#dot(Matrix3)}. */
+  public MutableVector3 transformTransposed(double x, double y, double z, MutableVector3 result) {
+    return result.set(
+        m00 * x + m10 * y + m20 * z,
+        m01 * x + m11 * y + m21 * z,
+        m02 * x + m12 * y + m22 * z);
+  }
+
+  /** Sets result to thisᵀ · v. The result may be v. */
+  public MutableVector3 transformTransposed(MutableVector3 v, MutableVector3 result) {
+    return transformTransposed(v.x, v.y, v.z, result);
+  }
+
+  /** Sets result to thisᵀ · v. */
+  public MutableVector3 transformTransposed(Vector3 v, MutableVector3 result) {
+    return transformTransposed(v.x, v.y, v.z, result);
+  }
+
+  /** Returns the value at the given row and column. */
+  public double get(int row, int column) {
+    switch (row * 3 + column) {
+      case 0:
+        return m00;
+      case 1:
+        return m01;
+      case 2:
+        return m02;
+      case 3:
+        return m10;
+      case 4:
+        return m11;
+      case 5:
+        return m12;
+      case 6:
+        return m20;
+      case 7:
+        return m21;
+      case 8:
+        return m22;
+      default:
+        throw new IllegalStateException(String.format("No index for this matrix at %d,%d", row, column));
+    }
+  }
+
+  /** Returns an immutable copy of this matrix. */
+  public Matrix3 toMatrix3() {
+    return Matrix3.of(
+        Vector3.of(m00, m01, m02),
+        Vector3.of(m10, m11, m12),
+        Vector3.of(m20, m21, m22));
+  }
+
+  @Override
+  public String toString() {
+    return String.format("[[%f,%f,%f],[%f,%f,%f],[%f,%f,%f]]", m00, m01, m02, m10, m11, m12, m20, m21, m22);
+  }
+}
@@ -0,0 +1,86 @@
+package com.eru.rlbot.common;
+
+import com.eru.rlbot.common.vector.Vector3;
+import java.util.Arrays;
+
+/**
+ * A cache key made of values rounded into buckets, so nearly identical inputs share an entry.
+ *
+ * <pre>
+ *   QuantizedKey key = QuantizedKey.builder(4)
+ *       .add(kind.ordinal())
+ *       .add(car.position, POSITION_BUCKET)
+ *       .build();
+ * </pre>
+ */
+public final class QuantizedKey {
+
+  private final long[] values;
+  private final int hash;
+
+  private QuantizedKey(long[] values) {
+    this.values = values;
+    this.hash = Arrays.hashCode(values);
+  }
+
+  /** Returns a builder sized for the expected number of values. */
+  public static Builder builder(int expectedSize) {
+    return new Builder(expectedSize);
+  }
+
+  /** Returns the bucket the value falls into. */
+  public static long bucket(double value, double bucketSize) {
+    return Math.round(value / bucketSize);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof QuantizedKey && Arrays.equals(values, ((QuantizedKey) o).values);
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(values);
+  }
+
+  /** Collects the values of a key. */
+  public static final class Builder {
+
+    private long[] values;
+    private int size;
+
+    private Builder(int expectedSize) {
+      this.values = new long[expectedSize];
+    }
+
+    /** Adds a value which is compared exactly, like an ordinal or a count. */
+    public Builder add(long value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, Math.max(4, size * 2));
+      }
+      values[size++] = value;
+      return this;
+    }
+
+    /** Adds the bucket the value falls into. */
+    public Builder add(double value, double bucketSize) {
+      return add(bucket(value, bucketSize));
+    }
+
+    /** Adds the buckets of each component of the vector. */
+    public Builder add(Vector3 vector, double bucketSize) {
+      return add(vector.x, bucketSize)
+          .add(vector.y, bucketSize)
+          .add(vector.z, bucketSize);
+    }
+
+    public QuantizedKey build() {
+      return new QuantizedKey(size == values.length ? values : Arrays.copyOf(values, size));
+    }
+  }
+}
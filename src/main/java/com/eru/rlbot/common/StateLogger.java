@@ -40,17 +40,20 @@ public class StateLogger {
   private static final long BUFFER_LENGTH = 4 * Constants.STEP_SIZE_COUNT;
   private static final ConcurrentLinkedDeque<DataPacket> dataPacketBuffer = new ConcurrentLinkedDeque<>();
 
-  private static volatile int controllingPlayer = -1;
-
-  /** Tracks the input in the buffer. */
+  /**
+   * Tracks the input in the buffer. Every bot sees the same cars and ball, so only the first bot to track a frame adds
+   * it.
+   */
   public static void track(DataPacket input) {
-    if (controllingPlayer == -1) {
-      controllingPlayer = input.car.serialNumber;
-    } else if (controllingPlayer != input.car.serialNumber) {
-      return;
-    }
-
     synchronized (dataPacketBuffer) {
+      DataPacket last = dataPacketBuffer.peekLast();
+      if (last != null && last.car.elapsedSeconds - input.car.elapsedSeconds > 1) {
+        // The game was restarted.
+        dataPacketBuffer.clear();
+      } else if (last != null && last.car.elapsedSeconds >= input.car.elapsedSeconds) {
+        return;
+      }
+
       dataPacketBuffer.add(input);
       while (dataPacketBuffer.size() > BUFFER_LENGTH) {
         dataPacketBuffer.poll();
@@ -156,6 +159,8 @@ public class StateLogger {
 
   /**
    * Converst the elapsed seconds to a frame id.
+   *
+   * @see CaptureReader#toTime(long)
    */
   private static long toFrameId(float elapsedSeconds) {
     return Math.round(elapsedSeconds * 120);
@@ -169,6 +174,8 @@ public class StateLogger {
         .addAllVel(convert(car.velocity))
         .addAllSpin(convert(car.angularVelocity))
         .addAllOrientation(convert(car.orientation))
+        .setBoost((float) car.boost)
+        .setHasWheelContact(car.hasWheelContact)
         .build();
   }
 
@@ -1,6 +1,6 @@
 package com.eru.rlbot.common.input;
 
-import java.util.ArrayList;
+import com.eru.rlbot.common.BotContext;
 import java.util.List;
 import rlbot.flat.GameInfo;
 import rlbot.flat.GameTickPacket;
@@ -32,21 +32,26 @@ public class DataPacket {
   public final GameInfo gameInfo;
   public final List<TeamInfo> teamInfos;
 
+  /**
+   * The state your bot keeps between ticks.
+   */
+  public final BotContext context;
+
   public DataPacket(GameTickPacket packet, int serialNumber) {
+    this(WorldSnapshot.decode(packet), serialNumber);
+  }
+
+  /**
+   * Takes the perspective of the given bot on a shared snapshot.
+   */
+  public DataPacket(WorldSnapshot snapshot, int serialNumber) {
     this.serialNumber = serialNumber;
-    this.ball = new BallData(packet.ball(), packet.gameInfo().secondsElapsed());
-
-    allCars = new ArrayList<>();
-    for (int i = 0; i < packet.playersLength(); i++) {
-      allCars.add(new CarData(packet.players(i), packet.gameInfo().secondsElapsed(), i));
-    }
-
-    this.gameInfo = packet.gameInfo();
-    teamInfos = new ArrayList<>();
-    for (int i = 0; i < packet.teamsLength(); i++) {
-      teamInfos.add(packet.teams(i));
-    }
+    this.ball = snapshot.ball;
+    this.allCars = snapshot.allCars;
+    this.gameInfo = snapshot.gameInfo;
+    this.teamInfos = snapshot.teamInfos;
     this.car = allCars.get(serialNumber);
     this.alliance = this.car.team;
+    this.context = BotContext.forBot(serialNumber);
   }
 }
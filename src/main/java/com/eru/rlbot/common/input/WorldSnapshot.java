@@ -0,0 +1,49 @@
+package com.eru.rlbot.common.input;
+
+import com.google.common.collect.ImmutableList;
+import rlbot.flat.GameInfo;
+import rlbot.flat.GameTickPacket;
+import rlbot.flat.TeamInfo;
+
+/**
+ * Everything in a single game tick, decoded from the packet once and shared by all of the bots. Each bot takes its
+ * own perspective with {@link #forBot(int)}.
+ */
+public final class WorldSnapshot {
+
+  public final int frameNum;
+  public final GameTickPacket packet;
+  public final GameInfo gameInfo;
+  public final BallData ball;
+  public final ImmutableList<CarData> allCars;
+  public final ImmutableList<TeamInfo> teamInfos;
+
+  private WorldSnapshot(GameTickPacket packet) {
+    this.packet = packet;
+    this.gameInfo = packet.gameInfo();
+    this.frameNum = gameInfo.frameNum();
+    this.ball = new BallData(packet.ball(), gameInfo.secondsElapsed());
+
+    ImmutableList.Builder<CarData> cars = ImmutableList.builder();
+    for (int i = 0; i < packet.playersLength(); i++) {
+      cars.add(new CarData(packet.players(i), gameInfo.secondsElapsed(), i));
+    }
+    this.allCars = cars.build();
+
+    ImmutableList.Builder<TeamInfo> teams = ImmutableList.builder();
+    for (int i = 0; i < packet.teamsLength(); i++) {
+      teams.add(packet.teams(i));
+    }
+    this.teamInfos = teams.build();
+  }
+
+  /** Decodes the given packet. */
+  public static WorldSnapshot decode(GameTickPacket packet) {
+    return new WorldSnapshot(packet);
+  }
+
+  /** Returns the data from the perspective of the given bot. */
+  public DataPacket forBot(int serialNumber) {
+    return new DataPacket(this, serialNumber);
+  }
+}
@@ -1,9 +1,11 @@
 package com.eru.rlbot.common.jump;
 
 import com.eru.rlbot.bot.common.Constants;
+import com.eru.rlbot.common.BotContext;
 import com.eru.rlbot.common.input.CarData;
 import com.eru.rlbot.common.input.DataPacket;
 import com.eru.rlbot.common.output.Controls;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -28,8 +30,6 @@ public class JumpManager {
   public static final float FLIP_Z_FALL = -15; // uu/s
   public static final float GROUND_CONTACT_TIME = 3f / Constants.STEP_SIZE_COUNT;
 
-  private static ThreadLocal<JumpManager> INSTANCE = ThreadLocal.withInitial(JumpManager::new);
-
   private int jumpPressed;
   private float firstJumpTime;
   private float secondJumpTime;
@@ -44,6 +44,9 @@ public class JumpManager {
   // Updated each cycle
   private volatile CarData inputCar;
 
+  // Cars which aren't bots running here, so their state is only known from the packets.
+  private static final ConcurrentHashMap<Integer, JumpManager> OBSERVED = new ConcurrentHashMap<>();
+
   public static JumpManager forCar(CarData car) {
     if (!car.isLiveData) {
       throw new IllegalStateException("Not supported for non-live data");
@@ -53,8 +56,20 @@ public class JumpManager {
   }
 
   private static JumpManager get(CarData car) {
-    // TODO: Does this work?
-    return INSTANCE.get();
+    return BotContext.find(car.serialNumber)
+        .map(BotContext::getJumpManager)
+        .orElseGet(() -> observe(car));
+  }
+
+  /** Returns the jump state of a car which isn't a bot, as far as can be told without its controls. */
+  private static JumpManager observe(CarData car) {
+    JumpManager jumpManager = OBSERVED.computeIfAbsent(car.serialNumber, serialNumber -> new JumpManager());
+    synchronized (jumpManager) {
+      if (jumpManager.inputCar == null || jumpManager.inputCar.elapsedSeconds < car.elapsedSeconds) {
+        jumpManager.trackInput(car);
+      }
+    }
+    return jumpManager;
   }
 
   public static JumpManager copyForCar(CarData car) {
@@ -78,7 +93,7 @@ public class JumpManager {
   }
 
   public static void trackInput(DataPacket input) {
-    forCar(input.car).trackInput(input.car);
+    input.context.getJumpManager().trackInput(input.car);
   }
 
   public void trackInput(CarData car) {
@@ -105,7 +120,7 @@ public class JumpManager {
   }
 
   public static void trackOutput(DataPacket input, Controls output) {
-    forCar(input.car).trackOutput(input.car, output);
+    input.context.getJumpManager().trackOutput(input.car, output);
   }
 
   public void trackOutput(CarData car, Controls output) {
@@ -0,0 +1,105 @@
+package com.eru.rlbot.common.vector;
+
+/**
+ * A double precision 3d vector which is updated in place.
+ *
+ * <p>Meant for scratch values in hot loops where a new {@link Vector3} for every intermediate result adds up to a lot
+ * of garbage. Operations write into this vector and return it so they can be chained. Instances are not thread safe.
+ */
+public final class MutableVector3 {
+
+  public double x;
+  public double y;
+  public double z;
+
+  /** Sets the components of this vector. */
+  public MutableVector3 set(double x, double y, double z) {
+    this.x = x;
+    this.y = y;
+    this.z = z;
+    return this;
+  }
+
+  /** Sets this vector to the given vector. */
+  public MutableVector3 set(Vector3 v) {
+    return set(v.x, v.y, v.z);
+  }
+
+  /** Sets this vector to the given vector. */
+  public MutableVector3 set(MutableVector3 v) {
+    return set(v.x, v.y, v.z);
+  }
+
+  /** Adds the given vector to this one. */
+  public MutableVector3 add(MutableVector3 v) {
+    return set(x + v.x, y + v.y, z + v.z);
+  }
+
+  /** Adds the given vector to this one. */
+  public MutableVector3 add(Vector3 v) {
+    return set(x + v.x, y + v.y, z + v.z);
+  }
+
+  /** Adds the given vector multiplied by scale to this one. */
+  public MutableVector3 addScaled(MutableVector3 v, double scale) {
+    return set(x + v.x * scale, y + v.y * scale, z + v.z * scale);
+  }
+
+  /** Subtracts the given vector from this one. */
+  public MutableVector3 subtract(MutableVector3 v) {
+    return set(x - v.x, y - v.y, z - v.z);
+  }
+
+  /** Subtracts the given vector from this one. */
+  public MutableVector3 subtract(Vector3 v) {
+    return set(x - v.x, y - v.y, z - v.z);
+  }
+
+  /** Scales this vector by the given value. */
+  public MutableVector3 scale(double scale) {
+    return set(x * scale, y * scale, z * scale);
+  }
+
+  /** Sets this vector to the cross product of a and b. Either may be this vector. */
+  public MutableVector3 setCross(MutableVector3 a, MutableVector3 b) {
+    return set(
+        a.y * b.z - a.z * b.y,
+        a.z * b.x - a.x * b.z,
+        a.x * b.y - a.y * b.x);
+  }
+
+  /** Returns the dot-product of this vector with the given vector. */
+  public double dot(MutableVector3 v) {
+    return x * v.x + y * v.y + z * v.z;
+  }
+
+  /** Returns the dot-product of this vector with the given vector. */
+  public double dot(Vector3 v) {
+    return x * v.x + y * v.y + z * v.z;
+  }
+
+  /** Returns magnitude of the vector. */
+  public double magnitude() {
+    return Math.sqrt(x * x + y * y + z * z);
+  }
+
+  /** Scales this vector to length 1, leaving the zero vector as is. */
+  public MutableVector3 normalizeOrZero() {
+    return isZero() ? this : scale(1 / magnitude());
+  }
+
+  /** Returns true if this vector is the zero vector. */
+  public boolean isZero() {
+    return x == 0 && y == 0 && z == 0;
+  }
+
+  /** Returns an immutable copy of this vector. */
+  public Vector3 toVector3() {
+    return Vector3.of(x, y, z);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("[%f,%f,%f]", x, y, z);
+  }
+}
@@ -13,17 +13,18 @@ import com.eru.rlbot.common.vector.Vector3;
  */
 public final class PowerSlideTestRig {
 
-  private static final float SPEED_INCREMENT = 100;
-  private static final int HOLD_TICKS_INCREMENT = 1;
-  private static final float STEER_INCREMENT = .2f;
+  // Sweeps the grid of the drift table. See DriftTableBuilder for turning the captures into the table.
+  private static final float SPEED_INCREMENT = 250;
+  private static final int HOLD_TICKS_INCREMENT = 5;
+  private static final float STEER_INCREMENT = .25f;
 
-  private static final float minSpeed = 2000;
+  private static final float minSpeed = 500;
   private static final int minHoldTicks = 0;
   private static final float maxSteeringAngle = 1;
 
-  private static final float maxSpeed = 2000;
+  private static final float maxSpeed = 2250;
   private static final int maxHoldTicks = 100;
-  private static final float minSteeringAngle = 1;
+  private static final float minSteeringAngle = .25f;
 
   private static float lastSpeed = maxSpeed;
   private static int lastHoldTicks = minHoldTicks;
@@ -9,17 +9,11 @@ import com.eru.rlbot.common.ScenarioProtos.Suite;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.flatbuffers.FlatBufferBuilder;
-import com.google.protobuf.util.JsonFormat;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Point;
 import java.awt.event.ActionEvent;
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
@@ -56,6 +50,8 @@ import rlbot.render.Renderer;
  *
  * <p>Executing a suite will start a loop through each scenario which is turned on. Each Scenario will be run in series.
  * Once each scenario is run, the suite will be restarted.
+ *
+ * <p>To run a suite without the game, use the {@link SuiteRunner}.
  */
 public class EvalGui {
 
@@ -901,49 +897,30 @@ public class EvalGui {
   }
 
   public static void readFromFile() {
-    String folderName = "eval/library/";
-    ensureFolderExists(folderName);
-    String fileName = folderName + FILE_NAME + ".dat";
-
-    try (BufferedReader reader = new BufferedReader(new FileReader(fileName))) {
-      ScenarioProtos.EvalLibrary.Builder builder = ScenarioProtos.EvalLibrary.newBuilder();
-      JsonFormat.parser().merge(reader, builder);
-
-      builder.getScenariosList().forEach(scenario -> scenarioLibrary.put(scenario.getId(), scenario));
-      builder.getSuitesList().forEach(suite -> suiteLibrary.put(suite.getId(), suite));
+    try {
+      ScenarioProtos.EvalLibrary evalLibrary = EvalLibraryFile.read(EvalLibraryFile.DEFAULT_FILE_NAME);
+      evalLibrary.getScenariosList().forEach(scenario -> scenarioLibrary.put(scenario.getId(), scenario));
+      evalLibrary.getSuitesList().forEach(suite -> suiteLibrary.put(suite.getId(), suite));
     } catch (IOException e) {
       e.printStackTrace();
     }
   }
 
-  private static final String FILE_NAME = "eval_library";
-  private static final JsonFormat.Printer JSON_PRINTER = JsonFormat.printer()
-      .includingDefaultValueFields()
-      .preservingProtoFieldNames()
-      .omittingInsignificantWhitespace();
-
   private static void writeToFile() {
-    String folderName = "eval/library/";
-    ensureFolderExists(folderName);
-    String fileName = folderName + FILE_NAME + ".dat";
-
-    ScenarioProtos.EvalLibrary evalLibrary = ScenarioProtos.EvalLibrary.newBuilder()
-        .addAllScenarios(scenarioLibrary.values())
-        .addAllSuites(suiteLibrary.values())
-        .build();
-
-    try (PrintWriter printWriter = new PrintWriter(new FileWriter(fileName))) {
-      printWriter.append(JSON_PRINTER.print(evalLibrary));
+    try {
+      // Keep the history, which may have been added to by the suite runner.
+      ScenarioProtos.EvalLibrary evalLibrary = EvalLibraryFile.read(EvalLibraryFile.DEFAULT_FILE_NAME).toBuilder()
+          .clearScenarios()
+          .addAllScenarios(scenarioLibrary.values())
+          .clearSuites()
+          .addAllSuites(suiteLibrary.values())
+          .build();
+      EvalLibraryFile.write(EvalLibraryFile.DEFAULT_FILE_NAME, evalLibrary);
     } catch (IOException e) {
       log2Console.error("Cannot write state", e);
     }
   }
 
-  @SuppressWarnings("ResultOfMethodCallIgnored")
-  private static void ensureFolderExists(String folderName) {
-    new File(folderName).mkdirs();
-  }
-
   private static class EvalRenderer extends Renderer {
 
     // The offset in render group index to not collide with the cars.
@@ -0,0 +1,63 @@
+package com.eru.rlbot.testing.eval;
+
+import com.eru.rlbot.common.ScenarioProtos;
+import com.google.protobuf.util.JsonFormat;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Reads and writes the {@link ScenarioProtos.EvalLibrary} shared by the {@link EvalGui} and the {@link SuiteRunner}.
+ */
+final class EvalLibraryFile {
+
+  static final String DEFAULT_FILE_NAME = "eval/library/eval_library.dat";
+
+  private static final JsonFormat.Printer JSON_PRINTER = JsonFormat.printer()
+      .includingDefaultValueFields()
+      .preservingProtoFieldNames()
+      .omittingInsignificantWhitespace();
+
+  /** Reads the library, or returns an empty one if there is no file yet. */
+  static ScenarioProtos.EvalLibrary read(String fileName) throws IOException {
+    File file = new File(fileName);
+    if (!file.exists()) {
+      return ScenarioProtos.EvalLibrary.getDefaultInstance();
+    }
+
+    try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+      ScenarioProtos.EvalLibrary.Builder builder = ScenarioProtos.EvalLibrary.newBuilder();
+      JsonFormat.parser().merge(reader, builder);
+      return builder.build();
+    }
+  }
+
+  /** Writes the library, replacing the file. */
+  static void write(String fileName, ScenarioProtos.EvalLibrary library) throws IOException {
+    ensureFolderExists(new File(fileName).getParentFile());
+    try (PrintWriter printWriter = new PrintWriter(new FileWriter(fileName))) {
+      printWriter.append(JSON_PRINTER.print(library));
+    }
+  }
+
+  /** Adds the results to the history in the file, keeping everything else in the file as it is. */
+  static synchronized void appendHistory(String fileName, Iterable<ScenarioProtos.HistoricalEntry> results)
+      throws IOException {
+    ScenarioProtos.EvalLibrary library = read(fileName);
+    write(fileName, library.toBuilder()
+        .addAllHistory(results)
+        .build());
+  }
+
+  @SuppressWarnings("ResultOfMethodCallIgnored")
+  private static void ensureFolderExists(File folder) {
+    if (folder != null) {
+      folder.mkdirs();
+    }
+  }
+
+  private EvalLibraryFile() {}
+}
@@ -0,0 +1,135 @@
+package com.eru.rlbot.testing.eval;
+
+import com.eru.rlbot.bot.common.Constants;
+import com.eru.rlbot.bot.common.Goal;
+import com.eru.rlbot.bot.flags.PerBotDebugOptions;
+import com.eru.rlbot.bot.main.ApolloGuidanceComputer;
+import com.eru.rlbot.bot.main.Telemetry;
+import com.eru.rlbot.bot.prediction.BallPredictor;
+import com.eru.rlbot.bot.prediction.CarBallCollision;
+import com.eru.rlbot.common.CapturePackets;
+import com.eru.rlbot.common.GameStateProtos;
+import com.eru.rlbot.common.ScenarioProtos;
+import com.eru.rlbot.common.input.BallData;
+import com.eru.rlbot.common.vector.Vector3;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import rlbot.ControllerState;
+import rlbot.flat.GameTickPacket;
+
+/**
+ * Plays a scenario without the game, with the bot driving every car in a {@link SimulatedCar} and the ball moved by
+ * the {@link BallPredictor}.
+ *
+ * <p>A scenario passes if the ball goes into the goal of the first car's opponents before it times out. Scoring an own
+ * goal or timing out fails.
+ */
+final class ScenarioSimulation {
+
+  // Used when a scenario has no time out set.
+  private static final int DEFAULT_TIME_OUT_MS = 10_000;
+
+  private final ScenarioProtos.Scenario scenario;
+  private final List<SimulatedCar> cars = new ArrayList<>();
+  private final List<ApolloGuidanceComputer> rockets = new ArrayList<>();
+  private final Telemetry telemetry = new Telemetry();
+
+  private BallData ball;
+  private float time;
+
+  /**
+   * Sets up the scenario at the given game time. Successive scenarios in the same JVM should start at later times, so
+   * the bot doesn't mistake them for a continuation of the previous one.
+   */
+  ScenarioSimulation(ScenarioProtos.Scenario scenario, float startTime) {
+    this.scenario = scenario;
+    this.time = startTime;
+
+    for (int i = 0; i < scenario.getCarCount(); i++) {
+      ScenarioProtos.Scenario.CarState car = scenario.getCar(i);
+      cars.add(new SimulatedCar(i, car));
+
+      PerBotDebugOptions options = PerBotDebugOptions.get(i);
+      options.setImmobilizeCar(false);
+      options.setRenderLines(false);
+      options.setRenderDebugText(false);
+      rockets.add(ApolloGuidanceComputer.createHeadless(i, "Eval " + i, car.getTeam(), telemetry));
+    }
+
+    ScenarioProtos.Scenario.BallState ballState = scenario.getBall();
+    this.ball = BallData.builder()
+        .setPosition(toVector(ballState.getPosList()))
+        .setVelocity(toVector(ballState.getVelList()))
+        .setSpin(ballState.getSpinCount() < 3 ? Vector3.zero() : toVector(ballState.getSpinList()))
+        .setTime(startTime)
+        .build();
+  }
+
+  /** Runs the scenario to the end, returning true if it passed. */
+  boolean run() {
+    if (cars.isEmpty()) {
+      return false;
+    }
+
+    int timeOutMs = scenario.getTimeOutMs() > 0 ? scenario.getTimeOutMs() : DEFAULT_TIME_OUT_MS;
+    int frames = timeOutMs * Constants.STEP_SIZE_COUNT / 1000;
+    float goalY = Goal.opponentGoal(cars.get(0).team).center.y;
+
+    for (int frame = 0; frame < frames; frame++) {
+      step();
+
+      if (Math.abs(ball.position.y) > Constants.HALF_LENGTH + Constants.BALL_RADIUS) {
+        return Math.signum(ball.position.y) == Math.signum(goalY);
+      }
+    }
+    return false;
+  }
+
+  /** Gets the controls from each bot and moves everything forward one step. */
+  private void step() {
+    GameTickPacket packet = CapturePackets.toPacket(toGameState());
+
+    ImmutableList.Builder<ControllerState> controls = ImmutableList.builder();
+    for (ApolloGuidanceComputer rocket : rockets) {
+      controls.add(rocket.processInput(packet));
+    }
+
+    ImmutableList<ControllerState> allControls = controls.build();
+    time += Constants.STEP_SIZE;
+    for (int i = 0; i < cars.size(); i++) {
+      cars.get(i).step(allControls.get(i), time);
+    }
+
+    ball = BallPredictor.step(ball);
+    for (SimulatedCar car : cars) {
+      ball = CarBallCollision.calculateCollision(ball, car.toCarData(time));
+    }
+  }
+
+  private GameStateProtos.GameState toGameState() {
+    GameStateProtos.GameState.Builder state = GameStateProtos.GameState.newBuilder()
+        .setFrameId(Math.round(time * Constants.STEP_SIZE_COUNT))
+        .setBall(GameStateProtos.GameState.BallState.newBuilder()
+            .addAllPos(toList(ball.position))
+            .addAllVel(toList(ball.velocity))
+            .addAllSpin(toList(ball.spin)));
+    for (SimulatedCar car : cars) {
+      state.addCar(car.toCarState());
+    }
+    return state.build();
+  }
+
+  /** Returns the game time the scenario has reached. */
+  float getTime() {
+    return time;
+  }
+
+  private static Vector3 toVector(List<Float> values) {
+    return Vector3.of(values.get(0), values.get(1), values.get(2));
+  }
+
+  private static ImmutableList<Float> toList(Vector3 vector) {
+    return ImmutableList.of(vector.x, vector.y, vector.z);
+  }
+}
@@ -0,0 +1,255 @@
+package com.eru.rlbot.testing.eval;
+
+import com.eru.rlbot.bot.common.Accels;
+import com.eru.rlbot.bot.common.Angles3;
+import com.eru.rlbot.bot.common.Constants;
+import com.eru.rlbot.bot.prediction.CarBallCollision;
+import com.eru.rlbot.common.GameStateProtos;
+import com.eru.rlbot.common.ScenarioProtos;
+import com.eru.rlbot.common.input.CarData;
+import com.eru.rlbot.common.input.Orientation;
+import com.eru.rlbot.common.jump.JumpManager;
+import com.eru.rlbot.common.vector.Vector3;
+import com.google.common.collect.ImmutableList;
+import rlbot.ControllerState;
+import rlbot.gamestate.DesiredRotation;
+
+/**
+ * A rough model of a car, good enough to run scenarios without the game.
+ *
+ * <p>On the ground the car drives along its nose without sliding, turning at the {@link Constants#curvature(double)}
+ * for its speed. In the air it follows gravity, boost and the aerial control model from {@link Angles3}. Jumps,
+ * held jumps and dodges are included. Walls and the ceiling are not driveable: the car stops at them.
+ */
+final class SimulatedCar {
+
+  private static final double DODGE_TIME = 1.25;
+  private static final double WALL_MARGIN = Constants.CAR_LENGTH / 2;
+
+  final int serialNumber;
+  final int team;
+
+  private Vector3 position;
+  private Vector3 velocity;
+  private Vector3 angularVelocity;
+  private Orientation orientation;
+  private double boost;
+  private boolean hasWheelContact;
+  private boolean jumped;
+  private boolean doubleJumped;
+  private boolean jumpHeld;
+  private float jumpTime;
+
+  SimulatedCar(int serialNumber, ScenarioProtos.Scenario.CarState car) {
+    this.serialNumber = serialNumber;
+    this.team = car.getTeam();
+    this.position = Vector3.of(car.getPos(0), car.getPos(1), car.getPos(2));
+    this.velocity = Vector3.of(car.getVel(0), car.getVel(1), car.getVel(2));
+    this.angularVelocity = car.getSpinCount() < 3
+        ? Vector3.zero()
+        : Vector3.of(car.getSpin(0), car.getSpin(1), car.getSpin(2));
+    this.orientation = Orientation.convert(car.getOrientation(0), car.getOrientation(1), car.getOrientation(2));
+    this.boost = car.getBoost();
+    this.hasWheelContact = position.z < Constants.CAR_AT_REST + 5;
+  }
+
+  /** Advances the car by one step with the given controls. */
+  void step(ControllerState controls, float time) {
+    boolean jumpPressed = controls.holdJump() && !jumpHeld;
+    jumpHeld = controls.holdJump();
+
+    boolean boosting = controls.holdBoost() && boost > 0;
+    if (boosting) {
+      boost = Math.max(0, boost - Constants.BOOST_RATE * Constants.STEP_SIZE);
+    }
+
+    if (hasWheelContact) {
+      drive(controls, boosting);
+      if (jumpPressed) {
+        velocity = velocity.plus(orientation.getRoofVector().multiply(Constants.JUMP_VELOCITY_INSTANT));
+        hasWheelContact = false;
+        jumped = true;
+        jumpTime = time;
+      }
+    } else {
+      fly(controls, boosting, jumpPressed, time);
+    }
+
+    position = position.plus(velocity.multiply(Constants.STEP_SIZE));
+    stayInArena();
+  }
+
+  private void drive(ControllerState controls, boolean boosting) {
+    Vector3 nose = orientation.getNoseVector().flat().normalizeOrZero();
+    if (nose.isZero()) {
+      nose = Vector3.of(1, 0, 0);
+    }
+    double speed = velocity.dot(nose);
+
+    double acceleration;
+    if (boosting) {
+      acceleration = Accels.acceleration(Math.abs(speed)) + Constants.BOOSTED_ACCELERATION;
+    } else if (controls.getThrottle() == 0) {
+      acceleration = -Math.signum(speed)
+          * Math.min(Constants.COASTING_DECELERATION, Math.abs(speed) / Constants.STEP_SIZE);
+    } else if (speed * controls.getThrottle() < 0) {
+      acceleration = Math.signum(controls.getThrottle()) * Constants.BREAKING_DECELERATION;
+    } else {
+      acceleration = controls.getThrottle() * Accels.acceleration(Math.abs(speed));
+    }
+    speed = clamp(speed + acceleration * Constants.STEP_SIZE, Constants.BOOSTED_MAX_SPEED);
+
+    double yawRate = controls.getSteer() * Constants.curvature(Math.abs(speed)) * speed;
+    double yaw = Math.atan2(nose.y, nose.x) + yawRate * Constants.STEP_SIZE;
+
+    orientation = Orientation.convert(0, yaw, 0);
+    velocity = orientation.getNoseVector().multiply(speed);
+    angularVelocity = Vector3.of(0, 0, yawRate);
+  }
+
+  private void fly(ControllerState controls, boolean boosting, boolean jumpPressed, float time) {
+    velocity = velocity.addZ(Constants.NEG_GRAVITY * Constants.STEP_SIZE);
+    if (boosting) {
+      velocity = velocity.plus(
+          orientation.getNoseVector().multiply(Constants.BOOSTED_ACCELERATION * Constants.STEP_SIZE));
+    }
+
+    float sinceJump = time - jumpTime;
+    if (jumped && !doubleJumped && jumpHeld && sinceJump < Constants.JUMP_HOLD_TIME) {
+      velocity = velocity.plus(
+          orientation.getRoofVector().multiply(Constants.JUMP_ACCELERATION_HELD * Constants.STEP_SIZE));
+    } else if (jumpPressed && !doubleJumped && sinceJump < DODGE_TIME) {
+      doubleJumped = true;
+      double pitch = controls.getPitch();
+      double yawRoll = controls.getYaw() + controls.getRoll();
+      if (pitch == 0 && yawRoll == 0) {
+        velocity = velocity.plus(orientation.getRoofVector().multiply(Constants.JUMP_VELOCITY_INSTANT));
+      } else {
+        velocity = velocity.plus(
+            Accels.flipImpulse(orientation, velocity, pitch, controls.getYaw(), controls.getRoll()));
+        // The whole flip acceleration at once.
+        angularVelocity = angularVelocity.plus(
+            Accels.flipAngularAcceleration(orientation, pitch, controls.getYaw(), controls.getRoll())
+                .multiply(JumpManager.FLIP_ACCELERATION_TICKS * Constants.STEP_SIZE));
+      }
+    }
+
+    rotate(controls);
+    if (velocity.magnitude() > Constants.BOOSTED_MAX_SPEED) {
+      velocity = velocity.toMagnitude(Constants.BOOSTED_MAX_SPEED);
+    }
+  }
+
+  /** Applies the aerial controls and damping in the car's local frame. */
+  private void rotate(ControllerState controls) {
+    Vector3 nose = orientation.getNoseVector();
+    Vector3 side = orientation.getRightVector();
+    Vector3 roof = orientation.getRoofVector();
+
+    double rollRate = angularVelocity.dot(nose);
+    double pitchRate = angularVelocity.dot(side);
+    double yawRate = angularVelocity.dot(roof);
+
+    double rollAcceleration = Angles3.ROLL_ACCELERATION * controls.getRoll() + Angles3.ROLL_DAMPEN * rollRate;
+    double pitchAcceleration = Angles3.PITCH_ACCELERATION * controls.getPitch()
+        + Angles3.PITCH_DAMPEN * pitchRate * (1 - Math.abs(controls.getPitch()));
+    double yawAcceleration = Angles3.YAW_ACCELERATION * controls.getYaw()
+        + Angles3.YAW_DAMPEN * yawRate * (1 - Math.abs(controls.getYaw()));
+
+    angularVelocity = angularVelocity
+        .plus(nose.multiply(rollAcceleration * Constants.STEP_SIZE))
+        .plus(side.multiply(pitchAcceleration * Constants.STEP_SIZE))
+        .plus(roof.multiply(yawAcceleration * Constants.STEP_SIZE));
+    if (angularVelocity.magnitude() > Constants.MAX_ANGULAR_VELOCITY) {
+      angularVelocity = angularVelocity.toMagnitude(Constants.MAX_ANGULAR_VELOCITY);
+    }
+
+    Orientation rotated = Orientation.fromOrientationMatrix(
+        CarBallCollision.antisym(angularVelocity)
+            .dot(orientation.getOrientationMatrix())
+            .multiply(Constants.STEP_SIZE)
+            .plus(orientation.getOrientationMatrix()));
+
+    // Keep the axes orthonormal.
+    Vector3 newNose = rotated.getNoseVector().normalize();
+    Vector3 newRoof = rotated.getRoofVector();
+    newRoof = newRoof.minus(newNose.multiply(newRoof.dot(newNose))).normalize();
+    orientation = Orientation.noseRoof(newNose, newRoof);
+  }
+
+  private void stayInArena() {
+    if (position.z <= Constants.CAR_AT_REST) {
+      position = position.setZ(Constants.CAR_AT_REST);
+      if (!hasWheelContact) {
+        land();
+      }
+    } else if (position.z > Constants.FIELD_HEIGHT - WALL_MARGIN) {
+      position = position.setZ(Constants.FIELD_HEIGHT - WALL_MARGIN);
+      velocity = velocity.setZ(Math.min(0, velocity.z));
+    }
+
+    double maxX = Constants.HALF_WIDTH - WALL_MARGIN;
+    if (Math.abs(position.x) > maxX) {
+      position = position.setX(Math.signum(position.x) * maxX);
+      velocity = velocity.setX(0);
+    }
+
+    double maxY = Constants.HALF_LENGTH - WALL_MARGIN;
+    if (Math.abs(position.y) > maxY) {
+      position = position.setY(Math.signum(position.y) * maxY);
+      velocity = velocity.setY(0);
+    }
+  }
+
+  private void land() {
+    Vector3 nose = orientation.getNoseVector().flat().normalizeOrZero();
+    double yaw = nose.isZero() ? 0 : Math.atan2(nose.y, nose.x);
+
+    orientation = Orientation.convert(0, yaw, 0);
+    velocity = velocity.setZ(0);
+    angularVelocity = Vector3.zero();
+    hasWheelContact = true;
+    jumped = false;
+    doubleJumped = false;
+  }
+
+  /** Returns the car in the form recorded by the state logger. */
+  GameStateProtos.GameState.CarState toCarState() {
+    DesiredRotation rotation = orientation.toEuclidianVector();
+    return GameStateProtos.GameState.CarState.newBuilder()
+        .setId(serialNumber)
+        .setTeam(team)
+        .addAllPos(toList(position))
+        .addAllVel(toList(velocity))
+        .addAllSpin(toList(angularVelocity))
+        .addAllOrientation(ImmutableList.of(rotation.pitch, rotation.yaw, rotation.roll))
+        .setBoost((float) boost)
+        .setHasWheelContact(hasWheelContact)
+        .build();
+  }
+
+  /** Returns the car as bot data at the given time. */
+  CarData toCarData(float time) {
+    return CarData.builder()
+        .setPlayerIndex(serialNumber)
+        .setTeam(team)
+        .setPosition(position)
+        .setVelocity(velocity)
+        .setAngularVelocity(angularVelocity)
+        .setOrientation(orientation)
+        .setBoost(boost)
+        .setHasWheelContact(hasWheelContact)
+        .setJumped(jumped)
+        .setDoubleJumped(doubleJumped)
+        .setTime(time)
+        .build();
+  }
+
+  private static ImmutableList<Float> toList(Vector3 vector) {
+    return ImmutableList.of(vector.x, vector.y, vector.z);
+  }
+
+  private static double clamp(double value, double max) {
+    return Math.max(-max, Math.min(max, value));
+  }
+}
@@ -0,0 +1,221 @@
+package com.eru.rlbot.testing.eval;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+import com.eru.rlbot.bot.flags.GlobalDebugOptions;
+import com.eru.rlbot.common.DllHelper;
+import com.eru.rlbot.common.ScenarioProtos;
+import com.eru.rlbot.common.ScenarioProtos.Scenario;
+import com.eru.rlbot.common.ScenarioProtos.Suite;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Runs a suite from the eval library on the command line, without the game.
+ *
+ * <p>Each scenario is played in a {@link ScenarioSimulation} as fast as the bot can compute. The bot keeps its state
+ * in statics, so scenarios can't share a JVM concurrently. Instead, the scenarios are split between worker JVMs, one
+ * per core, and each worker plays its share in series. The results are appended to the history of the library. Usage:
+ *
+ * <pre>
+ *   SuiteRunner [--library=eval/library/eval_library.dat] [--workers=N] suite-id-or-name
+ * </pre>
+ *
+ * <p>Exits with 1 if any scenario fails.
+ */
+public final class SuiteRunner {
+
+  private static final String WORKER_FLAG = "--worker";
+  private static final String RESULT_PREFIX = "RESULT ";
+
+  // Leave a gap between scenarios so the bot sees each one as a new situation.
+  private static final float SCENARIO_GAP = 10;
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+    String libraryFile = EvalLibraryFile.DEFAULT_FILE_NAME;
+    int workers = Runtime.getRuntime().availableProcessors();
+    boolean isWorker = false;
+    List<String> positional = new ArrayList<>();
+    for (String arg : args) {
+      if (arg.startsWith("--library=")) {
+        libraryFile = arg.substring("--library=".length());
+      } else if (arg.startsWith("--workers=")) {
+        workers = Integer.parseInt(arg.substring("--workers=".length()));
+      } else if (arg.equals(WORKER_FLAG)) {
+        isWorker = true;
+      } else {
+        positional.add(arg);
+      }
+    }
+
+    ScenarioProtos.EvalLibrary library = EvalLibraryFile.read(libraryFile);
+    if (isWorker) {
+      runWorker(library, positional);
+      return;
+    }
+
+    if (positional.size() != 1) {
+      System.out.println("Usage: SuiteRunner [--library=<file>] [--workers=N] suite-id-or-name");
+      return;
+    }
+
+    Suite suite = findSuite(library, positional.get(0));
+    if (suite == null) {
+      System.out.println("No suite " + positional.get(0));
+      return;
+    }
+
+    ImmutableList<Long> scenarioIds = suite.getEntriesList().stream()
+        .filter(Suite.Entry::getEnabled)
+        .map(Suite.Entry::getScenarioId)
+        .collect(toImmutableList());
+
+    long start = System.currentTimeMillis();
+    Map<Long, Boolean> results = runShards(libraryFile, scenarioIds, workers);
+    long elapsed = System.currentTimeMillis() - start;
+
+    ImmutableList.Builder<ScenarioProtos.HistoricalEntry> history = ImmutableList.builder();
+    for (Map.Entry<Long, Boolean> result : results.entrySet()) {
+      history.add(ScenarioProtos.HistoricalEntry.newBuilder()
+          .setTimestamp(start)
+          .setScenarioId(result.getKey())
+          .setPass(result.getValue())
+          .build());
+    }
+    EvalLibraryFile.appendHistory(libraryFile, history.build());
+
+    System.out.println(report(library, suite, results, elapsed));
+    if (results.containsValue(Boolean.FALSE)) {
+      System.exit(1);
+    }
+  }
+
+  /** Runs the scenarios in worker JVMs and collects their results in suite order. */
+  private static Map<Long, Boolean> runShards(String libraryFile, List<Long> scenarioIds, int workers)
+      throws IOException, InterruptedException {
+    List<List<Long>> shards = shard(scenarioIds, workers);
+
+    String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+    List<Process> processes = new ArrayList<>();
+    List<File> outputs = new ArrayList<>();
+    for (List<Long> shard : shards) {
+      File output = File.createTempFile("eval_shard", ".txt");
+      output.deleteOnExit();
+      outputs.add(output);
+
+      processes.add(new ProcessBuilder(
+          java,
+          "-cp", System.getProperty("java.class.path"),
+          SuiteRunner.class.getName(),
+          WORKER_FLAG,
+          "--library=" + libraryFile,
+          Joiner.on(',').join(shard))
+          .redirectOutput(output)
+          .redirectError(ProcessBuilder.Redirect.INHERIT)
+          .start());
+    }
+
+    Map<Long, Boolean> shardResults = new LinkedHashMap<>();
+    for (int i = 0; i < processes.size(); i++) {
+      processes.get(i).waitFor();
+      for (String line : Files.readAllLines(outputs.get(i).toPath(), StandardCharsets.UTF_8)) {
+        if (line.startsWith(RESULT_PREFIX)) {
+          String[] parts = line.substring(RESULT_PREFIX.length()).split(" ");
+          shardResults.put(Long.parseLong(parts[0]), Boolean.parseBoolean(parts[1]));
+        }
+      }
+    }
+
+    // A worker which crashed leaves its remaining scenarios without a result. Count them as failures.
+    Map<Long, Boolean> results = new LinkedHashMap<>();
+    for (Long scenarioId : scenarioIds) {
+      results.put(scenarioId, shardResults.getOrDefault(scenarioId, Boolean.FALSE));
+    }
+    return results;
+  }
+
+  /** Splits the scenarios round-robin between at most the given number of workers, leaving none of them idle. */
+  @VisibleForTesting
+  static List<List<Long>> shard(List<Long> scenarioIds, int workers) {
+    int shardCount = Math.max(1, Math.min(workers, scenarioIds.size()));
+    List<List<Long>> shards = new ArrayList<>();
+    for (int i = 0; i < shardCount; i++) {
+      shards.add(new ArrayList<>());
+    }
+    for (int i = 0; i < scenarioIds.size(); i++) {
+      shards.get(i % shardCount).add(scenarioIds.get(i));
+    }
+    return shards;
+  }
+
+  /** Plays the given comma separated scenarios in series, printing a result line for each. */
+  private static void runWorker(ScenarioProtos.EvalLibrary library, List<String> args) {
+    DllHelper.setHeadless(true);
+    GlobalDebugOptions.setJavaBallPredictionEnabled(true);
+
+    ImmutableMap<Long, Scenario> scenarios = library.getScenariosList().stream()
+        .collect(ImmutableMap.toImmutableMap(Scenario::getId, Function.identity(), (a, b) -> b));
+
+    float time = SCENARIO_GAP;
+    for (String arg : args) {
+      for (String id : arg.split(",")) {
+        if (id.isEmpty()) {
+          continue;
+        }
+
+        long scenarioId = Long.parseLong(id);
+        Scenario scenario = scenarios.get(scenarioId);
+        boolean pass = false;
+        if (scenario != null) {
+          ScenarioSimulation simulation = new ScenarioSimulation(scenario, time);
+          pass = simulation.run();
+          time = simulation.getTime() + SCENARIO_GAP;
+        }
+        System.out.println(RESULT_PREFIX + scenarioId + " " + pass);
+      }
+    }
+  }
+
+  @VisibleForTesting
+  static Suite findSuite(ScenarioProtos.EvalLibrary library, String idOrName) {
+    for (Suite suite : library.getSuitesList()) {
+      if (suite.getName().equals(idOrName) || String.valueOf(suite.getId()).equals(idOrName)) {
+        return suite;
+      }
+    }
+    return null;
+  }
+
+  @VisibleForTesting
+  static String report(
+      ScenarioProtos.EvalLibrary library, Suite suite, Map<Long, Boolean> results, long elapsedMillis) {
+    Map<Long, String> names = new LinkedHashMap<>();
+    library.getScenariosList().forEach(scenario -> names.put(scenario.getId(), scenario.getName()));
+
+    StringBuilder builder = new StringBuilder(suite.getName()).append('\n');
+    long passed = 0;
+    for (Map.Entry<Long, Boolean> result : results.entrySet()) {
+      if (result.getValue()) {
+        passed++;
+      }
+      builder.append(String.format("  %-40s %s%n",
+          names.getOrDefault(result.getKey(), "Scenario " + result.getKey()),
+          result.getValue() ? "Pass" : "Fail"));
+    }
+    builder.append(String.format("%d/%d passed in %.1fs", passed, results.size(), elapsedMillis / 1000d));
+    return builder.toString();
+  }
+
+  private SuiteRunner() {}
+}
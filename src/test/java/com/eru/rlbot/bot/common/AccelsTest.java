@@ -0,0 +1,61 @@
+package com.eru.rlbot.bot.common;
+
+import com.google.common.truth.Truth;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests for {@link Accels}.
+ */
+@RunWith(JUnit4.class)
+public class AccelsTest {
+
+  // The table may finish up to two frames off of the simulation.
+  private static final double MAX_TIME_ERROR = 2 * Constants.STEP_SIZE + 1e-5;
+  private static final double MAX_SPEED_ERROR = 2 * (Constants.BOOSTED_ACCELERATION + 1600) * Constants.STEP_SIZE;
+  private static final double MAX_BOOST_ERROR = 2 * AccelTable.BOOST_PER_FRAME + 1e-5;
+
+  @Test
+  public void nonBoostedTimeToDistance_matchesSimulation() {
+    for (double velocity = 0; velocity <= 2300; velocity += 50) {
+      for (double distance = 1; distance < 10000; distance += 97) {
+        Accels.AccelResult table = Accels.nonBoostedTimeToDistance(velocity, distance);
+        Accels.AccelResult exact = Accels.exactNonBoostedTimeToDistance(velocity, distance);
+
+        Truth.assertThat(table.getDuration()).isWithin(MAX_TIME_ERROR).of(exact.getDuration());
+        Truth.assertThat(table.getEndSpeed()).isWithin(MAX_SPEED_ERROR).of(exact.getEndSpeed());
+      }
+    }
+  }
+
+  @Test
+  public void boostedTimeToDistance_matchesSimulation() {
+    for (double velocity = 0; velocity <= 2300; velocity += 50) {
+      for (double boost = 0; boost <= 100; boost += 5) {
+        for (double distance = 1; distance < 10000; distance += 97) {
+          Accels.AccelResult table = Accels.boostedTimeToDistance(boost, velocity, distance);
+          Accels.AccelResult exact = Accels.exactBoostedTimeToDistance(boost, velocity, distance);
+
+          Truth.assertThat(table.getDuration()).isWithin(MAX_TIME_ERROR).of(exact.getDuration());
+          Truth.assertThat(table.getEndSpeed()).isWithin(MAX_SPEED_ERROR).of(exact.getEndSpeed());
+          Truth.assertThat(table.getBoostUsed()).isWithin(MAX_BOOST_ERROR).of(exact.getBoostUsed());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void boostedTimeToDistance_outsideTable_usesSimulation() {
+    Accels.AccelResult table = Accels.boostedTimeToDistance(100, -500, 3000);
+    Accels.AccelResult exact = Accels.exactBoostedTimeToDistance(100, -500, 3000);
+
+    Truth.assertThat(table).isEqualTo(exact);
+  }
+
+  @Test
+  public void zeroDistance_takesNoTime() {
+    Truth.assertThat(Accels.boostedTimeToDistance(100, 1000, 0).getDuration()).isEqualTo(0);
+    Truth.assertThat(Accels.nonBoostedTimeToDistance(1000, 0).getDuration()).isEqualTo(0);
+  }
+}
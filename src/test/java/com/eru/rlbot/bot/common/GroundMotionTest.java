@@ -0,0 +1,67 @@
+package com.eru.rlbot.bot.common;
+
+import com.google.common.truth.Truth;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests for {@link GroundMotion}.
+ */
+@RunWith(JUnit4.class)
+public class GroundMotionTest {
+
+  // The simulation finishes on a whole frame and may drop the last one.
+  private static final double MAX_TIME_ERROR = 2 * Constants.STEP_SIZE + 1e-5;
+  private static final double MAX_SPEED_ERROR = 2 * 1600 * Constants.STEP_SIZE;
+
+  @Test
+  public void drive_noBoost_matchesSimulation() {
+    for (double velocity = 0; velocity <= 2300; velocity += 50) {
+      for (double distance = 1; distance < 10000; distance += 97) {
+        GroundMotion motion = GroundMotion.start(velocity, 0)
+            .drive(1, false, Double.MAX_VALUE, Double.MAX_VALUE, distance);
+        Accels.AccelResult exact = Accels.exactNonBoostedTimeToDistance(velocity, distance);
+
+        Truth.assertThat(motion.distance()).isWithin(1e-6).of(distance);
+        Truth.assertThat(motion.time()).isWithin(MAX_TIME_ERROR).of(exact.getDuration());
+        Truth.assertThat(motion.speed()).isWithin(MAX_SPEED_ERROR).of(exact.getEndSpeed());
+      }
+    }
+  }
+
+  @Test
+  public void drive_boost_runsOutOfBoost() {
+    GroundMotion motion = GroundMotion.start(0, 20)
+        .drive(1, true, Double.MAX_VALUE, Double.MAX_VALUE, 5000);
+
+    Truth.assertThat(motion.boost()).isEqualTo(0);
+    Truth.assertThat(motion.phases()).hasSize(2);
+    Truth.assertThat(motion.phases().get(0).duration).isWithin(1e-6).of(20 / Constants.BOOST_RATE);
+    Truth.assertThat(motion.phases().get(1).boost).isFalse();
+  }
+
+  @Test
+  public void drive_stopsAtMaxSpeed() {
+    GroundMotion motion = GroundMotion.start(0, 100)
+        .drive(1, true, Double.MAX_VALUE, 1800, 10000);
+
+    Truth.assertThat(motion.speed()).isWithin(1e-6).of(1800);
+    Truth.assertThat(motion.distance()).isLessThan(10000d);
+  }
+
+  @Test
+  public void brake_matchesSimulation() {
+    for (double from = 100; from <= 2300; from += 100) {
+      for (double to = 0; to < from; to += 100) {
+        GroundMotion motion = GroundMotion.start(from, 0).brake(to, Double.MAX_VALUE);
+        Accels.AccelResult exact = Accels.distanceToSlow(from, to);
+
+        Truth.assertThat(motion.speed()).isWithin(1e-6).of(to);
+        Truth.assertThat(motion.time()).isWithin(Constants.STEP_SIZE + 1e-5).of(exact.getDuration());
+        Truth.assertThat(motion.distance())
+            .isWithin(from * Constants.STEP_SIZE + 1e-5).of(exact.getDistanceCovered());
+      }
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package com.eru.rlbot.bot.lookup;
+
+import com.eru.rlbot.bot.common.Constants;
+import com.google.common.truth.Truth;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests for {@link AerialTable}.
+ */
+@RunWith(JUnit4.class)
+public class AerialTableTest {
+
+  @Test
+  public void resource_matchesGenerator() {
+    short[] cells = AerialTableGenerator.generate();
+    AerialTable table = AerialTable.get();
+
+    for (int boost = 0; boost < AerialTable.BOOST_COUNT; boost += 3) {
+      for (int speed = 0; speed < AerialTable.SPEED_COUNT; speed += 3) {
+        for (int height = 0; height < AerialTable.HEIGHT_COUNT; height += 5) {
+          for (int distance = 0; distance < AerialTable.DISTANCE_COUNT; distance += 5) {
+            int cell = cells[AerialTable.index(boost, speed, height, distance)] & 0xFFFF;
+            AerialTable.Reach reach = table.query(
+                boost * AerialTable.BOOST_STEP,
+                speed * AerialTable.SPEED_STEP,
+                height * AerialTable.HEIGHT_STEP,
+                distance * AerialTable.DISTANCE_STEP);
+
+            if ((cell & AerialTable.FRAME_MASK) == AerialTable.UNREACHABLE) {
+              Truth.assertThat(reach).isNull();
+            } else {
+              Truth.assertThat(reach).isNotNull();
+              Truth.assertThat(reach.time)
+                  .isWithin(1e-5).of((cell & AerialTable.FRAME_MASK) * Constants.STEP_SIZE);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void fastestAerial_straightUp() {
+    AerialLookUp.AerialInfo aerial = AerialLookUp.fastestAerial(100, 1000, 250, 0).get();
+
+    Truth.assertThat(aerial.boostAngle).isWithin(.5).of(Math.PI / 2);
+    Truth.assertThat(aerial.boostUsed).isAtMost(100d);
+  }
+
+  @Test
+  public void fastestAerial_noBoost_isEmpty() {
+    Truth.assertThat(AerialLookUp.fastestAerial(0, 500, 500, 1000).isPresent()).isFalse();
+  }
+
+  @Test
+  public void fastestAerial_outsideTable_isEmpty() {
+    Truth.assertThat(AerialLookUp.fastestAerial(100, 5000, 500, 1000).isPresent()).isFalse();
+  }
+}
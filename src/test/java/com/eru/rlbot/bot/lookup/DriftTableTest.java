@@ -0,0 +1,94 @@
+package com.eru.rlbot.bot.lookup;
+
+import com.eru.rlbot.common.GameStateProtos;
+import com.google.common.collect.ImmutableList;
+import com.google.common.truth.Truth;
+import java.util.Arrays;
+import java.util.Optional;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests for {@link DriftTable} and {@link DriftTableBuilder}.
+ */
+@RunWith(JUnit4.class)
+public class DriftTableTest {
+
+  @Test
+  public void query_interpolatesBetweenCells() {
+    float[] values = emptyValues();
+    fill(values, 0, 2, 3, 1f);
+    fill(values, 0, 3, 3, 2f);
+
+    double[] slide = DriftTable.of(values).query(DriftTable.SPEED_MIN, 2.5 * DriftTable.HOLD_STEP, 1);
+
+    Truth.assertThat(slide).isNotNull();
+    Truth.assertThat(slide[DriftTable.HEADING]).isWithin(1e-6).of(1.5);
+  }
+
+  @Test
+  public void query_missingCell_isNull() {
+    float[] values = emptyValues();
+    fill(values, 0, 2, 3, 1f);
+
+    DriftTable table = DriftTable.of(values);
+
+    Truth.assertThat(table.query(DriftTable.SPEED_MIN, 2 * DriftTable.HOLD_STEP, 1)).isNotNull();
+    Truth.assertThat(table.query(DriftTable.SPEED_MIN, 2.5 * DriftTable.HOLD_STEP, 1)).isNull();
+  }
+
+  @Test
+  public void measure_quarterTurn() {
+    // Enters going north at 1500 and leaves going west, 500 up and 300 to the left.
+    ImmutableList<GameStateProtos.GameState> run = ImmutableList.of(
+        state(0, "Init Speed:1500 Steer:1.000000 hold:20", 0, 0, 0, 1500, Math.PI / 2),
+        state(1, "drift", 0, 250, 0, 1200, Math.PI * .75),
+        state(2, "rotation complete", -300, 500, -1000, 0, Math.PI));
+
+    Optional<DriftTableBuilder.Slide> slide = DriftTableBuilder.measure(run);
+
+    Truth.assertThat(slide.isPresent()).isTrue();
+    Truth.assertThat(slide.get().holdTicks).isEqualTo(20);
+    Truth.assertThat(slide.get().values[DriftTable.HEADING]).isWithin(1e-4).of(Math.PI / 2);
+    Truth.assertThat(slide.get().values[DriftTable.EXIT_SPEED]).isWithin(1e-2).of(1000);
+    Truth.assertThat(slide.get().values[DriftTable.FORWARD]).isWithin(1e-2).of(500);
+    Truth.assertThat(slide.get().values[DriftTable.LATERAL]).isWithin(1e-2).of(300);
+  }
+
+  @Test
+  public void measure_withoutExit_isEmpty() {
+    ImmutableList<GameStateProtos.GameState> run = ImmutableList.of(
+        state(0, "Init Speed:1500 Steer:1.000000 hold:20", 0, 0, 0, 1500, Math.PI / 2),
+        state(1, "straighten out", 0, 250, 0, 1200, Math.PI * .75));
+
+    Truth.assertThat(DriftTableBuilder.measure(run).isPresent()).isFalse();
+  }
+
+  private static float[] emptyValues() {
+    float[] values = new float[DriftTable.CELL_COUNT * DriftTable.VALUE_COUNT];
+    Arrays.fill(values, Float.NaN);
+    return values;
+  }
+
+  private static void fill(float[] values, int speed, int hold, int steer, float heading) {
+    int offset = DriftTable.index(speed, hold, steer) * DriftTable.VALUE_COUNT;
+    Arrays.fill(values, offset, offset + DriftTable.VALUE_COUNT, 0f);
+    values[offset + DriftTable.HEADING] = heading;
+  }
+
+  private static GameStateProtos.GameState state(
+      long frame, String label, float x, float y, float vx, float vy, double yaw) {
+    return GameStateProtos.GameState.newBuilder()
+        .setFrameId(frame)
+        .setLabel(label)
+        .addCar(GameStateProtos.GameState.CarState.newBuilder()
+            .setId(0)
+            .setTeam(0)
+            .addAllPos(ImmutableList.of(x, y, 17f))
+            .addAllVel(ImmutableList.of(vx, vy, 0f))
+            .addAllSpin(ImmutableList.of(0f, 0f, 0f))
+            .addAllOrientation(ImmutableList.of(0f, (float) yaw, 0f)))
+        .build();
+  }
+}
@@ -0,0 +1,109 @@
+package com.eru.rlbot.bot.path;
+
+import com.eru.rlbot.bot.common.Circle;
+import com.eru.rlbot.common.input.CarData;
+import com.eru.rlbot.common.input.Orientation;
+import com.eru.rlbot.common.vector.Vector3;
+import com.google.common.collect.ImmutableList;
+import com.google.common.truth.Truth;
+import java.util.Optional;
+import java.util.Random;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests for {@link BiArcs}.
+ */
+@RunWith(JUnit4.class)
+public class BiArcsTest {
+
+  // Cars closer than this can have overlapping turning circles.
+  private static final double MIN_SEPARATION = 1500;
+
+  @Test
+  public void shortestBiArc_matchesSegmentSearch() {
+    Random random = new Random(5);
+    for (int i = 0; i < 500; i++) {
+      CarData source = randomCar(random, 0);
+      CarData target = randomCar(random, 0);
+      if (source.position.distance(target.position) < MIN_SEPARATION) {
+        continue;
+      }
+
+      // The second call is answered from the shape cache.
+      for (int call = 0; call < 2; call++) {
+        assertMatchesSegmentSearch(target, source, .01);
+      }
+    }
+  }
+
+  @Test
+  public void shortestBiArc_nearbyCarsMatchSegmentSearch() {
+    Random random = new Random(9);
+    for (int i = 0; i < 200; i++) {
+      long seed = random.nextLong();
+      CarData source = randomCar(new Random(seed), 0);
+      CarData target = randomCar(random, 0);
+      if (source.position.distance(target.position) < MIN_SEPARATION) {
+        continue;
+      }
+      Paths.shortestBiArc(target, source);
+
+      // Within the position buckets of the cached pair, so it gets the cached shape, which may be a hair longer.
+      CarData nudgedSource = source.toBuilder()
+          .setPosition(source.position.plus(Vector3.of(.2, -.2, 0)))
+          .build();
+      assertMatchesSegmentSearch(target, nudgedSource, 1);
+
+      // The same heading, pitched up.
+      assertMatchesSegmentSearch(target, randomCar(new Random(seed), .3), .01);
+    }
+  }
+
+  private static void assertMatchesSegmentSearch(CarData target, CarData source, double tolerance) {
+    ImmutableList<Segment> biArc = Paths.shortestBiArc(target, source);
+    Optional<Double> expected = shortestSegmentLength(target, source);
+
+    Truth.assertThat(biArc.isEmpty()).isEqualTo(!expected.isPresent());
+    if (expected.isPresent()) {
+      Truth.assertThat(length(biArc)).isWithin(tolerance).of(expected.get());
+    }
+  }
+
+  /** Builds every shape out of segments and returns the length of the shortest. */
+  private static Optional<Double> shortestSegmentLength(CarData target, CarData source) {
+    Paths.Circles targetCircles = Paths.closeApproach(target);
+    Paths.Circles sourceCircles = Paths.turningRadiusCircles(source);
+
+    Optional<Double> shortest = Optional.empty();
+    for (Paths.CircleTangents.Shape shape : Paths.CircleTangents.Shape.values()) {
+      Circle startCircle = shape.startsClockWise() ? sourceCircles.cw : sourceCircles.ccw;
+      Circle endCircle = shape.endsClockWise() ? targetCircles.cw : targetCircles.ccw;
+      Optional<ImmutableList<Segment>> segments =
+          Paths.biArcSegments(source.position, startCircle, target.position, endCircle, shape);
+      if (segments.isPresent() && (!shortest.isPresent() || length(segments.get()) < shortest.get())) {
+        shortest = Optional.of(length(segments.get()));
+      }
+    }
+    return shortest;
+  }
+
+  private static double length(ImmutableList<Segment> segments) {
+    return segments.stream()
+        .mapToDouble(Segment::flatDistance)
+        .sum();
+  }
+
+  private static CarData randomCar(Random random, double pitch) {
+    Vector3 position = Vector3.of(random.nextDouble() * 8000 - 4000, random.nextDouble() * 10000 - 5000, 17);
+    Orientation orientation = Orientation.convert(pitch, random.nextDouble() * Math.PI * 2, 0);
+    double speed = 500 + random.nextDouble() * 1800;
+    return CarData.builder()
+        .setPosition(position)
+        .setVelocity(orientation.getNoseVector().flat().toMagnitude(speed))
+        .setOrientation(orientation)
+        .setTime(0)
+        .build();
+  }
+}
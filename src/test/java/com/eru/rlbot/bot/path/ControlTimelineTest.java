@@ -0,0 +1,71 @@
+package com.eru.rlbot.bot.path;
+
+import com.eru.rlbot.bot.common.Constants;
+import com.google.common.truth.Truth;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests for {@link ControlTimeline}.
+ */
+@RunWith(JUnit4.class)
+public class ControlTimelineTest {
+
+  private static final Plan.ControlInput BOOST = Plan.ControlInput.create(true, 1, false);
+  private static final Plan.ControlInput COAST = Plan.ControlInput.create(false, Plan.ControlInput.COASTING, false);
+  private static final Plan.ControlInput BRAKE = Plan.ControlInput.create(false, Plan.ControlInput.REVERSE, false);
+
+  @Test
+  public void frames_mergeIntoSpans() {
+    ControlTimeline.Builder builder = ControlTimeline.builder();
+    for (int i = 0; i < 240; i++) {
+      builder.appendFrame(i < 100 ? BOOST : COAST);
+    }
+    ControlTimeline timeline = builder.build();
+
+    Truth.assertThat(timeline.spanCount()).isEqualTo(2);
+    Truth.assertThat(timeline.frameCount()).isEqualTo(240);
+    Truth.assertThat(timeline.controlsAtFrame(0)).isEqualTo(BOOST);
+    Truth.assertThat(timeline.controlsAtFrame(99)).isEqualTo(BOOST);
+    Truth.assertThat(timeline.controlsAtFrame(100)).isEqualTo(COAST);
+    Truth.assertThat(timeline.controlsAtFrame(239)).isEqualTo(COAST);
+    Truth.assertThat(timeline.controlsAtFrame(240)).isEqualTo(Plan.ControlInput.NO_INPUTS);
+  }
+
+  @Test
+  public void phases_lookUpByTime() {
+    ControlTimeline timeline = ControlTimeline.builder()
+        .append(BOOST, .5)
+        .append(COAST, .25)
+        .append(BRAKE, .1)
+        .build();
+
+    Truth.assertThat(timeline.duration()).isWithin(1e-9).of(.85);
+    Truth.assertThat(timeline.controlsAt(0)).isEqualTo(BOOST);
+    Truth.assertThat(timeline.controlsAt(.5)).isEqualTo(COAST);
+    Truth.assertThat(timeline.controlsAt(.8)).isEqualTo(BRAKE);
+    Truth.assertThat(timeline.controlsAt(.9)).isEqualTo(Plan.ControlInput.NO_INPUTS);
+    Truth.assertThat(timeline.controlsAt(-.1)).isEqualTo(Plan.ControlInput.NO_INPUTS);
+    Truth.assertThat(timeline.frameCount()).isEqualTo((int) Math.ceil(.85 * Constants.STEP_SIZE_COUNT));
+  }
+
+  @Test
+  public void equalControls_merge() {
+    ControlTimeline timeline = ControlTimeline.builder()
+        .append(Plan.ControlInput.create(false, .5, false), .1)
+        .append(Plan.ControlInput.create(false, .5, false), .1)
+        .build();
+
+    Truth.assertThat(timeline.spanCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void empty() {
+    ControlTimeline timeline = ControlTimeline.builder().build();
+
+    Truth.assertThat(timeline.isEmpty()).isTrue();
+    Truth.assertThat(timeline.frameCount()).isEqualTo(0);
+    Truth.assertThat(timeline.controlsAt(0)).isEqualTo(Plan.ControlInput.NO_INPUTS);
+  }
+}
@@ -3,7 +3,9 @@ package com.eru.rlbot.bot.path;
 import com.eru.rlbot.common.input.CarData;
 import com.eru.rlbot.common.input.Orientation;
 import com.eru.rlbot.common.vector.Vector3;
+import com.google.common.collect.Iterables;
 import com.google.common.truth.Truth;
+import java.util.Optional;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
@@ -125,6 +127,80 @@ public class PathTest {
     straightPath.lockAndSegment(true);
   }
 
+  @Test
+  public void repairPath_startsAtCarAndMovesEnd() {
+    Path path = lockedRepairPath();
+    CarData car = repairCar(40, 500);
+    CarData target = path.getTarget().toBuilder()
+        .setPosition(path.getTarget().position.plus(Vector3.of(30, 0, 0)))
+        .build();
+
+    Optional<Path> repaired = PathPlanner.repairPath(path, car, target);
+
+    Truth.assertThat(repaired.isPresent()).isTrue();
+    Truth.assertThat(repaired.get().getSource()).isSameInstanceAs(car);
+    Truth.assertThat(repaired.get().terseNodes()).hasSize(2);
+    Truth.assertThat(repaired.get().terseNodes().get(0).start.distance(Vector3.of(0, 500, 17))).isLessThan(.01);
+    Segment last = Iterables.getLast(repaired.get().terseNodes());
+    Truth.assertThat(last.start).isEqualTo(Vector3.of(0, 1000, 17));
+    Truth.assertThat(last.end).isEqualTo(target.position);
+    Truth.assertThat(repaired.get().getPlannedTarget()).isSameInstanceAs(path.getTarget());
+  }
+
+  @Test
+  public void repairPath_tooFarFromPath() {
+    Path path = lockedRepairPath();
+
+    Truth.assertThat(PathPlanner.repairPath(path, repairCar(400, 500), path.getTarget()).isPresent()).isFalse();
+  }
+
+  @Test
+  public void repairPath_targetDriftIsLimitedInTotal() {
+    Path path = lockedRepairPath();
+    CarData firstTarget = path.getTarget().toBuilder()
+        .setPosition(path.getTarget().position.plus(Vector3.of(40, 0, 0)))
+        .build();
+    Path repaired = PathPlanner.repairPath(path, repairCar(0, 500), firstTarget).get();
+    Truth.assertThat(repaired.lockAndSegment(true)).isTrue();
+
+    // Each step is within the limit, but together they are too far from the full plan.
+    CarData secondTarget = firstTarget.toBuilder()
+        .setPosition(firstTarget.position.plus(Vector3.of(40, 0, 0)))
+        .build();
+
+    Truth.assertThat(PathPlanner.repairPath(repaired, repairCar(0, 600), secondTarget).isPresent()).isFalse();
+  }
+
+  /** A locked path straight up the field, in two segments. */
+  private static Path lockedRepairPath() {
+    CarData startingCar = repairCar(0, 0);
+    CarData targetCar = startingCar.toBuilder()
+        .setPosition(Vector3.of(0, 3000, 17))
+        .setTime(3)
+        .build();
+
+    Path path = Path.builder()
+        .setStartingCar(startingCar)
+        .setTargetCar(targetCar)
+        .addEarlierSegment(Segment.straight(Vector3.of(0, 1000, 17), targetCar.position))
+        .addEarlierSegment(Segment.straight(startingCar.position, Vector3.of(0, 1000, 17)))
+        .build();
+    Truth.assertThat(path.lockAndSegment(true)).isTrue();
+    return path;
+  }
+
+  private static CarData repairCar(double x, double y) {
+    return CarData.builder()
+        .setPosition(Vector3.of(x, y, 17))
+        .setVelocity(Vector3.of(0, 1000, 0))
+        .setTime(0)
+        .setTeam(0)
+        .setOrientation(Orientation.fromFlatVelocity(Vector3.of(0, 1, 0)))
+        .setBoost(52)
+        .setHasWheelContact(true)
+        .build();
+  }
+
   @Test
   public void curveTest() {
 
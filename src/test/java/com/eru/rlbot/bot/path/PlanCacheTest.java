@@ -0,0 +1,97 @@
+package com.eru.rlbot.bot.path;
+
+import com.eru.rlbot.bot.utils.Deadline;
+import com.eru.rlbot.common.input.CarData;
+import com.eru.rlbot.common.input.Orientation;
+import com.eru.rlbot.common.vector.Vector3;
+import com.google.common.truth.Truth;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests for {@link PlanCache}.
+ */
+@RunWith(JUnit4.class)
+public class PlanCacheTest {
+
+  private static final double BOOST = 40;
+
+  @Test
+  public void hit_matchesFreshPlan() {
+    Plan first = straightPath(Vector3.zero(), 2345).minGroundTime(BOOST);
+    long hits = PlanCache.stats().hitCount();
+
+    // The same shape somewhere else on the field.
+    Path moved = straightPath(Vector3.of(1000, -500, 0), 2345);
+    Plan cached = moved.minGroundTime(BOOST);
+    Plan fresh = moved.minGroundTime(0, BOOST);
+
+    Truth.assertThat(PlanCache.stats().hitCount()).isEqualTo(hits + 1);
+    Truth.assertThat(cached.path).isSameInstanceAs(moved);
+    Truth.assertThat(cached.traverseTime).isWithin(1e-9).of(fresh.traverseTime);
+    Truth.assertThat(cached.boostUsed).isWithin(1e-9).of(fresh.boostUsed);
+    Truth.assertThat(cached.traverseTime).isWithin(1e-9).of(first.traverseTime);
+  }
+
+  @Test
+  public void differentBuckets_doNotCollide() {
+    Plan shorter = straightPath(Vector3.zero(), 3456).minGroundTime(BOOST);
+    long hits = PlanCache.stats().hitCount();
+
+    Path longer = straightPath(Vector3.zero(), 3556);
+    Plan cached = longer.minGroundTime(BOOST);
+
+    Truth.assertThat(PlanCache.stats().hitCount()).isEqualTo(hits);
+    Truth.assertThat(cached.traverseTime).isWithin(1e-9).of(longer.minGroundTime(0, BOOST).traverseTime);
+    Truth.assertThat(cached.traverseTime).isGreaterThan(shorter.traverseTime);
+  }
+
+  @Test
+  public void finishedAfterDeadline_isCached() {
+    try (Deadline.Scope scope = Deadline.after(System.nanoTime(), -1).enter()) {
+      // Doesn't check the deadline, so it is never cut short.
+      straightPath(Vector3.zero(), 4567).minGroundTime(BOOST);
+    }
+    long hits = PlanCache.stats().hitCount();
+
+    straightPath(Vector3.zero(), 4567).minGroundTime(BOOST);
+
+    Truth.assertThat(PlanCache.stats().hitCount()).isEqualTo(hits + 1);
+  }
+
+  @Test
+  public void cutShort_isNotCached() {
+    // Has to search for a braking speed to arrive on time.
+    try (Deadline.Scope scope = Deadline.after(System.nanoTime(), -1).enter()) {
+      straightPath(Vector3.zero(), 1234).makeSpeedPlan(BOOST, 4);
+    }
+    long hits = PlanCache.stats().hitCount();
+
+    straightPath(Vector3.zero(), 1234).makeSpeedPlan(BOOST, 4);
+
+    Truth.assertThat(PlanCache.stats().hitCount()).isEqualTo(hits);
+  }
+
+  private static Path straightPath(Vector3 start, double length) {
+    CarData startingCar = CarData.builder()
+        .setPosition(start)
+        .setVelocity(Vector3.of(0, 500, 0))
+        .setTime(0)
+        .setOrientation(Orientation.fromFlatVelocity(Vector3.of(0, 1, 0)))
+        .setBoost(BOOST)
+        .build();
+
+    CarData targetCar = startingCar.toBuilder()
+        .setPosition(start.plus(Vector3.of(0, length, 0)))
+        .setVelocity(Vector3.of(0, 1400, 0))
+        .setTime(2)
+        .build();
+
+    return Path.builder()
+        .setStartingCar(startingCar)
+        .setTargetCar(targetCar)
+        .addEarlierSegment(Segment.straight(startingCar.position, targetCar.position))
+        .build();
+  }
+}
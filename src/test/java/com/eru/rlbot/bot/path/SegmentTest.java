@@ -0,0 +1,79 @@
+package com.eru.rlbot.bot.path;
+
+import com.eru.rlbot.bot.common.Circle;
+import com.eru.rlbot.common.input.CarData;
+import com.eru.rlbot.common.input.Orientation;
+import com.eru.rlbot.common.vector.Vector3;
+import com.google.common.truth.Truth;
+import java.util.Optional;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests for {@link Segment}.
+ */
+@RunWith(JUnit4.class)
+public class SegmentTest {
+
+  private static final double MAX_OFFSET = 150;
+  private static final double MAX_ANGLE = .3;
+
+  private static final Segment STRAIGHT = Segment.straight(Vector3.of(0, 0, 17), Vector3.of(0, 1000, 17));
+
+  // A quarter turn from +x to +y.
+  private static final Segment ARC = Segment.arc(
+      Vector3.of(500, 0, 17), Vector3.of(0, 500, 17), Circle.forPath(Vector3.of(0, 0, 17), 500), true);
+
+  @Test
+  public void remainingFrom_straight_startsAtProjection() {
+    Optional<Segment> remaining = STRAIGHT.remainingFrom(car(40, 300, Vector3.of(0, 1, 0)), MAX_OFFSET, MAX_ANGLE);
+
+    Truth.assertThat(remaining.isPresent()).isTrue();
+    Truth.assertThat(remaining.get().start.distance(Vector3.of(0, 300, 17))).isLessThan(.01);
+    Truth.assertThat(remaining.get().end).isEqualTo(STRAIGHT.end);
+  }
+
+  @Test
+  public void remainingFrom_straight_tooFar() {
+    Truth.assertThat(STRAIGHT.remainingFrom(car(400, 300, Vector3.of(0, 1, 0)), MAX_OFFSET, MAX_ANGLE).isPresent())
+        .isFalse();
+    Truth.assertThat(STRAIGHT.remainingFrom(car(0, 1100, Vector3.of(0, 1, 0)), MAX_OFFSET, MAX_ANGLE).isPresent())
+        .isFalse();
+  }
+
+  @Test
+  public void remainingFrom_straight_facingAway() {
+    Truth.assertThat(STRAIGHT.remainingFrom(car(0, 300, Vector3.of(1, 0, 0)), MAX_OFFSET, MAX_ANGLE).isPresent())
+        .isFalse();
+  }
+
+  @Test
+  public void remainingFrom_arc_halfway() {
+    double r = Math.sqrt(.5);
+    Optional<Segment> remaining = ARC.remainingFrom(car(520 * r, 520 * r, Vector3.of(-r, r, 0)), MAX_OFFSET, MAX_ANGLE);
+
+    Truth.assertThat(remaining.isPresent()).isTrue();
+    Truth.assertThat(remaining.get().getRadians()).isWithin(.01).of(Math.PI / 4);
+  }
+
+  @Test
+  public void remainingFrom_arc_beforeStart() {
+    double angle = -.3;
+    CarData car = car(
+        500 * Math.cos(angle), 500 * Math.sin(angle), Vector3.of(-Math.sin(angle), Math.cos(angle), 0));
+
+    Truth.assertThat(ARC.remainingFrom(car, MAX_OFFSET, MAX_ANGLE).isPresent()).isFalse();
+  }
+
+  private static CarData car(double x, double y, Vector3 nose) {
+    return CarData.builder()
+        .setPosition(Vector3.of(x, y, 17))
+        .setVelocity(nose.multiply(1000))
+        .setTime(0)
+        .setTeam(0)
+        .setOrientation(Orientation.fromFlatVelocity(nose))
+        .setBoost(50)
+        .build();
+  }
+}
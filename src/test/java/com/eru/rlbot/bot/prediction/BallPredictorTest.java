@@ -0,0 +1,138 @@
+package com.eru.rlbot.bot.prediction;
+
+import com.eru.rlbot.bot.common.Constants;
+import com.eru.rlbot.bot.common.Goal;
+import com.eru.rlbot.common.input.BallData;
+import com.eru.rlbot.common.vector.Vector3;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.google.common.truth.Truth;
+import java.util.Random;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests for {@link BallPredictor}.
+ */
+@RunWith(JUnit4.class)
+public class BallPredictorTest {
+
+  @Test
+  public void restingBall_staysAtRest() {
+    BallData ball = ball(Vector3.of(100, -200, Constants.BALL_RADIUS), Vector3.zero());
+
+    BallData end = Iterables.getLast(BallPredictor.makePrediction(ball, 3, Constants.STEP_SIZE));
+
+    Truth.assertThat(end.position.distance(ball.position)).isLessThan(1.0);
+    Truth.assertThat(end.velocity.magnitude()).isLessThan(1.0);
+  }
+
+  @Test
+  public void droppedBall_bouncesLower() {
+    BallData ball = ball(Vector3.of(0, 0, 1000), Vector3.zero());
+
+    ImmutableList<BallData> prediction = BallPredictor.makePrediction(ball, 4, Constants.STEP_SIZE);
+
+    // Find the top of the first bounce.
+    int index = 0;
+    while (prediction.get(index).velocity.z <= 0) {
+      index++;
+    }
+    while (prediction.get(index).velocity.z > 0) {
+      index++;
+    }
+
+    double bounceHeight = prediction.get(index).position.z - Constants.BALL_RADIUS;
+    double dropHeight = ball.position.z - Constants.BALL_RADIUS;
+    Truth.assertThat(bounceHeight).isWithin(50).of(dropHeight * Math.pow(Constants.COEFFICIENT_OF_RESITUTION, 2));
+  }
+
+  @Test
+  public void sideWall_reflectsBall() {
+    BallData ball = ball(Vector3.of(3000, 0, 500), Vector3.of(2000, 0, 0));
+
+    BallData end = Iterables.getLast(BallPredictor.makePrediction(ball, 1, Constants.STEP_SIZE));
+
+    Truth.assertThat((double) end.velocity.x).isLessThan(0.0);
+    Truth.assertThat((double) end.position.x).isLessThan((double) Constants.HALF_WIDTH - Constants.BALL_RADIUS);
+  }
+
+  @Test
+  public void ballInGoalMouth_crossesGoalLine() {
+    BallData ball = ball(Vector3.of(0, 4000, 200), Vector3.of(0, 2000, 0));
+
+    ImmutableList<BallData> prediction = BallPredictor.makePrediction(ball, 1, Constants.STEP_SIZE);
+
+    Truth.assertThat(
+        prediction.stream().anyMatch(slice -> slice.position.y > Constants.HALF_LENGTH + Constants.BALL_RADIUS))
+        .isTrue();
+  }
+
+  @Test
+  public void shotOutcome_endsInGoal() {
+    BallData ball = ball(Vector3.of(0, 3000, 300), Vector3.of(0, 2500, 200));
+
+    ShotOutcome outcome = BallPredictor.predictOutcome(ball, 4, 1f / 20);
+
+    Truth.assertThat(outcome.scoresOn(Goal.opponentGoal(0))).isTrue();
+    Truth.assertThat(outcome.scoresOn(Goal.ownGoal(0))).isFalse();
+    Truth.assertThat(Iterables.getLast(outcome.trajectory)).isSameInstanceAs(outcome.goal.get());
+    Truth.assertThat(outcome.missDistance(Goal.opponentGoal(0).center)).isEqualTo(0.0);
+    Truth.assertThat((double) outcome.goal.get().time).isLessThan(ball.time + 1.5);
+  }
+
+  @Test
+  public void shotOutcome_findsFirstBounce() {
+    BallData ball = ball(Vector3.of(0, 0, 1000), Vector3.of(500, 0, 0));
+
+    ShotOutcome outcome = BallPredictor.predictOutcome(ball, 4, 1f / 20);
+
+    Truth.assertThat(outcome.goal.isPresent()).isFalse();
+    BallData bounce = outcome.firstBounce.get();
+    Truth.assertThat((double) bounce.position.z).isWithin(5).of(Constants.BALL_RADIUS);
+    Truth.assertThat((double) bounce.velocity.z).isGreaterThan(0.0);
+    // Time to fall 1000 - r under gravity.
+    double fallTime = Math.sqrt(2 * (1000 - Constants.BALL_RADIUS) / Constants.GRAVITY);
+    Truth.assertThat((double) bounce.time).isWithin(.05).of(ball.time + fallTime);
+  }
+
+  @Test
+  public void randomBalls_stayInArena() {
+    Random random = new Random(7);
+    for (int i = 0; i < 200; i++) {
+      BallData ball = ball(
+          Vector3.of(random.nextInt(6000) - 3000, random.nextInt(8000) - 4000, 100 + random.nextInt(1700)),
+          Vector3.of(random.nextInt(6000) - 3000, random.nextInt(6000) - 3000, random.nextInt(4000) - 2000));
+
+      for (BallData slice : BallPredictor.makePrediction(ball, 6, Constants.STEP_SIZE)) {
+        double distance = Arena.distance(slice.position.x, slice.position.y, slice.position.z);
+        Truth.assertThat(distance).isGreaterThan(Constants.BALL_RADIUS - 1.0);
+      }
+    }
+  }
+
+  @Test
+  public void flatbufferPrediction_matchesDllShape() {
+    BallData ball = ball(Vector3.of(0, 0, 500), Vector3.of(1000, 500, 0));
+
+    rlbot.flat.BallPrediction prediction = BallPredictor.makeFlatbufferPrediction(ball);
+    ImmutableList<BallData> balls =
+        BallPredictor.makePrediction(ball, BallPredictor.DLL_PREDICTION_TIME, BallPredictor.DLL_SLICE_INTERVAL);
+
+    Truth.assertThat(prediction.slicesLength()).isEqualTo(BallPredictionUtil.PREDICTION_LIMIT);
+    for (int i = 0; i < prediction.slicesLength(); i++) {
+      BallData slice = BallData.fromPredictionSlice(prediction.slices(i));
+      Truth.assertThat((double) slice.time).isWithin(1e-4).of(balls.get(i).time);
+      Truth.assertThat(slice.position.distance(balls.get(i).position)).isLessThan(.01);
+    }
+  }
+
+  private static BallData ball(Vector3 position, Vector3 velocity) {
+    return BallData.builder()
+        .setPosition(position)
+        .setVelocity(velocity)
+        .setTime(10)
+        .build();
+  }
+}
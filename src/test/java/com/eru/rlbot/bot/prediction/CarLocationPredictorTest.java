@@ -0,0 +1,73 @@
+package com.eru.rlbot.bot.prediction;
+
+import com.eru.rlbot.bot.common.Constants;
+import com.eru.rlbot.common.input.CarData;
+import com.eru.rlbot.common.input.Orientation;
+import com.eru.rlbot.common.vector.Vector3;
+import com.google.common.collect.ImmutableList;
+import com.google.common.truth.Truth;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests for {@link CarLocationPredictor}.
+ */
+@RunWith(JUnit4.class)
+public class CarLocationPredictorTest {
+
+  private static final CarData DRIVING = car(0, Vector3.of(0, 0, Constants.CAR_AT_REST), Vector3.of(0, 1400, 0));
+  private static final CarData RESTING = car(1, Vector3.of(1000, 0, Constants.CAR_AT_REST), Vector3.zero());
+  private static final CarData FLYING = car(2, Vector3.of(-1000, 0, 800), Vector3.of(500, 0, 0));
+
+  private static final ImmutableList<CarData> CARS = ImmutableList.of(DRIVING, RESTING, FLYING);
+
+  @Test
+  public void predict_matchesSingleCarPrediction() {
+    CarLocationPredictor predictor = CarLocationPredictor.predict(CARS);
+
+    for (CarData car : CARS) {
+      ImmutableList<CarPrediction.PredictionNode> single = CarPrediction.noInputs(car, 1);
+      for (int step = 0; step < single.size(); step++) {
+        CarPrediction.PredictionNode node = single.get(step);
+        Truth.assertThat(predictor.time(step)).isWithin(.0001f).of(node.absoluteTime);
+        Truth.assertThat(predictor.x(car.serialNumber, step)).isWithin(.5f).of(node.position.x);
+        Truth.assertThat(predictor.y(car.serialNumber, step)).isWithin(.5f).of(node.position.y);
+        Truth.assertThat(predictor.z(car.serialNumber, step)).isWithin(.5f).of(node.position.z);
+      }
+    }
+  }
+
+  @Test
+  public void predict_landsOnTheGround() {
+    CarLocationPredictor predictor = CarLocationPredictor.predict(CARS);
+
+    float landed = predictor.z(FLYING.serialNumber, CarLocationPredictor.TWO_SECONDS);
+    Truth.assertThat(landed).isEqualTo(Constants.CAR_AT_REST);
+    Truth.assertThat(predictor.z(FLYING.serialNumber, CarLocationPredictor.HALF_SECOND))
+        .isGreaterThan(Constants.CAR_AT_REST);
+    Truth.assertThat(predictor.x(FLYING.serialNumber, CarLocationPredictor.TWO_SECONDS))
+        .isWithin(1f).of(FLYING.position.x + 1000);
+  }
+
+  @Test
+  public void closest() {
+    CarLocationPredictor predictor = CarLocationPredictor.predict(CARS);
+
+    long all = 0b111;
+    Truth.assertThat(predictor.closest(all, CarLocationPredictor.ONE_SECOND, Vector3.of(0, 1400, 17))).isEqualTo(0);
+    Truth.assertThat(predictor.closest(all & ~1L, CarLocationPredictor.ONE_SECOND, Vector3.of(0, 1400, 17)))
+        .isEqualTo(1);
+    Truth.assertThat(predictor.closest(0, CarLocationPredictor.ONE_SECOND, Vector3.zero())).isEqualTo(-1);
+  }
+
+  private static CarData car(int index, Vector3 position, Vector3 velocity) {
+    return CarData.builder()
+        .setPlayerIndex(index)
+        .setPosition(position)
+        .setVelocity(velocity)
+        .setOrientation(Orientation.fromFlatVelocity(Vector3.of(0, 1, 0)))
+        .setTime(10)
+        .build();
+  }
+}
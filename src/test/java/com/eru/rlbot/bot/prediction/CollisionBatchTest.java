@@ -0,0 +1,88 @@
+package com.eru.rlbot.bot.prediction;
+
+import com.eru.rlbot.common.input.BallData;
+import com.eru.rlbot.common.input.CarData;
+import com.eru.rlbot.common.input.Orientation;
+import com.eru.rlbot.common.vector.Vector3;
+import com.google.common.truth.Truth;
+import java.util.Random;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests for {@link CollisionBatch}.
+ */
+@RunWith(JUnit4.class)
+public class CollisionBatchTest {
+
+  private static final BallData BALL = BallData.builder()
+      .setPosition(Vector3.of(0, 0, 300))
+      .setVelocity(Vector3.of(300, -200, 100))
+      .setSpin(Vector3.of(1, 2, -3))
+      .setTime(0)
+      .build();
+
+  @Test
+  public void evaluate_matchesSingleCollisions() {
+    Random random = new Random(7);
+    CarData[] cars = new CarData[200];
+    // Starts small so the batch has to grow.
+    CollisionBatch batch = new CollisionBatch(2);
+    for (int i = 0; i < cars.length; i++) {
+      cars[i] = randomCar(random);
+      batch.add(cars[i]);
+    }
+
+    batch.evaluate(BALL);
+
+    int touches = 0;
+    for (int i = 0; i < cars.length; i++) {
+      BallData single = CarBallCollision.calculateCollision(BALL, cars[i]);
+      BallData batched = batch.result(BALL, i);
+
+      Truth.assertThat(batch.touched(i)).isEqualTo(single != BALL);
+      Truth.assertThat(batched.velocity.distance(single.velocity)).isLessThan(.01);
+      Truth.assertThat(batched.spin.distance(single.spin)).isLessThan(.01);
+      touches += batch.touched(i) ? 1 : 0;
+    }
+    Truth.assertThat(touches).isGreaterThan(0);
+  }
+
+  @Test
+  public void clear_reusesBatch() {
+    CollisionBatch batch = new CollisionBatch(4);
+    batch.add(randomCar(new Random(1)));
+    batch.evaluate(BALL);
+
+    batch.clear();
+    CarData car = randomCar(new Random(2));
+    int index = batch.add(car);
+    batch.evaluate(BALL);
+
+    Truth.assertThat(index).isEqualTo(0);
+    Truth.assertThat(batch.size()).isEqualTo(1);
+    Truth.assertThat(batch.result(BALL, 0).velocity.distance(CarBallCollision.calculateCollision(BALL, car).velocity))
+        .isLessThan(.01);
+  }
+
+  private static CarData randomCar(Random random) {
+    double pitch = random.nextDouble() - .5;
+    double yaw = random.nextDouble() * Math.PI * 2;
+    double roll = random.nextDouble() - .5;
+    Orientation orientation = Orientation.convert(pitch, yaw, roll);
+    Vector3 nose = orientation.getNoseVector();
+
+    Vector3 position = BALL.position
+        .minus(nose.multiply(140 + random.nextDouble() * 20))
+        .plus(Vector3.of(random.nextGaussian() * 30, random.nextGaussian() * 30, random.nextGaussian() * 30));
+
+    return CarData.builder()
+        .setPosition(position)
+        .setVelocity(nose.multiply(1500 * random.nextDouble()))
+        .setAngularVelocity(Vector3.of(random.nextGaussian(), random.nextGaussian(), random.nextGaussian()))
+        .setOrientation(orientation)
+        .setTime(0)
+        .build();
+  }
+}
@@ -0,0 +1,115 @@
+package com.eru.rlbot.bot.prediction;
+
+import com.eru.rlbot.bot.path.Plan;
+import com.eru.rlbot.bot.tactics.Tactic;
+import com.eru.rlbot.common.input.BallData;
+import com.eru.rlbot.common.vector.Vector3;
+import com.google.common.truth.Truth;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests for {@link ReachabilityIndex}.
+ */
+@RunWith(JUnit4.class)
+public class ReachabilityIndexTest {
+
+  private static final int SLICES = 20;
+  private static final Plan PLAN = Plan.builder()
+      .setTacticType(Tactic.TacticType.STRIKE)
+      .build(1);
+
+  private rlbot.flat.BallPrediction prediction;
+  private BallPredictionBuffer balls;
+
+  @Before
+  public void setUp() {
+    BallData ball = BallData.builder()
+        .setPosition(Vector3.of(0, 0, 500))
+        .setVelocity(Vector3.of(1000, 500, 0))
+        .setTime(10)
+        .build();
+    prediction = BallPredictor.makeFlatbufferPrediction(ball);
+    balls = new BallPredictionBuffer((int) BallPredictionUtil.PREDICTION_LIMIT);
+    for (int i = 0; i < SLICES; i++) {
+      balls.add(prediction.slices(i));
+    }
+  }
+
+  @Test
+  public void update_keepsFirstSlice() {
+    setReachable(8, 0, true);
+    Truth.assertThat(firstIndex(0)).isEqualTo(8);
+
+    setReachable(3, 0, true);
+    setReachable(5, 1, true);
+
+    Truth.assertThat(firstIndex(0)).isEqualTo(3);
+    Truth.assertThat(firstIndex(1)).isEqualTo(5);
+    Truth.assertThat(balls.reachability().firstIndex(ReachabilityIndex.ALL_CARS)).isEqualTo(3);
+    Truth.assertThat(firstIndex(2)).isEqualTo(-1);
+  }
+
+  @Test
+  public void update_losingFirstSlice_findsNext() {
+    setReachable(3, 0, true);
+    setReachable(8, 0, true);
+    Truth.assertThat(firstIndex(0)).isEqualTo(3);
+
+    setReachable(3, 0, false);
+
+    Truth.assertThat(firstIndex(0)).isEqualTo(8);
+  }
+
+  @Test
+  public void truncate_dropsLaterSlices() {
+    setReachable(12, 0, true);
+    setReachable(4, 1, true);
+    Truth.assertThat(firstIndex(0)).isEqualTo(12);
+
+    balls.truncate(10);
+
+    Truth.assertThat(firstIndex(0)).isEqualTo(-1);
+    Truth.assertThat(firstIndex(1)).isEqualTo(4);
+
+    // The dropped numbers are reused by the new slices, which nobody has planned for yet.
+    for (int i = 10; i < SLICES; i++) {
+      balls.add(prediction.slices(i));
+    }
+    Truth.assertThat(firstIndex(0)).isEqualTo(-1);
+  }
+
+  @Test
+  public void advanceTo_clearsSlicesLeavingTheHead() {
+    setReachable(2, 0, true);
+    setReachable(6, 0, true);
+    setReachable(3, 1, true);
+    Truth.assertThat(firstIndex(0)).isEqualTo(2);
+
+    balls.advanceTo(balls.timeAt(4));
+
+    Truth.assertThat(firstIndex(0)).isEqualTo(2);
+    Truth.assertThat(firstIndex(1)).isEqualTo(-1);
+  }
+
+  @Test
+  public void clear_clearsEveryCar() {
+    setReachable(2, 0, true);
+    setReachable(3, 1, true);
+    Truth.assertThat(balls.reachability().firstIndex(ReachabilityIndex.ALL_CARS)).isEqualTo(2);
+
+    balls.clear();
+
+    Truth.assertThat(balls.reachability().firstIndex(ReachabilityIndex.ALL_CARS)).isEqualTo(-1);
+  }
+
+  private void setReachable(int index, int car, boolean reachable) {
+    balls.get(index).forCar(car).setPlan(reachable ? PLAN : null);
+  }
+
+  private int firstIndex(int car) {
+    return balls.reachability().firstIndex(ReachabilityIndex.carMask(car));
+  }
+}
@@ -0,0 +1,59 @@
+package com.eru.rlbot.bot.prediction;
+
+import com.eru.rlbot.common.input.BallData;
+import com.eru.rlbot.common.input.CarData;
+import com.eru.rlbot.common.input.Orientation;
+import com.eru.rlbot.common.vector.Vector3;
+import com.google.common.truth.Truth;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests for {@link ShotOutcomes}.
+ */
+@RunWith(JUnit4.class)
+public class ShotOutcomesTest {
+
+  private static final BallData BALL = BallData.builder()
+      .setPosition(Vector3.of(0, 1000, 200))
+      .setVelocity(Vector3.of(100, 300, 200))
+      .setSpin(Vector3.of(0, 1, 0))
+      .setTime(20)
+      .build();
+
+  @Test
+  public void of_matchesUncachedOutcome() {
+    CarData car = car(Vector3.of(0, 1, 0), 0);
+
+    ShotOutcome cached = ShotOutcomes.of(BALL, car);
+    ShotOutcome uncached = BallPredictor.predictOutcome(
+        CarBallCollision.calculateCollision(BALL, car), ShotOutcomes.HORIZON, ShotOutcomes.SLICE_INTERVAL);
+
+    Truth.assertThat(cached.contact.velocity.distance(uncached.contact.velocity)).isLessThan(.01);
+    Truth.assertThat(cached.trajectory).hasSize(uncached.trajectory.size());
+    for (int i = 0; i < uncached.trajectory.size(); i++) {
+      Truth.assertThat(cached.trajectory.get(i).position.distance(uncached.trajectory.get(i).position))
+          .isLessThan(.01);
+    }
+    Truth.assertThat(cached.goal.isPresent()).isEqualTo(uncached.goal.isPresent());
+    Truth.assertThat(cached.firstBounce.isPresent()).isEqualTo(uncached.firstBounce.isPresent());
+  }
+
+  @Test
+  public void of_sharesOutcomeWithinBucket() {
+    ShotOutcome outcome = ShotOutcomes.of(BALL, car(Vector3.of(1, 1, 0).normalize(), 0));
+
+    Truth.assertThat(ShotOutcomes.of(BALL, car(Vector3.of(1, 1, 0).normalize(), .1))).isSameInstanceAs(outcome);
+    Truth.assertThat(ShotOutcomes.of(BALL, car(Vector3.of(1, 1, 0).normalize(), 20))).isNotSameInstanceAs(outcome);
+  }
+
+  private static CarData car(Vector3 nose, double xShift) {
+    return CarData.builder()
+        .setPosition(BALL.position.minus(nose.multiply(150)).plus(Vector3.of(xShift, 0, 0)))
+        .setVelocity(nose.multiply(1400))
+        .setOrientation(Orientation.fromFlatVelocity(nose))
+        .setTime(BALL.time)
+        .build();
+  }
+}
@@ -0,0 +1,65 @@
+package com.eru.rlbot.bot.utils;
+
+import com.google.common.truth.Truth;
+import java.util.concurrent.CompletableFuture;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests for {@link Deadline}.
+ */
+@RunWith(JUnit4.class)
+public class DeadlineTest {
+
+  @Test
+  public void none_neverExpires() {
+    Truth.assertThat(Deadline.none().isExpired()).isFalse();
+    Truth.assertThat(Deadline.current()).isSameInstanceAs(Deadline.none());
+  }
+
+  @Test
+  public void after_expires() {
+    long now = System.nanoTime();
+
+    Truth.assertThat(Deadline.after(now, 10).isExpired()).isFalse();
+    Truth.assertThat(Deadline.after(now, -.001).isExpired()).isTrue();
+    Truth.assertThat(Deadline.after(now, -.001).remaining()).isLessThan(0.0);
+  }
+
+  @Test
+  public void cutShortCount_countsExpiredChecks() {
+    Deadline passed = Deadline.after(System.nanoTime(), -.001);
+    Deadline pending = Deadline.after(System.nanoTime(), 10);
+
+    passed.isExpired();
+    passed.isExpired();
+    pending.isExpired();
+    Deadline.none().isExpired();
+
+    Truth.assertThat(passed.cutShortCount()).isEqualTo(2);
+    Truth.assertThat(pending.cutShortCount()).isEqualTo(0);
+    Truth.assertThat(Deadline.none().cutShortCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void enter_restoresPreviousDeadline() {
+    Deadline outer = Deadline.after(System.nanoTime(), 10);
+    Deadline inner = Deadline.after(System.nanoTime(), -1);
+
+    try (Deadline.Scope outerScope = outer.enter()) {
+      try (Deadline.Scope innerScope = inner.enter()) {
+        Truth.assertThat(Deadline.current()).isSameInstanceAs(inner);
+      }
+      Truth.assertThat(Deadline.current()).isSameInstanceAs(outer);
+    }
+    Truth.assertThat(Deadline.current()).isSameInstanceAs(Deadline.none());
+  }
+
+  @Test
+  public void enter_onlyOnThisThread() throws Exception {
+    try (Deadline.Scope scope = Deadline.after(System.nanoTime(), -1).enter()) {
+      Truth.assertThat(CompletableFuture.supplyAsync(Deadline::current).get()).isSameInstanceAs(Deadline.none());
+    }
+  }
+}
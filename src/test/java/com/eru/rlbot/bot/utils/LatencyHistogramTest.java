@@ -0,0 +1,85 @@
+package com.eru.rlbot.bot.utils;
+
+import com.google.common.truth.Truth;
+import java.util.Random;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests for {@link LatencyHistogram}.
+ */
+@RunWith(JUnit4.class)
+public class LatencyHistogramTest {
+
+  @Test
+  public void bucketIndex_smallValuesAreExact() {
+    for (long value = 0; value < 64; value++) {
+      Truth.assertThat(LatencyHistogram.highestEquivalentValue(LatencyHistogram.bucketIndex(value)))
+          .isEqualTo(value);
+    }
+
+    // Past that, neighbouring values start to share buckets.
+    Truth.assertThat(LatencyHistogram.bucketIndex(65)).isEqualTo(LatencyHistogram.bucketIndex(64));
+    Truth.assertThat(LatencyHistogram.bucketIndex(66)).isEqualTo(LatencyHistogram.bucketIndex(64) + 1);
+  }
+
+  @Test
+  public void bucketIndex_topIsWithinThreePercent() {
+    Random random = new Random(11);
+    for (int i = 0; i < 10000; i++) {
+      long value = 64 + (long) (random.nextDouble() * (LatencyHistogram.MAX_VALUE - 64));
+      int index = LatencyHistogram.bucketIndex(value);
+      long top = LatencyHistogram.highestEquivalentValue(index);
+
+      Truth.assertThat(top).isAtLeast(value);
+      Truth.assertThat((double) (top - value)).isAtMost(value / 32.0);
+      // The buckets are contiguous.
+      Truth.assertThat(LatencyHistogram.bucketIndex(top)).isEqualTo(index);
+      Truth.assertThat(LatencyHistogram.bucketIndex(top + 1)).isEqualTo(index + 1);
+    }
+  }
+
+  @Test
+  public void percentileMicros() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    Truth.assertThat(histogram.percentileMicros(.5)).isEqualTo(0L);
+
+    for (int micros = 1; micros <= 100; micros++) {
+      histogram.recordNanos(micros * 1000L);
+    }
+
+    Truth.assertThat(histogram.count()).isEqualTo(100L);
+    Truth.assertThat(histogram.meanMicros()).isWithin(1e-9).of(50.5);
+    Truth.assertThat(histogram.percentileMicros(.5)).isEqualTo(50L);
+    // 99 shares its bucket with 98, and reads as the top of it.
+    Truth.assertThat(histogram.percentileMicros(.99)).isEqualTo(99L);
+    // The top of the bucket of 100 is 101, which is more than was ever recorded.
+    Truth.assertThat(histogram.percentileMicros(1)).isEqualTo(100L);
+  }
+
+  @Test
+  public void recordNanos_clampsOutOfRangeValues() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    histogram.recordNanos(Long.MAX_VALUE);
+    histogram.recordNanos(-5);
+
+    Truth.assertThat(histogram.count()).isEqualTo(2L);
+    Truth.assertThat(histogram.maxMicros()).isEqualTo(LatencyHistogram.MAX_VALUE);
+    Truth.assertThat(histogram.percentileMicros(1)).isEqualTo(LatencyHistogram.MAX_VALUE);
+    Truth.assertThat(histogram.percentileMicros(.5)).isEqualTo(0L);
+  }
+
+  @Test
+  public void reset() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.recordNanos(5_000_000);
+
+    histogram.reset();
+
+    Truth.assertThat(histogram.count()).isEqualTo(0L);
+    Truth.assertThat(histogram.maxMicros()).isEqualTo(0L);
+    Truth.assertThat(histogram.percentileMicros(.99)).isEqualTo(0L);
+  }
+}
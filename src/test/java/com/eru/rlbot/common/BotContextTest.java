@@ -0,0 +1,107 @@
+package com.eru.rlbot.common;
+
+import com.eru.rlbot.bot.prediction.NextFramePredictor;
+import com.eru.rlbot.common.boost.BoostTracker;
+import com.eru.rlbot.common.input.CarData;
+import com.eru.rlbot.common.input.DataPacket;
+import com.eru.rlbot.common.input.WorldSnapshot;
+import com.eru.rlbot.common.jump.JumpManager;
+import com.eru.rlbot.common.output.Controls;
+import com.google.common.collect.ImmutableList;
+import com.google.common.truth.Truth;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests for {@link BotContext}.
+ */
+@RunWith(JUnit4.class)
+public class BotContextTest {
+
+  @Test
+  public void forBot_separatesBots() {
+    Truth.assertThat(BotContext.forBot(0)).isSameInstanceAs(BotContext.forBot(0));
+    Truth.assertThat(BotContext.forBot(0).getJumpManager())
+        .isNotSameInstanceAs(BotContext.forBot(1).getJumpManager());
+  }
+
+  @Test
+  public void forBot_sameOnEveryThread() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      JumpManager first = executor.submit(() -> BotContext.forBot(2).getJumpManager()).get();
+      JumpManager second = executor.submit(() -> BotContext.forBot(2).getJumpManager()).get();
+
+      Truth.assertThat(first).isSameInstanceAs(BotContext.forBot(2).getJumpManager());
+      Truth.assertThat(second).isSameInstanceAs(first);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void botsFedTheSamePackets_keepTheirOwnState() {
+    WorldSnapshot snapshot = WorldSnapshot.decode(CapturePackets.toPacket(state(12345)));
+    DataPacket jumping = new DataPacket(snapshot, 3);
+    DataPacket driving = new DataPacket(snapshot, 4);
+
+    tick(jumping, Controls.create().withJump());
+    tick(driving, Controls.create().withThrottle(1));
+
+    Truth.assertThat(jumping.context.getJumpManager().canJump()).isFalse();
+    Truth.assertThat(driving.context.getJumpManager().canJump()).isTrue();
+    Truth.assertThat(jumping.context.getNextFramePrediction().jumped).isTrue();
+    Truth.assertThat(driving.context.getNextFramePrediction().jumped).isFalse();
+
+    // The next packet gives each bot its own state back.
+    WorldSnapshot next = WorldSnapshot.decode(CapturePackets.toPacket(state(12346)));
+    Truth.assertThat(new DataPacket(next, 3).context.getJumpManager())
+        .isSameInstanceAs(jumping.context.getJumpManager());
+    Truth.assertThat(new DataPacket(next, 4).context.getNextFramePrediction())
+        .isSameInstanceAs(driving.context.getNextFramePrediction());
+  }
+
+  @Test
+  public void observedCars_areNotBots() {
+    WorldSnapshot snapshot = WorldSnapshot.decode(CapturePackets.toPacket(state(12345)));
+    CarData opponent = snapshot.allCars.get(5);
+
+    JumpManager jumpManager = JumpManager.forCar(opponent);
+
+    Truth.assertThat(jumpManager.canJump()).isTrue();
+    Truth.assertThat(JumpManager.forCar(opponent)).isSameInstanceAs(jumpManager);
+    Truth.assertThat(BotContext.find(5).isPresent()).isFalse();
+  }
+
+  /** Feeds the packet and the bot's controls through the per-tick state, as the bot does. */
+  private static void tick(DataPacket input, Controls output) {
+    JumpManager.trackInput(input);
+    JumpManager.trackOutput(input, output);
+    input.context.setNextFramePrediction(NextFramePredictor.makePrediction(
+        input.car, output, BoostTracker.copyForCar(input.car), input.context.getJumpManager()));
+  }
+
+  /** Six cars resting on the ground. */
+  private static GameStateProtos.GameState state(long frameId) {
+    GameStateProtos.GameState.Builder state = GameStateProtos.GameState.newBuilder()
+        .setFrameId(frameId)
+        .setBall(GameStateProtos.GameState.BallState.newBuilder()
+            .addAllPos(ImmutableList.of(0f, 0f, 93f))
+            .addAllVel(ImmutableList.of(0f, 0f, 0f))
+            .addAllSpin(ImmutableList.of(0f, 0f, 0f)));
+    for (int i = 0; i < 6; i++) {
+      state.addCar(GameStateProtos.GameState.CarState.newBuilder()
+          .setId(i)
+          .setTeam(i % 2)
+          .addAllPos(ImmutableList.of(i * 500f, -2000f, 17f))
+          .addAllVel(ImmutableList.of(0f, 500f, 0f))
+          .addAllSpin(ImmutableList.of(0f, 0f, 0f))
+          .addAllOrientation(ImmutableList.of(0f, 1.57f, 0f))
+          .setHasWheelContact(true));
+    }
+    return state.build();
+  }
+}
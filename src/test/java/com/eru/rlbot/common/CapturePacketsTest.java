@@ -0,0 +1,78 @@
+package com.eru.rlbot.common;
+
+import com.eru.rlbot.common.input.BallData;
+import com.eru.rlbot.common.input.CarData;
+import com.eru.rlbot.common.input.WorldSnapshot;
+import com.google.common.collect.ImmutableList;
+import com.google.common.truth.Truth;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import rlbot.flat.GameTickPacket;
+
+/**
+ * Tests for {@link CapturePackets}.
+ */
+@RunWith(JUnit4.class)
+public class CapturePacketsTest {
+
+  private static final GameStateProtos.GameState STATE = GameStateProtos.GameState.newBuilder()
+      .setFrameId(12345)
+      .addCar(GameStateProtos.GameState.CarState.newBuilder()
+          .setId(0)
+          .setTeam(0)
+          .addAllPos(ImmutableList.of(100f, -2000f, 17f))
+          .addAllVel(ImmutableList.of(300f, 1200f, 0f))
+          .addAllSpin(ImmutableList.of(0f, 0f, .5f))
+          .addAllOrientation(ImmutableList.of(0f, 1.2f, 0f))
+          .setBoost(33)
+          .setHasWheelContact(true))
+      .addCar(GameStateProtos.GameState.CarState.newBuilder()
+          .setId(1)
+          .setTeam(1)
+          .addAllPos(ImmutableList.of(-500f, 3000f, 400f))
+          .addAllVel(ImmutableList.of(-100f, -900f, 250f))
+          .addAllSpin(ImmutableList.of(1f, -2f, .25f))
+          .addAllOrientation(ImmutableList.of(.4f, -2f, .3f))
+          .setBoost(80)
+          .setHasWheelContact(false))
+      .setBall(GameStateProtos.GameState.BallState.newBuilder()
+          .addAllPos(ImmutableList.of(20f, 40f, 300f))
+          .addAllVel(ImmutableList.of(500f, -600f, 100f))
+          .addAllSpin(ImmutableList.of(1f, 2f, 3f)))
+      .build();
+
+  @Test
+  public void toPacket_keepsCarsAndBall() {
+    GameTickPacket packet = CapturePackets.toPacket(STATE);
+    WorldSnapshot snapshot = WorldSnapshot.decode(packet);
+
+    Truth.assertThat(snapshot.frameNum).isEqualTo(12345);
+    Truth.assertThat(snapshot.gameInfo.isRoundActive()).isTrue();
+
+    BallData expectedBall = CaptureReader.toBall(STATE);
+    Truth.assertThat(snapshot.ball.time).isEqualTo(expectedBall.time);
+    Truth.assertThat(snapshot.ball.position).isEqualTo(expectedBall.position);
+    Truth.assertThat(snapshot.ball.velocity).isEqualTo(expectedBall.velocity);
+    Truth.assertThat(snapshot.ball.spin).isEqualTo(expectedBall.spin);
+
+    ImmutableList<CarData> expectedCars = CaptureReader.toCars(STATE);
+    Truth.assertThat(snapshot.allCars).hasSize(expectedCars.size());
+    for (int i = 0; i < expectedCars.size(); i++) {
+      CarData car = snapshot.allCars.get(i);
+      CarData expected = expectedCars.get(i);
+      Truth.assertThat(car.serialNumber).isEqualTo(expected.serialNumber);
+      Truth.assertThat(car.team).isEqualTo(expected.team);
+      Truth.assertThat(car.elapsedSeconds).isEqualTo(expected.elapsedSeconds);
+      Truth.assertThat(car.position).isEqualTo(expected.position);
+      Truth.assertThat(car.velocity).isEqualTo(expected.velocity);
+      Truth.assertThat(car.angularVelocity).isEqualTo(expected.angularVelocity);
+      Truth.assertThat(car.orientation.getNoseVector().distance(expected.orientation.getNoseVector()))
+          .isLessThan(1e-5);
+      Truth.assertThat(car.orientation.getRoofVector().distance(expected.orientation.getRoofVector()))
+          .isLessThan(1e-5);
+      Truth.assertThat(car.boost).isEqualTo(expected.boost);
+      Truth.assertThat(car.hasWheelContact).isEqualTo(expected.hasWheelContact);
+    }
+  }
+}
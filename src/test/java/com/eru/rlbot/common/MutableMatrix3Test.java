@@ -0,0 +1,153 @@
+package com.eru.rlbot.common;
+
+import com.eru.rlbot.common.vector.MutableVector3;
+import com.eru.rlbot.common.vector.Vector3;
+import com.google.common.truth.Truth;
+import java.util.Random;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests for {@link MutableMatrix3}.
+ */
+@RunWith(JUnit4.class)
+public class MutableMatrix3Test {
+
+  // Matrix3 is single precision.
+  private static final double TOLERANCE = 1e-2;
+
+  @Test
+  public void products_matchMatrix3() {
+    Random random = new Random(6);
+    for (int i = 0; i < 50; i++) {
+      Matrix3 a = random(random);
+      Matrix3 b = random(random);
+
+      assertMatches(new MutableMatrix3().setProduct(mutable(a), mutable(b)), a.dot(b));
+      assertMatches(new MutableMatrix3().setTransposeProduct(mutable(a), mutable(b)), a.transpose().dot(b));
+      assertMatches(new MutableMatrix3().setProductTranspose(mutable(a), mutable(b)), a.dot(b.transpose()));
+    }
+  }
+
+  @Test
+  public void products_intoOperand() {
+    Random random = new Random(7);
+    for (int i = 0; i < 50; i++) {
+      Matrix3 a = random(random);
+      Matrix3 b = random(random);
+
+      MutableMatrix3 left = mutable(a);
+      assertMatches(left.setProduct(left, mutable(b)), a.dot(b));
+      MutableMatrix3 right = mutable(b);
+      assertMatches(right.setProduct(mutable(a), right), a.dot(b));
+      MutableMatrix3 squared = mutable(a);
+      assertMatches(squared.setProduct(squared, squared), a.dot(a));
+
+      MutableMatrix3 transposeLeft = mutable(a);
+      assertMatches(transposeLeft.setTransposeProduct(transposeLeft, mutable(b)), a.transpose().dot(b));
+      MutableMatrix3 transposeSquared = mutable(a);
+      assertMatches(transposeSquared.setTransposeProduct(transposeSquared, transposeSquared), a.transpose().dot(a));
+
+      MutableMatrix3 transposeRight = mutable(b);
+      assertMatches(transposeRight.setProductTranspose(mutable(a), transposeRight), a.dot(b.transpose()));
+      MutableMatrix3 squaredTranspose = mutable(a);
+      assertMatches(squaredTranspose.setProductTranspose(squaredTranspose, squaredTranspose), a.dot(a.transpose()));
+
+      MutableMatrix3 transposed = mutable(a);
+      assertMatches(transposed.setTranspose(transposed), a.transpose());
+    }
+  }
+
+  @Test
+  public void arithmetic_matchesMatrix3() {
+    Random random = new Random(8);
+    for (int i = 0; i < 50; i++) {
+      Matrix3 a = random(random);
+      Matrix3 b = random(random);
+      double scale = random.nextDouble() * 4 - 2;
+
+      assertMatches(mutable(a).scale(scale), a.multiply(scale));
+      assertMatches(mutable(a).subtract(mutable(b)), a.minus(b));
+      Truth.assertThat(mutable(a).determinant()).isWithin(TOLERANCE).of(a.determinant());
+      Truth.assertThat(mutable(a).trace()).isWithin(TOLERANCE).of(a.trace());
+    }
+
+    MutableMatrix3 self = mutable(random(random));
+    assertMatches(self.subtract(self), Matrix3.IDENTITY.multiply(0));
+  }
+
+  @Test
+  public void invert_matchesMatrix3() {
+    Random random = new Random(10);
+    for (int i = 0; i < 50; i++) {
+      // Kept well away from singular, where single precision can't keep up.
+      Matrix3 m = random(random).plus(Matrix3.IDENTITY.multiply(40));
+
+      assertMatches(mutable(m).invert(), m.inverse());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invert_singular_throws() {
+    new MutableMatrix3()
+        .set(
+            1, 2, 3,
+            2, 4, 6,
+            0, 1, 0)
+        .invert();
+  }
+
+  @Test
+  public void transform_matchesMatrix3() {
+    Random random = new Random(9);
+    for (int i = 0; i < 50; i++) {
+      Matrix3 m = random(random);
+      Vector3 v = randomVector(random);
+
+      assertMatches(mutable(m).transform(v, new MutableVector3()), m.dot(v));
+      assertMatches(mutable(m).transformTransposed(v, new MutableVector3()), v.dot(m));
+
+      MutableVector3 transformed = new MutableVector3().set(v);
+      assertMatches(mutable(m).transform(transformed, transformed), m.dot(v));
+      MutableVector3 transposed = new MutableVector3().set(v);
+      assertMatches(mutable(m).transformTransposed(transposed, transposed), v.dot(m));
+    }
+  }
+
+  @Test
+  public void setAntisym_crosses() {
+    MutableVector3 w = new MutableVector3().set(1, -2, 3);
+    Vector3 v = Vector3.of(-4, 5, 6);
+
+    MutableVector3 result = new MutableMatrix3().setAntisym(w).transform(v, new MutableVector3());
+
+    assertMatches(result, w.toVector3().cross(v));
+  }
+
+  private static void assertMatches(MutableMatrix3 actual, Matrix3 expected) {
+    for (int row = 0; row < 3; row++) {
+      for (int column = 0; column < 3; column++) {
+        Truth.assertThat(actual.get(row, column)).isWithin(TOLERANCE).of(expected.row(row).get(column));
+      }
+    }
+  }
+
+  private static void assertMatches(MutableVector3 actual, Vector3 expected) {
+    Truth.assertThat(actual.x).isWithin(TOLERANCE).of(expected.x);
+    Truth.assertThat(actual.y).isWithin(TOLERANCE).of(expected.y);
+    Truth.assertThat(actual.z).isWithin(TOLERANCE).of(expected.z);
+  }
+
+  private static MutableMatrix3 mutable(Matrix3 m) {
+    return new MutableMatrix3().set(m);
+  }
+
+  private static Matrix3 random(Random random) {
+    return Matrix3.of(randomVector(random), randomVector(random), randomVector(random));
+  }
+
+  private static Vector3 randomVector(Random random) {
+    return Vector3.of(random.nextDouble() * 20 - 10, random.nextDouble() * 20 - 10, random.nextDouble() * 20 - 10);
+  }
+}
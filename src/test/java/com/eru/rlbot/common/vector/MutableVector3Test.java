@@ -0,0 +1,101 @@
+package com.eru.rlbot.common.vector;
+
+import com.google.common.truth.Truth;
+import java.util.Random;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests for {@link MutableVector3}.
+ */
+@RunWith(JUnit4.class)
+public class MutableVector3Test {
+
+  // Vector3 is single precision.
+  private static final double TOLERANCE = 1e-3;
+
+  @Test
+  public void arithmetic_matchesVector3() {
+    Random random = new Random(3);
+    for (int i = 0; i < 50; i++) {
+      Vector3 a = random(random);
+      Vector3 b = random(random);
+      double scale = random.nextDouble() * 4 - 2;
+
+      assertMatches(mutable(a).add(mutable(b)), a.plus(b));
+      assertMatches(mutable(a).add(b), a.plus(b));
+      assertMatches(mutable(a).subtract(mutable(b)), a.minus(b));
+      assertMatches(mutable(a).subtract(b), a.minus(b));
+      assertMatches(mutable(a).addScaled(mutable(b), scale), a.plus(b.multiply(scale)));
+      assertMatches(mutable(a).scale(scale), a.multiply(scale));
+
+      Truth.assertThat(mutable(a).dot(mutable(b))).isWithin(TOLERANCE).of(a.dot(b));
+      Truth.assertThat(mutable(a).dot(b)).isWithin(TOLERANCE).of(a.dot(b));
+      Truth.assertThat(mutable(a).magnitude()).isWithin(TOLERANCE).of(a.magnitude());
+      assertMatches(mutable(a).normalizeOrZero(), a.normalizeOrZero());
+    }
+  }
+
+  @Test
+  public void arithmetic_withItself() {
+    Vector3 a = Vector3.of(1, -2, 3);
+
+    MutableVector3 added = mutable(a);
+    assertMatches(added.add(added), a.multiply(2));
+
+    MutableVector3 subtracted = mutable(a);
+    Truth.assertThat(subtracted.subtract(subtracted).isZero()).isTrue();
+
+    MutableVector3 scaled = mutable(a);
+    assertMatches(scaled.addScaled(scaled, 2), a.multiply(3));
+  }
+
+  @Test
+  public void setCross_matchesVector3() {
+    Random random = new Random(4);
+    for (int i = 0; i < 50; i++) {
+      Vector3 a = random(random);
+      Vector3 b = random(random);
+
+      assertMatches(new MutableVector3().setCross(mutable(a), mutable(b)), a.cross(b));
+    }
+  }
+
+  @Test
+  public void setCross_intoOperand() {
+    Random random = new Random(5);
+    for (int i = 0; i < 50; i++) {
+      Vector3 a = random(random);
+      Vector3 b = random(random);
+
+      MutableVector3 first = mutable(a);
+      assertMatches(first.setCross(first, mutable(b)), a.cross(b));
+
+      MutableVector3 second = mutable(b);
+      assertMatches(second.setCross(mutable(a), second), a.cross(b));
+
+      MutableVector3 both = mutable(a);
+      Truth.assertThat(both.setCross(both, both).magnitude()).isWithin(TOLERANCE).of(0);
+    }
+  }
+
+  @Test
+  public void normalizeOrZero_keepsZero() {
+    Truth.assertThat(new MutableVector3().normalizeOrZero().isZero()).isTrue();
+  }
+
+  private static void assertMatches(MutableVector3 actual, Vector3 expected) {
+    Truth.assertThat(actual.x).isWithin(TOLERANCE).of(expected.x);
+    Truth.assertThat(actual.y).isWithin(TOLERANCE).of(expected.y);
+    Truth.assertThat(actual.z).isWithin(TOLERANCE).of(expected.z);
+  }
+
+  private static MutableVector3 mutable(Vector3 v) {
+    return new MutableVector3().set(v);
+  }
+
+  private static Vector3 random(Random random) {
+    return Vector3.of(random.nextDouble() * 20 - 10, random.nextDouble() * 20 - 10, random.nextDouble() * 20 - 10);
+  }
+}
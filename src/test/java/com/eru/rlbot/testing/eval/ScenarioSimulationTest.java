@@ -0,0 +1,104 @@
+package com.eru.rlbot.testing.eval;
+
+import com.eru.rlbot.bot.common.Constants;
+import com.eru.rlbot.bot.flags.GlobalDebugOptions;
+import com.eru.rlbot.common.DllHelper;
+import com.eru.rlbot.common.ScenarioProtos;
+import com.google.common.collect.ImmutableList;
+import com.google.common.truth.Truth;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests for {@link ScenarioSimulation}.
+ */
+@RunWith(JUnit4.class)
+public class ScenarioSimulationTest {
+
+  // Each scenario starts well after the last one ended, as in the SuiteRunner.
+  private static float startTime = 10;
+
+  @BeforeClass
+  public static void goHeadless() {
+    DllHelper.setHeadless(true);
+    GlobalDebugOptions.setJavaBallPredictionEnabled(true);
+  }
+
+  @Test
+  public void noCars_fails() {
+    ScenarioProtos.Scenario scenario = ScenarioProtos.Scenario.newBuilder()
+        .setBall(ball(0, 4500, 0, 3000))
+        .build();
+
+    Truth.assertThat(new ScenarioSimulation(scenario, nextStartTime()).run()).isFalse();
+  }
+
+  @Test
+  public void ballIntoOpponentGoal_passes() {
+    ScenarioProtos.Scenario scenario = scenario(1000)
+        .setBall(ball(0, 4500, 0, 3000))
+        .build();
+
+    Truth.assertThat(run(scenario)).isTrue();
+  }
+
+  @Test
+  public void ballIntoOwnGoal_fails() {
+    ScenarioProtos.Scenario scenario = scenario(1000)
+        .setBall(ball(0, -4500, 0, -3000))
+        .build();
+
+    Truth.assertThat(run(scenario)).isFalse();
+  }
+
+  @Test
+  public void timeOut_fails() {
+    ScenarioProtos.Scenario scenario = scenario(100)
+        .setBall(ball(0, 0, 0, 0))
+        .build();
+    float start = nextStartTime();
+    ScenarioSimulation simulation = new ScenarioSimulation(scenario, start);
+
+    Truth.assertThat(simulation.run()).isFalse();
+    Truth.assertThat(simulation.getTime()).isWithin(.001f).of(start + 12 * Constants.STEP_SIZE);
+  }
+
+  private static boolean run(ScenarioProtos.Scenario scenario) {
+    return new ScenarioSimulation(scenario, nextStartTime()).run();
+  }
+
+  /** None of the scenarios here run for more than a second. */
+  private static float nextStartTime() {
+    float time = startTime;
+    startTime += 10;
+    return time;
+  }
+
+  /** A scenario with one car per team parked in opposite corners, far from the ball. */
+  private static ScenarioProtos.Scenario.Builder scenario(int timeOutMs) {
+    return ScenarioProtos.Scenario.newBuilder()
+        .setTimeOutMs(timeOutMs)
+        .addCar(car(0, 0, -3000, -4000))
+        .addCar(car(1, 1, 3000, 4000));
+  }
+
+  private static ScenarioProtos.Scenario.CarState car(int id, int team, float x, float y) {
+    return ScenarioProtos.Scenario.CarState.newBuilder()
+        .setId(id)
+        .setTeam(team)
+        .addAllPos(ImmutableList.of(x, y, 17f))
+        .addAllVel(ImmutableList.of(0f, 0f, 0f))
+        .addAllOrientation(ImmutableList.of(0f, 0f, 0f))
+        .setBoost(33)
+        .build();
+  }
+
+  private static ScenarioProtos.Scenario.BallState ball(float x, float y, float vx, float vy) {
+    return ScenarioProtos.Scenario.BallState.newBuilder()
+        .addAllPos(ImmutableList.of(x, y, 93f))
+        .addAllVel(ImmutableList.of(vx, vy, 0f))
+        .build();
+  }
+}
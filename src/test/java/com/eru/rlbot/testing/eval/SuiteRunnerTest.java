@@ -0,0 +1,64 @@
+package com.eru.rlbot.testing.eval;
+
+import com.eru.rlbot.common.ScenarioProtos;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.truth.Truth;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests for {@link SuiteRunner}.
+ */
+@RunWith(JUnit4.class)
+public class SuiteRunnerTest {
+
+  private static final ScenarioProtos.Suite SUITE = ScenarioProtos.Suite.newBuilder()
+      .setId(7)
+      .setName("Shots")
+      .build();
+
+  private static final ScenarioProtos.EvalLibrary LIBRARY = ScenarioProtos.EvalLibrary.newBuilder()
+      .addScenarios(ScenarioProtos.Scenario.newBuilder()
+          .setId(1)
+          .setName("Open net"))
+      .addSuites(ScenarioProtos.Suite.newBuilder()
+          .setId(3)
+          .setName("Saves"))
+      .addSuites(SUITE)
+      .build();
+
+  @Test
+  public void shard_roundRobin() {
+    Truth.assertThat(SuiteRunner.shard(ImmutableList.of(1L, 2L, 3L, 4L, 5L), 2))
+        .containsExactly(ImmutableList.of(1L, 3L, 5L), ImmutableList.of(2L, 4L))
+        .inOrder();
+  }
+
+  @Test
+  public void shard_noIdleWorkers() {
+    Truth.assertThat(SuiteRunner.shard(ImmutableList.of(1L, 2L), 8))
+        .containsExactly(ImmutableList.of(1L), ImmutableList.of(2L))
+        .inOrder();
+    Truth.assertThat(SuiteRunner.shard(ImmutableList.of(), 8)).containsExactly(ImmutableList.of());
+  }
+
+  @Test
+  public void findSuite_byIdOrName() {
+    Truth.assertThat(SuiteRunner.findSuite(LIBRARY, "Shots")).isEqualTo(SUITE);
+    Truth.assertThat(SuiteRunner.findSuite(LIBRARY, "7")).isEqualTo(SUITE);
+    Truth.assertThat(SuiteRunner.findSuite(LIBRARY, "Kickoffs")).isNull();
+  }
+
+  @Test
+  public void report() {
+    String report = SuiteRunner.report(LIBRARY, SUITE, ImmutableMap.of(1L, true, 2L, false), 1500);
+
+    Truth.assertThat(report).startsWith("Shots\n");
+    Truth.assertThat(report).containsMatch("Open net +Pass");
+    // Scenarios missing from the library are named by id.
+    Truth.assertThat(report).containsMatch("Scenario 2 +Fail");
+    Truth.assertThat(report).endsWith("1/2 passed in 1.5s");
+  }
+}